@@ -0,0 +1,28 @@
+plugins {
+    id("build.common")
+    id("java")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    // Spring Boot BOM for version management
+    jmh(platform(libs.spring.boot.bom))
+
+    // Project modules under benchmark
+    jmh(project(":libs:shared"))
+    jmh(project(":services:core"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+
+    // JSON results are kept per run for trend tracking
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+
+    // Narrow a run with -PjmhIncludes=<regex>
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
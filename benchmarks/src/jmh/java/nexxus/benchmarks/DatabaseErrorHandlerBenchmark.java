@@ -0,0 +1,50 @@
+package nexxus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import nexxus.shared.util.DatabaseErrorHandler;
+
+/**
+ * Error message sanitization, from an early match (unique violation) to a message that falls
+ * through every check
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DatabaseErrorHandlerBenchmark {
+
+  private final Throwable uniqueViolation =
+      new DataIntegrityViolationException(
+          "duplicate key value violates unique constraint \"psps_brand_env_name_key\"");
+
+  private final Throwable foreignKeyViolation =
+      new DataIntegrityViolationException(
+          "insert or update on table \"psp_operations\" violates foreign key constraint"
+              + " \"fk_psp_operations_psp_id\"");
+
+  private final Throwable unmatched =
+      new IllegalStateException("Unexpected response from server at position 42: status 17");
+
+  @Benchmark
+  public String sanitizeUniqueViolation() {
+    return DatabaseErrorHandler.sanitizeErrorMessage(uniqueViolation);
+  }
+
+  @Benchmark
+  public String sanitizeForeignKeyViolation() {
+    return DatabaseErrorHandler.sanitizeErrorMessage(foreignKeyViolation);
+  }
+
+  @Benchmark
+  public String sanitizeUnmatched() {
+    return DatabaseErrorHandler.sanitizeErrorMessage(unmatched);
+  }
+}
@@ -0,0 +1,43 @@
+package nexxus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+
+import nexxus.shared.constants.IdPrefix;
+import nexxus.shared.util.IdGenerator;
+
+/**
+ * ID generation, alone and under contention from concurrent request threads. Environment secrets
+ * still come from the shared {@code SecureRandom} and serve as the baseline for time-ordered IDs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdGeneratorBenchmark {
+
+  @Benchmark
+  public String generateId() {
+    return IdGenerator.generateId(IdPrefix.TRANSACTION);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String generateIdContended() {
+    return IdGenerator.generateId(IdPrefix.TRANSACTION);
+  }
+
+  @Benchmark
+  public String generateSecureId() {
+    return IdGenerator.generateEnvironmentSecretId();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String generateSecureIdContended() {
+    return IdGenerator.generateEnvironmentSecretId();
+  }
+}
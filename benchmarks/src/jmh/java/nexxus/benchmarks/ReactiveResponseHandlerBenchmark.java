@@ -0,0 +1,78 @@
+package nexxus.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import nexxus.psp.dto.PspSummaryDto;
+import nexxus.shared.constants.Status;
+import nexxus.shared.util.ReactiveResponseHandler;
+
+/**
+ * Building a success response and serializing it the way WebFlux writes it to the wire, for a
+ * single object and for a list page
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReactiveResponseHandlerBenchmark {
+
+  private ReactiveResponseHandler responseHandler;
+  private ObjectMapper objectMapper;
+  private PspSummaryDto psp;
+  private List<PspSummaryDto> psps;
+
+  @Setup
+  public void setUp() {
+    responseHandler = new ReactiveResponseHandler();
+    objectMapper =
+        new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    psps = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      psps.add(summary(i));
+    }
+    psp = psps.get(0);
+  }
+
+  @Benchmark
+  public byte[] successResponseSingle() throws Exception {
+    return objectMapper.writeValueAsBytes(
+        responseHandler.successResponse(psp, "PSP retrieved successfully").getBody());
+  }
+
+  @Benchmark
+  public byte[] successResponseList() throws Exception {
+    return objectMapper.writeValueAsBytes(
+        responseHandler.successResponse(psps, "PSPs retrieved successfully").getBody());
+  }
+
+  private static PspSummaryDto summary(int i) {
+    LocalDateTime now = LocalDateTime.now();
+    return PspSummaryDto.builder()
+        .id("psp_" + i)
+        .name("PSP " + i)
+        .description("Card acquiring through provider " + i)
+        .logo("https://cdn.example.com/psp/" + i + ".png")
+        .status(Status.ENABLED)
+        .createdAt(now)
+        .updatedAt(now)
+        .createdBy("usr_benchmark")
+        .updatedBy("usr_benchmark")
+        .build();
+  }
+}
@@ -0,0 +1,72 @@
+package nexxus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nexxus.shared.validation.SchemaValidator;
+import nexxus.shared.validation.ValidationResult;
+
+import com.github.fge.jsonschema.main.JsonSchema;
+
+/**
+ * Validation of a PSP credential against the credential schema of its flow target, from the schema
+ * text and from a schema compiled once as the flow target schema cache holds it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchemaValidatorBenchmark {
+
+  private static final String SCHEMA =
+      "{\"type\":\"object\","
+          + "\"properties\":{"
+          + "\"apiKey\":{\"type\":\"string\",\"minLength\":8},"
+          + "\"secretKey\":{\"type\":\"string\",\"minLength\":8},"
+          + "\"merchantId\":{\"type\":\"string\",\"pattern\":\"^merchant_[0-9]+$\"},"
+          + "\"sandbox\":{\"type\":\"boolean\"}},"
+          + "\"required\":[\"apiKey\",\"secretKey\",\"merchantId\"],"
+          + "\"additionalProperties\":false}";
+
+  private static final String VALID_PAYLOAD =
+      "{\"apiKey\":\"sk_live_51H8x2eLkdIwHu7i\",\"secretKey\":\"whsec_3f1d7a9c0b5e\","
+          + "\"merchantId\":\"merchant_000123\",\"sandbox\":false}";
+
+  private static final String INVALID_PAYLOAD =
+      "{\"apiKey\":\"short\",\"merchantId\":\"unknown\",\"extra\":1}";
+
+  private SchemaValidator schemaValidator;
+  private JsonSchema compiledSchema;
+
+  @Setup
+  public void setUp() {
+    schemaValidator = new SchemaValidator();
+    compiledSchema = schemaValidator.compile(SCHEMA);
+  }
+
+  @Benchmark
+  public ValidationResult validateValid() {
+    return schemaValidator.validate(SCHEMA, VALID_PAYLOAD);
+  }
+
+  @Benchmark
+  public ValidationResult validateInvalid() {
+    return schemaValidator.validate(SCHEMA, INVALID_PAYLOAD);
+  }
+
+  @Benchmark
+  public ValidationResult validateValidCompiled() {
+    return schemaValidator.validate(compiledSchema, VALID_PAYLOAD);
+  }
+
+  @Benchmark
+  public ValidationResult validateInvalidCompiled() {
+    return schemaValidator.validate(compiledSchema, INVALID_PAYLOAD);
+  }
+}
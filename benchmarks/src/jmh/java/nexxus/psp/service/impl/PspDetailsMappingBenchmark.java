@@ -0,0 +1,121 @@
+package nexxus.psp.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nexxus.psp.dto.PspDetailsDto;
+import nexxus.psp.entity.CurrencyLimit;
+import nexxus.psp.entity.MaintenanceWindow;
+import nexxus.psp.entity.Psp;
+import nexxus.psp.entity.PspOperation;
+import nexxus.shared.constants.Status;
+
+/**
+ * Mapping a PSP with its operations, currency limits and maintenance windows to {@link
+ * PspDetailsDto}. Lives in the service package to reach the package-private mapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PspDetailsMappingBenchmark {
+
+  private static final List<String> CURRENCIES =
+      List.of("USD", "EUR", "GBP", "JPY", "AUD", "CAD", "CHF", "SGD", "HKD", "MYR");
+
+  @Param({"2", "10"})
+  private int operationCount;
+
+  private Psp psp;
+  private List<MaintenanceWindow> maintenanceWindows;
+  private List<PspOperation> operations;
+  private List<CurrencyLimit> currencyLimits;
+  private PspDetailsDto.FlowTargetInfo flowTarget;
+
+  @Setup
+  public void setUp() {
+    LocalDateTime now = LocalDateTime.now();
+    psp =
+        Psp.builder()
+            .id("psp_benchmark")
+            .name("Benchmark PSP")
+            .description("Card acquiring")
+            .timeout(30)
+            .blockVpnAccess(false)
+            .blockDataCenterAccess(false)
+            .failureRate(true)
+            .failureRateThreshold(0.2f)
+            .failureRateDurationMinutes(15)
+            .ipAddress(new String[] {"10.0.0.1", "10.0.0.2"})
+            .brandId("brn_benchmark")
+            .environmentId("env_benchmark")
+            .flowTargetId("ftg_benchmark")
+            .status(Status.ENABLED)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+
+    maintenanceWindows = new ArrayList<>();
+    operations = new ArrayList<>();
+    currencyLimits = new ArrayList<>();
+    for (int i = 0; i < operationCount; i++) {
+      String flowActionId = "fat_" + i;
+      maintenanceWindows.add(
+          MaintenanceWindow.builder()
+              .id("mwd_" + i)
+              .pspId(psp.getId())
+              .flowActionId(flowActionId)
+              .startAt(now.plusDays(i))
+              .endAt(now.plusDays(i).plusHours(2))
+              .status(Status.ENABLED)
+              .build());
+      operations.add(
+          PspOperation.builder()
+              .brandId(psp.getBrandId())
+              .environmentId(psp.getEnvironmentId())
+              .pspId(psp.getId())
+              .flowActionId(flowActionId)
+              .flowDefinitionId("fdf_" + i)
+              .status(Status.ENABLED)
+              .build());
+      for (String currency : CURRENCIES) {
+        currencyLimits.add(
+            CurrencyLimit.builder()
+                .brandId(psp.getBrandId())
+                .environmentId(psp.getEnvironmentId())
+                .flowActionId(flowActionId)
+                .pspId(psp.getId())
+                .currency(currency)
+                .minValue(BigDecimal.ONE)
+                .maxValue(BigDecimal.valueOf(10_000))
+                .build());
+      }
+    }
+    flowTarget =
+        PspDetailsDto.FlowTargetInfo.builder()
+            .id(psp.getFlowTargetId())
+            .flowTypeId("fty_benchmark")
+            .currencies(CURRENCIES)
+            .countries(List.of("US", "GB", "MY"))
+            .paymentMethods(List.of("card"))
+            .supportedActions(List.of())
+            .build();
+  }
+
+  @Benchmark
+  public PspDetailsDto buildPspDetailsDto() {
+    return PspServiceImpl.buildPspDetailsDto(
+        psp, maintenanceWindows, operations, currencyLimits, flowTarget);
+  }
+}
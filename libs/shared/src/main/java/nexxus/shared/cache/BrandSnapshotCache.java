@@ -0,0 +1,88 @@
+package nexxus.shared.cache;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Base of the caches that keep one {@link VersionedSnapshotCache} snapshot per brand and
+ * environment for a {@link nexxus.shared.constants.CacheTopic}. It wires the snapshots to the
+ * cluster: local writes call {@link #refresh(String, String)}, which rebuilds the snapshot and
+ * publishes the topic, and events from other instances rebuild the snapshot if this instance has
+ * it loaded. Subclasses only say how a snapshot is loaded.
+ *
+ * @param <T> snapshot type, expected to be immutable
+ */
+public abstract class BrandSnapshotCache<T> implements CacheInvalidationHandler {
+
+  private final String topic;
+  private final ClusterCacheInvalidator clusterCacheInvalidator;
+  protected final VersionedSnapshotCache<T> snapshots;
+
+  /**
+   * @param topic cache topic published on refresh and listened to
+   * @param name cache name used in logs
+   * @param clusterCacheInvalidator publishes local refreshes to the other instances
+   */
+  protected BrandSnapshotCache(
+      String topic, String name, ClusterCacheInvalidator clusterCacheInvalidator) {
+    this.topic = topic;
+    this.clusterCacheInvalidator = clusterCacheInvalidator;
+    this.snapshots = new VersionedSnapshotCache<>(name, this::load);
+  }
+
+  public Mono<T> get(String brandId, String environmentId) {
+    return snapshots.get(brandId, environmentId);
+  }
+
+  /**
+   * Rebuilds the snapshot after a local write and tells the other instances to do the same
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @return completes once the snapshot is refreshed and the change published
+   */
+  public Mono<Void> refresh(String brandId, String environmentId) {
+    return snapshots
+        .refresh(brandId, environmentId)
+        .then(clusterCacheInvalidator.publish(topic, brandId, environmentId, null));
+  }
+
+  public void evict(String brandId, String environmentId) {
+    snapshots.evict(brandId, environmentId);
+  }
+
+  @Override
+  public String getTopic() {
+    return topic;
+  }
+
+  @Override
+  public void onInvalidation(CacheInvalidationEvent event) {
+    snapshots.refreshIfLoaded(event.getBrandId(), event.getEnvironmentId()).subscribe();
+  }
+
+  @Override
+  public void onReset() {
+    snapshots.evictAll();
+  }
+
+  /**
+   * Publishes a change of one record to the other instances
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @param key ID of the changed record
+   * @return completes once the change is published
+   */
+  protected Mono<Void> publish(String brandId, String environmentId, String key) {
+    return clusterCacheInvalidator.publish(topic, brandId, environmentId, key);
+  }
+
+  /**
+   * Builds the snapshot of a brand and environment from the database
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @return snapshot
+   */
+  protected abstract Mono<T> load(String brandId, String environmentId);
+}
@@ -0,0 +1,27 @@
+package nexxus.shared.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** Change notification exchanged between service instances over Postgres LISTEN/NOTIFY */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationEvent {
+
+  /** Cache the change applies to, see {@link CacheInvalidationHandler#getTopic()} */
+  private String topic;
+
+  private String brandId;
+
+  private String environmentId;
+
+  /** Optional ID of the changed record */
+  private String key;
+
+  /** Instance that published the event; used to skip our own notifications */
+  private String origin;
+}
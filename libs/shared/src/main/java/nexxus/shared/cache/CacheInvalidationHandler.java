@@ -0,0 +1,23 @@
+package nexxus.shared.cache;
+
+/**
+ * Local cache that follows changes made on other service instances. Beans implementing this
+ * interface are picked up by {@link ClusterCacheInvalidator}.
+ */
+public interface CacheInvalidationHandler {
+
+  /**
+   * @return topic this handler listens to
+   */
+  String getTopic();
+
+  /**
+   * Called when another instance changed data held by this cache
+   *
+   * @param event change notification
+   */
+  void onInvalidation(CacheInvalidationEvent event);
+
+  /** Called after the notification channel reconnected, when events may have been missed */
+  void onReset();
+}
@@ -0,0 +1,220 @@
+package nexxus.shared.cache;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Cluster-wide cache invalidation over Postgres LISTEN/NOTIFY.
+ *
+ * <p>Write paths call {@link #publish} after changing cached data; the event is sent with {@code
+ * pg_notify}, so when the write runs in a transaction it is only delivered on commit. Every
+ * instance keeps one dedicated connection (outside the R2DBC pool) listening on the channel and
+ * dispatches events from other instances to the {@link CacheInvalidationHandler} beans of the
+ * matching topic. When the listening connection drops it is re-established with backoff and all
+ * handlers are reset, since notifications sent in between are lost.
+ */
+@Slf4j
+@Component
+public class ClusterCacheInvalidator {
+
+  private final ConnectionFactory connectionFactory;
+  private final DatabaseClient databaseClient;
+  private final ObjectMapper objectMapper;
+  private final ObjectProvider<CacheInvalidationHandler> handlers;
+  private final boolean enabled;
+  private final String channel;
+
+  private final String instanceId = UUID.randomUUID().toString();
+  private final AtomicBoolean listenedBefore = new AtomicBoolean();
+  private volatile Disposable subscription;
+
+  public ClusterCacheInvalidator(
+      ConnectionFactory connectionFactory,
+      DatabaseClient databaseClient,
+      ObjectMapper objectMapper,
+      ObjectProvider<CacheInvalidationHandler> handlers,
+      @Value("${nexxus.cache.invalidation.enabled:true}") boolean enabled,
+      @Value("${nexxus.cache.invalidation.channel:nexxus_cache_invalidation}") String channel) {
+    if (!channel.matches("[a-z_][a-z0-9_]*")) {
+      throw new IllegalArgumentException("Invalid cache invalidation channel name: " + channel);
+    }
+    this.connectionFactory = connectionFactory;
+    this.databaseClient = databaseClient;
+    this.objectMapper = objectMapper;
+    this.handlers = handlers;
+    this.enabled = enabled;
+    this.channel = channel;
+  }
+
+  /**
+   * Notifies the other instances that cached data of a brand and environment changed. Failures are
+   * logged and swallowed so that they never fail the write that triggered them.
+   *
+   * @param topic cache topic
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @param key optional ID of the changed record
+   * @return completes once the notification is sent
+   */
+  public Mono<Void> publish(String topic, String brandId, String environmentId, String key) {
+    if (!enabled) {
+      return Mono.empty();
+    }
+    return Mono.fromCallable(
+            () ->
+                objectMapper.writeValueAsString(
+                    CacheInvalidationEvent.builder()
+                        .topic(topic)
+                        .brandId(brandId)
+                        .environmentId(environmentId)
+                        .key(key)
+                        .origin(instanceId)
+                        .build()))
+        .flatMap(
+            payload ->
+                databaseClient
+                    .sql("SELECT pg_notify(:channel, :payload)")
+                    .bind("channel", channel)
+                    .bind("payload", payload)
+                    .then())
+        .onErrorResume(
+            e -> {
+              log.warn(
+                  "Failed to publish {} invalidation for brand {} environment {}: {}",
+                  topic,
+                  brandId,
+                  environmentId,
+                  e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled || subscription != null) {
+      return;
+    }
+    subscription =
+        Flux.usingWhen(connect(), this::listen, Connection::close)
+            .retryWhen(
+                Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                    .maxBackoff(Duration.ofSeconds(30))
+                    .doBeforeRetry(
+                        signal ->
+                            log.warn(
+                                "Cache invalidation listener disconnected, reconnecting: {}",
+                                signal.failure().getMessage())))
+            .subscribe(this::dispatch);
+  }
+
+  @PreDestroy
+  public void stop() {
+    Disposable current = subscription;
+    if (current != null) {
+      current.dispose();
+    }
+  }
+
+  private Mono<PostgresqlConnection> connect() {
+    // A LISTEN connection is held forever, so bypass the pool when there is one
+    ConnectionFactory factory = connectionFactory;
+    if (factory instanceof Wrapped<?> wrapped
+        && wrapped.unwrap() instanceof ConnectionFactory unwrapped) {
+      factory = unwrapped;
+    }
+    return Mono.from(factory.create())
+        .flatMap(
+            connection -> {
+              if (connection instanceof PostgresqlConnection postgresqlConnection) {
+                return Mono.just(postgresqlConnection);
+              }
+              return Mono.from(connection.close())
+                  .then(
+                      Mono.error(
+                          new IllegalStateException(
+                              "Cache invalidation requires a Postgres connection")));
+            });
+  }
+
+  private Flux<Notification> listen(PostgresqlConnection connection) {
+    return connection
+        .createStatement("LISTEN " + channel)
+        .execute()
+        .flatMap(PostgresqlResult::getRowsUpdated)
+        .then(
+            Mono.fromRunnable(
+                () -> {
+                  log.info("Listening for cache invalidations on channel {}", channel);
+                  if (listenedBefore.getAndSet(true)) {
+                    resetAll();
+                  }
+                }))
+        .thenMany(connection.getNotifications())
+        // The notification stream completes when the connection is closed by the server
+        .concatWith(Mono.error(new IllegalStateException("Notification stream closed")));
+  }
+
+  private void dispatch(Notification notification) {
+    CacheInvalidationEvent event;
+    try {
+      event = objectMapper.readValue(notification.getParameter(), CacheInvalidationEvent.class);
+    } catch (JsonProcessingException e) {
+      log.warn("Ignoring malformed cache invalidation: {}", notification.getParameter());
+      return;
+    }
+    if (instanceId.equals(event.getOrigin())) {
+      return;
+    }
+    handlers
+        .orderedStream()
+        .filter(handler -> handler.getTopic().equals(event.getTopic()))
+        .forEach(
+            handler -> {
+              try {
+                handler.onInvalidation(event);
+              } catch (RuntimeException e) {
+                log.warn(
+                    "Cache invalidation handler for {} failed: {}",
+                    event.getTopic(),
+                    e.getMessage());
+              }
+            });
+  }
+
+  private void resetAll() {
+    handlers
+        .orderedStream()
+        .forEach(
+            handler -> {
+              try {
+                handler.onReset();
+              } catch (RuntimeException e) {
+                log.warn("Cache reset for {} failed: {}", handler.getTopic(), e.getMessage());
+              }
+            });
+  }
+}
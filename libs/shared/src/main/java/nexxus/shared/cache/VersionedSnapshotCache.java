@@ -0,0 +1,194 @@
+package nexxus.shared.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds one immutable snapshot per (brandId, environmentId), built by a reactive loader.
+ *
+ * <p>Reads return the current snapshot without touching the database once it has been loaded.
+ * Writers call {@link #refresh(String, String)} after persisting a new version: the snapshot is
+ * rebuilt and swapped in atomically, so readers see either the old or the new snapshot but never a
+ * gap. Every load takes a ticket from a monotonic sequence before querying and a snapshot only
+ * replaces one with a lower ticket, so a slow load that started before a write can never overwrite
+ * the result of the refresh that followed it.
+ *
+ * @param <T> snapshot type, expected to be immutable
+ */
+@Slf4j
+public class VersionedSnapshotCache<T> {
+
+  private final String name;
+  private final BiFunction<String, String, Mono<T>> loader;
+  private final Map<String, Map<String, AtomicReference<Snapshot<T>>>> snapshots =
+      new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  /**
+   * @param name cache name used in logs
+   * @param loader builds the snapshot of a brand and environment from the database
+   */
+  public VersionedSnapshotCache(String name, BiFunction<String, String, Mono<T>> loader) {
+    this.name = name;
+    this.loader = loader;
+  }
+
+  /**
+   * Returns the snapshot of a brand and environment, loading it on first use
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @return current snapshot
+   */
+  public Mono<T> get(String brandId, String environmentId) {
+    Snapshot<T> current = slot(brandId, environmentId).get();
+    if (current != null && current.value != null) {
+      return Mono.just(current.value);
+    }
+    return load(brandId, environmentId);
+  }
+
+  /**
+   * Rebuilds the snapshot of a brand and environment and swaps it in. Meant to be called once a
+   * write has been committed. A failed rebuild evicts the snapshot instead of failing the write, so
+   * the next read reloads it.
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @return completes once the new snapshot is installed
+   */
+  public Mono<Void> refresh(String brandId, String environmentId) {
+    return load(brandId, environmentId)
+        .doOnNext(
+            value ->
+                log.debug(
+                    "Refreshed {} snapshot for brand {} environment {}",
+                    name,
+                    brandId,
+                    environmentId))
+        .onErrorResume(
+            e -> {
+              log.warn(
+                  "Failed to refresh {} snapshot for brand {} environment {}, evicting it: {}",
+                  name,
+                  brandId,
+                  environmentId,
+                  e.getMessage());
+              evict(brandId, environmentId);
+              return Mono.empty();
+            })
+        .then();
+  }
+
+  /**
+   * Rebuilds the snapshot of a brand and environment only if one is currently held. Otherwise
+   * loads that are already in flight are discarded, as they may predate the change. Used for
+   * changes made on other instances.
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @return completes once the new snapshot is installed
+   */
+  public Mono<Void> refreshIfLoaded(String brandId, String environmentId) {
+    Map<String, AtomicReference<Snapshot<T>>> byEnvironment = snapshots.get(brandId);
+    AtomicReference<Snapshot<T>> slot =
+        byEnvironment != null ? byEnvironment.get(environmentId) : null;
+    Snapshot<T> current = slot != null ? slot.get() : null;
+    if (current == null || current.value == null) {
+      if (slot != null) {
+        evict(brandId, environmentId);
+      }
+      return Mono.empty();
+    }
+    return refresh(brandId, environmentId);
+  }
+
+  /**
+   * Applies an incremental change to the snapshot of a brand and environment instead of rebuilding
+   * it. The patched snapshot takes a new ticket, so loads that started before it are discarded. If
+   * no snapshot is held, in-flight loads are discarded as with {@link #refreshIfLoaded}.
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @param change builds the new snapshot from the current one; it must not modify its argument
+   *     and may be called more than once under contention
+   */
+  public void patch(String brandId, String environmentId, UnaryOperator<T> change) {
+    Map<String, AtomicReference<Snapshot<T>>> byEnvironment = snapshots.get(brandId);
+    AtomicReference<Snapshot<T>> slot =
+        byEnvironment != null ? byEnvironment.get(environmentId) : null;
+    if (slot == null) {
+      return;
+    }
+    slot.updateAndGet(
+        current ->
+            current == null || current.value == null
+                ? new Snapshot<>(sequence.incrementAndGet(), null)
+                : new Snapshot<>(sequence.incrementAndGet(), change.apply(current.value)));
+  }
+
+  /**
+   * Drops the snapshot of a brand and environment; it is reloaded on next use. Loads already in
+   * flight are discarded when they complete.
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   */
+  public void evict(String brandId, String environmentId) {
+    swap(slot(brandId, environmentId), new Snapshot<>(sequence.incrementAndGet(), null));
+  }
+
+  /** Drops every snapshot */
+  public void evictAll() {
+    long ticket = sequence.incrementAndGet();
+    snapshots
+        .values()
+        .forEach(
+            byEnvironment ->
+                byEnvironment.values().forEach(slot -> swap(slot, new Snapshot<>(ticket, null))));
+  }
+
+  private Mono<T> load(String brandId, String environmentId) {
+    return Mono.defer(
+        () -> {
+          long ticket = sequence.incrementAndGet();
+          AtomicReference<Snapshot<T>> slot = slot(brandId, environmentId);
+          return loader
+              .apply(brandId, environmentId)
+              .map(value -> swap(slot, new Snapshot<>(ticket, value)));
+        });
+  }
+
+  /** Installs the candidate unless a newer snapshot is already present and returns the winner */
+  private T swap(AtomicReference<Snapshot<T>> slot, Snapshot<T> candidate) {
+    Snapshot<T> installed =
+        slot.accumulateAndGet(
+            candidate,
+            (current, next) -> current == null || current.ticket < next.ticket ? next : current);
+    // A newer eviction wins over this load, but the caller still gets the data it asked for
+    return installed.value != null ? installed.value : candidate.value;
+  }
+
+  private AtomicReference<Snapshot<T>> slot(String brandId, String environmentId) {
+    return snapshots
+        .computeIfAbsent(brandId, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(environmentId, key -> new AtomicReference<>());
+  }
+
+  private static final class Snapshot<T> {
+    private final long ticket;
+    private final T value;
+
+    private Snapshot(long ticket, T value) {
+      this.ticket = ticket;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package nexxus.shared.config;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import io.r2dbc.postgresql.codec.Json;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs {@code EXPLAIN} on every read-only {@link Query} declared on a repository and reports plans
+ * that fall back to a sequential scan, so that a query without a matching index is caught at
+ * startup instead of in production.
+ *
+ * <p>Meant for CI and seeded environments ({@code nexxus.query-plan-check.enabled}). Each query is
+ * planned with sample parameter values and {@code enable_seqscan} switched off for the transaction,
+ * so a sequential scan only shows up when no index can serve the query at all, regardless of how
+ * small the tables are. A query that cannot be explained, for instance because its SQL is invalid
+ * or a parameter type has no sample value, fails the check as well. Queries that are expected to
+ * scan can be listed in {@code nexxus.query-plan-check.ignore} as {@code Repository.method}.
+ */
+@Slf4j
+@Component
+public class QueryPlanSelfCheck {
+
+  private static final Duration CHECK_TIMEOUT = Duration.ofMinutes(1);
+
+  private final ApplicationContext applicationContext;
+  private final DatabaseClient databaseClient;
+  private final TransactionalOperator transactionalOperator;
+  private final boolean enabled;
+  private final boolean failOnViolation;
+  private final Set<String> ignored;
+
+  public QueryPlanSelfCheck(
+      ApplicationContext applicationContext,
+      DatabaseClient databaseClient,
+      TransactionalOperator transactionalOperator,
+      @Value("${nexxus.query-plan-check.enabled:false}") boolean enabled,
+      @Value("${nexxus.query-plan-check.fail-on-violation:true}") boolean failOnViolation,
+      @Value("${nexxus.query-plan-check.ignore:}") Set<String> ignored) {
+    this.applicationContext = applicationContext;
+    this.databaseClient = databaseClient;
+    this.transactionalOperator = transactionalOperator;
+    this.enabled = enabled;
+    this.failOnViolation = failOnViolation;
+    this.ignored = ignored;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void check() {
+    if (!enabled) {
+      return;
+    }
+    List<RepositoryQuery> queries = collectQueries();
+    // Blocking on purpose: a failed check has to stop the application from starting
+    List<String> violations =
+        Flux.fromIterable(queries)
+            .concatMap(this::explain)
+            .collectList()
+            .block(CHECK_TIMEOUT);
+
+    if (violations == null || violations.isEmpty()) {
+      log.info("Query plan check passed for {} repository queries", queries.size());
+      return;
+    }
+    String message = "Repository query plan check failed:\n  " + String.join("\n  ", violations);
+    if (failOnViolation) {
+      throw new IllegalStateException(message);
+    }
+    log.warn(message);
+  }
+
+  private List<RepositoryQuery> collectQueries() {
+    List<RepositoryQuery> queries = new ArrayList<>();
+    for (Object repository : applicationContext.getBeansOfType(Repository.class).values()) {
+      for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(repository)) {
+        for (Method method : type.getDeclaredMethods()) {
+          Query query = method.getAnnotation(Query.class);
+          String name = type.getSimpleName() + "." + method.getName();
+          if (query != null && isSelect(query.value()) && !ignored.contains(name)) {
+            queries.add(new RepositoryQuery(name, query.value(), method.getParameters()));
+          }
+        }
+      }
+    }
+    return queries;
+  }
+
+  /**
+   * @return a description of the violation, empty if the plan is fine
+   */
+  private Mono<String> explain(RepositoryQuery query) {
+    Mono<String> plan =
+        Mono.defer(
+            () -> {
+              DatabaseClient.GenericExecuteSpec spec =
+                  databaseClient.sql("EXPLAIN (FORMAT JSON) " + query.sql());
+              for (Parameter parameter : query.parameters()) {
+                Param param = parameter.getAnnotation(Param.class);
+                if (param != null) {
+                  spec = spec.bind(param.value(), sampleValue(parameter.getType()));
+                }
+              }
+              return spec.map(row -> String.valueOf(row.get(0))).one();
+            });
+
+    return transactionalOperator
+        .transactional(databaseClient.sql("SET LOCAL enable_seqscan = off").then().then(plan))
+        .flatMap(
+            json ->
+                json.contains("\"Seq Scan\"")
+                    ? Mono.just(query.name() + ": sequential scan: " + query.sql())
+                    : Mono.<String>empty())
+        .onErrorResume(
+            e -> Mono.just(query.name() + ": could not be explained: " + e.getMessage()));
+  }
+
+  private static boolean isSelect(String sql) {
+    String statement = sql.stripLeading().toUpperCase(Locale.ROOT);
+    return statement.startsWith("SELECT")
+        || (statement.startsWith("WITH")
+            && !statement.contains("INSERT ")
+            && !statement.contains("UPDATE ")
+            && !statement.contains("DELETE "));
+  }
+
+  /**
+   * Plausible value for a query parameter, of the type the repository binds, so that the statement
+   * is planned with the same parameter types; only the shape of the plan matters
+   *
+   * @throws IllegalArgumentException if the type has no sample value
+   */
+  private static Object sampleValue(Class<?> type) {
+    if (type == String.class) {
+      return "x";
+    }
+    if (type == Integer.class || type == int.class) {
+      return 1;
+    }
+    if (type == Long.class || type == long.class) {
+      return 1L;
+    }
+    if (type == Short.class || type == short.class) {
+      return (short) 1;
+    }
+    if (type == Double.class || type == double.class) {
+      return 1.0d;
+    }
+    if (type == BigDecimal.class) {
+      return BigDecimal.ONE;
+    }
+    if (type == Boolean.class || type == boolean.class) {
+      return Boolean.TRUE;
+    }
+    if (type == LocalDateTime.class) {
+      return LocalDateTime.now();
+    }
+    if (type == LocalDate.class) {
+      return LocalDate.now();
+    }
+    if (type == Instant.class) {
+      return Instant.now();
+    }
+    if (type == Json.class) {
+      return Json.of("{}");
+    }
+    if (type.isArray()) {
+      Object array = Array.newInstance(type.getComponentType(), 1);
+      Array.set(array, 0, sampleValue(type.getComponentType()));
+      return array;
+    }
+    if (type.isEnum()) {
+      return ((Enum<?>) type.getEnumConstants()[0]).name();
+    }
+    throw new IllegalArgumentException("No sample value for parameter type " + type.getName());
+  }
+
+  private record RepositoryQuery(String name, String sql, Parameter[] parameters) {}
+}
@@ -0,0 +1,18 @@
+package nexxus.shared.constants;
+
+/** Topics of the cluster cache invalidation channel */
+public final class CacheTopic {
+
+  public static final String PSP = "psp";
+  public static final String ROUTING_RULE = "routing-rule";
+  public static final String RISK_RULE = "risk-rule";
+  public static final String FEE = "fee";
+  public static final String CONVERSION_RATE = "conversion-rate";
+  public static final String WEBHOOK = "webhook";
+  public static final String FLOW_TARGET = "flow-target";
+  public static final String FLOW = "flow";
+
+  private CacheTopic() {
+    // Utility class, prevent instantiation
+  }
+}
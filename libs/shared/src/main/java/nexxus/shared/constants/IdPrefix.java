@@ -48,6 +48,7 @@ public final class IdPrefix {
   // Transaction related
   public static final String TRANSACTION = "txn";
   public static final String TRANSACTION_LOG = "tnl";
+  public static final String TRANSACTION_OUTBOX = "tno";
 
   // Webhook related
   public static final String WEBHOOK = "whk";
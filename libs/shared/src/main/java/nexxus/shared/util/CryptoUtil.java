@@ -1,5 +1,8 @@
 package nexxus.shared.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.HashMap;
@@ -19,21 +22,38 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Utility class for encrypting and decrypting sensitive data like credentials Uses AES-GCM
  * encryption for secure storage
+ *
+ * <p>The AES key is derived once at construction and each thread reuses its own {@link Cipher},
+ * re-initialised with a fresh IV per value, so a credential map costs one provider lookup instead
+ * of one per entry.
  */
 @Slf4j
 @Component
 public class CryptoUtil {
 
   private final ObjectMapper objectMapper;
-  private final String secretKey;
+  private final SecretKeySpec keySpec;
   private static final String ALGORITHM = "AES/GCM/NoPadding";
   private static final int GCM_IV_LENGTH = 12;
   private static final int GCM_TAG_LENGTH = 16;
+  private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+  /** Cipher instances are not thread-safe, so every thread keeps its own */
+  private static final ThreadLocal<Cipher> CIPHERS =
+      ThreadLocal.withInitial(
+          () -> {
+            try {
+              return Cipher.getInstance(ALGORITHM);
+            } catch (GeneralSecurityException e) {
+              throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+          });
 
   public CryptoUtil(
       @Value("${nexxus.crypto.secret-key:default-secret-key-change-in-production}")
           String secretKey) {
-    this.secretKey = normalizeSecretKey(secretKey);
+    byte[] keyBytes = Base64.getDecoder().decode(normalizeSecretKey(secretKey));
+    this.keySpec = new SecretKeySpec(keyBytes, "AES");
     this.objectMapper = new ObjectMapper();
   }
 
@@ -46,9 +66,9 @@ public class CryptoUtil {
    */
   private String normalizeSecretKey(String secretKey) {
     try {
-      java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-      byte[] hash = digest.digest(secretKey.getBytes("UTF-8"));
-      return java.util.Base64.getEncoder().encodeToString(hash);
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] hash = digest.digest(secretKey.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
     } catch (Exception e) {
       log.error("Error normalizing secret key: {}", e.getMessage());
       // Fallback to a default key if normalization fails
@@ -69,13 +89,14 @@ public class CryptoUtil {
     }
 
     Map<String, String> encrypted = new HashMap<>();
+    Cipher cipher = CIPHERS.get();
 
     for (Map.Entry<String, String> entry : credential.entrySet()) {
       String key = entry.getKey();
       String value = entry.getValue();
 
       if (value != null && !value.trim().isEmpty()) {
-        String encryptedValue = encrypt(value);
+        String encryptedValue = encrypt(cipher, value);
         encrypted.put(key, encryptedValue);
       } else {
         encrypted.put(key, value); // Keep null/empty values as is
@@ -99,14 +120,15 @@ public class CryptoUtil {
     }
 
     Map<String, String> decrypted = new HashMap<>();
+    Cipher cipher = CIPHERS.get();
 
     for (Map.Entry<String, String> entry : encryptedCredential.entrySet()) {
       String key = entry.getKey();
       String value = entry.getValue();
+      byte[] combined = value != null && !value.trim().isEmpty() ? decodeCiphertext(value) : null;
 
-      if (value != null && !value.trim().isEmpty() && isEncrypted(value)) {
-        String decryptedValue = decrypt(value);
-        decrypted.put(key, decryptedValue);
+      if (combined != null) {
+        decrypted.put(key, decrypt(cipher, combined));
       } else {
         decrypted.put(key, value); // Keep non-encrypted values as is
       }
@@ -127,28 +149,23 @@ public class CryptoUtil {
       return plaintext;
     }
 
-    try {
-      // Decode the normalized secret key from Base64
-      byte[] keyBytes = Base64.getDecoder().decode(secretKey);
+    return encrypt(CIPHERS.get(), plaintext);
+  }
 
+  private String encrypt(Cipher cipher, String plaintext) throws Exception {
+    try {
       // Generate a random IV
       byte[] iv = new byte[GCM_IV_LENGTH];
-      SecureRandom random = new SecureRandom();
-      random.nextBytes(iv);
+      SECURE_RANDOM.nextBytes(iv);
 
-      // Create cipher
-      Cipher cipher = Cipher.getInstance(ALGORITHM);
-      SecretKeySpec keySpec = new SecretKeySpec(keyBytes, "AES");
       GCMParameterSpec gcmSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
       cipher.init(Cipher.ENCRYPT_MODE, keySpec, gcmSpec);
 
-      // Encrypt
-      byte[] encrypted = cipher.doFinal(plaintext.getBytes());
-
-      // Combine IV and encrypted data
-      byte[] combined = new byte[iv.length + encrypted.length];
-      System.arraycopy(iv, 0, combined, 0, iv.length);
-      System.arraycopy(encrypted, 0, combined, iv.length, encrypted.length);
+      // Encrypt straight into the buffer behind the IV
+      byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+      byte[] combined = new byte[GCM_IV_LENGTH + cipher.getOutputSize(input.length)];
+      System.arraycopy(iv, 0, combined, 0, GCM_IV_LENGTH);
+      cipher.doFinal(input, 0, input.length, combined, GCM_IV_LENGTH);
 
       return Base64.getEncoder().encodeToString(combined);
     } catch (Exception e) {
@@ -169,28 +186,25 @@ public class CryptoUtil {
       return encryptedText;
     }
 
+    byte[] combined;
     try {
-      // Decode the normalized secret key from Base64
-      byte[] keyBytes = Base64.getDecoder().decode(secretKey);
-
-      // Decode from Base64
-      byte[] combined = Base64.getDecoder().decode(encryptedText);
-
-      // Extract IV and encrypted data
-      byte[] iv = new byte[GCM_IV_LENGTH];
-      byte[] encrypted = new byte[combined.length - GCM_IV_LENGTH];
-      System.arraycopy(combined, 0, iv, 0, GCM_IV_LENGTH);
-      System.arraycopy(combined, GCM_IV_LENGTH, encrypted, 0, encrypted.length);
+      combined = Base64.getDecoder().decode(encryptedText);
+    } catch (IllegalArgumentException e) {
+      log.error("Error decrypting value: {}", e.getMessage());
+      throw new Exception("Decryption failed: " + e.getMessage());
+    }
+    return decrypt(CIPHERS.get(), combined);
+  }
 
-      // Create cipher
-      Cipher cipher = Cipher.getInstance(ALGORITHM);
-      SecretKeySpec keySpec = new SecretKeySpec(keyBytes, "AES");
-      GCMParameterSpec gcmSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
+  private String decrypt(Cipher cipher, byte[] combined) throws Exception {
+    try {
+      // The IV and the encrypted data are read in place from the combined buffer
+      GCMParameterSpec gcmSpec =
+          new GCMParameterSpec(GCM_TAG_LENGTH * 8, combined, 0, GCM_IV_LENGTH);
       cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmSpec);
 
-      // Decrypt
-      byte[] decrypted = cipher.doFinal(encrypted);
-      return new String(decrypted);
+      byte[] decrypted = cipher.doFinal(combined, GCM_IV_LENGTH, combined.length - GCM_IV_LENGTH);
+      return new String(decrypted, StandardCharsets.UTF_8);
     } catch (Exception e) {
       log.error("Error decrypting value: {}", e.getMessage());
       throw new Exception("Decryption failed: " + e.getMessage());
@@ -198,19 +212,18 @@ public class CryptoUtil {
   }
 
   /**
-   * Checks if a string appears to be encrypted (Base64 encoded with proper length)
+   * Decodes a string that appears to be encrypted (Base64 encoded with proper length)
    *
    * @param value The string to check
-   * @return true if the string appears to be encrypted
+   * @return the IV followed by the encrypted data, or null if the string is not encrypted
    */
-  private boolean isEncrypted(String value) {
+  private byte[] decodeCiphertext(String value) {
     try {
-      // Check if it's Base64 encoded
       byte[] decoded = Base64.getDecoder().decode(value);
       // Check if it has the minimum length for IV + some encrypted data
-      return decoded.length >= GCM_IV_LENGTH + 1;
-    } catch (Exception e) {
-      return false;
+      return decoded.length >= GCM_IV_LENGTH + 1 ? decoded : null;
+    } catch (IllegalArgumentException e) {
+      return null;
     }
   }
 
@@ -0,0 +1,32 @@
+package nexxus.shared.util;
+
+import java.util.Currency;
+
+/** Utility class for currency-dependent rounding of amounts */
+public final class CurrencyUtil {
+
+  /**
+   * Scale used for currencies the JDK does not know or that have no minor unit. It mirrors {@code
+   * transactions.amount}, a DECIMAL(19,4), so a rounded amount is stored without further rounding.
+   */
+  public static final int DEFAULT_SCALE = 4;
+
+  private CurrencyUtil() {
+    // Utility class, prevent instantiation
+  }
+
+  /**
+   * Number of decimals of the minor unit of a currency
+   *
+   * @param currency ISO 4217 currency code, upper case
+   * @return the default fraction digits of the currency, or {@link #DEFAULT_SCALE}
+   */
+  public static int scaleOf(String currency) {
+    try {
+      int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+      return digits >= 0 ? digits : DEFAULT_SCALE;
+    } catch (IllegalArgumentException e) {
+      return DEFAULT_SCALE;
+    }
+  }
+}
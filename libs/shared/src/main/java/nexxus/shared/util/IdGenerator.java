@@ -1,17 +1,37 @@
 package nexxus.shared.util;
 
 import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 import nexxus.shared.constants.IdPrefix;
 
 /**
  * Utility class for generating TypeID-style IDs Based on the TypeScript typeid-js implementation
+ *
+ * <p>The suffix is a UUIDv7 (48-bit millisecond timestamp followed by random bits) encoded in the
+ * 26-character Crockford base32 alphabet of the TypeID spec, so IDs sort by creation time and new
+ * rows land at the right edge of primary key indexes. Randomness comes from {@link
+ * ThreadLocalRandom}, which needs no coordination between event-loop threads. Environment secrets
+ * and tokens are credentials rather than identifiers and keep using {@link SecureRandom}.
  */
 public final class IdGenerator {
 
   private static final SecureRandom SECURE_RANDOM = new SecureRandom();
   private static final String ALPHANUMERIC_CHARS =
       "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+  private static final char[] TYPEID_ALPHABET = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+  private static final int SUFFIX_LENGTH = 26;
+  private static final byte[] TYPEID_DIGITS = new byte[128];
+
+  static {
+    Arrays.fill(TYPEID_DIGITS, (byte) -1);
+    for (int i = 0; i < TYPEID_ALPHABET.length; i++) {
+      TYPEID_DIGITS[TYPEID_ALPHABET[i]] = (byte) i;
+    }
+  }
 
   private IdGenerator() {
     // Utility class, prevent instantiation
@@ -25,9 +45,9 @@ public final class IdGenerator {
    */
   public static String generateId(String prefix) {
     if (prefix == null || prefix.isEmpty()) {
-      return generateRandomId();
+      return generateTimeOrderedId("", "");
     }
-    return prefix + "_" + generateRandomId();
+    return generateTimeOrderedId(prefix, "_");
   }
 
   /**
@@ -38,9 +58,9 @@ public final class IdGenerator {
    */
   public static String generateIdWithoutPrefix(String prefix) {
     if (prefix == null || prefix.isEmpty()) {
-      return generateRandomId();
+      return generateTimeOrderedId("", "");
     }
-    return prefix + generateRandomId();
+    return generateTimeOrderedId(prefix, "");
   }
 
   /**
@@ -67,7 +87,7 @@ public final class IdGenerator {
    * @return the generated environment secret ID
    */
   public static String generateEnvironmentSecretId() {
-    return generateId(IdPrefix.ENVIRONMENT_SECRET);
+    return generateSecureId(IdPrefix.ENVIRONMENT_SECRET);
   }
 
   /**
@@ -130,7 +150,7 @@ public final class IdGenerator {
    * @return the generated token ID
    */
   public static String generateTokenId() {
-    return generateId(IdPrefix.TOKEN);
+    return generateSecureId(IdPrefix.TOKEN);
   }
 
   /**
@@ -250,6 +270,15 @@ public final class IdGenerator {
     return generateIdWithoutPrefix(IdPrefix.TRANSACTION_LOG);
   }
 
+  /**
+   * Generate a transaction outbox event ID
+   *
+   * @return the generated transaction outbox event ID
+   */
+  public static String generateTransactionOutboxId() {
+    return generateIdWithoutPrefix(IdPrefix.TRANSACTION_OUTBOX);
+  }
+
   /**
    * Generate a webhook ID
    *
@@ -304,12 +333,96 @@ public final class IdGenerator {
     return generateId(IdPrefix.PERMISSION);
   }
 
+  /**
+   * Builds {@code prefix + separator + suffix} in a single char array, the suffix being the TypeID
+   * encoding of a new UUIDv7
+   *
+   * @return the generated ID
+   */
+  private static String generateTimeOrderedId(String prefix, String separator) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long epochMillis = System.currentTimeMillis();
+    long randomBits = random.nextLong();
+    // unix_ts_ms (48) | ver = 7 (4) | rand_a (12)
+    long msb = (epochMillis << 16) | 0x7000L | (randomBits & 0x0FFFL);
+    // var = 0b10 (2) | rand_b (62)
+    long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+    int offset = prefix.length() + separator.length();
+    char[] chars = new char[offset + SUFFIX_LENGTH];
+    prefix.getChars(0, prefix.length(), chars, 0);
+    separator.getChars(0, separator.length(), chars, prefix.length());
+
+    // 130 bits of output for 128 bits of input: the first character carries the top 3 bits
+    chars[offset] = TYPEID_ALPHABET[(int) (msb >>> 61)];
+    for (int i = 1; i < SUFFIX_LENGTH; i++) {
+      chars[offset + i] = TYPEID_ALPHABET[fiveBits(msb, lsb, 125 - 5 * i)];
+    }
+    return new String(chars);
+  }
+
+  /** Five bits of the 128-bit value {@code msb:lsb} starting at bit {@code low} */
+  private static int fiveBits(long msb, long lsb, int low) {
+    if (low >= 64) {
+      return (int) (msb >>> (low - 64)) & 0x1F;
+    }
+    if (low > 59) {
+      return (int) ((lsb >>> low) | (msb << (64 - low))) & 0x1F;
+    }
+    return (int) (lsb >>> low) & 0x1F;
+  }
+
+  /**
+   * Extract the creation time of a time-ordered ID, i.e. the timestamp of the UUIDv7 its suffix
+   * encodes
+   *
+   * @param id the ID, with or without prefix
+   * @return the time the ID was generated at, or empty for IDs that are not time-ordered, such as
+   *     the random IDs issued before the suffix became a UUIDv7
+   */
+  public static Optional<Instant> extractTimestamp(String id) {
+    if (id == null || id.length() < SUFFIX_LENGTH) {
+      return Optional.empty();
+    }
+    int offset = id.length() - SUFFIX_LENGTH;
+    long msb = 0;
+    long lsb = 0;
+    for (int i = 0; i < SUFFIX_LENGTH; i++) {
+      char c = id.charAt(offset + i);
+      int digit = c < TYPEID_DIGITS.length ? TYPEID_DIGITS[c] : -1;
+      // The first character only carries 3 bits
+      if (digit < 0 || (i == 0 && digit > 7)) {
+        return Optional.empty();
+      }
+      msb = (msb << 5) | (lsb >>> 59);
+      lsb = (lsb << 5) | digit;
+    }
+    if (((msb >>> 12) & 0xF) != 7 || (lsb >>> 62) != 0b10) {
+      return Optional.empty();
+    }
+    return Optional.of(Instant.ofEpochMilli(msb >>> 16));
+  }
+
+  /**
+   * Generate an ID from a cryptographically strong source, for values that act as credentials
+   * and must not reveal their creation time
+   *
+   * @param prefix the ID prefix, may be empty
+   * @return the generated ID
+   */
+  private static String generateSecureId(String prefix) {
+    if (prefix == null || prefix.isEmpty()) {
+      return generateSecureRandomId();
+    }
+    return prefix + "_" + generateSecureRandomId();
+  }
+
   /**
    * Generate a random ID without prefix
    *
    * @return the generated random ID
    */
-  private static String generateRandomId() {
+  private static String generateSecureRandomId() {
     StringBuilder sb = new StringBuilder(26); // 26 characters for the random part
     for (int i = 0; i < 26; i++) {
       int randomIndex = SECURE_RANDOM.nextInt(ALPHANUMERIC_CHARS.length());
@@ -2,6 +2,8 @@ package nexxus.shared.validation;
 
 import org.springframework.stereotype.Service;
 
+import com.github.fge.jsonschema.main.JsonSchema;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,4 +31,22 @@ public class CredentialValidationService {
           "Invalid credential for flow target: " + flowTargetId, e.getValidationErrors());
     }
   }
+
+  /**
+   * Validates credentials against a flow target's compiled credential schema
+   *
+   * @param flowTargetId The flow target ID
+   * @param credentialSchema The compiled credential schema
+   * @param credential The credential JSON string to validate
+   * @throws SchemaValidationException if validation fails
+   */
+  public void validateCredential(
+      String flowTargetId, JsonSchema credentialSchema, String credential) {
+    try {
+      schemaValidator.validateAndThrow(credentialSchema, credential);
+    } catch (SchemaValidationException e) {
+      throw new SchemaValidationException(
+          "Invalid credential for flow target: " + flowTargetId, e.getValidationErrors());
+    }
+  }
 }
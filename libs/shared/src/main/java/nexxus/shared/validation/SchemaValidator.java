@@ -41,21 +41,7 @@ public class SchemaValidator {
       JsonNode payloadNode = objectMapper.readTree(payload);
 
       JsonSchema schema = schemaFactory.getJsonSchema(schemaNode);
-      ProcessingReport report = schema.validate(payloadNode);
-
-      if (report.isSuccess()) {
-        return ValidationResult.success();
-      } else {
-        List<String> errors = new ArrayList<>();
-        report.forEach(
-            processingMessage -> {
-              if (processingMessage.getLogLevel().ordinal()
-                  >= com.github.fge.jsonschema.core.report.LogLevel.ERROR.ordinal()) {
-                errors.add(processingMessage.getMessage());
-              }
-            });
-        return ValidationResult.failure(errors);
-      }
+      return toResult(schema.validate(payloadNode));
     } catch (IOException e) {
       log.error("Error parsing JSON schema or payload", e);
       return ValidationResult.failure(List.of("Invalid JSON format: " + e.getMessage()));
@@ -65,6 +51,42 @@ public class SchemaValidator {
     }
   }
 
+  /**
+   * Validates a JSON payload against a schema compiled with {@link #compile(String)}
+   *
+   * @param schema compiled JSON schema
+   * @param payload JSON payload as string
+   * @return ValidationResult containing validation status and errors
+   */
+  public ValidationResult validate(JsonSchema schema, String payload) {
+    try {
+      return toResult(schema.validate(objectMapper.readTree(payload)));
+    } catch (IOException e) {
+      log.error("Error parsing JSON payload", e);
+      return ValidationResult.failure(List.of("Invalid JSON format: " + e.getMessage()));
+    } catch (ProcessingException e) {
+      log.error("Error processing JSON schema", e);
+      return ValidationResult.failure(List.of("Invalid JSON schema: " + e.getMessage()));
+    }
+  }
+
+  /**
+   * Parses and compiles a JSON schema once so it can be applied to many payloads
+   *
+   * @param schemaJson JSON schema as string
+   * @return compiled JSON schema, thread-safe
+   * @throws SchemaValidationException if the schema cannot be parsed or compiled
+   */
+  public JsonSchema compile(String schemaJson) {
+    try {
+      return schemaFactory.getJsonSchema(objectMapper.readTree(schemaJson));
+    } catch (IOException e) {
+      throw new SchemaValidationException("Invalid JSON format", e.getMessage());
+    } catch (ProcessingException e) {
+      throw new SchemaValidationException("Invalid JSON schema", e.getMessage());
+    }
+  }
+
   /**
    * Validates a JSON payload against a JSON schema and throws exception if validation fails
    *
@@ -73,9 +95,38 @@ public class SchemaValidator {
    * @throws SchemaValidationException if validation fails
    */
   public void validateAndThrow(String schemaJson, String payload) throws SchemaValidationException {
-    ValidationResult result = validate(schemaJson, payload);
+    throwIfInvalid(validate(schemaJson, payload));
+  }
+
+  /**
+   * Validates a JSON payload against a compiled schema and throws exception if validation fails
+   *
+   * @param schema compiled JSON schema
+   * @param payload JSON payload as string
+   * @throws SchemaValidationException if validation fails
+   */
+  public void validateAndThrow(JsonSchema schema, String payload) throws SchemaValidationException {
+    throwIfInvalid(validate(schema, payload));
+  }
+
+  private void throwIfInvalid(ValidationResult result) {
     if (!result.isValid()) {
       throw new SchemaValidationException("Schema validation failed", result.getErrors());
     }
   }
+
+  private ValidationResult toResult(ProcessingReport report) {
+    if (report.isSuccess()) {
+      return ValidationResult.success();
+    }
+    List<String> errors = new ArrayList<>();
+    report.forEach(
+        processingMessage -> {
+          if (processingMessage.getLogLevel().ordinal()
+              >= com.github.fge.jsonschema.core.report.LogLevel.ERROR.ordinal()) {
+            errors.add(processingMessage.getMessage());
+          }
+        });
+    return ValidationResult.failure(errors);
+  }
 }
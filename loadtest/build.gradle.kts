@@ -0,0 +1,45 @@
+plugins {
+    id("build.common")
+    id("java")
+    id("application")
+}
+
+application {
+    mainClass.set("nexxus.loadtest.LoadTest")
+}
+
+dependencies {
+    // Spring Boot BOM for version management
+    implementation(platform(libs.spring.boot.bom))
+
+    // Migrations are applied from the migration module's classpath:db/migration
+    implementation(project(":services:migration"))
+    implementation(libs.bundles.flyway)
+    implementation(libs.postgresql)
+
+    // HTTP client, JWKS endpoint and token signing
+    implementation(libs.reactor.netty.http)
+    implementation(libs.jackson.databind)
+    implementation(libs.auth0.java.jwt)
+
+    // Latency histograms
+    implementation(libs.hdrhistogram)
+}
+
+val coreBootJar = project(":services:core").layout.buildDirectory.dir("libs")
+
+// ./gradlew :loadtest:loadTest -Ploadtest.rate=500 -Ploadtest.duration=PT2M
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Boots services/core against a local Postgres and drives open-loop load"
+    dependsOn(":services:core:bootJar")
+
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("nexxus.loadtest.LoadTest")
+
+    systemProperty("loadtest.core-jar-dir", coreBootJar.get().asFile.absolutePath)
+    systemProperty("loadtest.output-dir", layout.buildDirectory.dir("loadtest").get().asFile.absolutePath)
+    project.properties
+        .filterKeys { it.startsWith("loadtest.") }
+        .forEach { (key, value) -> systemProperty(key, value.toString()) }
+}
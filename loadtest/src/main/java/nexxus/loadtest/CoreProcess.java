@@ -0,0 +1,136 @@
+package nexxus.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Runs the services/core boot jar as a child process, configured through the same environment
+ * variables as the docker-compose deployment, and waits until its health endpoint reports UP.
+ */
+final class CoreProcess implements AutoCloseable {
+
+  static final String API_PREFIX = "/api";
+
+  private final Process process;
+  private final String baseUrl;
+
+  private CoreProcess(Process process, String baseUrl) {
+    this.process = process;
+    this.baseUrl = baseUrl;
+  }
+
+  static CoreProcess start(LoadTestConfig config, TokenIssuer tokenIssuer)
+      throws IOException, InterruptedException {
+    Path jar = findBootJar(config.coreJarDir);
+    Files.createDirectories(config.outputDir);
+    Path logFile = config.outputDir.resolve("core.log");
+
+    String javaBin = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    ProcessBuilder builder =
+        new ProcessBuilder(List.of(javaBin, "-jar", jar.toString()))
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile());
+    builder.environment().putAll(environment(config, tokenIssuer));
+
+    String baseUrl = "http://127.0.0.1:" + config.corePort;
+    CoreProcess core = new CoreProcess(builder.start(), baseUrl);
+    System.out.println("Started core from " + jar + ", logging to " + logFile);
+    core.awaitHealthy(config.startupTimeout);
+    return core;
+  }
+
+  String apiUrl() {
+    return baseUrl + API_PREFIX;
+  }
+
+  private static Map<String, String> environment(LoadTestConfig config, TokenIssuer tokenIssuer) {
+    return Map.ofEntries(
+        Map.entry("SPRING_APPLICATION_NAME", "nexxus-core-loadtest"),
+        Map.entry("SPRING_PROFILES_ACTIVE", "loadtest"),
+        Map.entry("SERVER_PORT", Integer.toString(config.corePort)),
+        Map.entry("API_PREFIX", API_PREFIX),
+        Map.entry("API_SWAGGER_SERVER_URL", "http://127.0.0.1:" + config.corePort),
+        Map.entry("SWAGGER_ENABLED", "false"),
+        Map.entry("DATABASE_URL", config.r2dbcUrl()),
+        Map.entry("DATABASE_USERNAME", config.databaseUsername),
+        Map.entry("DATABASE_PASSWORD", config.databasePassword),
+        Map.entry("CONNECTION_POOL_MINIMUM_IDLE", "10"),
+        Map.entry("CONNECTION_POOL_MAXIMUM_POOL_SIZE", "50"),
+        Map.entry("CONNECTION_POOL_IDLE_TIMEOUT", "10m"),
+        Map.entry("CONNECTION_POOL_CONNECTION_TIMEOUT", "5s"),
+        Map.entry("MANAGEMENT_ENDPOINTS_WEB_EXPOSURE_INCLUDE", "health"),
+        Map.entry("MANAGEMENT_ENDPOINT_HEALTH_SHOW_DETAILS", "never"),
+        Map.entry("LOGGING_LEVEL_ROOT", "WARN"),
+        Map.entry("LOGGING_LEVEL_NEXXUS", "WARN"),
+        Map.entry("LOGGING_LEVEL_ORG_SPRINGFRAMEWORK", "WARN"),
+        Map.entry("LOGGING_LEVEL_ORG_HIBERNATE", "WARN"),
+        Map.entry("LOGGING_PATTERN_CONSOLE", "%d{HH:mm:ss.SSS} %-5level %logger{36} - %msg%n"),
+        Map.entry("AUTH0_DOMAIN", "127.0.0.1"),
+        Map.entry("AUTH0_CLIENT_ID", "loadtest"),
+        Map.entry("AUTH0_CLIENT_SECRET", "loadtest"),
+        Map.entry("AUTH0_AUDIENCE", TokenIssuer.AUDIENCE),
+        Map.entry("AUTH0_ISSUER_URI", tokenIssuer.issuerUri()),
+        Map.entry("AUTH0_JWKS_URI", tokenIssuer.jwksUri()),
+        Map.entry("AUTH0_CALLBACK_URL", "http://127.0.0.1:" + config.corePort + "/callback"),
+        Map.entry("AUTH0_FRONTEND_URL", "http://127.0.0.1"));
+  }
+
+  private static Path findBootJar(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> file.toString().endsWith(".jar"))
+          .filter(file -> !file.toString().endsWith("-plain.jar"))
+          .findFirst()
+          .orElseThrow(() -> new IllegalStateException("No boot jar found in " + directory));
+    }
+  }
+
+  private void awaitHealthy(Duration timeout) throws InterruptedException {
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+            .timeout(Duration.ofSeconds(2))
+            .build();
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (System.nanoTime() < deadline) {
+      if (!process.isAlive()) {
+        throw new IllegalStateException(
+            "Core exited with code " + process.exitValue() + " during startup, see core.log");
+      }
+      try {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+          return;
+        }
+      } catch (IOException e) {
+        // Not listening yet
+      }
+      Thread.sleep(500);
+    }
+    close();
+    throw new IllegalStateException("Core did not become healthy within " + timeout);
+  }
+
+  @Override
+  public void close() {
+    process.destroy();
+    try {
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+      }
+    } catch (InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package nexxus.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.HdrHistogram.Histogram;
+import org.flywaydb.core.Flyway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Load test entry point, run through {@code ./gradlew :loadtest:loadTest}.
+ *
+ * <p>Applies the Flyway migrations of services/migration to a dedicated database, seeds it with
+ * {@link LoadTestSeeder}, boots services/core against it and drives each scenario in turn with
+ * {@link OpenLoopDriver}. For every scenario an HDR percentile distribution ({@code <name>.hgrm},
+ * milliseconds) is written to the output directory, together with a {@code summary.json} covering
+ * all scenarios of the run.
+ */
+public final class LoadTest {
+
+  private LoadTest() {}
+
+  public static void main(String[] args) {
+    try {
+      run(LoadTestConfig.load());
+    } catch (Exception e) {
+      System.err.println("Load test failed: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private static void run(LoadTestConfig config) throws Exception {
+    migrate(config);
+    SeedData seed = new LoadTestSeeder(config).seed();
+    System.out.printf(
+        "Seeded %d environments with %d PSPs and %d routing rules each%n",
+        seed.tenants().size(), config.pspsPerEnvironment, config.routingRulesPerEnvironment);
+
+    List<OpenLoopDriver.Result> results = new ArrayList<>();
+    try (TokenIssuer tokenIssuer = TokenIssuer.start();
+        CoreProcess core = CoreProcess.start(config, tokenIssuer);
+        OpenLoopDriver driver =
+            new OpenLoopDriver(config, core.apiUrl(), tokenIssuer.issueToken())) {
+      for (String scenario : config.scenarios) {
+        System.out.printf(
+            "Running %s at %d req/s for %s (warm-up %s)%n",
+            scenario, config.rate, config.duration, config.warmup);
+        OpenLoopDriver.Result result = driver.run(scenario, Scenarios.create(scenario, seed));
+        writeHistogram(config.outputDir, result);
+        printResult(result);
+        results.add(result);
+      }
+    }
+    writeSummary(config.outputDir, results);
+    System.out.println("Results written to " + config.outputDir);
+  }
+
+  private static void migrate(LoadTestConfig config) {
+    Flyway flyway =
+        Flyway.configure()
+            .dataSource(config.jdbcUrl(), config.databaseUsername, config.databasePassword)
+            .locations("classpath:db/migration")
+            .cleanDisabled(!config.cleanDatabase)
+            .load();
+    if (config.cleanDatabase) {
+      flyway.clean();
+    }
+    System.out.printf(
+        "Applied %d migrations to %s%n", flyway.migrate().migrationsExecuted, config.jdbcUrl());
+  }
+
+  private static void writeHistogram(Path outputDir, OpenLoopDriver.Result result)
+      throws IOException {
+    Files.createDirectories(outputDir);
+    try (PrintStream out = new PrintStream(outputDir.resolve(result.name() + ".hgrm").toFile())) {
+      // Recorded in microseconds, reported in milliseconds
+      result.histogram().outputPercentileDistribution(out, 1000.0);
+    }
+  }
+
+  private static void printResult(OpenLoopDriver.Result result) {
+    Histogram histogram = result.histogram();
+    System.out.printf(
+        "  %-38s count=%d errors=%d dropped=%d p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+        result.name(),
+        histogram.getTotalCount(),
+        result.errorCount(),
+        result.dropped(),
+        histogram.getValueAtPercentile(50) / 1000.0,
+        histogram.getValueAtPercentile(99) / 1000.0,
+        histogram.getValueAtPercentile(99.9) / 1000.0,
+        histogram.getMaxValue() / 1000.0);
+  }
+
+  private static void writeSummary(Path outputDir, List<OpenLoopDriver.Result> results)
+      throws IOException {
+    List<Map<String, Object>> scenarios = new ArrayList<>();
+    for (OpenLoopDriver.Result result : results) {
+      Histogram histogram = result.histogram();
+      Map<String, Object> latencies = new LinkedHashMap<>();
+      for (double percentile : new double[] {50, 90, 99, 99.9, 99.99}) {
+        latencies.put("p" + percentile, histogram.getValueAtPercentile(percentile) / 1000.0);
+      }
+      latencies.put("max", histogram.getMaxValue() / 1000.0);
+
+      Map<String, Long> errors = new TreeMap<>();
+      result.errors().forEach((type, count) -> errors.put(type, count.sum()));
+
+      Map<String, Object> scenario = new LinkedHashMap<>();
+      scenario.put("name", result.name());
+      scenario.put("targetRate", result.rate());
+      scenario.put("durationSeconds", result.duration().toSeconds());
+      scenario.put("completed", histogram.getTotalCount());
+      scenario.put(
+          "achievedRate", (double) histogram.getTotalCount() / result.duration().toSeconds());
+      scenario.put("dropped", result.dropped());
+      scenario.put("errors", errors);
+      scenario.put("latencyMillis", latencies);
+      scenarios.add(scenario);
+    }
+    new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(outputDir.resolve("summary.json").toFile(), Map.of("scenarios", scenarios));
+  }
+}
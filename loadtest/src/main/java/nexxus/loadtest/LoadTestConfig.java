@@ -0,0 +1,97 @@
+package nexxus.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties (forwarded from {@code
+ * -Ploadtest.*} by the Gradle task) with the database falling back to the same {@code DATABASE_*}
+ * environment variables as the migration service.
+ */
+final class LoadTestConfig {
+
+  final String databaseHost;
+  final int databasePort;
+  final String databaseName;
+  final String databaseUsername;
+  final String databasePassword;
+  final boolean cleanDatabase;
+
+  final int brands;
+  final int environmentsPerBrand;
+  final int pspsPerEnvironment;
+  final int routingRulesPerEnvironment;
+  final int customersPerEnvironment;
+
+  final Path coreJarDir;
+  final Path outputDir;
+  final int corePort;
+  final Duration startupTimeout;
+
+  final List<String> scenarios;
+  final int rate;
+  final Duration warmup;
+  final Duration duration;
+  final int connections;
+  final int maxInFlight;
+  final Duration requestTimeout;
+
+  private LoadTestConfig() {
+    databaseHost = setting("loadtest.db.host", "DATABASE_HOST", "localhost");
+    databasePort = Integer.parseInt(setting("loadtest.db.port", "DATABASE_PORT", "5432"));
+    databaseName = setting("loadtest.db.name", null, "nexxus_loadtest");
+    databaseUsername = setting("loadtest.db.username", "DATABASE_USERNAME", "admin");
+    databasePassword = setting("loadtest.db.password", "DATABASE_PASSWORD", "admin");
+    cleanDatabase = Boolean.parseBoolean(setting("loadtest.db.clean", null, "true"));
+
+    brands = intSetting("loadtest.seed.brands", 2);
+    environmentsPerBrand = intSetting("loadtest.seed.environments-per-brand", 2);
+    pspsPerEnvironment = intSetting("loadtest.seed.psps-per-environment", 50);
+    routingRulesPerEnvironment = intSetting("loadtest.seed.routing-rules-per-environment", 20);
+    customersPerEnvironment = intSetting("loadtest.seed.customers-per-environment", 1000);
+
+    coreJarDir = Path.of(setting("loadtest.core-jar-dir", null, "services/core/build/libs"));
+    outputDir = Path.of(setting("loadtest.output-dir", null, "loadtest/build/loadtest"));
+    corePort = intSetting("loadtest.core-port", 18000);
+    startupTimeout = Duration.parse(setting("loadtest.startup-timeout", null, "PT2M"));
+
+    String scenarioNames = setting("loadtest.scenarios", null, String.join(",", Scenarios.NAMES));
+    scenarios =
+        Arrays.stream(scenarioNames.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .toList();
+    rate = intSetting("loadtest.rate", 200);
+    warmup = Duration.parse(setting("loadtest.warmup", null, "PT10S"));
+    duration = Duration.parse(setting("loadtest.duration", null, "PT60S"));
+    connections = intSetting("loadtest.connections", 256);
+    maxInFlight = intSetting("loadtest.max-in-flight", 10_000);
+    requestTimeout = Duration.parse(setting("loadtest.request-timeout", null, "PT10S"));
+  }
+
+  static LoadTestConfig load() {
+    return new LoadTestConfig();
+  }
+
+  String jdbcUrl() {
+    return String.format("jdbc:postgresql://%s:%d/%s", databaseHost, databasePort, databaseName);
+  }
+
+  String r2dbcUrl() {
+    return String.format("r2dbc:postgresql://%s:%d/%s", databaseHost, databasePort, databaseName);
+  }
+
+  private static int intSetting(String property, int defaultValue) {
+    return Integer.parseInt(setting(property, null, Integer.toString(defaultValue)));
+  }
+
+  private static String setting(String property, String environmentVariable, String defaultValue) {
+    String value = System.getProperty(property);
+    if (value == null && environmentVariable != null) {
+      value = System.getenv(environmentVariable);
+    }
+    return value != null && !value.isBlank() ? value : defaultValue;
+  }
+}
@@ -0,0 +1,206 @@
+package nexxus.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates brands, environments, PSPs and routing rules on top of the reference data seeded by
+ * {@code V010__Seed_sample_data.sql}. Every PSP is a Stripe PSP that supports deposits in USD and
+ * EUR, so that all seeded PSPs show up in the PSP filter endpoints and can be picked by routing.
+ */
+final class LoadTestSeeder {
+
+  static final String FLOW_ACTION_ID = "fat_deposit_001";
+  static final List<String> CURRENCIES = List.of("USD", "EUR");
+
+  private static final String FLOW_TARGET_ID = "ftg_stripe_payment_001";
+  private static final String FLOW_DEFINITION_ID = "fld_deposit_001";
+  private static final String SEEDED_BY = "loadtest";
+
+  private final LoadTestConfig config;
+
+  LoadTestSeeder(LoadTestConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * Seeds the database
+   *
+   * @return the generated tenants, used to build requests
+   */
+  SeedData seed() throws SQLException {
+    List<SeedData.Tenant> tenants = new ArrayList<>();
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+    try (Connection connection =
+        DriverManager.getConnection(
+            config.jdbcUrl(), config.databaseUsername, config.databasePassword)) {
+      connection.setAutoCommit(false);
+
+      try (PreparedStatement brands =
+              connection.prepareStatement(
+                  "INSERT INTO brands (id, name, created_at, updated_at) VALUES (?, ?, ?, ?)");
+          PreparedStatement environments =
+              connection.prepareStatement(
+                  "INSERT INTO environments (id, name, secret, token, origin, brand_id,"
+                      + " created_at, updated_at, created_by, updated_by)"
+                      + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+        for (int b = 0; b < config.brands; b++) {
+          String brandId = String.format("brn_lt_%04d", b);
+          brands.setString(1, brandId);
+          brands.setString(2, "Load Test Brand " + b);
+          brands.setTimestamp(3, now);
+          brands.setTimestamp(4, now);
+          brands.addBatch();
+
+          for (int e = 0; e < config.environmentsPerBrand; e++) {
+            String environmentId = String.format("env_lt_%04d_%02d", b, e);
+            environments.setString(1, environmentId);
+            environments.setString(2, "Load Test Environment " + e);
+            environments.setString(3, "sec_" + environmentId);
+            environments.setString(4, "tok_" + environmentId);
+            environments.setString(5, "https://loadtest.local");
+            environments.setString(6, brandId);
+            environments.setTimestamp(7, now);
+            environments.setTimestamp(8, now);
+            environments.setString(9, SEEDED_BY);
+            environments.setString(10, SEEDED_BY);
+            environments.addBatch();
+
+            tenants.add(new SeedData.Tenant(brandId, environmentId, new ArrayList<>()));
+          }
+        }
+        brands.executeBatch();
+        environments.executeBatch();
+      }
+
+      for (SeedData.Tenant tenant : tenants) {
+        seedPsps(connection, tenant, now);
+        seedRoutingRules(connection, tenant, now);
+      }
+      connection.commit();
+    }
+    return new SeedData(tenants, config.customersPerEnvironment);
+  }
+
+  private void seedPsps(Connection connection, SeedData.Tenant tenant, Timestamp now)
+      throws SQLException {
+    try (PreparedStatement psps =
+            connection.prepareStatement(
+                "INSERT INTO psps (id, name, description, credential, timeout, ip_address,"
+                    + " brand_id, environment_id, flow_target_id, status, created_at, updated_at,"
+                    + " created_by, updated_by)"
+                    + " VALUES (?, ?, ?, ?::jsonb, ?, ?, ?, ?, ?, 'ENABLED', ?, ?, ?, ?)");
+        PreparedStatement operations =
+            connection.prepareStatement(
+                "INSERT INTO psp_operations (brand_id, environment_id, psp_id, flow_action_id,"
+                    + " flow_definition_id, status) VALUES (?, ?, ?, ?, ?, 'ENABLED')");
+        PreparedStatement limits =
+            connection.prepareStatement(
+                "INSERT INTO currency_limits (brand_id, environment_id, flow_action_id, psp_id,"
+                    + " currency, min_value, max_value) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+      for (int p = 0; p < config.pspsPerEnvironment; p++) {
+        String pspId = String.format("psp_%s_%04d", tenant.environmentId(), p);
+        psps.setString(1, pspId);
+        psps.setString(2, "Load Test PSP " + p);
+        psps.setString(3, "Seeded by the load test harness");
+        psps.setString(4, "{}");
+        psps.setInt(5, 30);
+        psps.setArray(6, connection.createArrayOf("text", new String[] {"127.0.0.1"}));
+        psps.setString(7, tenant.brandId());
+        psps.setString(8, tenant.environmentId());
+        psps.setString(9, FLOW_TARGET_ID);
+        psps.setTimestamp(10, now);
+        psps.setTimestamp(11, now);
+        psps.setString(12, SEEDED_BY);
+        psps.setString(13, SEEDED_BY);
+        psps.addBatch();
+
+        operations.setString(1, tenant.brandId());
+        operations.setString(2, tenant.environmentId());
+        operations.setString(3, pspId);
+        operations.setString(4, FLOW_ACTION_ID);
+        operations.setString(5, FLOW_DEFINITION_ID);
+        operations.addBatch();
+
+        for (String currency : CURRENCIES) {
+          limits.setString(1, tenant.brandId());
+          limits.setString(2, tenant.environmentId());
+          limits.setString(3, FLOW_ACTION_ID);
+          limits.setString(4, pspId);
+          limits.setString(5, currency);
+          limits.setBigDecimal(6, BigDecimal.ONE);
+          limits.setBigDecimal(7, BigDecimal.valueOf(100_000));
+          limits.addBatch();
+        }
+        tenant.pspIds().add(pspId);
+      }
+      psps.executeBatch();
+      operations.executeBatch();
+      limits.executeBatch();
+    }
+  }
+
+  /**
+   * One rule per amount band, each routing to a handful of PSPs, plus a default rule, so that rule
+   * evaluation walks a realistic number of conditions per transaction
+   */
+  private void seedRoutingRules(Connection connection, SeedData.Tenant tenant, Timestamp now)
+      throws SQLException {
+    try (PreparedStatement rules =
+            connection.prepareStatement(
+                "INSERT INTO routing_rules (id, version, name, brand_id, environment_id,"
+                    + " psp_selection_mode, condition_json, is_default, status, created_at,"
+                    + " updated_at, created_by, updated_by)"
+                    + " VALUES (?, 1, ?, ?, ?, ?::psp_selection_mode, ?::jsonb, ?, 'ENABLED', ?,"
+                    + " ?, ?, ?)");
+        PreparedStatement rulePsps =
+            connection.prepareStatement(
+                "INSERT INTO routing_rule_psps (routing_rule_id, routing_rule_version, psp_id,"
+                    + " psp_value) VALUES (?, 1, ?, ?)")) {
+      List<String> pspIds = tenant.pspIds();
+      int ruleCount = config.routingRulesPerEnvironment;
+      for (int r = 0; r <= ruleCount; r++) {
+        boolean isDefault = r == ruleCount;
+        String ruleId = String.format("rtr_%s_%04d", tenant.environmentId(), r);
+        String condition =
+            isDefault
+                ? "{}"
+                : String.format(
+                    "{\"combinator\":\"and\",\"rules\":["
+                        + "{\"field\":\"amount\",\"operator\":\">=\",\"value\":%d},"
+                        + "{\"field\":\"amount\",\"operator\":\"<\",\"value\":%d},"
+                        + "{\"field\":\"currency\",\"operator\":\"=\",\"value\":\"%s\"}]}",
+                    r * 100, (r + 1) * 100, CURRENCIES.get(r % CURRENCIES.size()));
+        rules.setString(1, ruleId);
+        rules.setString(2, isDefault ? "Default" : "Amount band " + r);
+        rules.setString(3, tenant.brandId());
+        rules.setString(4, tenant.environmentId());
+        rules.setString(5, isDefault ? "PRIORITY" : "WEIGHTED");
+        rules.setString(6, condition);
+        rules.setBoolean(7, isDefault);
+        rules.setTimestamp(8, now);
+        rules.setTimestamp(9, now);
+        rules.setString(10, SEEDED_BY);
+        rules.setString(11, SEEDED_BY);
+        rules.addBatch();
+
+        for (int i = 0; i < Math.min(3, pspIds.size()); i++) {
+          rulePsps.setString(1, ruleId);
+          rulePsps.setString(2, pspIds.get((r + i) % pspIds.size()));
+          rulePsps.setInt(3, i + 1);
+          rulePsps.addBatch();
+        }
+      }
+      rules.executeBatch();
+      rulePsps.executeBatch();
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package nexxus.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Sends requests on a fixed schedule regardless of how fast responses come back (open loop), so
+ * that a slow server builds up a queue instead of quietly lowering the offered load.
+ *
+ * <p>Latency is measured from the time a request was scheduled to be sent, not from when it was
+ * actually sent, which keeps coordinated omission out of the histograms. Requests that would exceed
+ * {@code max-in-flight} are not sent and counted as dropped.
+ */
+final class OpenLoopDriver implements AutoCloseable {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+  private final LoadTestConfig config;
+  private final ConnectionProvider connectionProvider;
+  private final HttpClient client;
+
+  OpenLoopDriver(LoadTestConfig config, String apiUrl, String token) {
+    this.config = config;
+    this.connectionProvider =
+        ConnectionProvider.builder("loadtest")
+            .maxConnections(config.connections)
+            .pendingAcquireMaxCount(-1)
+            .build();
+    this.client =
+        HttpClient.create(connectionProvider)
+            .baseUrl(apiUrl)
+            .responseTimeout(config.requestTimeout)
+            .headers(
+                headers ->
+                    headers
+                        .set(HttpHeaderNames.AUTHORIZATION, "Bearer " + token)
+                        .set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                        .set(HttpHeaderNames.ACCEPT, HttpHeaderValues.APPLICATION_JSON));
+  }
+
+  /**
+   * Drives one scenario at the configured rate for warm-up plus duration
+   *
+   * @param name scenario name
+   * @param requests builds the next request
+   * @return latencies and error counts recorded after warm-up
+   */
+  Result run(String name, Supplier<Scenarios.Request> requests) {
+    Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    AtomicInteger inFlight = new AtomicInteger();
+    LongAdder dropped = new LongAdder();
+
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate;
+    long start = System.nanoTime();
+    long measureFrom = start + config.warmup.toNanos();
+    long end = measureFrom + config.duration.toNanos();
+    long sent = 0;
+
+    for (long intended = start; intended < end; intended = start + (++sent) * intervalNanos) {
+      long wait = intended - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      boolean measured = intended >= measureFrom;
+      if (inFlight.incrementAndGet() > config.maxInFlight) {
+        inFlight.decrementAndGet();
+        if (measured) {
+          dropped.increment();
+        }
+        continue;
+      }
+      long scheduledAt = intended;
+      send(requests.get())
+          .doFinally(signal -> inFlight.decrementAndGet())
+          .subscribe(
+              status -> {
+                if (!measured) {
+                  return;
+                }
+                record(histogram, scheduledAt);
+                if (status < 200 || status >= 300) {
+                  errors.computeIfAbsent("HTTP " + status, key -> new LongAdder()).increment();
+                }
+              },
+              error -> {
+                if (!measured) {
+                  return;
+                }
+                record(histogram, scheduledAt);
+                errors
+                    .computeIfAbsent(error.getClass().getSimpleName(), key -> new LongAdder())
+                    .increment();
+              });
+    }
+
+    awaitDrain(inFlight);
+    return new Result(name, config.rate, config.duration, histogram, errors, dropped.sum());
+  }
+
+  private Mono<Integer> send(Scenarios.Request request) {
+    HttpClient.RequestSender sender = client.request(request.method()).uri(request.path());
+    HttpClient.ResponseReceiver<?> receiver =
+        request.body() != null
+            ? sender.send(ByteBufFlux.fromInbound(Mono.just(request.body())))
+            : sender;
+    return receiver.responseSingle(
+        (response, content) -> content.then(Mono.just(response.status().code())));
+  }
+
+  private static void record(Histogram histogram, long scheduledAt) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt);
+    histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+  }
+
+  private void awaitDrain(AtomicInteger inFlight) {
+    long deadline = System.nanoTime() + config.requestTimeout.multipliedBy(2).toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+  }
+
+  @Override
+  public void close() {
+    connectionProvider.disposeLater().block(Duration.ofSeconds(10));
+  }
+
+  /** Outcome of one scenario */
+  record Result(
+      String name,
+      int rate,
+      Duration duration,
+      Histogram histogram,
+      Map<String, LongAdder> errors,
+      long dropped) {
+
+    long errorCount() {
+      return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+  }
+}
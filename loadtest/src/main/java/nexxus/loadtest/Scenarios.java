@@ -0,0 +1,107 @@
+package nexxus.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.netty.handler.codec.http.HttpMethod;
+
+/** The endpoints under load, each building randomised requests over the seeded tenants */
+final class Scenarios {
+
+  static final List<String> NAMES =
+      List.of(
+          "create-transaction",
+          "get-psp",
+          "psps-by-brand-environment",
+          "psps-by-flow-action-status",
+          "psps-by-flow-action-status-currency");
+
+  /** A request to send; the body is null for GET requests */
+  record Request(HttpMethod method, String path, byte[] body) {}
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private Scenarios() {}
+
+  static Supplier<Request> create(String name, SeedData seed) {
+    return switch (name) {
+      case "create-transaction" -> () -> createTransaction(seed);
+      case "get-psp" ->
+          () -> {
+            SeedData.Tenant tenant = seed.randomTenant();
+            return get("/psps/" + random(tenant.pspIds()));
+          };
+      case "psps-by-brand-environment" ->
+          () -> {
+            SeedData.Tenant tenant = seed.randomTenant();
+            return get(tenantPath(tenant));
+          };
+      case "psps-by-flow-action-status" ->
+          () -> {
+            SeedData.Tenant tenant = seed.randomTenant();
+            return get(tenantPath(tenant) + "/" + LoadTestSeeder.FLOW_ACTION_ID + "/ENABLED");
+          };
+      case "psps-by-flow-action-status-currency" ->
+          () -> {
+            SeedData.Tenant tenant = seed.randomTenant();
+            return get(
+                tenantPath(tenant)
+                    + "/"
+                    + LoadTestSeeder.FLOW_ACTION_ID
+                    + "/ENABLED/"
+                    + random(LoadTestSeeder.CURRENCIES));
+          };
+      default -> throw new IllegalArgumentException("Unknown scenario: " + name);
+    };
+  }
+
+  private static Request createTransaction(SeedData seed) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    SeedData.Tenant tenant = seed.randomTenant();
+    String customerId = "cus_" + random.nextInt(seed.customersPerEnvironment());
+    Map<String, Object> transaction =
+        Map.of(
+            "amount",
+            BigDecimal.valueOf(random.nextDouble(1, 2_500)).setScale(2, RoundingMode.HALF_UP),
+            "currency",
+            random(LoadTestSeeder.CURRENCIES),
+            "brandId",
+            tenant.brandId(),
+            "environmentId",
+            tenant.environmentId(),
+            "flowActionId",
+            LoadTestSeeder.FLOW_ACTION_ID,
+            "userAttribute",
+            Map.of(
+                "id", customerId,
+                "firstName", "Load",
+                "lastName", "Test",
+                "email", customerId + "@loadtest.local",
+                "accountType", "PERSONAL"));
+    try {
+      return new Request(
+          HttpMethod.POST, "/transactions", OBJECT_MAPPER.writeValueAsBytes(transaction));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String tenantPath(SeedData.Tenant tenant) {
+    return "/psps/brand/" + tenant.brandId() + "/environment/" + tenant.environmentId();
+  }
+
+  private static Request get(String path) {
+    return new Request(HttpMethod.GET, path, null);
+  }
+
+  private static <T> T random(List<T> values) {
+    return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+  }
+}
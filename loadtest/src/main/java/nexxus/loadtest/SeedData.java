@@ -0,0 +1,14 @@
+package nexxus.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Identifiers generated by {@link LoadTestSeeder} that requests are built from */
+record SeedData(List<Tenant> tenants, int customersPerEnvironment) {
+
+  record Tenant(String brandId, String environmentId, List<String> pspIds) {}
+
+  Tenant randomTenant() {
+    return tenants.get(ThreadLocalRandom.current().nextInt(tenants.size()));
+  }
+}
@@ -0,0 +1,106 @@
+package nexxus.loadtest;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Stands in for Auth0 during a load test: serves a JWKS document for a throwaway RSA key and signs
+ * the bearer token that every request carries. Core is pointed at it through {@code
+ * AUTH0_ISSUER_URI} and {@code AUTH0_JWKS_URI}, so the full JWT validation path stays in the
+ * measured request path.
+ */
+final class TokenIssuer implements AutoCloseable {
+
+  static final String AUDIENCE = "https://loadtest.nexxus.local/api";
+  private static final String KEY_ID = "loadtest";
+
+  private final RSAPublicKey publicKey;
+  private final RSAPrivateKey privateKey;
+  private final DisposableServer server;
+
+  private TokenIssuer(KeyPair keyPair) {
+    this.publicKey = (RSAPublicKey) keyPair.getPublic();
+    this.privateKey = (RSAPrivateKey) keyPair.getPrivate();
+    String jwks = jwks();
+    this.server =
+        HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .route(
+                routes ->
+                    routes.get(
+                        "/.well-known/jwks.json",
+                        (request, response) ->
+                            response
+                                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                                .sendString(Mono.just(jwks))))
+            .bindNow();
+  }
+
+  static TokenIssuer start() throws NoSuchAlgorithmException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    return new TokenIssuer(generator.generateKeyPair());
+  }
+
+  String issuerUri() {
+    return "http://127.0.0.1:" + server.port() + "/";
+  }
+
+  String jwksUri() {
+    return issuerUri() + ".well-known/jwks.json";
+  }
+
+  /** Signs a token valid for the whole run */
+  String issueToken() {
+    Instant now = Instant.now();
+    return JWT.create()
+        .withKeyId(KEY_ID)
+        .withIssuer(issuerUri())
+        .withAudience(AUDIENCE)
+        .withSubject("loadtest|harness")
+        .withIssuedAt(now)
+        .withExpiresAt(now.plus(1, ChronoUnit.DAYS))
+        .sign(Algorithm.RSA256(publicKey, privateKey));
+  }
+
+  private String jwks() {
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    return "{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\""
+        + KEY_ID
+        + "\",\"n\":\""
+        + encoder.encodeToString(unsigned(publicKey.getModulus().toByteArray()))
+        + "\",\"e\":\""
+        + encoder.encodeToString(unsigned(publicKey.getPublicExponent().toByteArray()))
+        + "\"}]}";
+  }
+
+  /** JWK integers are unsigned big-endian, BigInteger may prepend a sign byte */
+  private static byte[] unsigned(byte[] bytes) {
+    if (bytes.length > 1 && bytes[0] == 0) {
+      byte[] trimmed = new byte[bytes.length - 1];
+      System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+      return trimmed;
+    }
+    return bytes;
+  }
+
+  @Override
+  public void close() {
+    server.disposeNow();
+  }
+}
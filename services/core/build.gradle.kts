@@ -17,4 +17,12 @@ dependencies {
     
     // Project modules
     implementation(project(":libs:shared"))
+
+    // Testing (versions managed by BOM)
+    testImplementation(libs.spring.boot.starter.test)
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
@@ -0,0 +1,41 @@
+package nexxus.conversionrate.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import nexxus.conversionrate.entity.ConversionRate;
+import nexxus.conversionrate.entity.ConversionRateMarkupValue;
+
+import lombok.Getter;
+
+/**
+ * Immutable view of the latest version of every conversion rate config of a brand and environment
+ */
+@Getter
+public class ConversionRateSnapshot {
+
+  private final List<ConversionRate> configs;
+  private final Map<String, List<ConversionRateMarkupValue>> markupsByConfigId;
+
+  public ConversionRateSnapshot(
+      List<ConversionRate> configs,
+      Map<String, List<ConversionRateMarkupValue>> markupsByConfigId) {
+    this.configs = List.copyOf(configs);
+    this.markupsByConfigId =
+        markupsByConfigId.entrySet().stream()
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+  }
+
+  /**
+   * Returns the markup values of the latest version of a conversion rate config
+   *
+   * @param configId conversion rate config ID
+   * @return markup values, empty if the config has none
+   */
+  public List<ConversionRateMarkupValue> getMarkups(String configId) {
+    return markupsByConfigId.getOrDefault(configId, List.of());
+  }
+}
@@ -0,0 +1,55 @@
+package nexxus.conversionrate.cache;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.conversionrate.repository.ConversionRateMarkupValueRepository;
+import nexxus.conversionrate.repository.ConversionRateRepository;
+import nexxus.shared.cache.BrandSnapshotCache;
+import nexxus.shared.cache.ClusterCacheInvalidator;
+import nexxus.shared.constants.CacheTopic;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Latest conversion rate config versions of a brand and environment, with their markup values
+ * grouped by config ID, served by the brand and environment listing. Config writes also resync
+ * {@link nexxus.conversionrate.engine.ConversionRateRefresher}, which keeps the fetched rates used
+ * by conversions; those are not held here.
+ */
+@Component
+public class ConversionRateSnapshotCache extends BrandSnapshotCache<ConversionRateSnapshot> {
+
+  private final ConversionRateRepository conversionRateRepository;
+  private final ConversionRateMarkupValueRepository conversionRateMarkupValueRepository;
+
+  public ConversionRateSnapshotCache(
+      ConversionRateRepository conversionRateRepository,
+      ConversionRateMarkupValueRepository conversionRateMarkupValueRepository,
+      ClusterCacheInvalidator clusterCacheInvalidator) {
+    super(CacheTopic.CONVERSION_RATE, "conversion rate", clusterCacheInvalidator);
+    this.conversionRateRepository = conversionRateRepository;
+    this.conversionRateMarkupValueRepository = conversionRateMarkupValueRepository;
+  }
+
+  @Override
+  protected Mono<ConversionRateSnapshot> load(String brandId, String environmentId) {
+    return conversionRateRepository
+        .findLatestByBrandAndEnvironmentId(brandId, environmentId)
+        .collectList()
+        .flatMap(
+            configs ->
+                Flux.fromIterable(configs)
+                    .flatMap(
+                        config ->
+                            conversionRateMarkupValueRepository
+                                .findByConversionRateConfigIdAndConversionRateConfigVersion(
+                                    config.getId(), config.getVersion())
+                                .collectList()
+                                .map(markups -> Map.entry(config.getId(), markups)))
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                    .map(markups -> new ConversionRateSnapshot(configs, markups)));
+  }
+}
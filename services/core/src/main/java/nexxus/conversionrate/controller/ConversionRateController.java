@@ -4,6 +4,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import nexxus.conversionrate.dto.ConversionRateDto;
+import nexxus.conversionrate.dto.ConversionRequestDto;
 import nexxus.conversionrate.service.ConversionRateService;
 import nexxus.shared.controller.BaseController;
 import nexxus.shared.dto.ApiResponse;
@@ -24,6 +25,12 @@ public class ConversionRateController extends BaseController {
     return conversionRateService.create(conversionRateDto);
   }
 
+  @PostMapping("/convert")
+  public Mono<ResponseEntity<ApiResponse<Object>>> convert(
+      @RequestBody ConversionRequestDto request) {
+    return conversionRateService.convert(request);
+  }
+
   @GetMapping("/{id}")
   public Mono<ResponseEntity<ApiResponse<Object>>> findById(@PathVariable("id") String id) {
     return conversionRateService.findById(id);
@@ -0,0 +1,34 @@
+package nexxus.conversionrate.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversionRequestDto {
+
+  @NotBlank(message = "Brand ID is required")
+  private String brandId;
+
+  @NotBlank(message = "Environment ID is required")
+  private String environmentId;
+
+  @NotBlank(message = "Source Currency is required")
+  private String sourceCurrency;
+
+  @NotBlank(message = "Target Currency is required")
+  private String targetCurrency;
+
+  @NotNull(message = "Amount is required")
+  private BigDecimal amount;
+}
@@ -0,0 +1,41 @@
+package nexxus.conversionrate.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversionResultDto {
+
+  private String sourceCurrency;
+
+  private String targetCurrency;
+
+  private BigDecimal amount;
+
+  private BigDecimal convertedAmount;
+
+  /** Rate applied, markup included */
+  private BigDecimal rate;
+
+  /** Market rate before markup, null for MANUAL configs */
+  private BigDecimal marketRate;
+
+  private String configId;
+
+  private Integer configVersion;
+
+  @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+  private LocalDateTime fetchedAt;
+}
@@ -0,0 +1,38 @@
+package nexxus.conversionrate.engine;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import nexxus.shared.constants.ConversionRateSource;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Rate of one currency pair with the config markup already applied */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ConversionRateEntry {
+
+  private final String configId;
+  private final Integer configVersion;
+  private final ConversionRateSource source;
+  private final String sourceCurrency;
+  private final String targetCurrency;
+
+  /** Market rate before markup, null for MANUAL configs */
+  private final BigDecimal marketRate;
+
+  /** Rate applied to conversions: units of target per unit of source */
+  private final BigDecimal rate;
+
+  private final LocalDateTime fetchedAt;
+
+  /** Null when the rate never expires */
+  private final LocalDateTime expiresAt;
+
+  public boolean isExpired(LocalDateTime now) {
+    return expiresAt != null && now.isAfter(expiresAt);
+  }
+}
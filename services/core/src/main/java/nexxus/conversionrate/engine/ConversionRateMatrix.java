@@ -0,0 +1,67 @@
+package nexxus.conversionrate.engine;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable rate table of a brand and environment: entries sorted by packed {@link
+ * CurrencyPairKey}, looked up by binary search over an {@code int[]}.
+ */
+final class ConversionRateMatrix {
+
+  static final ConversionRateMatrix EMPTY =
+      new ConversionRateMatrix(new int[0], new ConversionRateEntry[0]);
+
+  private final int[] keys;
+  private final ConversionRateEntry[] entries;
+
+  private ConversionRateMatrix(int[] keys, ConversionRateEntry[] entries) {
+    this.keys = keys;
+    this.entries = entries;
+  }
+
+  /** Builds a matrix; when two entries share a pair the last one wins */
+  static ConversionRateMatrix of(Collection<ConversionRateEntry> values) {
+    ConversionRateEntry[] candidates = values.toArray(new ConversionRateEntry[0]);
+    int[] candidateKeys = new int[candidates.length];
+    Integer[] order = new Integer[candidates.length];
+    for (int i = 0; i < candidates.length; i++) {
+      candidateKeys[i] =
+          CurrencyPairKey.of(candidates[i].getSourceCurrency(), candidates[i].getTargetCurrency());
+      order[i] = i;
+    }
+    // Stable sort keeps insertion order among duplicates, so the last one wins below
+    Arrays.sort(order, (a, b) -> Integer.compare(candidateKeys[a], candidateKeys[b]));
+
+    int size = 0;
+    int[] keys = new int[candidates.length];
+    ConversionRateEntry[] entries = new ConversionRateEntry[candidates.length];
+    for (int index : order) {
+      int key = candidateKeys[index];
+      if (key == CurrencyPairKey.INVALID) {
+        continue;
+      }
+      if (size > 0 && keys[size - 1] == key) {
+        entries[size - 1] = candidates[index];
+      } else {
+        keys[size] = key;
+        entries[size] = candidates[index];
+        size++;
+      }
+    }
+    return new ConversionRateMatrix(Arrays.copyOf(keys, size), Arrays.copyOf(entries, size));
+  }
+
+  ConversionRateEntry get(String source, String target) {
+    int key = CurrencyPairKey.of(source, target);
+    if (key == CurrencyPairKey.INVALID) {
+      return null;
+    }
+    int index = Arrays.binarySearch(keys, key);
+    return index >= 0 ? entries[index] : null;
+  }
+
+  int size() {
+    return keys.length;
+  }
+}
@@ -0,0 +1,332 @@
+package nexxus.conversionrate.engine;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import nexxus.conversionrate.entity.ConversionRate;
+import nexxus.conversionrate.entity.ConversionRateMarkupValue;
+import nexxus.conversionrate.provider.ConversionRateProvider;
+import nexxus.conversionrate.provider.ProviderRates;
+import nexxus.conversionrate.repository.ConversionRateMarkupValueRepository;
+import nexxus.conversionrate.repository.ConversionRateRepository;
+import nexxus.shared.constants.ConversionFetchOption;
+import nexxus.shared.constants.ConversionMarkupOption;
+import nexxus.shared.constants.ConversionRateSource;
+import nexxus.shared.constants.Status;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the {@link ConversionRateStore} filled in the background.
+ *
+ * <p>Every enabled conversion rate config gets its own refresh schedule: REAL_TIME configs are
+ * refetched every minute, PREVIOUS_DAY_CLOSING configs every hour and MANUAL configs whenever they
+ * change. Each refresh fetches the market rates from the {@link ConversionRateProvider} of the
+ * config source, applies the config markups and installs the result. Provider responses are shared
+ * by configs with the same source within one refresh period, so a brand with many currency pairs
+ * still calls Fixer once per period. The set of configs is resynchronized from the database
+ * periodically and right after local writes.
+ */
+@Slf4j
+@Component
+public class ConversionRateRefresher {
+
+  private static final MathContext PRECISION = MathContext.DECIMAL64;
+  private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+  private final ConversionRateRepository conversionRateRepository;
+  private final ConversionRateMarkupValueRepository conversionRateMarkupValueRepository;
+  private final ConversionRateStore conversionRateStore;
+  private final Map<ConversionRateSource, ConversionRateProvider> providers;
+  private final boolean enabled;
+  private final Duration syncInterval;
+  private final Duration realTimeInterval;
+  private final Duration previousDayInterval;
+  private final Duration realTimeMaxAge;
+  private final Duration previousDayMaxAge;
+
+  private final Map<String, Schedule> schedules = new ConcurrentHashMap<>();
+  private final Map<String, Mono<ProviderRates>> fetches = new ConcurrentHashMap<>();
+  private volatile Disposable syncLoop;
+
+  public ConversionRateRefresher(
+      ConversionRateRepository conversionRateRepository,
+      ConversionRateMarkupValueRepository conversionRateMarkupValueRepository,
+      ConversionRateStore conversionRateStore,
+      List<ConversionRateProvider> providers,
+      @Value("${nexxus.conversion.refresh.enabled:true}") boolean enabled,
+      @Value("${nexxus.conversion.refresh.sync-interval:PT1M}") Duration syncInterval,
+      @Value("${nexxus.conversion.refresh.real-time-interval:PT1M}") Duration realTimeInterval,
+      @Value("${nexxus.conversion.refresh.previous-day-interval:PT1H}")
+          Duration previousDayInterval,
+      @Value("${nexxus.conversion.refresh.real-time-max-age:PT15M}") Duration realTimeMaxAge,
+      @Value("${nexxus.conversion.refresh.previous-day-max-age:PT48H}")
+          Duration previousDayMaxAge) {
+    this.conversionRateRepository = conversionRateRepository;
+    this.conversionRateMarkupValueRepository = conversionRateMarkupValueRepository;
+    this.conversionRateStore = conversionRateStore;
+    this.providers = new EnumMap<>(ConversionRateSource.class);
+    providers.forEach(provider -> this.providers.put(provider.getSource(), provider));
+    this.enabled = enabled;
+    this.syncInterval = syncInterval;
+    this.realTimeInterval = realTimeInterval;
+    this.previousDayInterval = previousDayInterval;
+    this.realTimeMaxAge = realTimeMaxAge;
+    this.previousDayMaxAge = previousDayMaxAge;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled || syncLoop != null) {
+      return;
+    }
+    syncLoop =
+        Flux.interval(Duration.ZERO, syncInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> sync())
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    Disposable current = syncLoop;
+    if (current != null) {
+      current.dispose();
+    }
+    schedules.values().forEach(schedule -> schedule.subscription.dispose());
+    schedules.clear();
+  }
+
+  /**
+   * Reconciles the refresh schedules with the latest enabled configs. Never fails, so that it can
+   * be chained after writes.
+   *
+   * @return completes once the schedules are updated
+   */
+  public Mono<Void> sync() {
+    if (!enabled) {
+      return Mono.empty();
+    }
+    return conversionRateRepository
+        .findAllLatest()
+        .filter(config -> config.getStatus() == Status.ENABLED)
+        .collectList()
+        .doOnNext(this::reconcile)
+        .then()
+        .onErrorResume(
+            e -> {
+              log.warn("Failed to synchronize conversion rate configs: {}", e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  private synchronized void reconcile(List<ConversionRate> configs) {
+    Set<String> active = new HashSet<>();
+    for (ConversionRate config : configs) {
+      active.add(config.getId());
+      Schedule current = schedules.get(config.getId());
+      if (current != null && Objects.equals(current.config.getVersion(), config.getVersion())) {
+        continue;
+      }
+      if (current != null) {
+        current.subscription.dispose();
+        if (!sameScope(current.config, config)) {
+          conversionRateStore.remove(
+              current.config.getBrandId(), current.config.getEnvironmentId(), config.getId());
+        }
+      }
+      schedules.put(config.getId(), new Schedule(config, schedule(config)));
+    }
+
+    for (String configId : new ArrayList<>(schedules.keySet())) {
+      if (!active.contains(configId)) {
+        Schedule removed = schedules.remove(configId);
+        removed.subscription.dispose();
+        conversionRateStore.remove(
+            removed.config.getBrandId(), removed.config.getEnvironmentId(), configId);
+        log.debug("Stopped refreshing conversion rate config {}", configId);
+      }
+    }
+  }
+
+  private Disposable schedule(ConversionRate config) {
+    Duration interval = interval(config);
+    Flux<Long> ticks = interval != null ? Flux.interval(Duration.ZERO, interval) : Flux.just(0L);
+    log.debug(
+        "Refreshing conversion rate config {} v{} every {}",
+        config.getId(),
+        config.getVersion(),
+        interval != null ? interval : "change");
+    return ticks.onBackpressureDrop().concatMap(tick -> refresh(config)).subscribe();
+  }
+
+  private Mono<Void> refresh(ConversionRate config) {
+    ConversionRateProvider provider = providers.get(config.getSourceType());
+    if (provider == null) {
+      log.warn(
+          "No conversion rate provider for source {} of config {}",
+          config.getSourceType(),
+          config.getId());
+      return Mono.empty();
+    }
+    return Mono.zip(
+            fetch(provider, config),
+            conversionRateMarkupValueRepository
+                .findByConversionRateConfigIdAndConversionRateConfigVersion(
+                    config.getId(), config.getVersion())
+                .collectList())
+        .doOnNext(
+            tuple ->
+                conversionRateStore.install(
+                    config.getBrandId(),
+                    config.getEnvironmentId(),
+                    config.getId(),
+                    toEntries(config, tuple.getT1(), tuple.getT2())))
+        .then()
+        .onErrorResume(
+            e -> {
+              // Keep serving the previous rates until they expire
+              log.warn(
+                  "Failed to refresh conversion rate config {}: {}",
+                  config.getId(),
+                  e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  /** Shares one provider call between configs with the same source within a refresh period */
+  private Mono<ProviderRates> fetch(ConversionRateProvider provider, ConversionRate config) {
+    Duration interval = interval(config);
+    if (interval == null) {
+      return provider.fetch(config);
+    }
+    String key =
+        config.getSourceType() + "|" + config.getFetchOption() + "|" + config.getCustomUrl();
+    Duration ttl = interval.dividedBy(2);
+    return fetches.computeIfAbsent(
+        key,
+        k ->
+            Mono.defer(() -> provider.fetch(config))
+                .cache(rates -> ttl, e -> Duration.ZERO, () -> Duration.ZERO));
+  }
+
+  private List<ConversionRateEntry> toEntries(
+      ConversionRate config, ProviderRates rates, List<ConversionRateMarkupValue> markups) {
+    LocalDateTime expiresAt = expiresAt(config, rates.getFetchedAt());
+    List<ConversionRateEntry> entries = new ArrayList<>(markups.size());
+    for (ConversionRateMarkupValue markup : markups) {
+      String source = markup.getSourceCurrency().toUpperCase();
+      String target = markup.getTargetCurrency().toUpperCase();
+      BigDecimal marketRate = null;
+      BigDecimal rate;
+      if (config.getSourceType() == ConversionRateSource.MANUAL) {
+        if (markup.getMarkupOption() != ConversionMarkupOption.FIXED_PER_UNIT) {
+          log.warn(
+              "MANUAL conversion rate config {} needs a FIXED_PER_UNIT rate for {}/{}",
+              config.getId(),
+              source,
+              target);
+          continue;
+        }
+        rate = markup.getAmount();
+      } else {
+        marketRate = rates.crossRate(source, target);
+        if (marketRate == null) {
+          log.warn(
+              "Conversion rate config {} source has no rate for {}/{}",
+              config.getId(),
+              source,
+              target);
+          continue;
+        }
+        rate = applyMarkup(marketRate, markup);
+      }
+      if (rate.signum() <= 0) {
+        log.warn(
+            "Conversion rate config {} markup leaves no positive rate for {}/{}",
+            config.getId(),
+            source,
+            target);
+        continue;
+      }
+      entries.add(
+          ConversionRateEntry.builder()
+              .configId(config.getId())
+              .configVersion(config.getVersion())
+              .source(config.getSourceType())
+              .sourceCurrency(source)
+              .targetCurrency(target)
+              .marketRate(marketRate)
+              .rate(rate)
+              .fetchedAt(rates.getFetchedAt())
+              .expiresAt(expiresAt)
+              .build());
+    }
+    return entries;
+  }
+
+  /** Markups are the house margin, so they lower the number of target units per source unit */
+  private static BigDecimal applyMarkup(BigDecimal marketRate, ConversionRateMarkupValue markup) {
+    if (markup.getAmount() == null) {
+      return marketRate;
+    }
+    if (markup.getMarkupOption() == ConversionMarkupOption.PERCENTAGE) {
+      return marketRate.multiply(
+          BigDecimal.ONE.subtract(markup.getAmount().divide(HUNDRED, PRECISION)), PRECISION);
+    }
+    return marketRate.subtract(markup.getAmount(), PRECISION);
+  }
+
+  private Duration interval(ConversionRate config) {
+    if (config.getSourceType() == ConversionRateSource.MANUAL) {
+      return null;
+    }
+    return config.getFetchOption() == ConversionFetchOption.PREVIOUS_DAY_CLOSING
+        ? previousDayInterval
+        : realTimeInterval;
+  }
+
+  private LocalDateTime expiresAt(ConversionRate config, LocalDateTime fetchedAt) {
+    if (config.getSourceType() == ConversionRateSource.MANUAL) {
+      return null;
+    }
+    return fetchedAt.plus(
+        config.getFetchOption() == ConversionFetchOption.PREVIOUS_DAY_CLOSING
+            ? previousDayMaxAge
+            : realTimeMaxAge);
+  }
+
+  private static boolean sameScope(ConversionRate previous, ConversionRate next) {
+    return Objects.equals(previous.getBrandId(), next.getBrandId())
+        && Objects.equals(previous.getEnvironmentId(), next.getEnvironmentId());
+  }
+
+  private static final class Schedule {
+    private final ConversionRate config;
+    private final Disposable subscription;
+
+    private Schedule(ConversionRate config, Disposable subscription) {
+      this.config = config;
+      this.subscription = subscription;
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package nexxus.conversionrate.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.conversionrate.dto.ConversionResultDto;
+import nexxus.shared.constants.ErrorCode;
+import nexxus.shared.exception.BusinessException;
+import nexxus.shared.util.CurrencyUtil;
+
+/**
+ * In-memory conversion rates per brand and environment, filled by the {@link
+ * ConversionRateRefresher}. Conversions only read the current {@link ConversionRateMatrix} and
+ * never perform I/O; writers rebuild the matrix of their brand/environment and swap it in.
+ */
+@Component
+public class ConversionRateStore {
+
+  private final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+
+  /**
+   * Replaces the rates of a conversion rate config
+   *
+   * @param brandId brand ID of the config
+   * @param environmentId environment ID of the config
+   * @param configId conversion rate config ID
+   * @param entries rates with markup applied
+   */
+  public void install(
+      String brandId, String environmentId, String configId, List<ConversionRateEntry> entries) {
+    Scope scope = scopes.computeIfAbsent(scopeKey(brandId, environmentId), key -> new Scope());
+    synchronized (scope) {
+      scope.entriesByConfigId.put(configId, List.copyOf(entries));
+      scope.rebuild();
+    }
+  }
+
+  /**
+   * Drops the rates of a conversion rate config
+   *
+   * @param brandId brand ID of the config
+   * @param environmentId environment ID of the config
+   * @param configId conversion rate config ID
+   */
+  public void remove(String brandId, String environmentId, String configId) {
+    Scope scope = scopes.get(scopeKey(brandId, environmentId));
+    if (scope == null) {
+      return;
+    }
+    synchronized (scope) {
+      if (scope.entriesByConfigId.remove(configId) != null) {
+        scope.rebuild();
+      }
+    }
+  }
+
+  /**
+   * Returns the rate of a currency pair
+   *
+   * @return rate, or null when no config of the brand and environment covers the pair
+   */
+  public ConversionRateEntry getRate(
+      String brandId, String environmentId, String sourceCurrency, String targetCurrency) {
+    Scope scope = scopes.get(scopeKey(brandId, environmentId));
+    return scope != null ? scope.matrix.get(sourceCurrency, targetCurrency) : null;
+  }
+
+  /**
+   * Converts an amount with the in-memory rate of the brand and environment
+   *
+   * @param amount amount in the source currency
+   * @param sourceCurrency source currency
+   * @param targetCurrency target currency
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @return conversion, rounded to the minor unit of the target currency
+   * @throws BusinessException when no rate is loaded for the pair or the rate has expired
+   */
+  public ConversionResultDto convert(
+      BigDecimal amount,
+      String sourceCurrency,
+      String targetCurrency,
+      String brandId,
+      String environmentId) {
+    String source = sourceCurrency.toUpperCase();
+    String target = targetCurrency.toUpperCase();
+    if (source.equals(target)) {
+      return ConversionResultDto.builder()
+          .sourceCurrency(source)
+          .targetCurrency(target)
+          .amount(amount)
+          .convertedAmount(amount)
+          .rate(BigDecimal.ONE)
+          .marketRate(BigDecimal.ONE)
+          .build();
+    }
+
+    ConversionRateEntry entry = getRate(brandId, environmentId, source, target);
+    if (entry == null) {
+      throw new BusinessException(
+          ErrorCode.CONVERSION_RATE_NOT_FOUND,
+          "No conversion rate loaded for " + source + "/" + target);
+    }
+    if (entry.isExpired(LocalDateTime.now())) {
+      throw new BusinessException(
+          ErrorCode.CONVERSION_RATE_EXPIRED,
+          "Conversion rate for "
+              + source
+              + "/"
+              + target
+              + " fetched at "
+              + entry.getFetchedAt()
+              + " has expired");
+    }
+    return ConversionResultDto.builder()
+        .sourceCurrency(source)
+        .targetCurrency(target)
+        .amount(amount)
+        .convertedAmount(
+            amount
+                .multiply(entry.getRate())
+                .setScale(CurrencyUtil.scaleOf(target), RoundingMode.HALF_UP))
+        .rate(entry.getRate())
+        .marketRate(entry.getMarketRate())
+        .configId(entry.getConfigId())
+        .configVersion(entry.getConfigVersion())
+        .fetchedAt(entry.getFetchedAt())
+        .build();
+  }
+
+  private static String scopeKey(String brandId, String environmentId) {
+    return brandId + "|" + environmentId;
+  }
+
+  private static final class Scope {
+    // Sorted so that overlapping configs resolve the same way on every rebuild
+    private final Map<String, List<ConversionRateEntry>> entriesByConfigId = new TreeMap<>();
+    private volatile ConversionRateMatrix matrix = ConversionRateMatrix.EMPTY;
+
+    private void rebuild() {
+      List<ConversionRateEntry> all = new ArrayList<>();
+      entriesByConfigId.values().forEach(all::addAll);
+      matrix = ConversionRateMatrix.of(all);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package nexxus.conversionrate.engine;
+
+/**
+ * Packs ISO 4217 currency pairs into ints: each three-letter code maps to 0..17575 and a pair to
+ * {@code source * 17576 + target}, which stays below {@link Integer#MAX_VALUE}.
+ */
+final class CurrencyPairKey {
+
+  private static final int CODES = 26 * 26 * 26;
+
+  static final int INVALID = -1;
+
+  private CurrencyPairKey() {
+    // Utility class, prevent instantiation
+  }
+
+  static int of(String source, String target) {
+    int sourceCode = code(source);
+    int targetCode = code(target);
+    if (sourceCode < 0 || targetCode < 0) {
+      return INVALID;
+    }
+    return sourceCode * CODES + targetCode;
+  }
+
+  private static int code(String currency) {
+    if (currency == null || currency.length() != 3) {
+      return -1;
+    }
+    int code = 0;
+    for (int i = 0; i < 3; i++) {
+      int letter = Character.toUpperCase(currency.charAt(i)) - 'A';
+      if (letter < 0 || letter >= 26) {
+        return -1;
+      }
+      code = code * 26 + letter;
+    }
+    return code;
+  }
+}
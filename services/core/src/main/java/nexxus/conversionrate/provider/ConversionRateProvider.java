@@ -0,0 +1,23 @@
+package nexxus.conversionrate.provider;
+
+import nexxus.conversionrate.entity.ConversionRate;
+import nexxus.shared.constants.ConversionRateSource;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Source of market conversion rates for one {@link ConversionRateSource}. Providers are only called
+ * by the background refresher, never on the request path.
+ */
+public interface ConversionRateProvider {
+
+  ConversionRateSource getSource();
+
+  /**
+   * Fetches the rates a conversion rate config points to
+   *
+   * @param config conversion rate config
+   * @return rates relative to a base currency
+   */
+  Mono<ProviderRates> fetch(ConversionRate config);
+}
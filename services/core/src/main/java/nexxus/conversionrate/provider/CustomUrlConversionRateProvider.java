@@ -0,0 +1,55 @@
+package nexxus.conversionrate.provider;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import nexxus.conversionrate.entity.ConversionRate;
+import nexxus.shared.constants.ConversionRateSource;
+import nexxus.shared.constants.ErrorCode;
+import nexxus.shared.exception.BusinessException;
+
+import reactor.core.publisher.Mono;
+
+/** Fetches rates from the config's custom URL, which must return a Fixer compatible payload */
+@Component
+public class CustomUrlConversionRateProvider implements ConversionRateProvider {
+
+  private final WebClient webClient = WebClient.create();
+  private final Duration timeout;
+
+  public CustomUrlConversionRateProvider(
+      @Value("${nexxus.conversion.custom-url.timeout:PT10S}") Duration timeout) {
+    this.timeout = timeout;
+  }
+
+  @Override
+  public ConversionRateSource getSource() {
+    return ConversionRateSource.CUSTOM_URL;
+  }
+
+  @Override
+  public Mono<ProviderRates> fetch(ConversionRate config) {
+    return webClient
+        .get()
+        .uri(config.getCustomUrl())
+        .retrieve()
+        .bodyToMono(FixerRatesResponse.class)
+        .timeout(timeout)
+        .flatMap(
+            response -> {
+              if (response.getBase() == null || response.getRates() == null) {
+                return Mono.error(
+                    new BusinessException(
+                        ErrorCode.CONVERSION_SOURCE_ERROR,
+                        "Custom URL returned no rates: " + config.getCustomUrl()));
+              }
+              return Mono.just(
+                  new ProviderRates(
+                      response.getBase(), response.getRates(), LocalDateTime.now()));
+            });
+  }
+}
@@ -0,0 +1,76 @@
+package nexxus.conversionrate.provider;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import nexxus.conversionrate.entity.ConversionRate;
+import nexxus.shared.constants.ConversionFetchOption;
+import nexxus.shared.constants.ConversionRateSource;
+import nexxus.shared.constants.ErrorCode;
+import nexxus.shared.exception.BusinessException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Fetches rates from the Fixer API: {@code /latest} for REAL_TIME configs and the historical
+ * endpoint of the previous UTC day for PREVIOUS_DAY_CLOSING configs. The base URL is configurable
+ * so that a local stub server can stand in for Fixer.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "nexxus.conversion.fixer.stub",
+    havingValue = "false",
+    matchIfMissing = true)
+public class FixerConversionRateProvider implements ConversionRateProvider {
+
+  private final WebClient webClient;
+  private final String accessKey;
+  private final Duration timeout;
+
+  public FixerConversionRateProvider(
+      @Value("${nexxus.conversion.fixer.base-url:https://data.fixer.io/api}") String baseUrl,
+      @Value("${nexxus.conversion.fixer.access-key:}") String accessKey,
+      @Value("${nexxus.conversion.fixer.timeout:PT10S}") Duration timeout) {
+    this.webClient = WebClient.builder().baseUrl(baseUrl).build();
+    this.accessKey = accessKey;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public ConversionRateSource getSource() {
+    return ConversionRateSource.FIXER_API;
+  }
+
+  @Override
+  public Mono<ProviderRates> fetch(ConversionRate config) {
+    String path =
+        config.getFetchOption() == ConversionFetchOption.PREVIOUS_DAY_CLOSING
+            ? "/" + LocalDate.now(ZoneOffset.UTC).minusDays(1)
+            : "/latest";
+    return webClient
+        .get()
+        .uri(uriBuilder -> uriBuilder.path(path).queryParam("access_key", accessKey).build())
+        .retrieve()
+        .bodyToMono(FixerRatesResponse.class)
+        .timeout(timeout)
+        .flatMap(
+            response -> {
+              if (Boolean.FALSE.equals(response.getSuccess()) || response.getRates() == null) {
+                return Mono.error(
+                    new BusinessException(
+                        ErrorCode.CONVERSION_SOURCE_ERROR,
+                        "Fixer returned an error: " + response.getError()));
+              }
+              return Mono.just(
+                  new ProviderRates(
+                      response.getBase(), response.getRates(), LocalDateTime.now()));
+            });
+  }
+}
@@ -0,0 +1,30 @@
+package nexxus.conversionrate.provider;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Fixer rates payload, also the format expected from CUSTOM_URL sources */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class FixerRatesResponse {
+
+  private Boolean success;
+
+  private String base;
+
+  private String date;
+
+  private Map<String, BigDecimal> rates;
+
+  private Map<String, Object> error;
+}
@@ -0,0 +1,26 @@
+package nexxus.conversionrate.provider;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.conversionrate.entity.ConversionRate;
+import nexxus.shared.constants.ConversionRateSource;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * MANUAL configs carry their rate in the FIXED_PER_UNIT markup value, so there is no market rate
+ * to fetch
+ */
+@Component
+public class ManualConversionRateProvider implements ConversionRateProvider {
+
+  @Override
+  public ConversionRateSource getSource() {
+    return ConversionRateSource.MANUAL;
+  }
+
+  @Override
+  public Mono<ProviderRates> fetch(ConversionRate config) {
+    return Mono.fromSupplier(ProviderRates::empty);
+  }
+}
@@ -0,0 +1,78 @@
+package nexxus.conversionrate.provider;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Getter;
+
+/** Market rates returned by a provider: units of each currency per one unit of the base */
+@Getter
+public class ProviderRates {
+
+  private static final MathContext PRECISION = MathContext.DECIMAL64;
+
+  private final String base;
+  private final Map<String, BigDecimal> rates;
+  private final LocalDateTime fetchedAt;
+
+  public ProviderRates(String base, Map<String, BigDecimal> rates, LocalDateTime fetchedAt) {
+    this.base = base != null ? base.toUpperCase() : null;
+    Map<String, BigDecimal> normalized = new HashMap<>();
+    if (rates != null) {
+      rates.forEach(
+          (currency, rate) -> {
+            if (currency != null && rate != null && rate.signum() > 0) {
+              normalized.put(currency.toUpperCase(), rate);
+            }
+          });
+    }
+    if (this.base != null) {
+      normalized.put(this.base, BigDecimal.ONE);
+    }
+    this.rates = Map.copyOf(normalized);
+    this.fetchedAt = fetchedAt;
+  }
+
+  public static ProviderRates empty() {
+    return new ProviderRates(null, Map.of(), LocalDateTime.now());
+  }
+
+  /**
+   * Cross rate between two currencies through the base
+   *
+   * @param source source currency
+   * @param target target currency
+   * @return units of target per unit of source, or null when either currency is not quoted
+   */
+  public BigDecimal crossRate(String source, String target) {
+    BigDecimal sourceRate = rates.get(source);
+    BigDecimal targetRate = rates.get(target);
+    if (sourceRate == null || targetRate == null) {
+      return null;
+    }
+    return targetRate.divide(sourceRate, PRECISION);
+  }
+
+  /**
+   * Parses rates written as {@code EUR=0.92,GBP=0.79}
+   *
+   * @param base base currency
+   * @param spec comma separated currency=rate pairs
+   * @return rates
+   */
+  public static ProviderRates parse(String base, String spec) {
+    Map<String, BigDecimal> rates = new HashMap<>();
+    if (spec != null) {
+      for (String pair : spec.split(",")) {
+        String[] parts = pair.trim().split("=");
+        if (parts.length == 2) {
+          rates.put(parts[0].trim(), new BigDecimal(parts[1].trim()));
+        }
+      }
+    }
+    return new ProviderRates(base, rates, LocalDateTime.now());
+  }
+}
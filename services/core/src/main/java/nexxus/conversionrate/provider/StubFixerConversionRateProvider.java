@@ -0,0 +1,43 @@
+package nexxus.conversionrate.provider;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import nexxus.conversionrate.entity.ConversionRate;
+import nexxus.shared.constants.ConversionRateSource;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Local stand-in for Fixer, enabled with {@code nexxus.conversion.fixer.stub=true}. Serves fixed
+ * EUR based rates from configuration so that environments without a Fixer key, and load tests, get
+ * deterministic rates without network access.
+ */
+@Component
+@ConditionalOnProperty(name = "nexxus.conversion.fixer.stub", havingValue = "true")
+public class StubFixerConversionRateProvider implements ConversionRateProvider {
+
+  private final String base;
+  private final String rates;
+
+  public StubFixerConversionRateProvider(
+      @Value("${nexxus.conversion.fixer.stub-base:EUR}") String base,
+      @Value(
+              "${nexxus.conversion.fixer.stub-rates:"
+                  + "USD=1.08,GBP=0.85,JPY=162.5,CHF=0.95,CAD=1.47,AUD=1.65,SGD=1.45}")
+          String rates) {
+    this.base = base;
+    this.rates = rates;
+  }
+
+  @Override
+  public ConversionRateSource getSource() {
+    return ConversionRateSource.FIXER_API;
+  }
+
+  @Override
+  public Mono<ProviderRates> fetch(ConversionRate config) {
+    return Mono.fromSupplier(() -> ProviderRates.parse(base, rates));
+  }
+}
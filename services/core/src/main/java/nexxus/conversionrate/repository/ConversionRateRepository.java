@@ -44,6 +44,9 @@ public interface ConversionRateRepository extends ReactiveCrudRepository<Convers
   Flux<ConversionRate> findLatestByBrandAndEnvironmentId(
       @Param("brandId") String brandId, @Param("environmentId") String environmentId);
 
+  @Query("SELECT DISTINCT ON (id) * FROM conversion_rate ORDER BY id, version DESC")
+  Flux<ConversionRate> findAllLatest();
+
   @Query("SELECT * FROM conversion_rate WHERE id = :id ORDER BY version DESC")
   Flux<ConversionRate> findAllById(@Param("id") String id);
 
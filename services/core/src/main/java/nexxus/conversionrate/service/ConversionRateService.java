@@ -3,6 +3,7 @@ package nexxus.conversionrate.service;
 import org.springframework.http.ResponseEntity;
 
 import nexxus.conversionrate.dto.ConversionRateDto;
+import nexxus.conversionrate.dto.ConversionRequestDto;
 import nexxus.shared.dto.ApiResponse;
 import nexxus.shared.service.BaseService;
 
@@ -20,4 +21,12 @@ public interface ConversionRateService extends BaseService {
   Mono<ResponseEntity<ApiResponse<Object>>> update(String id, ConversionRateDto conversionRateDto);
 
   Mono<ResponseEntity<ApiResponse<Object>>> delete(String id);
+
+  /**
+   * Converts an amount with the in-memory rates of the brand and environment, without any I/O
+   *
+   * @param request conversion request
+   * @return converted amount and the rate applied
+   */
+  Mono<ResponseEntity<ApiResponse<Object>>> convert(ConversionRequestDto request);
 }
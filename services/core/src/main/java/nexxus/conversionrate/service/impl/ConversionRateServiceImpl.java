@@ -1,17 +1,25 @@
 package nexxus.conversionrate.service.impl;
 
+import java.util.Map;
+import java.util.Objects;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import nexxus.conversionrate.cache.ConversionRateSnapshotCache;
 import nexxus.conversionrate.dto.ConversionRateDetailsDto;
 import nexxus.conversionrate.dto.ConversionRateDto;
+import nexxus.conversionrate.dto.ConversionRequestDto;
+import nexxus.conversionrate.engine.ConversionRateRefresher;
+import nexxus.conversionrate.engine.ConversionRateStore;
 import nexxus.conversionrate.entity.ConversionRate;
 import nexxus.conversionrate.repository.ConversionRateMarkupValueRepository;
 import nexxus.conversionrate.repository.ConversionRateRepository;
 import nexxus.conversionrate.service.ConversionRateService;
 import nexxus.shared.constants.ErrorCode;
 import nexxus.shared.dto.ApiResponse;
+import nexxus.shared.exception.BusinessException;
 import nexxus.shared.exception.ValidationException;
 import nexxus.shared.util.ReactiveResponseHandler;
 
@@ -25,6 +33,9 @@ public class ConversionRateServiceImpl implements ConversionRateService {
 
   private final ConversionRateRepository conversionRateRepository;
   private final ConversionRateMarkupValueRepository conversionRateMarkupValueRepository;
+  private final ConversionRateSnapshotCache conversionRateSnapshotCache;
+  private final ConversionRateStore conversionRateStore;
+  private final ConversionRateRefresher conversionRateRefresher;
   private final ReactiveResponseHandler responseHandler;
 
   @Override
@@ -79,17 +90,16 @@ public class ConversionRateServiceImpl implements ConversionRateService {
   public Mono<ResponseEntity<ApiResponse<Object>>> findByBrandAndEnvironmentId(
       String brandId, String environmentId) {
     try {
-      return conversionRateRepository
-          .findLatestByBrandAndEnvironmentId(brandId, environmentId)
-          .flatMap(
-              config -> {
-                return conversionRateMarkupValueRepository
-                    .findByConversionRateConfigIdAndConversionRateConfigVersion(
-                        config.getId(), config.getVersion())
-                    .collectList()
-                    .map(markups -> ConversionRateDetailsDto.fromEntity(config, markups));
-              })
-          .collectList()
+      return conversionRateSnapshotCache
+          .get(brandId, environmentId)
+          .map(
+              snapshot ->
+                  snapshot.getConfigs().stream()
+                      .map(
+                          config ->
+                              ConversionRateDetailsDto.fromEntity(
+                                  config, snapshot.getMarkups(config.getId())))
+                      .toList())
           .map(
               detailsDtos ->
                   responseHandler.successResponse(
@@ -149,6 +159,7 @@ public class ConversionRateServiceImpl implements ConversionRateService {
                               () -> {
                                 return createMarkupValue(
                                         newConfig.getId(), newConfig.getVersion(), dto)
+                                    .then(refreshSnapshots(existingConfig, newConfig))
                                     .then(
                                         conversionRateMarkupValueRepository
                                             .findByConversionRateConfigIdAndConversionRateConfigVersion(
@@ -213,6 +224,19 @@ public class ConversionRateServiceImpl implements ConversionRateService {
                               .flatMap(
                                   config -> conversionRateRepository.deleteAllById(config.getId()))
                               .collectList()
+                              .then(
+                                  Flux.fromIterable(configs)
+                                      .map(
+                                          config ->
+                                              Map.entry(
+                                                  config.getBrandId(), config.getEnvironmentId()))
+                                      .distinct()
+                                      .concatMap(
+                                          scope ->
+                                              conversionRateSnapshotCache.refresh(
+                                                  scope.getKey(), scope.getValue()))
+                                      .then())
+                              .then(conversionRateRefresher.sync())
                               .then(
                                   Mono.just(
                                       responseHandler.successResponse(
@@ -226,6 +250,44 @@ public class ConversionRateServiceImpl implements ConversionRateService {
     }
   }
 
+  @Override
+  public Mono<ResponseEntity<ApiResponse<Object>>> convert(ConversionRequestDto request) {
+    try {
+      validateNotNull(request, "Conversion request");
+      validateNotBlank(request.getBrandId(), "Brand ID");
+      validateNotBlank(request.getEnvironmentId(), "Environment ID");
+      validateNotBlank(request.getSourceCurrency(), "Source Currency");
+      validateNotBlank(request.getTargetCurrency(), "Target Currency");
+      validateNotNull(request.getAmount(), "Amount");
+
+      return successResponse(
+          conversionRateStore.convert(
+              request.getAmount(),
+              request.getSourceCurrency(),
+              request.getTargetCurrency(),
+              request.getBrandId(),
+              request.getEnvironmentId()),
+          "Amount converted successfully");
+    } catch (BusinessException e) {
+      return customError(e.getErrorCode(), e.getMessage(), conversionErrorStatus(e));
+    } catch (Exception e) {
+      return databaseError(e, "converting amount");
+    }
+  }
+
+  /**
+   * An expired rate is a temporary condition cleared by the next refresh from the provider, so it
+   * is reported as unavailable rather than missing
+   */
+  private HttpStatus conversionErrorStatus(BusinessException e) {
+    return switch (e.getErrorCode()) {
+      case CONVERSION_RATE_NOT_FOUND -> HttpStatus.NOT_FOUND;
+      case CONVERSION_RATE_EXPIRED -> HttpStatus.SERVICE_UNAVAILABLE;
+      case VALIDATION_ERROR -> HttpStatus.BAD_REQUEST;
+      default -> HttpStatus.UNPROCESSABLE_ENTITY;
+    };
+  }
+
   private void validateCreateRequest(ConversionRateDto dto) {
     validateCommonFields(dto);
     validateSourceTypeFields(dto);
@@ -300,6 +362,10 @@ public class ConversionRateServiceImpl implements ConversionRateService {
               Mono.defer(
                   () -> {
                     return createMarkupValue(config.getId(), config.getVersion(), dto)
+                        .then(
+                            conversionRateSnapshotCache.refresh(
+                                config.getBrandId(), config.getEnvironmentId()))
+                        .then(conversionRateRefresher.sync())
                         .then(
                             conversionRateMarkupValueRepository
                                 .findByConversionRateConfigIdAndConversionRateConfigVersion(
@@ -320,6 +386,21 @@ public class ConversionRateServiceImpl implements ConversionRateService {
     }
   }
 
+  private Mono<Void> refreshSnapshots(ConversionRate previousConfig, ConversionRate savedConfig) {
+    Mono<Void> refreshSaved =
+        conversionRateSnapshotCache
+            .refresh(savedConfig.getBrandId(), savedConfig.getEnvironmentId())
+            .then(conversionRateRefresher.sync());
+    if (Objects.equals(previousConfig.getBrandId(), savedConfig.getBrandId())
+        && Objects.equals(previousConfig.getEnvironmentId(), savedConfig.getEnvironmentId())) {
+      return refreshSaved;
+    }
+    // The new version moved the config to another brand/environment
+    return refreshSaved.then(
+        conversionRateSnapshotCache.refresh(
+            previousConfig.getBrandId(), previousConfig.getEnvironmentId()));
+  }
+
   private Mono<Void> createMarkupValue(
       String configId, Integer configVersion, ConversionRateDto dto) {
     return conversionRateMarkupValueRepository
@@ -0,0 +1,52 @@
+package nexxus.fee.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import nexxus.fee.entity.Fee;
+import nexxus.fee.entity.FeeComponent;
+import nexxus.fee.entity.FeeCountry;
+import nexxus.fee.entity.FeePsp;
+
+import lombok.Getter;
+
+/** Immutable view of the latest version of every fee of a brand and environment */
+@Getter
+public class FeeSnapshot {
+
+  private final List<Fee> fees;
+  private final Map<String, List<FeeComponent>> componentsByFeeId;
+  private final Map<String, List<FeeCountry>> countriesByFeeId;
+  private final Map<String, List<FeePsp>> pspsByFeeId;
+
+  public FeeSnapshot(
+      List<Fee> fees,
+      Map<String, List<FeeComponent>> componentsByFeeId,
+      Map<String, List<FeeCountry>> countriesByFeeId,
+      Map<String, List<FeePsp>> pspsByFeeId) {
+    this.fees = List.copyOf(fees);
+    this.componentsByFeeId = copyOf(componentsByFeeId);
+    this.countriesByFeeId = copyOf(countriesByFeeId);
+    this.pspsByFeeId = copyOf(pspsByFeeId);
+  }
+
+  public List<FeeComponent> getComponents(String feeId) {
+    return componentsByFeeId.getOrDefault(feeId, List.of());
+  }
+
+  public List<FeeCountry> getCountries(String feeId) {
+    return countriesByFeeId.getOrDefault(feeId, List.of());
+  }
+
+  public List<FeePsp> getPsps(String feeId) {
+    return pspsByFeeId.getOrDefault(feeId, List.of());
+  }
+
+  private static <T> Map<String, List<T>> copyOf(Map<String, List<T>> byFeeId) {
+    return byFeeId.entrySet().stream()
+        .collect(
+            Collectors.toUnmodifiableMap(
+                Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+  }
+}
@@ -0,0 +1,81 @@
+package nexxus.fee.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.fee.entity.Fee;
+import nexxus.fee.repository.FeeComponentRepository;
+import nexxus.fee.repository.FeeCountryRepository;
+import nexxus.fee.repository.FeePspRepository;
+import nexxus.fee.repository.FeeRepository;
+import nexxus.shared.cache.BrandSnapshotCache;
+import nexxus.shared.cache.ClusterCacheInvalidator;
+import nexxus.shared.constants.CacheTopic;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Latest version of every fee of a brand and environment, with the components, countries and PSPs
+ * of that version grouped by fee ID. {@link nexxus.fee.engine.FeeCalculator} prices quotes from
+ * this snapshot, so a quote is computed entirely in memory once the snapshot is loaded.
+ */
+@Component
+public class FeeSnapshotCache extends BrandSnapshotCache<FeeSnapshot> {
+
+  private final FeeRepository feeRepository;
+  private final FeeComponentRepository feeComponentRepository;
+  private final FeeCountryRepository feeCountryRepository;
+  private final FeePspRepository feePspRepository;
+
+  public FeeSnapshotCache(
+      FeeRepository feeRepository,
+      FeeComponentRepository feeComponentRepository,
+      FeeCountryRepository feeCountryRepository,
+      FeePspRepository feePspRepository,
+      ClusterCacheInvalidator clusterCacheInvalidator) {
+    super(CacheTopic.FEE, "fee", clusterCacheInvalidator);
+    this.feeRepository = feeRepository;
+    this.feeComponentRepository = feeComponentRepository;
+    this.feeCountryRepository = feeCountryRepository;
+    this.feePspRepository = feePspRepository;
+  }
+
+  @Override
+  protected Mono<FeeSnapshot> load(String brandId, String environmentId) {
+    return feeRepository
+        .findByBrandIdAndEnvironmentId(brandId, environmentId)
+        .collectList()
+        .flatMap(
+            fees ->
+                Mono.zip(
+                        collectByFee(
+                            fees,
+                            fee ->
+                                feeComponentRepository.findByFeeIdAndFeeVersion(
+                                    fee.getId(), fee.getVersion())),
+                        collectByFee(
+                            fees,
+                            fee ->
+                                feeCountryRepository.findByFeeIdAndFeeVersion(
+                                    fee.getId(), fee.getVersion())),
+                        collectByFee(
+                            fees,
+                            fee ->
+                                feePspRepository.findByFeeIdAndFeeVersion(
+                                    fee.getId(), fee.getVersion())))
+                    .map(
+                        tuple ->
+                            new FeeSnapshot(fees, tuple.getT1(), tuple.getT2(), tuple.getT3())));
+  }
+
+  private static <T> Mono<Map<String, List<T>>> collectByFee(
+      List<Fee> fees, Function<Fee, Flux<T>> finder) {
+    return Flux.fromIterable(fees)
+        .flatMap(fee -> finder.apply(fee).collectList().map(rows -> Map.entry(fee.getId(), rows)))
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+  }
+}
@@ -4,6 +4,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import nexxus.fee.dto.FeeDto;
+import nexxus.fee.dto.FeeQuoteRequestDto;
 import nexxus.fee.service.FeeService;
 import nexxus.shared.controller.BaseController;
 import nexxus.shared.dto.ApiResponse;
@@ -23,6 +24,11 @@ public class FeeController extends BaseController {
     return feeService.create(feeDto);
   }
 
+  @PostMapping("/quote")
+  public Mono<ResponseEntity<ApiResponse<Object>>> quote(@RequestBody FeeQuoteRequestDto request) {
+    return feeService.quote(request);
+  }
+
   @GetMapping("/{id}")
   public Mono<ResponseEntity<ApiResponse<Object>>> getById(@PathVariable("id") String id) {
     return feeService.getById(id);
@@ -0,0 +1,48 @@
+package nexxus.fee.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import nexxus.shared.constants.ChargeFeeType;
+import nexxus.shared.constants.FeeComponentType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeQuoteDto {
+
+  private String feeId;
+  private Integer feeVersion;
+  private String feeName;
+  private String pspId;
+  private String currency;
+  private ChargeFeeType chargeFeeType;
+
+  /** Amount the quote was requested for */
+  private BigDecimal amount;
+
+  private BigDecimal feeAmount;
+
+  /** Amount left after the fee: lower than the amount for INCLUSIVE fees */
+  private BigDecimal netAmount;
+
+  /** Amount charged: higher than the amount for EXCLUSIVE fees */
+  private BigDecimal totalAmount;
+
+  private List<FeeQuoteComponentDto> components;
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class FeeQuoteComponentDto {
+    private FeeComponentType type;
+    private BigDecimal feeAmount;
+  }
+}
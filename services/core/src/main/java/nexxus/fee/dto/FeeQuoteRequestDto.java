@@ -0,0 +1,43 @@
+package nexxus.fee.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeQuoteRequestDto {
+
+  @NotBlank(message = "Brand ID is required")
+  private String brandId;
+
+  @NotBlank(message = "Environment ID is required")
+  private String environmentId;
+
+  @NotBlank(message = "Flow Action ID is required")
+  private String flowActionId;
+
+  @NotBlank(message = "Currency is required")
+  private String currency;
+
+  @NotBlank(message = "Country is required")
+  private String country;
+
+  /** Quote a single PSP; when omitted every PSP with a matching fee is quoted */
+  private String pspId;
+
+  @NotNull(message = "Amount is required")
+  private BigDecimal amount;
+
+  /** Number of units charged by FIXED_PER_UNIT components, defaults to 1 */
+  private Integer units;
+}
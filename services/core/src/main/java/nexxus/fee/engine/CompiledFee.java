@@ -0,0 +1,131 @@
+package nexxus.fee.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import nexxus.fee.dto.FeeQuoteDto;
+import nexxus.fee.entity.Fee;
+import nexxus.fee.entity.FeeComponent;
+import nexxus.shared.constants.ChargeFeeType;
+import nexxus.shared.constants.FeeComponentType;
+import nexxus.shared.util.CurrencyUtil;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Immutable, pre-compiled fee version. Components are flattened into parallel arrays with
+ * percentages already converted to ratios, so a quote is a single pass of exact {@link BigDecimal}
+ * arithmetic. Each component is clamped to its own min/max; the total is rounded once to the
+ * minor unit of the fee currency.
+ */
+@Getter
+public final class CompiledFee {
+
+  private final String id;
+  private final Integer version;
+  private final String name;
+  private final String currency;
+  private final ChargeFeeType chargeFeeType;
+  private final int scale;
+
+  @Getter(AccessLevel.NONE)
+  private final FeeComponentType[] types;
+
+  @Getter(AccessLevel.NONE)
+  private final BigDecimal[] rates;
+
+  @Getter(AccessLevel.NONE)
+  private final BigDecimal[] minValues;
+
+  @Getter(AccessLevel.NONE)
+  private final BigDecimal[] maxValues;
+
+  private CompiledFee(Fee fee, List<FeeComponent> components) {
+    this.id = fee.getId();
+    this.version = fee.getVersion();
+    this.name = fee.getName();
+    this.currency = fee.getCurrency().toUpperCase();
+    this.chargeFeeType = fee.getChargeFeeType();
+    this.scale = CurrencyUtil.scaleOf(currency);
+
+    int n = components.size();
+    this.types = new FeeComponentType[n];
+    this.rates = new BigDecimal[n];
+    this.minValues = new BigDecimal[n];
+    this.maxValues = new BigDecimal[n];
+    for (int i = 0; i < n; i++) {
+      FeeComponent component = components.get(i);
+      types[i] = component.getType();
+      rates[i] =
+          component.getType() == FeeComponentType.PERCENTAGE
+              ? component.getAmount().movePointLeft(2)
+              : component.getAmount();
+      minValues[i] = component.getMinValue();
+      maxValues[i] = component.getMaxValue();
+    }
+  }
+
+  public static CompiledFee of(Fee fee, List<FeeComponent> components) {
+    return new CompiledFee(fee, components);
+  }
+
+  /**
+   * Computes the fee of an amount
+   *
+   * @param pspId PSP the quote is for
+   * @param amount amount in the fee currency
+   * @param units number of units charged by FIXED_PER_UNIT components
+   * @return quote
+   */
+  public FeeQuoteDto quote(String pspId, BigDecimal amount, int units) {
+    BigDecimal unitCount = BigDecimal.valueOf(units);
+    BigDecimal total = BigDecimal.ZERO;
+    List<FeeQuoteDto.FeeQuoteComponentDto> breakdown = new ArrayList<>(types.length);
+    for (int i = 0; i < types.length; i++) {
+      BigDecimal value;
+      switch (types[i]) {
+        case PERCENTAGE:
+          value = amount.multiply(rates[i]);
+          break;
+        case FIXED_PER_UNIT:
+          value = rates[i].multiply(unitCount);
+          break;
+        case FIXED:
+        default:
+          value = rates[i];
+          break;
+      }
+      if (minValues[i] != null && value.compareTo(minValues[i]) < 0) {
+        value = minValues[i];
+      }
+      if (maxValues[i] != null && value.compareTo(maxValues[i]) > 0) {
+        value = maxValues[i];
+      }
+      total = total.add(value);
+      breakdown.add(
+          FeeQuoteDto.FeeQuoteComponentDto.builder()
+              .type(types[i])
+              .feeAmount(value.setScale(scale, RoundingMode.HALF_UP))
+              .build());
+    }
+
+    BigDecimal feeAmount = total.setScale(scale, RoundingMode.HALF_UP);
+    boolean inclusive = chargeFeeType == ChargeFeeType.INCLUSIVE;
+    return FeeQuoteDto.builder()
+        .feeId(id)
+        .feeVersion(version)
+        .feeName(name)
+        .pspId(pspId)
+        .currency(currency)
+        .chargeFeeType(chargeFeeType)
+        .amount(amount)
+        .feeAmount(feeAmount)
+        .netAmount(inclusive ? amount.subtract(feeAmount) : amount)
+        .totalAmount(inclusive ? amount : amount.add(feeAmount))
+        .components(breakdown)
+        .build();
+  }
+}
@@ -0,0 +1,157 @@
+package nexxus.fee.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.fee.cache.FeeSnapshot;
+import nexxus.fee.cache.FeeSnapshotCache;
+import nexxus.fee.dto.FeeQuoteDto;
+import nexxus.fee.dto.FeeQuoteRequestDto;
+import nexxus.fee.entity.Fee;
+import nexxus.fee.entity.FeeCountry;
+import nexxus.fee.entity.FeePsp;
+import nexxus.shared.constants.Status;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory fee calculator. The latest version of every enabled fee of a brand/environment is
+ * compiled once from the {@link FeeSnapshotCache} snapshot into an index keyed by (flowAction,
+ * currency, country) and then PSP, and recompiled whenever a write swaps in a new snapshot, so a
+ * quote is two hash lookups and a pass over the fee components.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeeCalculator {
+
+  private static final Comparator<Fee> PRECEDENCE =
+      Comparator.comparing(Fee::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparing(Fee::getId);
+
+  private final FeeSnapshotCache feeSnapshotCache;
+
+  private final Map<String, Map<String, CompiledSnapshot>> indexes = new ConcurrentHashMap<>();
+
+  /**
+   * Quotes the fee of an amount for one PSP, or for every PSP with a matching fee when the request
+   * does not name one
+   *
+   * @param request quote request
+   * @return quotes ordered by PSP ID, empty when no fee applies
+   */
+  public Mono<List<FeeQuoteDto>> quote(FeeQuoteRequestDto request) {
+    int units = request.getUnits() != null ? request.getUnits() : 1;
+    BigDecimal amount = request.getAmount();
+    return feeSnapshotCache
+        .get(request.getBrandId(), request.getEnvironmentId())
+        .map(
+            snapshot -> {
+              Map<String, CompiledFee> byPsp =
+                  getIndex(request.getBrandId(), request.getEnvironmentId(), snapshot)
+                      .get(
+                          indexKey(
+                              request.getFlowActionId(),
+                              request.getCurrency(),
+                              request.getCountry()));
+              if (byPsp == null) {
+                return List.<FeeQuoteDto>of();
+              }
+              if (request.getPspId() != null) {
+                CompiledFee fee = byPsp.get(request.getPspId());
+                return fee != null
+                    ? List.of(fee.quote(request.getPspId(), amount, units))
+                    : List.<FeeQuoteDto>of();
+              }
+              List<FeeQuoteDto> quotes = new ArrayList<>(byPsp.size());
+              byPsp.forEach((pspId, fee) -> quotes.add(fee.quote(pspId, amount, units)));
+              quotes.sort(Comparator.comparing(FeeQuoteDto::getPspId));
+              return quotes;
+            });
+  }
+
+  private Map<String, Map<String, CompiledFee>> getIndex(
+      String brandId, String environmentId, FeeSnapshot snapshot) {
+    Map<String, CompiledSnapshot> byEnvironment =
+        indexes.computeIfAbsent(brandId, key -> new ConcurrentHashMap<>());
+    CompiledSnapshot cached = byEnvironment.get(environmentId);
+    if (cached != null && cached.source == snapshot) {
+      return cached.index;
+    }
+
+    // Racing compilations may briefly store an older snapshot; the identity check above
+    // recompiles on the next call
+    Map<String, Map<String, CompiledFee>> index = compile(brandId, environmentId, snapshot);
+    byEnvironment.put(environmentId, new CompiledSnapshot(snapshot, index));
+    return index;
+  }
+
+  private Map<String, Map<String, CompiledFee>> compile(
+      String brandId, String environmentId, FeeSnapshot snapshot) {
+    List<Fee> fees =
+        snapshot.getFees().stream()
+            .filter(fee -> fee.getStatus() == Status.ENABLED)
+            .sorted(PRECEDENCE)
+            .toList();
+
+    // Later (more recently updated) fees overwrite earlier ones on overlapping keys
+    Map<String, Map<String, CompiledFee>> index = new HashMap<>();
+    for (Fee fee : fees) {
+      CompiledFee compiled = CompiledFee.of(fee, snapshot.getComponents(fee.getId()));
+      for (FeeCountry country : snapshot.getCountries(fee.getId())) {
+        Map<String, CompiledFee> byPsp =
+            index.computeIfAbsent(
+                indexKey(fee.getFlowActionId(), fee.getCurrency(), country.getCountry()),
+                key -> new HashMap<>());
+        for (FeePsp psp : snapshot.getPsps(fee.getId())) {
+          CompiledFee previous = byPsp.put(psp.getPspId(), compiled);
+          if (previous != null) {
+            log.debug(
+                "Fee {} overrides fee {} for PSP {} in country {}",
+                fee.getId(),
+                previous.getId(),
+                psp.getPspId(),
+                country.getCountry());
+          }
+        }
+      }
+    }
+    log.debug(
+        "Compiled {} fees for brand {} environment {} into {} groups",
+        fees.size(),
+        brandId,
+        environmentId,
+        index.size());
+    return index.entrySet().stream()
+        .collect(
+            Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> Map.copyOf(entry.getValue())));
+  }
+
+  private static String indexKey(String flowActionId, String currency, String country) {
+    return flowActionId
+        + "|"
+        + (currency != null ? currency.toUpperCase() : null)
+        + "|"
+        + (country != null ? country.toUpperCase() : null);
+  }
+
+  private static final class CompiledSnapshot {
+    private final FeeSnapshot source;
+    private final Map<String, Map<String, CompiledFee>> index;
+
+    private CompiledSnapshot(FeeSnapshot source, Map<String, Map<String, CompiledFee>> index) {
+      this.source = source;
+      this.index = index;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package nexxus.fee.service;
 import org.springframework.http.ResponseEntity;
 
 import nexxus.fee.dto.FeeDto;
+import nexxus.fee.dto.FeeQuoteRequestDto;
 import nexxus.shared.dto.ApiResponse;
 import nexxus.shared.service.BaseService;
 
@@ -22,4 +23,12 @@ public interface FeeService extends BaseService {
   Mono<ResponseEntity<ApiResponse<Object>>> update(String id, FeeDto feeDto);
 
   Mono<ResponseEntity<ApiResponse<Object>>> delete(String id);
+
+  /**
+   * Quotes the fee of an amount from the in-memory fee index
+   *
+   * @param request quote request
+   * @return quotes, one per PSP with a matching fee
+   */
+  Mono<ResponseEntity<ApiResponse<Object>>> quote(FeeQuoteRequestDto request);
 }
@@ -8,9 +8,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import nexxus.fee.cache.FeeSnapshotCache;
 import nexxus.fee.dto.FeeComponentDto;
 import nexxus.fee.dto.FeeDetailedDto;
 import nexxus.fee.dto.FeeDto;
+import nexxus.fee.dto.FeeQuoteRequestDto;
+import nexxus.fee.engine.FeeCalculator;
 import nexxus.fee.entity.Fee;
 import nexxus.fee.entity.FeeComponent;
 import nexxus.fee.entity.FeeCountry;
@@ -20,7 +23,7 @@ import nexxus.fee.repository.FeeCountryRepository;
 import nexxus.fee.repository.FeePspRepository;
 import nexxus.fee.repository.FeeRepository;
 import nexxus.fee.service.FeeService;
-import nexxus.flowaction.repository.FlowActionRepository;
+import nexxus.flowregistry.FlowRegistry;
 import nexxus.psp.repository.PspRepository;
 import nexxus.shared.constants.ErrorCode;
 import nexxus.shared.constants.FeeComponentType;
@@ -41,7 +44,9 @@ public class FeeServiceImpl implements FeeService {
   private final FeeComponentRepository feeComponentRepository;
   private final FeeCountryRepository feeCountryRepository;
   private final FeePspRepository feePspRepository;
-  private final FlowActionRepository flowActionRepository;
+  private final FeeSnapshotCache feeSnapshotCache;
+  private final FeeCalculator feeCalculator;
+  private final FlowRegistry flowRegistry;
   private final PspRepository pspRepository;
   private final CurrencyValidationService currencyValidationService;
   private final ReactiveResponseHandler responseHandler;
@@ -89,6 +94,7 @@ public class FeeServiceImpl implements FeeService {
             Mono.defer(
                 () -> {
                   return createAssociations(fee, feeDto)
+                      .then(feeSnapshotCache.refresh(fee.getBrandId(), fee.getEnvironmentId()))
                       .then(
                           Mono.defer(
                               () -> {
@@ -185,9 +191,18 @@ public class FeeServiceImpl implements FeeService {
   @Override
   public Mono<ResponseEntity<ApiResponse<Object>>> getByBrandAndEnvironment(
       String brandId, String environmentId) {
-    return feeRepository
-        .findByBrandIdAndEnvironmentId(brandId, environmentId)
-        .flatMap(this::buildFeeWithAssociations)
+    return feeSnapshotCache
+        .get(brandId, environmentId)
+        .flatMapMany(
+            snapshot ->
+                Flux.fromIterable(snapshot.getFees())
+                    .flatMapSequential(
+                        fee ->
+                            buildDetailedFeeResponse(
+                                fee,
+                                snapshot.getComponents(fee.getId()),
+                                snapshot.getCountries(fee.getId()),
+                                snapshot.getPsps(fee.getId()))))
         .collectList()
         .flatMap(fees -> successResponse(fees, "Fees retrieved successfully"))
         .onErrorResume(e -> databaseError(e, "retrieving fees"));
@@ -231,6 +246,7 @@ public class FeeServiceImpl implements FeeService {
             fee ->
                 deleteAllAssociations(fee.getId())
                     .then(feeRepository.deleteAllById(id))
+                    .then(feeSnapshotCache.refresh(fee.getBrandId(), fee.getEnvironmentId()))
                     .then(successResponse(null, "Fee deleted successfully")))
         .switchIfEmpty(
             customError(
@@ -332,6 +348,9 @@ public class FeeServiceImpl implements FeeService {
               Mono.defer(
                   () -> {
                     return createAssociations(updatedFee, feeDto)
+                        .then(
+                            feeSnapshotCache.refresh(
+                                updatedFee.getBrandId(), updatedFee.getEnvironmentId()))
                         .then(
                             Mono.defer(
                                 () -> {
@@ -348,6 +367,36 @@ public class FeeServiceImpl implements FeeService {
     }
   }
 
+  @Override
+  public Mono<ResponseEntity<ApiResponse<Object>>> quote(FeeQuoteRequestDto request) {
+    try {
+      validateNotNull(request, "Fee quote request");
+      validateNotBlank(request.getBrandId(), "Brand ID");
+      validateNotBlank(request.getEnvironmentId(), "Environment ID");
+      validateNotBlank(request.getFlowActionId(), "Flow Action ID");
+      validateNotBlank(request.getCurrency(), "Currency");
+      validateNotBlank(request.getCountry(), "Country");
+      validateNotNull(request.getAmount(), "Amount");
+      validateCondition(request.getAmount().signum() >= 0, "Amount must not be negative");
+      validateCondition(
+          request.getUnits() == null || request.getUnits() > 0, "Units must be greater than 0");
+
+      return feeCalculator
+          .quote(request)
+          .flatMap(
+              quotes ->
+                  quotes.isEmpty()
+                      ? customError(
+                          ErrorCode.FEE_NOT_FOUND,
+                          "No fee configured for the given flow action, currency, country and PSP",
+                          HttpStatus.NOT_FOUND)
+                      : successResponse(quotes, "Fee quoted successfully"))
+          .onErrorResume(e -> databaseError(e, "quoting fee"));
+    } catch (Exception e) {
+      return databaseError(e, "quoting fee");
+    }
+  }
+
   private void validateRequest(FeeDto feeDto) {
     validateNotNull(feeDto, "Fee DTO");
     validateNotBlank(feeDto.getName(), "Fee name");
@@ -408,8 +457,9 @@ public class FeeServiceImpl implements FeeService {
   private Mono<FeeDetailedDto> buildDetailedFeeResponse(
       Fee fee, List<FeeComponent> components, List<FeeCountry> countries, List<FeePsp> psps) {
     return Mono.zip(
-            flowActionRepository
-                .findById(fee.getFlowActionId())
+            flowRegistry
+                .graph()
+                .mapNotNull(graph -> graph.flowAction(fee.getFlowActionId()))
                 .map(flowAction -> flowAction.getName())
                 .defaultIfEmpty("Unknown Flow Action"),
             Flux.fromIterable(psps)
@@ -9,6 +9,7 @@ import nexxus.flowaction.dto.FlowActionDto;
 import nexxus.flowaction.entity.FlowAction;
 import nexxus.flowaction.repository.FlowActionRepository;
 import nexxus.flowaction.service.FlowActionService;
+import nexxus.flowregistry.FlowRegistry;
 import nexxus.shared.dto.ApiResponse;
 import nexxus.shared.exception.ValidationException;
 import nexxus.shared.util.ReactiveResponseHandler;
@@ -23,6 +24,7 @@ public class FlowActionServiceImpl implements FlowActionService {
 
   private final FlowActionRepository flowActionRepository;
   private final ReactiveResponseHandler responseHandler;
+  private final FlowRegistry flowRegistry;
 
   @Override
   public ReactiveResponseHandler getResponseHandler() {
@@ -47,10 +49,9 @@ public class FlowActionServiceImpl implements FlowActionService {
 
   @Override
   public Mono<ResponseEntity<ApiResponse<Object>>> readAll() {
-    return flowActionRepository
-        .findAll()
-        .collectList()
-        .map(flowActions -> flowActions.stream().map(FlowActionDto::fromEntity).toList())
+    return flowRegistry
+        .graph()
+        .map(graph -> graph.flowActions().stream().map(FlowActionDto::fromEntity).toList())
         .flatMap(this::successResponse)
         .onErrorResume(e -> databaseError(e, "retrieving flow actions"));
   }
@@ -59,8 +60,9 @@ public class FlowActionServiceImpl implements FlowActionService {
   public Mono<ResponseEntity<ApiResponse<Object>>> read(String id) {
     validateNotBlank(id, "Flow action ID");
 
-    return flowActionRepository
-        .findById(id)
+    return flowRegistry
+        .graph()
+        .mapNotNull(graph -> graph.flowAction(id))
         .flatMap(
             flowAction ->
                 Mono.just(FlowActionDto.fromEntity(flowAction)).flatMap(this::successResponse))
@@ -103,6 +105,7 @@ public class FlowActionServiceImpl implements FlowActionService {
               if (exists) {
                 return flowActionRepository
                     .deleteById(id)
+                    .then(flowRegistry.refresh())
                     .then(successResponse("Flow action deleted successfully"));
               } else {
                 return notFoundError("Flow action", "id", id);
@@ -115,10 +118,13 @@ public class FlowActionServiceImpl implements FlowActionService {
   public Mono<ResponseEntity<ApiResponse<Object>>> findByFlowTypeId(String flowTypeId) {
     validateNotBlank(flowTypeId, "Flow type ID");
 
-    return flowActionRepository
-        .findByFlowTypeId(flowTypeId)
-        .collectList()
-        .map(flowActions -> flowActions.stream().map(FlowActionDto::fromEntity).toList())
+    return flowRegistry
+        .graph()
+        .map(
+            graph ->
+                graph.flowActionsByFlowType(flowTypeId).stream()
+                    .map(FlowActionDto::fromEntity)
+                    .toList())
         .flatMap(this::successResponse)
         .onErrorResume(e -> databaseError(e, "retrieving flow actions for flow type"));
   }
@@ -129,8 +135,14 @@ public class FlowActionServiceImpl implements FlowActionService {
     validateNotBlank(name, "Flow action name");
     validateNotBlank(flowTypeId, "Flow type ID");
 
-    return flowActionRepository
-        .findByNameAndFlowTypeId(name, flowTypeId)
+    return flowRegistry
+        .graph()
+        .mapNotNull(
+            graph ->
+                graph.flowActionsByFlowType(flowTypeId).stream()
+                    .filter(flowAction -> name.equals(flowAction.getName()))
+                    .findFirst()
+                    .orElse(null))
         .map(FlowActionDto::fromEntity)
         .flatMap(this::successResponse)
         .switchIfEmpty(
@@ -200,6 +212,7 @@ public class FlowActionServiceImpl implements FlowActionService {
             flowAction.getUpdatedAt(),
             flowAction.getCreatedBy(),
             flowAction.getUpdatedBy())
+        .then(flowRegistry.refresh())
         .then(
             Mono.defer(
                 () -> {
@@ -217,6 +230,7 @@ public class FlowActionServiceImpl implements FlowActionService {
             Json.of(dto.getInputSchema()),
             Json.of(dto.getOutputSchema()),
             LocalDateTime.now())
+        .then(flowRegistry.refresh())
         .then(
             flowActionRepository
                 .findById(id)
@@ -7,6 +7,7 @@ import nexxus.flowdefinition.dto.FlowDefinitionDto;
 import nexxus.flowdefinition.entity.FlowDefinition;
 import nexxus.flowdefinition.repository.FlowDefinitionRepository;
 import nexxus.flowdefinition.service.FlowDefinitionService;
+import nexxus.flowregistry.FlowRegistry;
 import nexxus.shared.dto.ApiResponse;
 import nexxus.shared.util.ReactiveResponseHandler;
 
@@ -19,6 +20,7 @@ public class FlowDefinitionServiceImpl implements FlowDefinitionService {
 
   private final FlowDefinitionRepository flowDefinitionRepository;
   private final ReactiveResponseHandler responseHandler;
+  private final FlowRegistry flowRegistry;
 
   @Override
   public ReactiveResponseHandler getResponseHandler() {
@@ -50,11 +52,11 @@ public class FlowDefinitionServiceImpl implements FlowDefinitionService {
 
   @Override
   public Mono<ResponseEntity<ApiResponse<Object>>> readAll() {
-    return flowDefinitionRepository
-        .findAll()
-        .collectList()
+    return flowRegistry
+        .graph()
         .map(
-            flowDefinitions -> flowDefinitions.stream().map(FlowDefinitionDto::fromEntity).toList())
+            graph ->
+                graph.flowDefinitions().stream().map(FlowDefinitionDto::fromEntity).toList())
         .flatMap(this::successResponse)
         .onErrorResume(e -> databaseError(e, "retrieving flow definitions"));
   }
@@ -63,11 +65,13 @@ public class FlowDefinitionServiceImpl implements FlowDefinitionService {
   public Mono<ResponseEntity<ApiResponse<Object>>> readAllByFlowTargetId(String flowTargetId) {
     validateNotBlank(flowTargetId, "Flow target ID");
 
-    return flowDefinitionRepository
-        .findByFlowTargetId(flowTargetId)
-        .collectList()
+    return flowRegistry
+        .graph()
         .map(
-            flowDefinitions -> flowDefinitions.stream().map(FlowDefinitionDto::fromEntity).toList())
+            graph ->
+                graph.flowDefinitionsByFlowTarget(flowTargetId).stream()
+                    .map(FlowDefinitionDto::fromEntity)
+                    .toList())
         .flatMap(this::successResponse)
         .onErrorResume(e -> databaseError(e, "retrieving flow definitions by flow target"));
   }
@@ -76,8 +80,9 @@ public class FlowDefinitionServiceImpl implements FlowDefinitionService {
   public Mono<ResponseEntity<ApiResponse<Object>>> read(String id) {
     validateNotBlank(id, "Flow definition ID");
 
-    return flowDefinitionRepository
-        .findById(id)
+    return flowRegistry
+        .graph()
+        .mapNotNull(graph -> graph.flowDefinition(id))
         .flatMap(
             flowDefinition ->
                 Mono.just(FlowDefinitionDto.fromEntity(flowDefinition))
@@ -121,6 +126,7 @@ public class FlowDefinitionServiceImpl implements FlowDefinitionService {
               if (exists) {
                 return flowDefinitionRepository
                     .deleteById(id)
+                    .then(flowRegistry.refresh())
                     .then(successResponse("Flow definition deleted successfully"));
               } else {
                 return notFoundError("Flow definition", "id", id);
@@ -198,6 +204,7 @@ public class FlowDefinitionServiceImpl implements FlowDefinitionService {
             flowDefinition.getUpdatedAt(),
             flowDefinition.getCreatedBy(),
             flowDefinition.getUpdatedBy())
+        .then(flowRegistry.refresh())
         .then(
             Mono.defer(
                 () -> {
@@ -227,6 +234,7 @@ public class FlowDefinitionServiceImpl implements FlowDefinitionService {
                   flowDefinition.getBrandId(),
                   flowDefinition.getUpdatedAt());
             })
+        .then(flowRegistry.refresh())
         .then(
             flowDefinitionRepository
                 .findById(id)
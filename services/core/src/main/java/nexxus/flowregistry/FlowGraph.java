@@ -0,0 +1,147 @@
+package nexxus.flowregistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import nexxus.flowaction.entity.FlowAction;
+import nexxus.flowdefinition.entity.FlowDefinition;
+import nexxus.flowtarget.entity.FlowTarget;
+import nexxus.flowtype.entity.FlowType;
+
+/**
+ * Immutable, indexed snapshot of all flow types, actions, targets and definitions.
+ *
+ * <p>Built once per load by {@link FlowRegistry} and shared by every reader, so the entities it
+ * holds must be treated as read-only: services that modify a flow entity load their own copy from
+ * the repository. Lists keep the order in which the rows were loaded.
+ */
+public final class FlowGraph {
+
+  private final List<FlowType> flowTypes;
+  private final List<FlowAction> flowActions;
+  private final List<FlowTarget> flowTargets;
+  private final List<FlowDefinition> flowDefinitions;
+
+  private final Map<String, FlowType> flowTypesById;
+  private final Map<String, FlowType> flowTypesByName;
+  private final Map<String, FlowAction> flowActionsById;
+  private final Map<String, List<FlowAction>> flowActionsByFlowType;
+  private final Map<String, FlowTarget> flowTargetsById;
+  private final Map<String, List<FlowTarget>> flowTargetsByFlowType;
+  private final Map<String, FlowDefinition> flowDefinitionsById;
+  private final Map<String, List<FlowDefinition>> flowDefinitionsByFlowTarget;
+  private final Map<ActionTarget, FlowDefinition> flowDefinitionsByActionAndTarget;
+
+  FlowGraph(
+      List<FlowType> flowTypes,
+      List<FlowAction> flowActions,
+      List<FlowTarget> flowTargets,
+      List<FlowDefinition> flowDefinitions) {
+    this.flowTypes = List.copyOf(flowTypes);
+    this.flowActions = List.copyOf(flowActions);
+    this.flowTargets = List.copyOf(flowTargets);
+    this.flowDefinitions = List.copyOf(flowDefinitions);
+
+    this.flowTypesById = indexBy(this.flowTypes, FlowType::getId);
+    this.flowTypesByName = indexBy(this.flowTypes, FlowType::getName);
+    this.flowActionsById = indexBy(this.flowActions, FlowAction::getId);
+    this.flowActionsByFlowType = groupBy(this.flowActions, FlowAction::getFlowTypeId);
+    this.flowTargetsById = indexBy(this.flowTargets, FlowTarget::getId);
+    this.flowTargetsByFlowType = groupBy(this.flowTargets, FlowTarget::getFlowTypeId);
+    this.flowDefinitionsById = indexBy(this.flowDefinitions, FlowDefinition::getId);
+    this.flowDefinitionsByFlowTarget =
+        groupBy(this.flowDefinitions, FlowDefinition::getFlowTargetId);
+    this.flowDefinitionsByActionAndTarget =
+        indexBy(
+            this.flowDefinitions,
+            definition ->
+                new ActionTarget(definition.getFlowActionId(), definition.getFlowTargetId()));
+  }
+
+  public List<FlowType> flowTypes() {
+    return flowTypes;
+  }
+
+  public FlowType flowType(String id) {
+    return flowTypesById.get(id);
+  }
+
+  public FlowType flowTypeByName(String name) {
+    return flowTypesByName.get(name);
+  }
+
+  public List<FlowAction> flowActions() {
+    return flowActions;
+  }
+
+  public FlowAction flowAction(String id) {
+    return flowActionsById.get(id);
+  }
+
+  public List<FlowAction> flowActionsByFlowType(String flowTypeId) {
+    return flowActionsByFlowType.getOrDefault(flowTypeId, List.of());
+  }
+
+  public List<FlowTarget> flowTargets() {
+    return flowTargets;
+  }
+
+  public FlowTarget flowTarget(String id) {
+    return flowTargetsById.get(id);
+  }
+
+  public List<FlowTarget> flowTargetsByFlowType(String flowTypeId) {
+    return flowTargetsByFlowType.getOrDefault(flowTypeId, List.of());
+  }
+
+  public List<FlowDefinition> flowDefinitions() {
+    return flowDefinitions;
+  }
+
+  public FlowDefinition flowDefinition(String id) {
+    return flowDefinitionsById.get(id);
+  }
+
+  public List<FlowDefinition> flowDefinitionsByFlowTarget(String flowTargetId) {
+    return flowDefinitionsByFlowTarget.getOrDefault(flowTargetId, List.of());
+  }
+
+  /**
+   * @param flowActionId flow action ID
+   * @param flowTargetId flow target ID
+   * @return the definition linking the action to the target, or null if there is none
+   */
+  public FlowDefinition flowDefinition(String flowActionId, String flowTargetId) {
+    return flowDefinitionsByActionAndTarget.get(new ActionTarget(flowActionId, flowTargetId));
+  }
+
+  /** Index keeping the first row per key; rows with a null key are left out */
+  private static <K, T> Map<K, T> indexBy(List<T> rows, Function<T, K> key) {
+    Map<K, T> index = new LinkedHashMap<>();
+    for (T row : rows) {
+      K value = key.apply(row);
+      if (value != null) {
+        index.putIfAbsent(value, row);
+      }
+    }
+    return Collections.unmodifiableMap(index);
+  }
+
+  private static <K, T> Map<K, List<T>> groupBy(List<T> rows, Function<T, K> key) {
+    Map<K, List<T>> groups = new LinkedHashMap<>();
+    for (T row : rows) {
+      K value = key.apply(row);
+      if (value != null) {
+        groups.computeIfAbsent(value, k -> new ArrayList<>()).add(row);
+      }
+    }
+    groups.replaceAll((k, group) -> List.copyOf(group));
+    return Collections.unmodifiableMap(groups);
+  }
+
+  private record ActionTarget(String flowActionId, String flowTargetId) {}
+}
@@ -0,0 +1,144 @@
+package nexxus.flowregistry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import nexxus.flowaction.repository.FlowActionRepository;
+import nexxus.flowdefinition.repository.FlowDefinitionRepository;
+import nexxus.flowtarget.repository.FlowTargetRepository;
+import nexxus.flowtype.repository.FlowTypeRepository;
+import nexxus.shared.cache.CacheInvalidationEvent;
+import nexxus.shared.cache.CacheInvalidationHandler;
+import nexxus.shared.cache.ClusterCacheInvalidator;
+import nexxus.shared.constants.CacheTopic;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory registry of the flow graph: all flow types, actions, targets and definitions. This
+ * reference data is small and rarely changes, so it is loaded whole at startup into a {@link
+ * FlowGraph} and every read is served from it.
+ *
+ * <p>Writes to any flow entity call {@link #refresh()} once committed, which rebuilds the graph and
+ * swaps it in atomically, and tell the other instances to do the same. Every load takes a ticket
+ * from a monotonic sequence and a graph only replaces one with a lower ticket, so a slow load that
+ * started before a write can never overwrite the result of the refresh that followed it.
+ */
+@Slf4j
+@Component
+public class FlowRegistry implements CacheInvalidationHandler {
+
+  private final FlowTypeRepository flowTypeRepository;
+  private final FlowActionRepository flowActionRepository;
+  private final FlowTargetRepository flowTargetRepository;
+  private final FlowDefinitionRepository flowDefinitionRepository;
+  private final ClusterCacheInvalidator clusterCacheInvalidator;
+  private final AtomicReference<Loaded> current = new AtomicReference<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  public FlowRegistry(
+      FlowTypeRepository flowTypeRepository,
+      FlowActionRepository flowActionRepository,
+      FlowTargetRepository flowTargetRepository,
+      FlowDefinitionRepository flowDefinitionRepository,
+      ClusterCacheInvalidator clusterCacheInvalidator) {
+    this.flowTypeRepository = flowTypeRepository;
+    this.flowActionRepository = flowActionRepository;
+    this.flowTargetRepository = flowTargetRepository;
+    this.flowDefinitionRepository = flowDefinitionRepository;
+    this.clusterCacheInvalidator = clusterCacheInvalidator;
+  }
+
+  /**
+   * Returns the current flow graph, loading it if startup preloading has not completed yet
+   *
+   * @return current flow graph
+   */
+  public Mono<FlowGraph> graph() {
+    Loaded loaded = current.get();
+    if (loaded != null && loaded.graph() != null) {
+      return Mono.just(loaded.graph());
+    }
+    return load();
+  }
+
+  /**
+   * Rebuilds the graph after a local write and tells the other instances to do the same. A failed
+   * rebuild evicts the graph instead of failing the write, so the next read reloads it.
+   *
+   * @return completes once the new graph is installed and the change published
+   */
+  public Mono<Void> refresh() {
+    return reload().then(clusterCacheInvalidator.publish(CacheTopic.FLOW, null, null, null));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void preload() {
+    reload().subscribe();
+  }
+
+  @Override
+  public String getTopic() {
+    return CacheTopic.FLOW;
+  }
+
+  @Override
+  public void onInvalidation(CacheInvalidationEvent event) {
+    reload().subscribe();
+  }
+
+  @Override
+  public void onReset() {
+    reload().subscribe();
+  }
+
+  private Mono<Void> reload() {
+    return load()
+        .doOnNext(
+            graph ->
+                log.debug(
+                    "Loaded flow graph: {} types, {} actions, {} targets, {} definitions",
+                    graph.flowTypes().size(),
+                    graph.flowActions().size(),
+                    graph.flowTargets().size(),
+                    graph.flowDefinitions().size()))
+        .onErrorResume(
+            e -> {
+              log.warn("Failed to load flow graph, evicting it: {}", e.getMessage());
+              install(new Loaded(null, sequence.incrementAndGet()));
+              return Mono.empty();
+            })
+        .then();
+  }
+
+  private Mono<FlowGraph> load() {
+    return Mono.defer(
+        () -> {
+          long ticket = sequence.incrementAndGet();
+          return Mono.zip(
+                  flowTypeRepository.findAll().collectList(),
+                  flowActionRepository.findAll().collectList(),
+                  flowTargetRepository.findAll().collectList(),
+                  flowDefinitionRepository.findAll().collectList())
+              .map(
+                  tuple ->
+                      new FlowGraph(tuple.getT1(), tuple.getT2(), tuple.getT3(), tuple.getT4()))
+              .doOnNext(graph -> install(new Loaded(graph, ticket)));
+        });
+  }
+
+  private void install(Loaded loaded) {
+    current.accumulateAndGet(
+        loaded,
+        (existing, candidate) ->
+            existing == null || existing.ticket() < candidate.ticket() ? candidate : existing);
+  }
+
+  /** A loaded graph, or null once evicted, with the ticket of the load that produced it */
+  private record Loaded(FlowGraph graph, long ticket) {}
+}
@@ -0,0 +1,174 @@
+package nexxus.flowtarget.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.flowtarget.entity.FlowTarget;
+import nexxus.flowtarget.repository.FlowTargetRepository;
+import nexxus.shared.cache.CacheInvalidationEvent;
+import nexxus.shared.cache.CacheInvalidationHandler;
+import nexxus.shared.cache.ClusterCacheInvalidator;
+import nexxus.shared.constants.CacheTopic;
+import nexxus.shared.exception.ResourceNotFoundException;
+import nexxus.shared.validation.SchemaValidator;
+
+import com.github.fge.jsonschema.main.JsonSchema;
+
+import io.r2dbc.postgresql.codec.Json;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compiled credential schema of each flow target, so validating a PSP credential is an in-memory
+ * check once the flow target has been seen. The input schema is not used for validation and is
+ * left out, so a malformed one cannot break credential validation.
+ *
+ * <p>Entries are keyed by flow target ID and remember the SHA-256 of the schema text they were
+ * compiled from. Flow target writes call {@link #refresh(String)}, which reloads the row and only
+ * recompiles the schema if its content hash changed. Every load takes a ticket from a monotonic
+ * sequence and only replaces an entry with a lower ticket, so a slow load that started before a
+ * write can never overwrite the result of the refresh or eviction that followed it.
+ */
+@Slf4j
+@Component
+public class FlowTargetSchemaCache implements CacheInvalidationHandler {
+
+  private final FlowTargetRepository flowTargetRepository;
+  private final SchemaValidator schemaValidator;
+  private final ClusterCacheInvalidator clusterCacheInvalidator;
+  private final Map<String, CompiledCredentialSchema> entries = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private volatile long evictedAt;
+
+  public FlowTargetSchemaCache(
+      FlowTargetRepository flowTargetRepository,
+      SchemaValidator schemaValidator,
+      ClusterCacheInvalidator clusterCacheInvalidator) {
+    this.flowTargetRepository = flowTargetRepository;
+    this.schemaValidator = schemaValidator;
+    this.clusterCacheInvalidator = clusterCacheInvalidator;
+  }
+
+  /**
+   * Returns the compiled credential schema of a flow target, loading it on first use
+   *
+   * @param flowTargetId flow target ID
+   * @return compiled schema, or {@link ResourceNotFoundException} if the flow target is missing
+   */
+  public Mono<CompiledCredentialSchema> get(String flowTargetId) {
+    CompiledCredentialSchema current = entries.get(flowTargetId);
+    if (current != null) {
+      return Mono.just(current);
+    }
+    return load(flowTargetId);
+  }
+
+  /**
+   * Reloads the schema of a flow target after a local write and tells the other instances to do
+   * the same
+   *
+   * @param flowTargetId flow target ID
+   * @return completes once the entry is refreshed and the change published
+   */
+  public Mono<Void> refresh(String flowTargetId) {
+    return reload(flowTargetId)
+        .then(clusterCacheInvalidator.publish(CacheTopic.FLOW_TARGET, null, null, flowTargetId));
+  }
+
+  @Override
+  public String getTopic() {
+    return CacheTopic.FLOW_TARGET;
+  }
+
+  @Override
+  public void onInvalidation(CacheInvalidationEvent event) {
+    if (event.getKey() != null && entries.containsKey(event.getKey())) {
+      reload(event.getKey()).subscribe();
+    }
+  }
+
+  @Override
+  public void onReset() {
+    evictedAt = sequence.incrementAndGet();
+    entries.clear();
+  }
+
+  /** Reloads an entry; a flow target that no longer exists, or fails to load, is evicted */
+  private Mono<Void> reload(String flowTargetId) {
+    return load(flowTargetId)
+        .onErrorResume(
+            e -> {
+              if (!(e instanceof ResourceNotFoundException)) {
+                log.warn(
+                    "Failed to refresh the credential schema of flow target {}, evicting it: {}",
+                    flowTargetId,
+                    e.getMessage());
+              }
+              evictedAt = sequence.incrementAndGet();
+              entries.remove(flowTargetId);
+              return Mono.empty();
+            })
+        .then();
+  }
+
+  private Mono<CompiledCredentialSchema> load(String flowTargetId) {
+    // Deferred so the ticket is taken on subscription, not when a write assembles its pipeline
+    return Mono.defer(
+        () -> {
+          long ticket = sequence.incrementAndGet();
+          return flowTargetRepository
+              .findById(flowTargetId)
+              .switchIfEmpty(
+                  Mono.error(new ResourceNotFoundException("Flow target", "id", flowTargetId)))
+              .map(flowTarget -> compile(flowTarget, ticket))
+              .map(compiled -> install(flowTargetId, compiled));
+        });
+  }
+
+  private CompiledCredentialSchema install(
+      String flowTargetId, CompiledCredentialSchema compiled) {
+    if (compiled.ticket() < evictedAt) {
+      // Evicted while loading, serve this caller but keep the stale result out of the cache
+      return compiled;
+    }
+    return entries.merge(
+        flowTargetId,
+        compiled,
+        (existing, loaded) -> existing.ticket() > loaded.ticket() ? existing : loaded);
+  }
+
+  private CompiledCredentialSchema compile(FlowTarget flowTarget, long ticket) {
+    CompiledCredentialSchema previous = entries.get(flowTarget.getId());
+    String schema = asString(flowTarget.getCredentialSchema());
+    String hash = sha256(schema);
+    return new CompiledCredentialSchema(
+        hash,
+        previous != null && previous.hash().equals(hash)
+            ? previous.schema()
+            : schemaValidator.compile(schema),
+        ticket);
+  }
+
+  private static String asString(Json json) {
+    return json != null ? json.asString() : "{}";
+  }
+
+  private static String sha256(String content) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** Compiled credential schema of one flow target with the content hash it was built from */
+  public record CompiledCredentialSchema(String hash, JsonSchema schema, long ticket) {}
+}
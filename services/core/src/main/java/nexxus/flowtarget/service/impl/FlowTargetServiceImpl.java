@@ -1,13 +1,16 @@
 package nexxus.flowtarget.service.impl;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import nexxus.flowaction.repository.FlowActionRepository;
-import nexxus.flowdefinition.repository.FlowDefinitionRepository;
+import nexxus.flowaction.entity.FlowAction;
+import nexxus.flowdefinition.entity.FlowDefinition;
+import nexxus.flowregistry.FlowGraph;
+import nexxus.flowregistry.FlowRegistry;
+import nexxus.flowtarget.cache.FlowTargetSchemaCache;
 import nexxus.flowtarget.dto.FlowTargetDto;
 import nexxus.flowtarget.entity.FlowTarget;
 import nexxus.flowtarget.repository.FlowTargetRepository;
@@ -19,7 +22,6 @@ import nexxus.shared.util.ReactiveResponseHandler;
 
 import io.r2dbc.postgresql.codec.Json;
 import lombok.RequiredArgsConstructor;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -27,9 +29,9 @@ import reactor.core.publisher.Mono;
 public class FlowTargetServiceImpl implements FlowTargetService {
 
   private final FlowTargetRepository flowTargetRepository;
-  private final FlowDefinitionRepository flowDefinitionRepository;
-  private final FlowActionRepository flowActionRepository;
   private final ReactiveResponseHandler responseHandler;
+  private final FlowTargetSchemaCache flowTargetSchemaCache;
+  private final FlowRegistry flowRegistry;
 
   @Override
   public ReactiveResponseHandler getResponseHandler() {
@@ -64,21 +66,14 @@ public class FlowTargetServiceImpl implements FlowTargetService {
   public Mono<ResponseEntity<ApiResponse<Object>>> readAll(String flowTypeId) {
     validateNotBlank(flowTypeId, "Flow type ID");
 
-    return flowTargetRepository
-        .findByFlowTypeId(flowTypeId)
-        .collectList()
-        .flatMap(
-            flowTargets -> {
-              List<Mono<FlowTargetDto>> flowTargetMonos =
-                  flowTargets.stream()
-                      .map(this::buildFlowTargetWithAssociations)
-                      .collect(Collectors.toList());
-
-              return Flux.fromIterable(flowTargetMonos)
-                  .flatMap(mono -> mono)
-                  .collectList()
-                  .flatMap(this::successResponse);
-            })
+    return flowRegistry
+        .graph()
+        .map(
+            graph ->
+                graph.flowTargetsByFlowType(flowTypeId).stream()
+                    .map(flowTarget -> buildFlowTargetWithAssociations(graph, flowTarget))
+                    .toList())
+        .flatMap(this::successResponse)
         .onErrorResume(e -> databaseError(e, "retrieving flow targets"));
   }
 
@@ -86,8 +81,9 @@ public class FlowTargetServiceImpl implements FlowTargetService {
   public Mono<ResponseEntity<ApiResponse<Object>>> read(String id) {
     validateNotBlank(id, "Flow target ID");
 
-    return flowTargetRepository
-        .findById(id)
+    return flowRegistry
+        .graph()
+        .mapNotNull(graph -> graph.flowTarget(id))
         .flatMap(
             flowTarget ->
                 Mono.just(FlowTargetDto.fromEntity(flowTarget)).flatMap(this::successResponse))
@@ -132,6 +128,8 @@ public class FlowTargetServiceImpl implements FlowTargetService {
               if (exists) {
                 return flowTargetRepository
                     .deleteById(id)
+                    .then(flowTargetSchemaCache.refresh(id))
+                    .then(flowRegistry.refresh())
                     .then(successResponse("Flow target deleted successfully"));
               } else {
                 return notFoundError("Flow target", "id", id);
@@ -239,6 +237,7 @@ public class FlowTargetServiceImpl implements FlowTargetService {
             flowTarget.getUpdatedAt(),
             flowTarget.getCreatedBy(),
             flowTarget.getUpdatedBy())
+        .then(flowRegistry.refresh())
         .then(
             Mono.defer(
                 () -> {
@@ -288,6 +287,8 @@ public class FlowTargetServiceImpl implements FlowTargetService {
                   flowTarget.getBrandId(),
                   flowTarget.getUpdatedAt());
             })
+        .then(flowTargetSchemaCache.refresh(id))
+        .then(flowRegistry.refresh())
         .then(
             flowTargetRepository
                 .findById(id)
@@ -309,42 +310,22 @@ public class FlowTargetServiceImpl implements FlowTargetService {
         .switchIfEmpty(Mono.error(new ResourceNotFoundException("Flow target", "id", id)));
   }
 
-  private Mono<FlowTargetDto> buildFlowTargetWithAssociations(FlowTarget flowTarget) {
-    return flowDefinitionRepository
-        .findByFlowTargetId(flowTarget.getId())
-        .collectList()
-        .flatMap(
-            flowDefinitions -> {
-              List<Mono<FlowTargetDto.SupportedActionInfo>> flowDefinitionMonos =
-                  flowDefinitions.stream()
-                      .map(
-                          fd ->
-                              flowActionRepository
-                                  .findById(fd.getFlowActionId())
-                                  .map(
-                                      flowAction ->
-                                          FlowTargetDto.SupportedActionInfo.builder()
-                                              .id(fd.getId())
-                                              .flowActionId(fd.getFlowActionId())
-                                              .flowActionName(flowAction.getName())
-                                              .build())
-                                  .onErrorReturn(
-                                      FlowTargetDto.SupportedActionInfo.builder()
-                                          .id(fd.getId())
-                                          .flowActionId(fd.getFlowActionId())
-                                          .flowActionName("Unknown")
-                                          .build()))
-                      .collect(Collectors.toList());
-
-              return Flux.fromIterable(flowDefinitionMonos)
-                  .flatMap(mono -> mono)
-                  .collectList()
-                  .map(
-                      supportedActions -> {
-                        FlowTargetDto dto = FlowTargetDto.fromEntity(flowTarget);
-                        dto.setSupportedActions(supportedActions);
-                        return dto;
-                      });
-            });
+  private static FlowTargetDto buildFlowTargetWithAssociations(
+      FlowGraph graph, FlowTarget flowTarget) {
+    List<FlowTargetDto.SupportedActionInfo> supportedActions = new ArrayList<>();
+    for (FlowDefinition fd : graph.flowDefinitionsByFlowTarget(flowTarget.getId())) {
+      FlowAction flowAction = graph.flowAction(fd.getFlowActionId());
+      if (flowAction != null) {
+        supportedActions.add(
+            FlowTargetDto.SupportedActionInfo.builder()
+                .id(fd.getId())
+                .flowActionId(fd.getFlowActionId())
+                .flowActionName(flowAction.getName())
+                .build());
+      }
+    }
+    FlowTargetDto dto = FlowTargetDto.fromEntity(flowTarget);
+    dto.setSupportedActions(supportedActions);
+    return dto;
   }
 }
@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import nexxus.flowregistry.FlowRegistry;
 import nexxus.flowtype.dto.FlowTypeDto;
 import nexxus.flowtype.entity.FlowType;
 import nexxus.flowtype.repository.FlowTypeRepository;
@@ -21,6 +22,7 @@ public class FlowTypeServiceImpl implements FlowTypeService {
 
   private final FlowTypeRepository flowTypeRepository;
   private final ReactiveResponseHandler responseHandler;
+  private final FlowRegistry flowRegistry;
 
   @Override
   public ReactiveResponseHandler getResponseHandler() {
@@ -45,10 +47,9 @@ public class FlowTypeServiceImpl implements FlowTypeService {
 
   @Override
   public Mono<ResponseEntity<ApiResponse<Object>>> readAll() {
-    return flowTypeRepository
-        .findAll()
-        .collectList()
-        .map(flowTypes -> flowTypes.stream().map(FlowTypeDto::fromEntity).toList())
+    return flowRegistry
+        .graph()
+        .map(graph -> graph.flowTypes().stream().map(FlowTypeDto::fromEntity).toList())
         .flatMap(this::successResponse)
         .onErrorResume(e -> databaseError(e, "retrieving flow types"));
   }
@@ -57,8 +58,9 @@ public class FlowTypeServiceImpl implements FlowTypeService {
   public Mono<ResponseEntity<ApiResponse<Object>>> read(String id) {
     validateNotBlank(id, "Flow type ID");
 
-    return flowTypeRepository
-        .findById(id)
+    return flowRegistry
+        .graph()
+        .mapNotNull(graph -> graph.flowType(id))
         .flatMap(
             flowType -> Mono.just(FlowTypeDto.fromEntity(flowType)).flatMap(this::successResponse))
         .switchIfEmpty(notFoundError("Flow type", "id", id))
@@ -100,6 +102,7 @@ public class FlowTypeServiceImpl implements FlowTypeService {
               if (exists) {
                 return flowTypeRepository
                     .deleteById(id)
+                    .then(flowRegistry.refresh())
                     .then(successResponse("Flow type deleted successfully"));
               } else {
                 return notFoundError("Flow type", "id", id);
@@ -120,8 +123,9 @@ public class FlowTypeServiceImpl implements FlowTypeService {
   public Mono<ResponseEntity<ApiResponse<Object>>> findByName(String name) {
     validateNotBlank(name, "Flow type name");
 
-    return flowTypeRepository
-        .findByName(name)
+    return flowRegistry
+        .graph()
+        .mapNotNull(graph -> graph.flowTypeByName(name))
         .flatMap(
             flowType -> Mono.just(FlowTypeDto.fromEntity(flowType)).flatMap(this::successResponse))
         .switchIfEmpty(notFoundError("Flow type", "name", name))
@@ -149,6 +153,7 @@ public class FlowTypeServiceImpl implements FlowTypeService {
             flowType.getUpdatedAt(),
             flowType.getCreatedBy(),
             flowType.getUpdatedBy())
+        .then(flowRegistry.refresh())
         .then(
             Mono.defer(
                 () -> {
@@ -165,6 +170,7 @@ public class FlowTypeServiceImpl implements FlowTypeService {
               flowType.updateDetails(dto.getName());
               return flowTypeRepository.updateFlowType(id, dto.getName(), flowType.getUpdatedAt());
             })
+        .then(flowRegistry.refresh())
         .then(
             Mono.defer(
                 () -> {
@@ -0,0 +1,75 @@
+package nexxus.psp.availability;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding-window success and failure counts of one PSP, kept in a ring of time buckets.
+ *
+ * <p>Each bucket counts with a pair of {@link LongAdder}s, so concurrent outcomes for the same PSP
+ * do not contend on a single counter, and remembers the absolute bucket it holds, so it is reset
+ * lazily when the ring wraps around. Recording is lock-free; an outcome racing with the reset of
+ * its bucket may be dropped, which only makes the rate slightly less precise.
+ */
+final class FailureRateWindow {
+
+  private static final int BUCKETS = 20;
+  private static final long MIN_BUCKET_MILLIS = 1_000L;
+
+  private final long bucketMillis;
+  private final AtomicLongArray bucketIds = new AtomicLongArray(BUCKETS);
+  private final LongAdder[] successes = new LongAdder[BUCKETS];
+  private final LongAdder[] failures = new LongAdder[BUCKETS];
+
+  FailureRateWindow(Duration window) {
+    this.bucketMillis = Math.max(MIN_BUCKET_MILLIS, window.toMillis() / BUCKETS);
+    for (int slot = 0; slot < BUCKETS; slot++) {
+      bucketIds.set(slot, Long.MIN_VALUE);
+      successes[slot] = new LongAdder();
+      failures[slot] = new LongAdder();
+    }
+  }
+
+  void record(long nowMillis, boolean success) {
+    long bucket = Math.floorDiv(nowMillis, bucketMillis);
+    int slot = (int) Math.floorMod(bucket, (long) BUCKETS);
+    long held = bucketIds.get(slot);
+    if (held != bucket) {
+      if (held > bucket) {
+        return;
+      }
+      if (bucketIds.compareAndSet(slot, held, bucket)) {
+        successes[slot].reset();
+        failures[slot].reset();
+      }
+    }
+    (success ? successes : failures)[slot].increment();
+  }
+
+  Counts counts(long nowMillis) {
+    long oldest = Math.floorDiv(nowMillis, bucketMillis) - BUCKETS + 1;
+    long successCount = 0;
+    long failureCount = 0;
+    for (int slot = 0; slot < BUCKETS; slot++) {
+      if (bucketIds.get(slot) >= oldest) {
+        successCount += successes[slot].sum();
+        failureCount += failures[slot].sum();
+      }
+    }
+    return new Counts(successCount, failureCount);
+  }
+
+  record Counts(long successes, long failures) {
+
+    long total() {
+      return successes + failures;
+    }
+
+    /** Failure rate in percent, 0 when nothing was recorded */
+    double failureRate() {
+      long total = total();
+      return total == 0 ? 0.0 : failures * 100.0 / total;
+    }
+  }
+}
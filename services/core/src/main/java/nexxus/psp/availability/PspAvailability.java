@@ -0,0 +1,28 @@
+package nexxus.psp.availability;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Whether a PSP can take traffic right now, combining its maintenance windows and its failure-rate
+ * circuit. Both checks are in-memory lookups, so this is safe to call for every PSP considered by
+ * a selection.
+ */
+@Component
+@RequiredArgsConstructor
+public class PspAvailability {
+
+  private final PspMaintenanceTracker pspMaintenanceTracker;
+  private final PspFailureRateTracker pspFailureRateTracker;
+
+  /**
+   * @param pspId PSP ID
+   * @param flowActionId flow action of the transaction, or null if unknown
+   * @return false while the PSP is under maintenance for the flow action or its circuit is open
+   */
+  public boolean isAvailable(String pspId, String flowActionId) {
+    return pspFailureRateTracker.allowsTraffic(pspId)
+        && (flowActionId == null || !pspMaintenanceTracker.isInMaintenance(pspId, flowActionId));
+  }
+}
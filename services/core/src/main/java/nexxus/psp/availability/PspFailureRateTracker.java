@@ -0,0 +1,269 @@
+package nexxus.psp.availability;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import nexxus.psp.entity.Psp;
+import nexxus.psp.repository.PspRepository;
+import nexxus.shared.cache.CacheInvalidationEvent;
+import nexxus.shared.cache.CacheInvalidationHandler;
+import nexxus.shared.constants.CacheTopic;
+import nexxus.shared.constants.TransactionStatus;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-PSP failure-rate circuit breaker driven by the {@code failure_rate} settings of each PSP.
+ *
+ * <p>Completed and failed transaction outcomes are counted in a {@link FailureRateWindow} spanning
+ * {@code failureRateDurationMinutes}. When the PSP has {@code failureRate} enabled, at least the
+ * configured minimum of outcomes was seen and the failure rate exceeds {@code
+ * failureRateThreshold} percent, the circuit opens and the PSP is taken out of selection. After
+ * the open duration it becomes half-open: the PSP is selectable again and the next outcome either
+ * closes the circuit with a fresh window or opens it again.
+ *
+ * <p>Settings are loaded from the PSP on its first outcome and reloaded when the PSP changes.
+ * Until they are loaded outcomes are counted but the circuit never opens.
+ */
+@Slf4j
+@Component
+public class PspFailureRateTracker implements CacheInvalidationHandler {
+
+  private final PspRepository pspRepository;
+  private final long minimumCalls;
+  private final long openMillis;
+  private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+  public PspFailureRateTracker(
+      PspRepository pspRepository,
+      @Value("${nexxus.psp.circuit-breaker.minimum-calls:20}") long minimumCalls,
+      @Value("${nexxus.psp.circuit-breaker.open-duration:PT30S}") Duration openDuration) {
+    this.pspRepository = pspRepository;
+    this.minimumCalls = Math.max(1, minimumCalls);
+    this.openMillis = openDuration.toMillis();
+  }
+
+  /**
+   * Records a transaction outcome; statuses other than COMPLETED and FAILED are ignored
+   *
+   * @param pspId PSP that processed the transaction
+   * @param status transaction status reported for it
+   */
+  public void record(String pspId, TransactionStatus status) {
+    if (pspId == null
+        || (status != TransactionStatus.COMPLETED && status != TransactionStatus.FAILED)) {
+      return;
+    }
+    breaker(pspId).record(System.currentTimeMillis(), status == TransactionStatus.COMPLETED);
+  }
+
+  /**
+   * @param pspId PSP ID
+   * @return false while the circuit of the PSP is open
+   */
+  public boolean allowsTraffic(String pspId) {
+    Breaker breaker = breakers.get(pspId);
+    return breaker == null || breaker.allowsTraffic(System.currentTimeMillis());
+  }
+
+  /**
+   * @param pspId PSP ID
+   * @return current counts, failure rate and circuit state of the PSP
+   */
+  public Stats stats(String pspId) {
+    Breaker breaker = breakers.get(pspId);
+    if (breaker == null) {
+      return new Stats(0, 0, 0.0, State.CLOSED);
+    }
+    return breaker.stats(System.currentTimeMillis());
+  }
+
+  /**
+   * Reloads the failure-rate settings of a PSP after a local write. Never fails, so that it can be
+   * chained after writes.
+   *
+   * @param pspId PSP ID
+   * @return completes once the settings are applied
+   */
+  public Mono<Void> refresh(String pspId) {
+    Breaker breaker = breakers.get(pspId);
+    return breaker != null ? load(pspId, breaker) : Mono.empty();
+  }
+
+  @Override
+  public String getTopic() {
+    return CacheTopic.PSP;
+  }
+
+  @Override
+  public void onInvalidation(CacheInvalidationEvent event) {
+    if (event.getKey() != null) {
+      refresh(event.getKey()).subscribe();
+    }
+  }
+
+  @Override
+  public void onReset() {
+    breakers.forEach((pspId, breaker) -> load(pspId, breaker).subscribe());
+  }
+
+  private Breaker breaker(String pspId) {
+    Breaker breaker = breakers.get(pspId);
+    if (breaker != null) {
+      return breaker;
+    }
+    Breaker created = new Breaker(pspId);
+    Breaker existing = breakers.putIfAbsent(pspId, created);
+    if (existing != null) {
+      return existing;
+    }
+    load(pspId, created).subscribe();
+    return created;
+  }
+
+  private Mono<Void> load(String pspId, Breaker breaker) {
+    return pspRepository
+        .findById(pspId)
+        .doOnNext(psp -> breaker.configure(Settings.of(psp)))
+        .then()
+        .onErrorResume(
+            e -> {
+              log.warn(
+                  "Failed to load failure rate settings of PSP {}: {}", pspId, e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  /** Circuit state of a PSP */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  /**
+   * @param successes completed transactions in the window
+   * @param failures failed transactions in the window
+   * @param failureRate failure rate in percent
+   * @param state circuit state
+   */
+  public record Stats(long successes, long failures, double failureRate, State state) {}
+
+  private record Settings(boolean enabled, double thresholdPercent, Duration window) {
+
+    private static final Settings DEFAULT = new Settings(false, 0.0, Duration.ofMinutes(60));
+
+    static Settings of(Psp psp) {
+      double threshold =
+          psp.getFailureRateThreshold() != null ? psp.getFailureRateThreshold() : 0.0;
+      int minutes =
+          psp.getFailureRateDurationMinutes() != null && psp.getFailureRateDurationMinutes() > 0
+              ? psp.getFailureRateDurationMinutes()
+              : 60;
+      return new Settings(
+          Boolean.TRUE.equals(psp.getFailureRate()) && threshold > 0,
+          threshold,
+          Duration.ofMinutes(minutes));
+    }
+  }
+
+  private final class Breaker {
+
+    private final String pspId;
+    private volatile Settings settings = Settings.DEFAULT;
+    private volatile FailureRateWindow window = new FailureRateWindow(Settings.DEFAULT.window());
+    private volatile State state = State.CLOSED;
+    private volatile long openUntil;
+
+    Breaker(String pspId) {
+      this.pspId = pspId;
+    }
+
+    void record(long nowMillis, boolean success) {
+      window.record(nowMillis, success);
+      State current = state;
+      if (current == State.CLOSED) {
+        Settings active = settings;
+        if (active.enabled()) {
+          FailureRateWindow.Counts counts = window.counts(nowMillis);
+          if (counts.total() >= minimumCalls
+              && counts.failureRate() > active.thresholdPercent()) {
+            open(nowMillis, counts);
+          }
+        }
+      } else if (current == State.HALF_OPEN || nowMillis >= openUntil) {
+        trial(nowMillis, success);
+      }
+    }
+
+    boolean allowsTraffic(long nowMillis) {
+      State current = state;
+      if (current != State.OPEN) {
+        return true;
+      }
+      if (nowMillis < openUntil) {
+        return false;
+      }
+      halfOpen();
+      return true;
+    }
+
+    Stats stats(long nowMillis) {
+      FailureRateWindow.Counts counts = window.counts(nowMillis);
+      State current = state;
+      if (current == State.OPEN && nowMillis >= openUntil) {
+        current = State.HALF_OPEN;
+      }
+      return new Stats(counts.successes(), counts.failures(), counts.failureRate(), current);
+    }
+
+    synchronized void configure(Settings loaded) {
+      if (!loaded.window().equals(settings.window())) {
+        window = new FailureRateWindow(loaded.window());
+      }
+      settings = loaded;
+      if (!loaded.enabled()) {
+        state = State.CLOSED;
+      }
+    }
+
+    private synchronized void open(long nowMillis, FailureRateWindow.Counts counts) {
+      if (state == State.OPEN) {
+        return;
+      }
+      state = State.OPEN;
+      openUntil = nowMillis + openMillis;
+      log.warn(
+          "Opened circuit of PSP {}: {}% of {} transactions failed",
+          pspId,
+          String.format("%.1f", counts.failureRate()),
+          counts.total());
+    }
+
+    private synchronized void halfOpen() {
+      if (state == State.OPEN) {
+        state = State.HALF_OPEN;
+      }
+    }
+
+    /** The first outcome seen once the open duration has passed decides the circuit state */
+    private synchronized void trial(long nowMillis, boolean success) {
+      if (state == State.CLOSED || (state == State.OPEN && nowMillis < openUntil)) {
+        return;
+      }
+      if (success) {
+        window = new FailureRateWindow(settings.window());
+        state = State.CLOSED;
+        log.info("Closed circuit of PSP {}", pspId);
+      } else {
+        state = State.OPEN;
+        openUntil = nowMillis + openMillis;
+      }
+    }
+  }
+}
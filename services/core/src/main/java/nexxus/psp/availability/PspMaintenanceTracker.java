@@ -0,0 +1,224 @@
+package nexxus.psp.availability;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import nexxus.psp.entity.MaintenanceWindow;
+import nexxus.psp.repository.MaintenanceWindowRepository;
+import nexxus.shared.cache.CacheInvalidationEvent;
+import nexxus.shared.cache.CacheInvalidationHandler;
+import nexxus.shared.constants.CacheTopic;
+import nexxus.shared.constants.Status;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tracks which PSPs are under maintenance for which flow action, so routing and eligibility
+ * lookups can skip them with an in-memory set lookup.
+ *
+ * <p>The enabled maintenance windows that have not ended yet are loaded at startup, and each one
+ * arms two timeouts on a hashed timing wheel, at its start and at its end. When a timeout fires,
+ * the (PSP, flow action) pair is re-evaluated against its windows at that instant and added to or
+ * removed from the maintenance set, so no request touches the database and nothing polls. Timeouts
+ * fire up to one tick late. PSP writes reload the windows of that PSP and rearm its timeouts, on
+ * this instance through {@link #refresh(String)} and on the others through the PSP cache topic.
+ */
+@Slf4j
+@Component
+public class PspMaintenanceTracker implements CacheInvalidationHandler {
+
+  private final MaintenanceWindowRepository maintenanceWindowRepository;
+  private final HashedWheelTimer timer;
+  private final Map<String, Armed> armedByPsp = new ConcurrentHashMap<>();
+  private final Set<WindowKey> inMaintenance = ConcurrentHashMap.newKeySet();
+
+  public PspMaintenanceTracker(
+      MaintenanceWindowRepository maintenanceWindowRepository,
+      @Value("${nexxus.psp.maintenance.tick:PT1S}") Duration tick,
+      @Value("${nexxus.psp.maintenance.wheel-size:512}") int wheelSize) {
+    this.maintenanceWindowRepository = maintenanceWindowRepository;
+    this.timer =
+        new HashedWheelTimer(
+            new DefaultThreadFactory("psp-maintenance", true),
+            tick.toMillis(),
+            TimeUnit.MILLISECONDS,
+            wheelSize);
+  }
+
+  /**
+   * @param pspId PSP ID
+   * @param flowActionId flow action ID
+   * @return whether a maintenance window of the PSP on the flow action is currently open
+   */
+  public boolean isInMaintenance(String pspId, String flowActionId) {
+    return !inMaintenance.isEmpty() && inMaintenance.contains(new WindowKey(pspId, flowActionId));
+  }
+
+  /**
+   * Reloads the maintenance windows of a PSP after a local write and rearms its timeouts. Never
+   * fails, so that it can be chained after writes.
+   *
+   * @param pspId PSP ID
+   * @return completes once the timeouts are rearmed
+   */
+  public Mono<Void> refresh(String pspId) {
+    return maintenanceWindowRepository
+        .findByPspId(pspId)
+        .collectList()
+        .doOnNext(windows -> arm(pspId, windows))
+        .then()
+        .onErrorResume(
+            e -> {
+              log.warn(
+                  "Failed to reload maintenance windows of PSP {}: {}", pspId, e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    reloadAll().subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    timer.stop();
+  }
+
+  @Override
+  public String getTopic() {
+    return CacheTopic.PSP;
+  }
+
+  @Override
+  public void onInvalidation(CacheInvalidationEvent event) {
+    if (event.getKey() != null) {
+      refresh(event.getKey()).subscribe();
+    }
+  }
+
+  @Override
+  public void onReset() {
+    reloadAll().subscribe();
+  }
+
+  private Mono<Void> reloadAll() {
+    return maintenanceWindowRepository
+        .findEnabledEndingAfter(LocalDateTime.now())
+        .collectList()
+        .doOnNext(
+            windows -> {
+              Map<String, List<MaintenanceWindow>> byPsp =
+                  windows.stream().collect(Collectors.groupingBy(MaintenanceWindow::getPspId));
+              for (String pspId : new ArrayList<>(armedByPsp.keySet())) {
+                if (!byPsp.containsKey(pspId)) {
+                  arm(pspId, List.of());
+                }
+              }
+              byPsp.forEach(this::arm);
+              log.debug("Armed {} maintenance windows of {} PSPs", windows.size(), byPsp.size());
+            })
+        .then()
+        .onErrorResume(
+            e -> {
+              log.warn("Failed to load maintenance windows: {}", e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  /** Replaces the windows of a PSP, cancelling the timeouts of the previous ones */
+  private synchronized void arm(String pspId, List<MaintenanceWindow> windows) {
+    LocalDateTime now = LocalDateTime.now();
+    Set<WindowKey> touched = new HashSet<>();
+    Armed previous = armedByPsp.remove(pspId);
+    if (previous != null) {
+      previous.timeouts().forEach(Timeout::cancel);
+      previous.windows().forEach(window -> touched.add(key(window)));
+    }
+
+    List<MaintenanceWindow> upcoming = new ArrayList<>();
+    for (MaintenanceWindow window : windows) {
+      if (window.getStatus() == Status.ENABLED
+          && window.getStartAt() != null
+          && window.getEndAt() != null
+          && window.getEndAt().isAfter(now)) {
+        upcoming.add(window);
+        touched.add(key(window));
+      }
+    }
+
+    List<Timeout> timeouts = new ArrayList<>(upcoming.size() * 2);
+    for (MaintenanceWindow window : upcoming) {
+      WindowKey key = key(window);
+      if (window.getStartAt().isAfter(now)) {
+        timeouts.add(schedule(key, window.getStartAt(), now));
+      }
+      timeouts.add(schedule(key, window.getEndAt(), now));
+    }
+    if (!upcoming.isEmpty()) {
+      armedByPsp.put(pspId, new Armed(List.copyOf(upcoming), timeouts));
+    }
+
+    touched.forEach(key -> evaluate(key, now));
+  }
+
+  private Timeout schedule(WindowKey key, LocalDateTime at, LocalDateTime now) {
+    return timer.newTimeout(
+        timeout -> evaluate(key, at), Duration.between(now, at).toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Sets the maintenance state of a pair as of the given instant, or now if it has passed, so a
+   * timeout firing slightly early still applies the transition it was armed for
+   */
+  private synchronized void evaluate(WindowKey key, LocalDateTime at) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime instant = at.isAfter(now) ? at : now;
+    Armed armed = armedByPsp.get(key.pspId());
+    boolean open = false;
+    if (armed != null) {
+      for (MaintenanceWindow window : armed.windows()) {
+        if (key.equals(key(window))
+            && !window.getStartAt().isAfter(instant)
+            && window.getEndAt().isAfter(instant)) {
+          open = true;
+          break;
+        }
+      }
+    }
+    if (open ? inMaintenance.add(key) : inMaintenance.remove(key)) {
+      log.info(
+          "PSP {} {} maintenance for flow action {}",
+          key.pspId(),
+          open ? "entered" : "left",
+          key.flowActionId());
+    }
+  }
+
+  private static WindowKey key(MaintenanceWindow window) {
+    return new WindowKey(window.getPspId(), window.getFlowActionId());
+  }
+
+  private record WindowKey(String pspId, String flowActionId) {}
+
+  /** Windows of a PSP that have not ended yet and the timeouts armed for them */
+  private record Armed(List<MaintenanceWindow> windows, List<Timeout> timeouts) {}
+}
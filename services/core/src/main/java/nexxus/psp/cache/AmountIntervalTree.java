@@ -0,0 +1,159 @@
+package nexxus.psp.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable centered interval tree over the currency limits of one flow action and currency.
+ *
+ * <p>Each node holds the intervals that contain its center, sorted once by lower bound ascending
+ * and once by upper bound descending, and the intervals entirely below or above the center go to
+ * its left and right subtrees. Centers are endpoint medians, so a lookup visits O(log n) nodes and
+ * stops scanning a node at the first interval that cannot contain the amount: O(log n + k) for k
+ * matches. Bounds are inclusive and a null upper bound is unbounded, as in {@code
+ * currency_limits}. An interval whose upper bound is below its lower bound contains no amount; it
+ * keeps its slot but is left out of the tree.
+ */
+final class AmountIntervalTree {
+
+  private static final Comparator<Interval> BY_MIN = Comparator.comparing(Interval::min);
+  private static final Comparator<Interval> BY_MAX_DESCENDING =
+      Comparator.comparing(Interval::max, Comparator.nullsFirst(Comparator.reverseOrder()));
+
+  private final List<Interval> intervals;
+  private final BitSet slots;
+  private final Node root;
+
+  private AmountIntervalTree(List<Interval> intervals) {
+    this.intervals = List.copyOf(intervals);
+    this.slots = new BitSet();
+    this.intervals.forEach(interval -> slots.set(interval.slot()));
+    List<Interval> stabbable = new ArrayList<>(this.intervals.size());
+    for (Interval interval : this.intervals) {
+      if (!interval.isEmpty()) {
+        stabbable.add(interval);
+      }
+    }
+    this.root = build(stabbable);
+  }
+
+  /**
+   * @param intervals intervals to index, lower bounds must not be null
+   * @return tree over the intervals
+   */
+  static AmountIntervalTree of(List<Interval> intervals) {
+    return new AmountIntervalTree(intervals);
+  }
+
+  boolean isEmpty() {
+    return intervals.isEmpty();
+  }
+
+  boolean containsSlot(int slot) {
+    return slots.get(slot);
+  }
+
+  /**
+   * @param slot slot to leave out
+   * @return a mutable copy of the intervals without those of the slot
+   */
+  List<Interval> intervalsWithout(int slot) {
+    List<Interval> remaining = new ArrayList<>(intervals.size());
+    for (Interval interval : intervals) {
+      if (interval.slot() != slot) {
+        remaining.add(interval);
+      }
+    }
+    return remaining;
+  }
+
+  /**
+   * Marks the slots of all intervals containing the amount
+   *
+   * @param amount amount to look up
+   * @param matches receives the matching slots
+   */
+  void stab(BigDecimal amount, BitSet matches) {
+    Node node = root;
+    while (node != null) {
+      int comparison = amount.compareTo(node.center);
+      if (comparison < 0) {
+        for (Interval interval : node.byMin) {
+          if (interval.min().compareTo(amount) > 0) {
+            break;
+          }
+          matches.set(interval.slot());
+        }
+        node = node.left;
+      } else if (comparison > 0) {
+        for (Interval interval : node.byMaxDescending) {
+          if (interval.max() != null && interval.max().compareTo(amount) < 0) {
+            break;
+          }
+          matches.set(interval.slot());
+        }
+        node = node.right;
+      } else {
+        // Intervals below or above the center cannot contain it
+        for (Interval interval : node.byMin) {
+          matches.set(interval.slot());
+        }
+        node = null;
+      }
+    }
+  }
+
+  /** Intervals must not be empty, otherwise the center may land in no interval and never shrink */
+  private static Node build(List<Interval> intervals) {
+    if (intervals.isEmpty()) {
+      return null;
+    }
+
+    List<BigDecimal> endpoints = new ArrayList<>(intervals.size() * 2);
+    for (Interval interval : intervals) {
+      endpoints.add(interval.min());
+      if (interval.max() != null) {
+        endpoints.add(interval.max());
+      }
+    }
+    endpoints.sort(Comparator.naturalOrder());
+    BigDecimal center = endpoints.get(endpoints.size() / 2);
+
+    // The center is an endpoint of a non-empty interval, which therefore contains it and lands
+    // here, so both subtrees are strictly smaller
+    List<Interval> below = new ArrayList<>();
+    List<Interval> above = new ArrayList<>();
+    List<Interval> overlapping = new ArrayList<>();
+    for (Interval interval : intervals) {
+      if (interval.max() != null && interval.max().compareTo(center) < 0) {
+        below.add(interval);
+      } else if (interval.min().compareTo(center) > 0) {
+        above.add(interval);
+      } else {
+        overlapping.add(interval);
+      }
+    }
+
+    Interval[] byMin = overlapping.toArray(new Interval[0]);
+    Interval[] byMaxDescending = byMin.clone();
+    Arrays.sort(byMin, BY_MIN);
+    Arrays.sort(byMaxDescending, BY_MAX_DESCENDING);
+    return new Node(center, byMin, byMaxDescending, build(below), build(above));
+  }
+
+  /** Inclusive amount range of one currency limit and the slot of its PSP */
+  record Interval(BigDecimal min, BigDecimal max, int slot) {
+
+    /** True if the upper bound is below the lower bound, so no amount is in range */
+    boolean isEmpty() {
+      return max != null && max.compareTo(min) < 0;
+    }
+  }
+
+  private record Node(
+      BigDecimal center, Interval[] byMin, Interval[] byMaxDescending, Node left, Node right) {}
+}
@@ -0,0 +1,100 @@
+package nexxus.psp.cache;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.psp.repository.CurrencyLimitRepository;
+import nexxus.psp.repository.PspOperationRepository;
+import nexxus.psp.repository.PspRepository;
+import nexxus.shared.cache.BrandSnapshotCache;
+import nexxus.shared.cache.CacheInvalidationEvent;
+import nexxus.shared.cache.ClusterCacheInvalidator;
+import nexxus.shared.constants.CacheTopic;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Snapshot cache of the {@link PspEligibilityIndex} of a brand and environment, so that listing
+ * the PSPs eligible for a flow action never queries the database once loaded.
+ *
+ * <p>PSP writes call {@link #refresh(String, String, String)}, which reloads only the written PSP
+ * with its operations and currency limits and patches it into the current index instead of
+ * rebuilding it. Other instances do the same when the change is published.
+ */
+@Slf4j
+@Component
+public class PspEligibilityCache extends BrandSnapshotCache<PspEligibilityIndex> {
+
+  private final PspRepository pspRepository;
+  private final PspOperationRepository pspOperationRepository;
+  private final CurrencyLimitRepository currencyLimitRepository;
+
+  public PspEligibilityCache(
+      PspRepository pspRepository,
+      PspOperationRepository pspOperationRepository,
+      CurrencyLimitRepository currencyLimitRepository,
+      ClusterCacheInvalidator clusterCacheInvalidator) {
+    super(CacheTopic.PSP, "PSP eligibility", clusterCacheInvalidator);
+    this.pspRepository = pspRepository;
+    this.pspOperationRepository = pspOperationRepository;
+    this.currencyLimitRepository = currencyLimitRepository;
+  }
+
+  /**
+   * Patches a PSP into the index after a local write and tells the other instances to do the same
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @param pspId PSP ID
+   * @return completes once the index is patched and the change published
+   */
+  public Mono<Void> refresh(String brandId, String environmentId, String pspId) {
+    return refreshPsp(brandId, environmentId, pspId).then(publish(brandId, environmentId, pspId));
+  }
+
+  @Override
+  public void onInvalidation(CacheInvalidationEvent event) {
+    if (event.getKey() != null) {
+      refreshPsp(event.getBrandId(), event.getEnvironmentId(), event.getKey()).subscribe();
+    } else {
+      super.onInvalidation(event);
+    }
+  }
+
+  /** Reloads one PSP and patches it in; a failed reload evicts the index instead */
+  private Mono<Void> refreshPsp(String brandId, String environmentId, String pspId) {
+    return Mono.zip(
+            pspRepository.findById(pspId),
+            pspOperationRepository.findByPspId(pspId).collectList(),
+            currencyLimitRepository.findByPspId(pspId).collectList())
+        .doOnNext(
+            tuple ->
+                snapshots.patch(
+                    brandId,
+                    environmentId,
+                    index -> index.withPsp(tuple.getT1(), tuple.getT2(), tuple.getT3())))
+        .onErrorResume(
+            e -> {
+              log.warn(
+                  "Failed to refresh PSP {} in eligibility index, evicting it: {}",
+                  pspId,
+                  e.getMessage());
+              snapshots.evict(brandId, environmentId);
+              return Mono.empty();
+            })
+        .then();
+  }
+
+  @Override
+  protected Mono<PspEligibilityIndex> load(String brandId, String environmentId) {
+    return Mono.zip(
+            pspRepository.findByBrandIdAndEnvironmentId(brandId, environmentId).collectList(),
+            pspOperationRepository
+                .findByBrandIdAndEnvironmentId(brandId, environmentId)
+                .collectList(),
+            currencyLimitRepository
+                .findByBrandIdAndEnvironmentId(brandId, environmentId)
+                .collectList())
+        .map(tuple -> PspEligibilityIndex.build(tuple.getT1(), tuple.getT2(), tuple.getT3()));
+  }
+}
@@ -0,0 +1,315 @@
+package nexxus.psp.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import nexxus.psp.entity.CurrencyLimit;
+import nexxus.psp.entity.Psp;
+import nexxus.psp.entity.PspOperation;
+import nexxus.shared.constants.Status;
+
+/**
+ * Immutable eligibility index of the PSPs of one brand and environment.
+ *
+ * <p>Each PSP gets a slot, and one bitset per PSP status, per (flow action, operation status) and
+ * per currency marks the slots that match it. A PSP is eligible when its own status and one of its
+ * operations on the flow action both have the requested status and it has a currency limit in the
+ * requested currency, on any flow action, which is what the PSP join queries this replaces check.
+ * Answering is the intersection of two or three bitsets.
+ *
+ * <p>Amount-aware lookups also keep an {@link AmountIntervalTree} of the currency limits of each
+ * (flow action, currency), and only match PSPs whose limit on that flow action and currency
+ * contains the amount.
+ *
+ * <p>The PSPs held are shared by every reader and must be treated as read-only.
+ */
+public final class PspEligibilityIndex {
+
+  private final List<Psp> psps;
+  private final Map<String, Integer> slotsByPspId;
+  private final Map<String, BitSet> byStatus;
+  private final Map<OperationKey, BitSet> byOperation;
+  private final Map<String, BitSet> byCurrency;
+  private final Map<LimitKey, AmountIntervalTree> byLimit;
+
+  private PspEligibilityIndex(
+      List<Psp> psps,
+      Map<String, Integer> slotsByPspId,
+      Map<String, BitSet> byStatus,
+      Map<OperationKey, BitSet> byOperation,
+      Map<String, BitSet> byCurrency,
+      Map<LimitKey, AmountIntervalTree> byLimit) {
+    this.psps = psps;
+    this.slotsByPspId = slotsByPspId;
+    this.byStatus = byStatus;
+    this.byOperation = byOperation;
+    this.byCurrency = byCurrency;
+    this.byLimit = byLimit;
+  }
+
+  /**
+   * Builds the index of a brand and environment
+   *
+   * @param psps PSPs of the brand and environment
+   * @param operations their operations
+   * @param currencyLimits their currency limits
+   * @return index
+   */
+  public static PspEligibilityIndex build(
+      List<Psp> psps, List<PspOperation> operations, List<CurrencyLimit> currencyLimits) {
+    PspEligibilityIndex index =
+        new PspEligibilityIndex(
+            new ArrayList<>(),
+            new HashMap<>(),
+            new HashMap<>(),
+            new HashMap<>(),
+            new HashMap<>(),
+            new HashMap<>());
+    for (Psp psp : psps) {
+      int slot = index.psps.size();
+      index.psps.add(psp);
+      index.slotsByPspId.put(psp.getId(), slot);
+      index.mark(slot, psp);
+    }
+    for (PspOperation operation : operations) {
+      Integer slot = index.slotsByPspId.get(operation.getPspId());
+      if (slot != null) {
+        index.mark(slot, operation);
+      }
+    }
+    Map<LimitKey, List<AmountIntervalTree.Interval>> intervals = new HashMap<>();
+    for (CurrencyLimit currencyLimit : currencyLimits) {
+      Integer slot = index.slotsByPspId.get(currencyLimit.getPspId());
+      if (slot != null) {
+        index.mark(slot, currencyLimit);
+        addInterval(intervals, slot, currencyLimit);
+      }
+    }
+    intervals.forEach((key, limits) -> index.byLimit.put(key, AmountIntervalTree.of(limits)));
+    return index;
+  }
+
+  /**
+   * Returns a copy of this index with one PSP added or replaced. The PSP keeps its slot when it is
+   * already indexed. A PSP older than the one indexed, by update time, leaves the index unchanged
+   * so that concurrent refreshes of the same PSP cannot go back in time.
+   *
+   * @param psp PSP as just written
+   * @param operations all operations of the PSP
+   * @param currencyLimits all currency limits of the PSP
+   * @return updated index
+   */
+  public PspEligibilityIndex withPsp(
+      Psp psp, List<PspOperation> operations, List<CurrencyLimit> currencyLimits) {
+    Integer existingSlot = slotsByPspId.get(psp.getId());
+    if (existingSlot != null && isNewer(psps.get(existingSlot), psp)) {
+      return this;
+    }
+
+    // Indexes hold a few hundred PSPs at most, copying every bitset keeps this simple
+    PspEligibilityIndex copy =
+        new PspEligibilityIndex(
+            new ArrayList<>(psps),
+            new HashMap<>(slotsByPspId),
+            copyOf(byStatus),
+            copyOf(byOperation),
+            copyOf(byCurrency),
+            new HashMap<>(byLimit));
+    int slot;
+    if (existingSlot != null) {
+      slot = existingSlot;
+      copy.psps.set(slot, psp);
+      copy.byStatus.values().forEach(bits -> bits.clear(slot));
+      copy.byOperation.values().forEach(bits -> bits.clear(slot));
+      copy.byCurrency.values().forEach(bits -> bits.clear(slot));
+    } else {
+      slot = copy.psps.size();
+      copy.psps.add(psp);
+      copy.slotsByPspId.put(psp.getId(), slot);
+    }
+
+    // Interval trees are immutable, only those holding the PSP before or after are rebuilt
+    Map<LimitKey, List<AmountIntervalTree.Interval>> intervals = new HashMap<>();
+    if (existingSlot != null) {
+      byLimit.forEach(
+          (key, tree) -> {
+            if (tree.containsSlot(slot)) {
+              intervals.put(key, tree.intervalsWithout(slot));
+            }
+          });
+    }
+    for (CurrencyLimit currencyLimit : currencyLimits) {
+      LimitKey key = key(currencyLimit);
+      if (!intervals.containsKey(key) && byLimit.containsKey(key)) {
+        intervals.put(key, byLimit.get(key).intervalsWithout(slot));
+      }
+      addInterval(intervals, slot, currencyLimit);
+    }
+    intervals.forEach(
+        (key, limits) -> {
+          if (limits.isEmpty()) {
+            copy.byLimit.remove(key);
+          } else {
+            copy.byLimit.put(key, AmountIntervalTree.of(limits));
+          }
+        });
+
+    copy.mark(slot, psp);
+    operations.forEach(operation -> copy.mark(slot, operation));
+    currencyLimits.forEach(currencyLimit -> copy.mark(slot, currencyLimit));
+    return copy;
+  }
+
+  /**
+   * @param status PSP and operation status
+   * @param flowActionId flow action ID
+   * @return PSPs with the status and an operation on the flow action with the same status
+   */
+  public List<Psp> find(String status, String flowActionId) {
+    BitSet matches = intersect(byStatus.get(status), byOperation.get(key(flowActionId, status)));
+    return collect(matches);
+  }
+
+  /**
+   * @param status PSP and operation status
+   * @param flowActionId flow action ID
+   * @param currency currency code
+   * @return PSPs with the status, an operation on the flow action with the same status and a
+   *     currency limit in the currency
+   */
+  public List<Psp> find(String status, String flowActionId, String currency) {
+    BitSet matches = intersect(byStatus.get(status), byOperation.get(key(flowActionId, status)));
+    return collect(intersect(matches, byCurrency.get(currency)));
+  }
+
+  /**
+   * @param status PSP and operation status
+   * @param flowActionId flow action ID
+   * @param currency currency code
+   * @param amount transaction amount
+   * @return PSPs with the status, an operation on the flow action with the same status and a
+   *     currency limit on the flow action and currency whose range contains the amount
+   */
+  public List<Psp> find(String status, String flowActionId, String currency, BigDecimal amount) {
+    return collect(match(status, flowActionId, currency, amount));
+  }
+
+  /**
+   * Same match as {@link #find(String, String, String, BigDecimal)}, answered per PSP ID from the
+   * matching bitset instead of collecting the PSPs
+   *
+   * @param status PSP and operation status
+   * @param flowActionId flow action ID
+   * @param currency currency code
+   * @param amount transaction amount
+   * @return predicate accepting the IDs of the matching PSPs
+   */
+  public Predicate<String> matcher(
+      String status, String flowActionId, String currency, BigDecimal amount) {
+    BitSet matches = match(status, flowActionId, currency, amount);
+    if (matches == null) {
+      return pspId -> false;
+    }
+    return pspId -> {
+      Integer slot = slotsByPspId.get(pspId);
+      return slot != null && matches.get(slot);
+    };
+  }
+
+  /** Slots matching an amount-aware lookup, or null if none can match */
+  private BitSet match(String status, String flowActionId, String currency, BigDecimal amount) {
+    BitSet matches = intersect(byStatus.get(status), byOperation.get(key(flowActionId, status)));
+    AmountIntervalTree limits = byLimit.get(new LimitKey(flowActionId, currency));
+    if (matches == null || limits == null) {
+      return null;
+    }
+    BitSet withinLimits = new BitSet();
+    limits.stab(amount, withinLimits);
+    matches.and(withinLimits);
+    return matches;
+  }
+
+  private void mark(int slot, Psp psp) {
+    if (psp.getStatus() != null) {
+      byStatus.computeIfAbsent(psp.getStatus().getValue(), k -> new BitSet()).set(slot);
+    }
+  }
+
+  private void mark(int slot, PspOperation operation) {
+    if (operation.getStatus() != null) {
+      OperationKey key = key(operation.getFlowActionId(), operation.getStatus());
+      byOperation.computeIfAbsent(key, k -> new BitSet()).set(slot);
+    }
+  }
+
+  private void mark(int slot, CurrencyLimit currencyLimit) {
+    byCurrency.computeIfAbsent(currencyLimit.getCurrency(), k -> new BitSet()).set(slot);
+  }
+
+  private List<Psp> collect(BitSet matches) {
+    if (matches == null) {
+      return List.of();
+    }
+    List<Psp> result = new ArrayList<>(matches.cardinality());
+    for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+      result.add(psps.get(slot));
+    }
+    return result;
+  }
+
+  /** Intersection of two bitsets without modifying them, or null if either is missing */
+  private static BitSet intersect(BitSet left, BitSet right) {
+    if (left == null || right == null) {
+      return null;
+    }
+    BitSet result = (BitSet) left.clone();
+    result.and(right);
+    return result;
+  }
+
+  private static boolean isNewer(Psp indexed, Psp candidate) {
+    return indexed.getUpdatedAt() != null
+        && candidate.getUpdatedAt() != null
+        && indexed.getUpdatedAt().isAfter(candidate.getUpdatedAt());
+  }
+
+  private static <K> Map<K, BitSet> copyOf(Map<K, BitSet> bitsets) {
+    Map<K, BitSet> copy = new HashMap<>();
+    bitsets.forEach((key, bits) -> copy.put(key, (BitSet) bits.clone()));
+    return copy;
+  }
+
+  private static void addInterval(
+      Map<LimitKey, List<AmountIntervalTree.Interval>> intervals,
+      int slot,
+      CurrencyLimit currencyLimit) {
+    if (currencyLimit.getMinValue() != null) {
+      intervals
+          .computeIfAbsent(key(currencyLimit), k -> new ArrayList<>())
+          .add(
+              new AmountIntervalTree.Interval(
+                  currencyLimit.getMinValue(), currencyLimit.getMaxValue(), slot));
+    }
+  }
+
+  private static LimitKey key(CurrencyLimit currencyLimit) {
+    return new LimitKey(currencyLimit.getFlowActionId(), currencyLimit.getCurrency());
+  }
+
+  private static OperationKey key(String flowActionId, Status status) {
+    return new OperationKey(flowActionId, status.getValue());
+  }
+
+  private static OperationKey key(String flowActionId, String status) {
+    return new OperationKey(flowActionId, status);
+  }
+
+  private record OperationKey(String flowActionId, String status) {}
+
+  private record LimitKey(String flowActionId, String currency) {}
+}
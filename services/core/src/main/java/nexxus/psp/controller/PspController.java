@@ -1,9 +1,12 @@
 package nexxus.psp.controller;
 
+import java.math.BigDecimal;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import nexxus.psp.dto.PspBatchGetDto;
 import nexxus.psp.dto.PspDto;
 import nexxus.psp.dto.UpdatePspDto;
 import nexxus.psp.service.PspService;
@@ -30,6 +33,12 @@ public class PspController extends BaseController {
     return pspService.getById(pspId);
   }
 
+  @PostMapping("/batch-get")
+  public Mono<ResponseEntity<ApiResponse<Object>>> getByIds(
+      @Validated @RequestBody PspBatchGetDto request) {
+    return pspService.getByIds(request.getIds());
+  }
+
   @GetMapping("/brand/{brandId}/environment/{environmentId}")
   public Mono<ResponseEntity<ApiResponse<Object>>> getByBrandAndEnvironment(
       @PathVariable String brandId, @PathVariable String environmentId) {
@@ -43,9 +52,10 @@ public class PspController extends BaseController {
           @PathVariable String environmentId,
           @PathVariable String flowActionId,
           @PathVariable String status,
-          @PathVariable String currency) {
+          @PathVariable String currency,
+          @RequestParam(value = "amount", required = false) BigDecimal amount) {
     return pspService.getByBrandAndEnvironmentByStatusAndCurrencyAndFlowAction(
-        brandId, environmentId, status, currency, flowActionId);
+        brandId, environmentId, status, currency, flowActionId, amount);
   }
 
   @GetMapping("/brand/{brandId}/environment/{environmentId}/{flowActionId}/{status}")
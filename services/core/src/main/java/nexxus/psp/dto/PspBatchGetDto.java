@@ -0,0 +1,21 @@
+package nexxus.psp.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PspBatchGetDto {
+
+  @NotEmpty(message = "At least one PSP ID is required")
+  private List<String> ids;
+}
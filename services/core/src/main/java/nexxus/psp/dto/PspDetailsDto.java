@@ -47,6 +47,7 @@ public class PspDetailsDto {
   private List<MaintenanceWindowDto> maintenanceWindow;
   private List<PspOperationDto> operations;
   private FlowTargetInfo flowTarget;
+  private FailureRateInfo failureRateStats;
 
   @Data
   @Builder
@@ -95,6 +96,17 @@ public class PspDetailsDto {
     private String flowActionName;
   }
 
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class FailureRateInfo {
+    private Long successCount;
+    private Long failureCount;
+    private Double currentFailureRate;
+    private String circuitState;
+  }
+
   @Data
   @Builder
   @NoArgsConstructor
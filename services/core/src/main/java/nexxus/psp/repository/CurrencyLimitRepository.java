@@ -45,9 +45,17 @@ public interface CurrencyLimitRepository extends R2dbcRepository<CurrencyLimit,
       @Param("flowActionId") String flowActionId,
       @Param("pspId") String pspId);
 
+  @Query(
+      "SELECT * FROM currency_limits WHERE brand_id = :brandId AND environment_id = :environmentId")
+  Flux<CurrencyLimit> findByBrandIdAndEnvironmentId(
+      @Param("brandId") String brandId, @Param("environmentId") String environmentId);
+
   @Query("SELECT * FROM currency_limits WHERE psp_id = :pspId")
   Flux<CurrencyLimit> findByPspId(@Param("pspId") String pspId);
 
+  @Query("SELECT * FROM currency_limits WHERE psp_id = ANY(:pspIds)")
+  Flux<CurrencyLimit> findByPspIds(@Param("pspIds") String[] pspIds);
+
   @Query(
       "SELECT COUNT(*) > 0 FROM currency_limits WHERE brand_id = :brandId AND environment_id = :environmentId AND flow_action_id = :flowActionId AND psp_id = :pspId AND currency = :currency")
   Mono<Boolean> existsByCompositeKeyAndCurrency(
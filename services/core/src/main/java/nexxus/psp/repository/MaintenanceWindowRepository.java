@@ -32,9 +32,15 @@ public interface MaintenanceWindowRepository
       @Param("createdBy") String createdBy,
       @Param("updatedBy") String updatedBy);
 
+  @Query("SELECT * FROM maintenance_windows WHERE status = 'ENABLED' AND end_at > :now")
+  Flux<MaintenanceWindow> findEnabledEndingAfter(@Param("now") LocalDateTime now);
+
   @Query("SELECT * FROM maintenance_windows WHERE psp_id = :pspId")
   Flux<MaintenanceWindow> findByPspId(@Param("pspId") String pspId);
 
+  @Query("SELECT * FROM maintenance_windows WHERE psp_id = ANY(:pspIds)")
+  Flux<MaintenanceWindow> findByPspIds(@Param("pspIds") String[] pspIds);
+
   @Modifying
   @Query("DELETE FROM maintenance_windows WHERE psp_id = :pspId")
   Mono<Void> deleteByPspId(@Param("pspId") String pspId);
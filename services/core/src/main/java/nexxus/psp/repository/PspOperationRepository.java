@@ -46,9 +46,17 @@ public interface PspOperationRepository extends R2dbcRepository<PspOperation, St
       @Param("flowDefinitionId") String flowDefinitionId,
       @Param("status") Status status);
 
+  @Query(
+      "SELECT * FROM psp_operations WHERE brand_id = :brandId AND environment_id = :environmentId")
+  Flux<PspOperation> findByBrandIdAndEnvironmentId(
+      @Param("brandId") String brandId, @Param("environmentId") String environmentId);
+
   @Query("SELECT * FROM psp_operations WHERE psp_id = :pspId")
   Flux<PspOperation> findByPspId(@Param("pspId") String pspId);
 
+  @Query("SELECT * FROM psp_operations WHERE psp_id = ANY(:pspIds)")
+  Flux<PspOperation> findByPspIds(@Param("pspIds") String[] pspIds);
+
   @Modifying
   @Query("DELETE FROM psp_operations WHERE psp_id = :pspId")
   Mono<Void> deleteByPspId(@Param("pspId") String pspId);
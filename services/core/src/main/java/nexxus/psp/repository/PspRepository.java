@@ -21,6 +21,9 @@ public interface PspRepository extends ReactiveCrudRepository<Psp, String> {
   @Query("SELECT * FROM psps WHERE id = :id")
   Mono<Psp> findByIdCustom(@Param("id") String id);
 
+  @Query("SELECT * FROM psps WHERE id = ANY(:ids)")
+  Flux<Psp> findByIds(@Param("ids") String[] ids);
+
   @NonNull
   Mono<Psp> findByBrandIdAndEnvironmentIdAndFlowTargetIdAndName(
       @NonNull String brandId,
@@ -36,30 +39,6 @@ public interface PspRepository extends ReactiveCrudRepository<Psp, String> {
   Flux<Psp> findByBrandIdAndEnvironmentId(
       @Param("brandId") String brandId, @Param("environmentId") String environmentId);
 
-  @Query(
-      "SELECT DISTINCT p.* FROM psps p "
-          + "INNER JOIN currency_limits cl ON p.id = cl.psp_id "
-          + "INNER JOIN psp_operations po ON p.id = po.psp_id "
-          + "WHERE p.brand_id = :brandId AND p.environment_id = :environmentId AND p.status = :status AND po.status = :status "
-          + "AND cl.currency = :currency AND po.flow_action_id = :flowActionId")
-  Flux<Psp> findByBrandIdAndEnvironmentIdAndStatusAndCurrencyAndFlowAction(
-      @Param("brandId") String brandId,
-      @Param("environmentId") String environmentId,
-      @Param("status") String status,
-      @Param("currency") String currency,
-      @Param("flowActionId") String flowActionId);
-
-  @Query(
-      "SELECT DISTINCT p.* FROM psps p "
-          + "INNER JOIN psp_operations po ON p.id = po.psp_id "
-          + "WHERE p.brand_id = :brandId AND p.environment_id = :environmentId AND p.status = :status AND po.status = :status "
-          + "AND po.flow_action_id = :flowActionId")
-  Flux<Psp> findByBrandIdAndEnvironmentIdAndStatusAndFlowAction(
-      @Param("brandId") String brandId,
-      @Param("environmentId") String environmentId,
-      @Param("status") String status,
-      @Param("flowActionId") String flowActionId);
-
   @Query(
       "SELECT DISTINCT currency FROM currency_limits WHERE brand_id = :brandId AND environment_id = :environmentId")
   Flux<String> findSupportedCurrenciesByBrandAndEnvironment(
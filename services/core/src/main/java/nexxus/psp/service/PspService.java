@@ -1,5 +1,8 @@
 package nexxus.psp.service;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 
 import nexxus.psp.dto.PspDto;
@@ -17,6 +20,8 @@ public interface PspService extends BaseService {
 
   Mono<ResponseEntity<ApiResponse<Object>>> getById(String pspId);
 
+  Mono<ResponseEntity<ApiResponse<Object>>> getByIds(List<String> pspIds);
+
   Mono<ResponseEntity<ApiResponse<Object>>> getByBrandAndEnvironment(
       String brandId, String environmentId);
 
@@ -26,7 +31,8 @@ public interface PspService extends BaseService {
           String environmentId,
           String status,
           String currency,
-          String flowActionId);
+          String flowActionId,
+          BigDecimal amount);
 
   Mono<ResponseEntity<ApiResponse<Object>>> getByBrandAndEnvironmentByStatusAndFlowAction(
       String brandId, String environmentId, String status, String flowActionId);
@@ -1,19 +1,26 @@
 package nexxus.psp.service.impl;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import nexxus.flowaction.repository.FlowActionRepository;
-import nexxus.flowdefinition.repository.FlowDefinitionRepository;
+import nexxus.flowaction.entity.FlowAction;
+import nexxus.flowdefinition.entity.FlowDefinition;
+import nexxus.flowregistry.FlowGraph;
+import nexxus.flowregistry.FlowRegistry;
+import nexxus.flowtarget.cache.FlowTargetSchemaCache;
 import nexxus.flowtarget.entity.FlowTarget;
-import nexxus.flowtarget.repository.FlowTargetRepository;
-import nexxus.flowtarget.service.FlowTargetService;
+import nexxus.psp.availability.PspFailureRateTracker;
+import nexxus.psp.availability.PspMaintenanceTracker;
+import nexxus.psp.cache.PspEligibilityCache;
 import nexxus.psp.dto.PspDetailsDto;
 import nexxus.psp.dto.PspDto;
 import nexxus.psp.dto.PspSummaryDto;
@@ -28,6 +35,7 @@ import nexxus.psp.repository.PspOperationRepository;
 import nexxus.psp.repository.PspRepository;
 import nexxus.psp.service.PspService;
 import nexxus.shared.constants.ErrorCode;
+import nexxus.shared.constants.Status;
 import nexxus.shared.dto.ApiResponse;
 import nexxus.shared.dto.OperationCurrencyValidationRequest;
 import nexxus.shared.exception.ValidationException;
@@ -48,15 +56,16 @@ public class PspServiceImpl implements PspService {
   private final PspRepository pspRepository;
   private final ReactiveResponseHandler responseHandler;
   private final CredentialValidationService credentialValidationService;
-  private final FlowTargetService flowTargetService;
+  private final FlowTargetSchemaCache flowTargetSchemaCache;
   private final CryptoUtil cryptoUtil;
   private final MaintenanceWindowRepository maintenanceWindowRepository;
   private final PspOperationRepository pspOperationRepository;
   private final CurrencyLimitRepository currencyLimitRepository;
-  private final FlowTargetRepository flowTargetRepository;
-  private final FlowDefinitionRepository flowDefinitionRepository;
-  private final FlowActionRepository flowActionRepository;
+  private final FlowRegistry flowRegistry;
   private final OperationCurrencyValidationService operationCurrencyValidationService;
+  private final PspEligibilityCache pspEligibilityCache;
+  private final PspMaintenanceTracker pspMaintenanceTracker;
+  private final PspFailureRateTracker pspFailureRateTracker;
 
   @Override
   public ReactiveResponseHandler getResponseHandler() {
@@ -115,23 +124,16 @@ public class PspServiceImpl implements PspService {
   /**
    * Validates PSP credentials against the flow target's credential schema
    *
-   * <p>Fetches the actual flow target and validates against its credential schema
+   * <p>Uses the compiled schema held by {@link FlowTargetSchemaCache}, so only the first
+   * validation for a flow target reads it from the database
    */
   private Mono<Void> validateCredentialAgainstFlowTarget(String flowTargetId, String credential) {
-    return flowTargetService
-        .getFlowTargetById(flowTargetId)
-        .flatMap(
-            flowTarget -> {
-              String credentialSchema = flowTarget.getCredentialSchema().asString();
-
-              try {
+    return flowTargetSchemaCache
+        .get(flowTargetId)
+        .doOnNext(
+            schema ->
                 credentialValidationService.validateCredential(
-                    flowTargetId, credentialSchema, credential);
-                return Mono.empty();
-              } catch (Exception e) {
-                throw e;
-              }
-            })
+                    flowTargetId, schema.schema(), credential))
         .then();
   }
 
@@ -168,6 +170,17 @@ public class PspServiceImpl implements PspService {
     validateNotBlank(pspDto.getBrandId(), "Brand ID");
     validateNotBlank(pspDto.getEnvironmentId(), "Environment ID");
     validateNotBlank(pspDto.getFlowTargetId(), "Flow target ID");
+
+    if (pspDto.getOperations() != null) {
+      for (PspDto.PspOperationDto operation : pspDto.getOperations()) {
+        if (operation.getCurrencies() != null) {
+          for (PspDto.CurrencyDto currency : operation.getCurrencies()) {
+            validateCurrencyLimit(
+                currency.getCurrency(), currency.getMinValue(), currency.getMaxValue());
+          }
+        }
+      }
+    }
   }
 
   private Mono<ResponseEntity<ApiResponse<Object>>> createPsp(PspDto pspDto) {
@@ -218,6 +231,8 @@ public class PspServiceImpl implements PspService {
               psp.getUpdatedAt(),
               psp.getCreatedBy(),
               psp.getUpdatedBy())
+          .then(
+              pspEligibilityCache.refresh(psp.getBrandId(), psp.getEnvironmentId(), psp.getId()))
           .then(
               Mono.defer(
                   () -> {
@@ -257,9 +272,9 @@ public class PspServiceImpl implements PspService {
                     currencyLimitRepository.findByPspId(pspId).collectList();
 
                 Mono<PspDetailsDto.FlowTargetInfo> flowTargetMono =
-                    flowTargetRepository
-                        .findById(psp.getFlowTargetId())
-                        .flatMap(this::buildFlowTargetInfo);
+                    flowRegistry
+                        .graph()
+                        .mapNotNull(graph -> buildFlowTargetInfo(graph, psp.getFlowTargetId()));
 
                 return Mono.zip(
                         maintenanceWindowsMono, operationsMono, currencyLimitsMono, flowTargetMono)
@@ -270,8 +285,12 @@ public class PspServiceImpl implements PspService {
                           List<CurrencyLimit> currencyLimits = tuple.getT3();
                           PspDetailsDto.FlowTargetInfo flowTarget = tuple.getT4();
 
-                          return buildPspDetailsDto(
-                              psp, maintenanceWindows, operations, currencyLimits, flowTarget);
+                          PspDetailsDto dto =
+                              buildPspDetailsDto(
+                                  psp, maintenanceWindows, operations, currencyLimits, flowTarget);
+                          dto.setFailureRateStats(
+                              buildFailureRateInfo(pspFailureRateTracker.stats(pspId)));
+                          return dto;
                         })
                     .flatMap(dto -> successResponse(dto, "PSP details retrieved successfully"));
               })
@@ -286,6 +305,63 @@ public class PspServiceImpl implements PspService {
     }
   }
 
+  @Override
+  public Mono<ResponseEntity<ApiResponse<Object>>> getByIds(List<String> pspIds) {
+    try {
+      validateNotNull(pspIds, "PSP IDs");
+
+      String[] ids = pspIds.stream().filter(Objects::nonNull).distinct().toArray(String[]::new);
+      if (ids.length == 0) {
+        return successResponse(List.of(), "PSP details retrieved successfully");
+      }
+
+      // One query per table for the whole batch, associations are grouped in memory
+      return Mono.zip(
+              pspRepository.findByIds(ids).collectList(),
+              maintenanceWindowRepository.findByPspIds(ids).collectList(),
+              pspOperationRepository.findByPspIds(ids).collectList(),
+              currencyLimitRepository.findByPspIds(ids).collectList(),
+              flowRegistry.graph())
+          .map(
+              tuple -> {
+                Map<String, Psp> pspsById =
+                    tuple.getT1().stream().collect(Collectors.toMap(Psp::getId, psp -> psp));
+                Map<String, List<MaintenanceWindow>> windowsByPsp =
+                    tuple.getT2().stream()
+                        .collect(Collectors.groupingBy(MaintenanceWindow::getPspId));
+                Map<String, List<PspOperation>> operationsByPsp =
+                    tuple.getT3().stream().collect(Collectors.groupingBy(PspOperation::getPspId));
+                Map<String, List<CurrencyLimit>> limitsByPsp =
+                    tuple.getT4().stream().collect(Collectors.groupingBy(CurrencyLimit::getPspId));
+                FlowGraph graph = tuple.getT5();
+
+                // Keep the requested order and skip unknown IDs
+                List<PspDetailsDto> details = new ArrayList<>(pspsById.size());
+                for (String id : ids) {
+                  Psp psp = pspsById.get(id);
+                  if (psp == null) {
+                    continue;
+                  }
+                  PspDetailsDto dto =
+                      buildPspDetailsDto(
+                          psp,
+                          windowsByPsp.getOrDefault(id, List.of()),
+                          operationsByPsp.getOrDefault(id, List.of()),
+                          limitsByPsp.getOrDefault(id, List.of()),
+                          buildFlowTargetInfo(graph, psp.getFlowTargetId()));
+                  dto.setFailureRateStats(buildFailureRateInfo(pspFailureRateTracker.stats(id)));
+                  details.add(dto);
+                }
+                return details;
+              })
+          .flatMap(details -> successResponse(details, "PSP details retrieved successfully"))
+          .onErrorResume(e -> databaseError(e, "retrieving PSP details"));
+
+    } catch (Exception e) {
+      return databaseError(e, "retrieving PSP details");
+    }
+  }
+
   @Override
   public Mono<ResponseEntity<ApiResponse<Object>>> getByBrandAndEnvironment(
       String brandId, String environmentId) {
@@ -311,7 +387,8 @@ public class PspServiceImpl implements PspService {
           String environmentId,
           String status,
           String currency,
-          String flowActionId) {
+          String flowActionId,
+          BigDecimal amount) {
     try {
       validateNotBlank(brandId, "Brand ID");
       validateNotBlank(environmentId, "Environment ID");
@@ -319,11 +396,17 @@ public class PspServiceImpl implements PspService {
       validateNotBlank(currency, "Currency");
       validateNotBlank(flowActionId, "Flow Action ID");
 
-      return pspRepository
-          .findByBrandIdAndEnvironmentIdAndStatusAndCurrencyAndFlowAction(
-              brandId, environmentId, status, currency, flowActionId)
-          .map(this::buildPspSummaryDto)
-          .collectList()
+      return pspEligibilityCache
+          .get(brandId, environmentId)
+          .map(
+              index ->
+                  (amount != null
+                          ? index.find(status, flowActionId, currency, amount)
+                          : index.find(status, flowActionId, currency))
+                      .stream()
+                      .filter(psp -> isAvailable(psp, status, flowActionId))
+                      .map(this::buildPspSummaryDto)
+                      .toList())
           .flatMap(pspSummaries -> successResponse(pspSummaries, "PSPs retrieved successfully"));
     } catch (Exception e) {
       return databaseError(
@@ -340,11 +423,14 @@ public class PspServiceImpl implements PspService {
       validateNotBlank(status, "Status");
       validateNotBlank(flowActionId, "Flow Action ID");
 
-      return pspRepository
-          .findByBrandIdAndEnvironmentIdAndStatusAndFlowAction(
-              brandId, environmentId, status, flowActionId)
-          .map(this::buildPspSummaryDto)
-          .collectList()
+      return pspEligibilityCache
+          .get(brandId, environmentId)
+          .map(
+              index ->
+                  index.find(status, flowActionId).stream()
+                      .filter(psp -> isAvailable(psp, status, flowActionId))
+                      .map(this::buildPspSummaryDto)
+                      .toList())
           .flatMap(pspSummaries -> successResponse(pspSummaries, "PSPs retrieved successfully"));
     } catch (Exception e) {
       return databaseError(e, "retrieving PSPs by brand and environment by status and flow action");
@@ -430,6 +516,26 @@ public class PspServiceImpl implements PspService {
       validateNotBlank(pspDto.getEnvironmentId(), "Environment ID");
       validateNotBlank(pspDto.getFlowTargetId(), "Flow target ID");
     }
+
+    if (pspDto.getOperations() != null) {
+      for (UpdatePspDto.PspOperationDto operation : pspDto.getOperations()) {
+        if (operation.getCurrencies() != null) {
+          for (UpdatePspDto.CurrencyDto currency : operation.getCurrencies()) {
+            validateCurrencyLimit(
+                currency.getCurrency(), currency.getMinValue(), currency.getMaxValue());
+          }
+        }
+      }
+    }
+  }
+
+  /** A limit whose max is below its min would match no amount */
+  private static void validateCurrencyLimit(
+      String currency, BigDecimal minValue, BigDecimal maxValue) {
+    if (minValue != null && maxValue != null && minValue.compareTo(maxValue) > 0) {
+      throw new ValidationException(
+          "Currency limit min value must not exceed max value for currency " + currency);
+    }
   }
 
   private Mono<ResponseEntity<ApiResponse<Object>>> updatePsp(
@@ -466,6 +572,11 @@ public class PspServiceImpl implements PspService {
           .then(updatePspInDatabase(pspId, existingPsp))
           .then(updateMaintenanceWindows(pspId, pspDto))
           .then(updateOperations(pspId, pspDto))
+          .then(pspMaintenanceTracker.refresh(pspId))
+          .then(pspFailureRateTracker.refresh(pspId))
+          .then(
+              pspEligibilityCache.refresh(
+                  existingPsp.getBrandId(), existingPsp.getEnvironmentId(), pspId))
           .then(
               Mono.defer(
                   () -> {
@@ -616,39 +727,40 @@ public class PspServiceImpl implements PspService {
                 .then());
   }
 
-  private Mono<PspDetailsDto.FlowTargetInfo> buildFlowTargetInfo(FlowTarget flowTarget) {
+  /** Flow target of a PSP with its supported actions, or null if the flow target is missing */
+  private static PspDetailsDto.FlowTargetInfo buildFlowTargetInfo(
+      FlowGraph graph, String flowTargetId) {
+    FlowTarget flowTarget = graph.flowTarget(flowTargetId);
     if (flowTarget == null) {
-      return Mono.just(null);
+      return null;
     }
 
-    return flowDefinitionRepository
-        .findByFlowTargetId(flowTarget.getId())
-        .flatMap(
-            flowDefinition ->
-                flowActionRepository
-                    .findById(flowDefinition.getFlowActionId())
-                    .map(
-                        flowAction ->
-                            PspDetailsDto.SupportedActionInfo.builder()
-                                .flowActionId(flowDefinition.getFlowActionId())
-                                .flowDefinitionId(flowDefinition.getId())
-                                .flowActionName(flowAction != null ? flowAction.getName() : null)
-                                .build()))
-        .collectList()
-        .map(
-            supportedActions ->
-                PspDetailsDto.FlowTargetInfo.builder()
-                    .id(flowTarget.getId())
-                    .credentialSchema(flowTarget.getCredentialSchema().asString())
-                    .countries(flowTarget.getCountries())
-                    .paymentMethods(flowTarget.getPaymentMethods())
-                    .flowTypeId(flowTarget.getFlowTypeId())
-                    .currencies(flowTarget.getCurrencies())
-                    .supportedActions(supportedActions)
-                    .build());
+    List<PspDetailsDto.SupportedActionInfo> supportedActions = new ArrayList<>();
+    for (FlowDefinition flowDefinition : graph.flowDefinitionsByFlowTarget(flowTargetId)) {
+      FlowAction flowAction = graph.flowAction(flowDefinition.getFlowActionId());
+      if (flowAction != null) {
+        supportedActions.add(
+            PspDetailsDto.SupportedActionInfo.builder()
+                .flowActionId(flowDefinition.getFlowActionId())
+                .flowDefinitionId(flowDefinition.getId())
+                .flowActionName(flowAction.getName())
+                .build());
+      }
+    }
+
+    return PspDetailsDto.FlowTargetInfo.builder()
+        .id(flowTarget.getId())
+        .credentialSchema(flowTarget.getCredentialSchema().asString())
+        .countries(flowTarget.getCountries())
+        .paymentMethods(flowTarget.getPaymentMethods())
+        .flowTypeId(flowTarget.getFlowTypeId())
+        .currencies(flowTarget.getCurrencies())
+        .supportedActions(supportedActions)
+        .build();
   }
 
-  private PspDetailsDto buildPspDetailsDto(
+  /** Pure mapping without service state, package-private so it can be benchmarked on its own */
+  static PspDetailsDto buildPspDetailsDto(
       Psp psp,
       List<MaintenanceWindow> maintenanceWindows,
       List<PspOperation> operations,
@@ -740,6 +852,22 @@ public class PspServiceImpl implements PspService {
         .build();
   }
 
+  private static PspDetailsDto.FailureRateInfo buildFailureRateInfo(
+      PspFailureRateTracker.Stats stats) {
+    return PspDetailsDto.FailureRateInfo.builder()
+        .successCount(stats.successes())
+        .failureCount(stats.failures())
+        .currentFailureRate(stats.failureRate())
+        .circuitState(stats.state().name())
+        .build();
+  }
+
+  /** Enabled PSPs under maintenance for the flow action are left out of enabled lookups */
+  private boolean isAvailable(Psp psp, String status, String flowActionId) {
+    return !Status.ENABLED.getValue().equals(status)
+        || !pspMaintenanceTracker.isInMaintenance(psp.getId(), flowActionId);
+  }
+
   private PspSummaryDto buildPspSummaryDto(Psp psp) {
     return PspSummaryDto.builder()
         .id(psp.getId())
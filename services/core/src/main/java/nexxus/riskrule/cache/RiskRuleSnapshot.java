@@ -0,0 +1,37 @@
+package nexxus.riskrule.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import nexxus.riskrule.entity.RiskRule;
+import nexxus.riskrule.entity.RiskRulePsp;
+
+import lombok.Getter;
+
+/** Immutable view of the latest version of every risk rule of a brand and environment */
+@Getter
+public class RiskRuleSnapshot {
+
+  private final List<RiskRule> rules;
+  private final Map<String, List<RiskRulePsp>> pspsByRuleId;
+
+  public RiskRuleSnapshot(List<RiskRule> rules, Map<String, List<RiskRulePsp>> pspsByRuleId) {
+    this.rules = List.copyOf(rules);
+    this.pspsByRuleId =
+        pspsByRuleId.entrySet().stream()
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+  }
+
+  /**
+   * Returns the PSPs of the latest version of a risk rule
+   *
+   * @param riskRuleId risk rule ID
+   * @return PSPs, empty if the rule has none
+   */
+  public List<RiskRulePsp> getPsps(String riskRuleId) {
+    return pspsByRuleId.getOrDefault(riskRuleId, List.of());
+  }
+}
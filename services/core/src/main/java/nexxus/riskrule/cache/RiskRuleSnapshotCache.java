@@ -0,0 +1,54 @@
+package nexxus.riskrule.cache;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.riskrule.repository.RiskRulePspRepository;
+import nexxus.riskrule.repository.RiskRuleRepository;
+import nexxus.shared.cache.BrandSnapshotCache;
+import nexxus.shared.cache.ClusterCacheInvalidator;
+import nexxus.shared.constants.CacheTopic;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Latest version of every risk rule of a brand and environment, with the PSP scope of that version.
+ * {@link nexxus.riskrule.engine.RiskRuleEngine} compiles its rules from this snapshot; the
+ * sliding-window counters the rules check are kept by the engine, not here.
+ */
+@Component
+public class RiskRuleSnapshotCache extends BrandSnapshotCache<RiskRuleSnapshot> {
+
+  private final RiskRuleRepository riskRuleRepository;
+  private final RiskRulePspRepository riskRulePspRepository;
+
+  public RiskRuleSnapshotCache(
+      RiskRuleRepository riskRuleRepository,
+      RiskRulePspRepository riskRulePspRepository,
+      ClusterCacheInvalidator clusterCacheInvalidator) {
+    super(CacheTopic.RISK_RULE, "risk rule", clusterCacheInvalidator);
+    this.riskRuleRepository = riskRuleRepository;
+    this.riskRulePspRepository = riskRulePspRepository;
+  }
+
+  @Override
+  protected Mono<RiskRuleSnapshot> load(String brandId, String environmentId) {
+    return riskRuleRepository
+        .findLatestByBrandIdAndEnvironmentId(brandId, environmentId)
+        .collectList()
+        .flatMap(
+            rules ->
+                Flux.fromIterable(rules)
+                    .flatMap(
+                        rule ->
+                            riskRulePspRepository
+                                .findByRiskRuleIdAndRiskRuleVersion(
+                                    rule.getId(), rule.getVersion())
+                                .collectList()
+                                .map(psps -> Map.entry(rule.getId(), psps)))
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                    .map(psps -> new RiskRuleSnapshot(rules, psps)));
+  }
+}
@@ -0,0 +1,94 @@
+package nexxus.riskrule.engine;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import nexxus.shared.constants.RiskAction;
+import nexxus.shared.constants.RiskCustomerCriteriaType;
+import nexxus.shared.constants.RiskDuration;
+import nexxus.shared.constants.RiskType;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Immutable, pre-compiled view of the latest version of a risk rule.
+ *
+ * <p>DEFAULT rules cap the volume routed to each of their PSPs; CUSTOMER rules cap the volume of
+ * each customer whose tag or account type matches the rule criteria. Both are per currency and
+ * flow action over the rule duration.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CompiledRiskRule {
+
+  private final String id;
+  private final Integer version;
+  private final String name;
+  private final RiskType type;
+  private final RiskAction action;
+  private final RiskDuration duration;
+  private final BigDecimal maxAmount;
+  private final long maxUnits;
+  private final RiskCustomerCriteriaType criteriaType;
+  private final String criteriaValue;
+  private final Set<String> pspIds;
+
+  /**
+   * Checks whether the transaction counts towards this rule. Currency and flow action are already
+   * matched by the rule index.
+   *
+   * @param exposure transaction
+   * @return true if the rule applies
+   */
+  public boolean appliesTo(TransactionExposure exposure) {
+    if (type == RiskType.DEFAULT) {
+      return exposure.getPspId() != null && pspIds.contains(exposure.getPspId());
+    }
+    if (exposure.getUserId() == null) {
+      return false;
+    }
+    // A customer limit still applies when the PSP is not known yet
+    if (exposure.getPspId() != null && !pspIds.isEmpty() && !pspIds.contains(exposure.getPspId())) {
+      return false;
+    }
+    if (criteriaType == null) {
+      return true;
+    }
+    // criteria_value is nullable; a criteria type without a value matches no customer
+    if (criteriaValue == null) {
+      return false;
+    }
+    String actual =
+        criteriaType == RiskCustomerCriteriaType.TAG
+            ? exposure.getTag()
+            : exposure.getAccountType();
+    return criteriaValue.equalsIgnoreCase(actual);
+  }
+
+  /**
+   * Key of the rolling sum this rule reads for a transaction. DEFAULT rules with the same duration
+   * share the sum of a PSP, which counts every transaction routed to it. A CUSTOMER rule counts
+   * only the transactions matching its own PSP scope and criteria, so its sums are keyed by rule.
+   *
+   * @param exposure transaction
+   * @return counter key
+   */
+  public String counterKey(TransactionExposure exposure) {
+    boolean perPsp = type == RiskType.DEFAULT;
+    return new StringBuilder(128)
+        .append(perPsp ? "P|" : "C|" + id + "|")
+        .append(exposure.getBrandId())
+        .append('|')
+        .append(exposure.getEnvironmentId())
+        .append('|')
+        .append(exposure.getFlowActionId())
+        .append('|')
+        .append(exposure.getCurrency().toUpperCase())
+        .append('|')
+        .append(perPsp ? exposure.getPspId() : exposure.getUserId())
+        .append('|')
+        .append(duration.name())
+        .toString();
+  }
+}
@@ -0,0 +1,26 @@
+package nexxus.riskrule.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/** Fixed-point conversion for amounts aggregated by the risk engine */
+final class RiskAmounts {
+
+  /** Same scale as the DECIMAL(19,4) amount columns */
+  static final int SCALE = 4;
+
+  private RiskAmounts() {
+    // Utility class, prevent instantiation
+  }
+
+  static long toUnits(BigDecimal amount) {
+    if (amount == null) {
+      return 0;
+    }
+    return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+
+  static BigDecimal fromUnits(long units) {
+    return BigDecimal.valueOf(units, SCALE);
+  }
+}
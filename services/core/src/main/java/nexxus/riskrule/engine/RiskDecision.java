@@ -0,0 +1,62 @@
+package nexxus.riskrule.engine;
+
+import java.util.List;
+
+import nexxus.shared.constants.RiskAction;
+
+import lombok.Getter;
+
+/** Outcome of evaluating a transaction against the risk rules of its brand and environment */
+@Getter
+public class RiskDecision {
+
+  private static final RiskDecision PASS = new RiskDecision(List.of(), RiskReservation.NONE);
+
+  private final List<RiskRuleHit> hits;
+  private final RiskAction action;
+
+  /** Amounts added to the rolling sums for the transaction, to release if it is not persisted */
+  private final RiskReservation reservation;
+
+  private RiskDecision(List<RiskRuleHit> hits, RiskReservation reservation) {
+    this.hits = hits;
+    this.reservation = reservation;
+    this.action =
+        hits.stream().anyMatch(hit -> hit.getAction() == RiskAction.BLOCK)
+            ? RiskAction.BLOCK
+            : hits.isEmpty() ? null : RiskAction.ALERT;
+  }
+
+  public static RiskDecision pass() {
+    return PASS;
+  }
+
+  public static RiskDecision of(List<RiskRuleHit> hits) {
+    return of(hits, RiskReservation.NONE);
+  }
+
+  public static RiskDecision of(List<RiskRuleHit> hits, RiskReservation reservation) {
+    if ((hits == null || hits.isEmpty()) && reservation == RiskReservation.NONE) {
+      return PASS;
+    }
+    return new RiskDecision(hits != null ? List.copyOf(hits) : List.of(), reservation);
+  }
+
+  public boolean isBlocked() {
+    return action == RiskAction.BLOCK;
+  }
+
+  public boolean hasAlerts() {
+    return !hits.isEmpty() && !isBlocked();
+  }
+
+  /**
+   * @return the first blocking rule, or null when the transaction is not blocked
+   */
+  public RiskRuleHit getBlockingHit() {
+    return hits.stream()
+        .filter(hit -> hit.getAction() == RiskAction.BLOCK)
+        .findFirst()
+        .orElse(null);
+  }
+}
@@ -0,0 +1,33 @@
+package nexxus.riskrule.engine;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Amount of a transaction added to the rolling sums of its risk rules while it was evaluated.
+ * Reserving during the evaluation keeps concurrent transactions from all passing the same limit;
+ * {@link #release()} takes the amount back out when the transaction is not persisted after all.
+ */
+public final class RiskReservation {
+
+  static final RiskReservation NONE = new RiskReservation(List.of(), 0, 0);
+
+  private final List<SlidingWindowSum> windows;
+  private final long timestampMillis;
+  private final long units;
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  RiskReservation(List<SlidingWindowSum> windows, long timestampMillis, long units) {
+    this.windows = windows;
+    this.timestampMillis = timestampMillis;
+    this.units = units;
+  }
+
+  /** Takes the reserved amount back out of the sums; only the first call has an effect */
+  public void release() {
+    if (!windows.isEmpty() && released.compareAndSet(false, true)) {
+      // Buckets that expired meanwhile ignore the add, as they no longer count the amount either
+      windows.forEach(window -> window.add(timestampMillis, -units));
+    }
+  }
+}
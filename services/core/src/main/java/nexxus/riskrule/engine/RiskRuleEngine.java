@@ -0,0 +1,317 @@
+package nexxus.riskrule.engine;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import nexxus.riskrule.cache.RiskRuleSnapshot;
+import nexxus.riskrule.cache.RiskRuleSnapshotCache;
+import nexxus.riskrule.entity.RiskRule;
+import nexxus.riskrule.entity.RiskRulePsp;
+import nexxus.shared.constants.RiskAction;
+import nexxus.shared.constants.Status;
+import nexxus.transaction.repository.TransactionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory risk rule enforcement.
+ *
+ * <p>Transaction volume is aggregated in {@link SlidingWindowSum}s keyed by scope (customer rule or
+ * PSP), currency, flow action and duration, so checking a transaction against its risk rules never
+ * runs an aggregate query. The sums are rebuilt from the {@code transactions} table when the
+ * application starts and then fed by {@link #evaluate}, which reserves the amount of each
+ * transaction it lets through. Sums are kept per instance; rules are read from the {@link
+ * RiskRuleSnapshotCache} and recompiled whenever a write swaps in a new snapshot.
+ */
+@Slf4j
+@Component
+public class RiskRuleEngine {
+
+  /** Number of recorded transactions between two sweeps of idle sums */
+  private static final long SWEEP_INTERVAL = 50_000;
+
+  private final RiskRuleSnapshotCache riskRuleSnapshotCache;
+  private final TransactionRepository transactionRepository;
+  private final boolean rebuildEnabled;
+
+  private final Map<String, Map<String, CompiledSnapshot>> ruleSets = new ConcurrentHashMap<>();
+  private final Map<String, SlidingWindowSum> counters = new ConcurrentHashMap<>();
+  private final AtomicLong recorded = new AtomicLong();
+
+  public RiskRuleEngine(
+      RiskRuleSnapshotCache riskRuleSnapshotCache,
+      TransactionRepository transactionRepository,
+      @Value("${nexxus.risk.rebuild.enabled:true}") boolean rebuildEnabled) {
+    this.riskRuleSnapshotCache = riskRuleSnapshotCache;
+    this.transactionRepository = transactionRepository;
+    this.rebuildEnabled = rebuildEnabled;
+  }
+
+  /**
+   * Checks whether the transaction would push any rolling sum over the limit of a risk rule and,
+   * unless a BLOCK rule is hit, reserves its amount in those sums. The check and the add of each
+   * sum are one step, so concurrent transactions cannot all pass the same limit. Release the
+   * reservation of the decision if the transaction is not persisted after all.
+   *
+   * @param exposure transaction to check
+   * @return decision listing every rule whose limit would be exceeded
+   */
+  public Mono<RiskDecision> evaluate(TransactionExposure exposure) {
+    return getRules(exposure).map(rules -> reserve(rules, exposure));
+  }
+
+  /** Rebuilds the rolling sums from the transactions of the longest risk window */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    if (!rebuildEnabled) {
+      return;
+    }
+    LocalDateTime until = LocalDateTime.now();
+    LocalDateTime since = until.minusNanos(SlidingWindowSum.maxWindowMillis() * 1_000_000L);
+    AtomicLong count = new AtomicLong();
+    transactionRepository
+        .findRiskExposuresSince(since, until)
+        .concatMap(
+            exposure ->
+                getRules(exposure)
+                    .doOnNext(
+                        rules -> {
+                          record(rules, exposure);
+                          count.incrementAndGet();
+                        }))
+        .subscribe(
+            null,
+            e -> log.error("Failed to rebuild risk rule sums: {}", e.getMessage(), e),
+            () ->
+                log.info(
+                    "Rebuilt risk rule sums from {} transactions into {} counters",
+                    count.get(),
+                    counters.size()));
+  }
+
+  private RiskDecision reserve(List<CompiledRiskRule> rules, TransactionExposure exposure) {
+    if (rules.isEmpty()) {
+      return RiskDecision.pass();
+    }
+    // Rules sharing a sum are checked against it together
+    Map<String, List<CompiledRiskRule>> byKey = new LinkedHashMap<>(4);
+    for (CompiledRiskRule rule : rules) {
+      if (rule.appliesTo(exposure)) {
+        byKey.computeIfAbsent(rule.counterKey(exposure), key -> new ArrayList<>(2)).add(rule);
+      }
+    }
+    if (byKey.isEmpty()) {
+      return RiskDecision.pass();
+    }
+
+    long now = System.currentTimeMillis();
+    long units = RiskAmounts.toUnits(exposure.getAmount());
+    List<RiskRuleHit> hits = null;
+    List<SlidingWindowSum> reserved = new ArrayList<>(byKey.size());
+    boolean blocked = false;
+    for (Map.Entry<String, List<CompiledRiskRule>> entry : byKey.entrySet()) {
+      List<CompiledRiskRule> group = entry.getValue();
+      // Once blocked, the remaining sums are only read
+      long limit = blocked ? Long.MIN_VALUE : blockLimit(group);
+      long[] current = new long[1];
+      // compute keeps the add atomic with respect to the sweep removing idle sums
+      SlidingWindowSum window =
+          counters.compute(
+              entry.getKey(),
+              (k, existing) -> {
+                SlidingWindowSum target =
+                    existing != null
+                        ? existing
+                        : SlidingWindowSum.forDuration(group.get(0).getDuration());
+                current[0] = target.addIfAtMost(now, units, limit);
+                return target;
+              });
+      if (current[0] + units <= limit) {
+        reserved.add(window);
+      } else {
+        blocked = true;
+      }
+      for (CompiledRiskRule rule : group) {
+        if (current[0] + units > rule.getMaxUnits()) {
+          if (hits == null) {
+            hits = new ArrayList<>(2);
+          }
+          hits.add(hit(rule, current[0]));
+        }
+      }
+    }
+
+    RiskReservation reservation = new RiskReservation(reserved, now, units);
+    if (blocked) {
+      reservation.release();
+      return RiskDecision.of(hits);
+    }
+    if (recorded.incrementAndGet() % SWEEP_INTERVAL == 0) {
+      sweep();
+    }
+    return RiskDecision.of(hits, reservation);
+  }
+
+  /** Highest sum the BLOCK rules of a group allow, unbounded when they only alert */
+  private static long blockLimit(List<CompiledRiskRule> group) {
+    long limit = Long.MAX_VALUE;
+    for (CompiledRiskRule rule : group) {
+      if (rule.getAction() == RiskAction.BLOCK) {
+        limit = Math.min(limit, rule.getMaxUnits());
+      }
+    }
+    return limit;
+  }
+
+  private static RiskRuleHit hit(CompiledRiskRule rule, long current) {
+    return RiskRuleHit.builder()
+        .riskRuleId(rule.getId())
+        .riskRuleVersion(rule.getVersion())
+        .name(rule.getName())
+        .action(rule.getAction())
+        .duration(rule.getDuration())
+        .maxAmount(rule.getMaxAmount())
+        .currentAmount(RiskAmounts.fromUnits(current))
+        .build();
+  }
+
+  private void record(List<CompiledRiskRule> rules, TransactionExposure exposure) {
+    if (rules.isEmpty() || exposure.getCreatedAt() == null) {
+      return;
+    }
+    long timestamp = toMillis(exposure.getCreatedAt());
+    long units = RiskAmounts.toUnits(exposure.getAmount());
+    // Rules sharing a scope and duration share a sum, which must be added to only once
+    Set<String> keys = new HashSet<>(4);
+    for (CompiledRiskRule rule : rules) {
+      if (rule.appliesTo(exposure)) {
+        String key = rule.counterKey(exposure);
+        if (keys.add(key)) {
+          // compute keeps the add atomic with respect to the sweep removing idle sums
+          counters.compute(
+              key,
+              (k, window) -> {
+                SlidingWindowSum target =
+                    window != null ? window : SlidingWindowSum.forDuration(rule.getDuration());
+                target.add(timestamp, units);
+                return target;
+              });
+        }
+      }
+    }
+    if (recorded.incrementAndGet() % SWEEP_INTERVAL == 0) {
+      sweep();
+    }
+  }
+
+  /** Drops sums whose window no longer holds any amount */
+  private void sweep() {
+    long now = System.currentTimeMillis();
+    int before = counters.size();
+    for (String key : counters.keySet()) {
+      counters.computeIfPresent(key, (k, window) -> window.sum(now) == 0 ? null : window);
+    }
+    log.debug("Swept risk rule sums: {} -> {}", before, counters.size());
+  }
+
+  private Mono<List<CompiledRiskRule>> getRules(TransactionExposure exposure) {
+    return riskRuleSnapshotCache
+        .get(exposure.getBrandId(), exposure.getEnvironmentId())
+        .map(
+            snapshot ->
+                getRuleIndex(exposure.getBrandId(), exposure.getEnvironmentId(), snapshot)
+                    .getOrDefault(
+                        indexKey(exposure.getFlowActionId(), exposure.getCurrency()), List.of()))
+        .defaultIfEmpty(List.of());
+  }
+
+  private Map<String, List<CompiledRiskRule>> getRuleIndex(
+      String brandId, String environmentId, RiskRuleSnapshot snapshot) {
+    Map<String, CompiledSnapshot> byEnvironment =
+        ruleSets.computeIfAbsent(brandId, key -> new ConcurrentHashMap<>());
+    CompiledSnapshot cached = byEnvironment.get(environmentId);
+    if (cached != null && cached.source == snapshot) {
+      return cached.index;
+    }
+
+    // Racing compilations may briefly store an older snapshot; the identity check above
+    // recompiles on the next call
+    Map<String, List<CompiledRiskRule>> index = compile(snapshot);
+    byEnvironment.put(environmentId, new CompiledSnapshot(snapshot, index));
+    log.debug(
+        "Compiled risk rules for brand {} environment {} into {} groups",
+        brandId,
+        environmentId,
+        index.size());
+    return index;
+  }
+
+  private Map<String, List<CompiledRiskRule>> compile(RiskRuleSnapshot snapshot) {
+    Map<String, List<CompiledRiskRule>> index = new HashMap<>();
+    for (RiskRule rule : snapshot.getRules()) {
+      if (rule.getStatus() != Status.ENABLED
+          || rule.getCurrency() == null
+          || rule.getDuration() == null
+          || rule.getMaxAmount() == null) {
+        continue;
+      }
+      index
+          .computeIfAbsent(
+              indexKey(rule.getFlowActionId(), rule.getCurrency()), key -> new ArrayList<>())
+          .add(compileRule(rule, snapshot.getPsps(rule.getId())));
+    }
+    return index.entrySet().stream()
+        .collect(
+            Collectors.toUnmodifiableMap(
+                Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+  }
+
+  private CompiledRiskRule compileRule(RiskRule rule, List<RiskRulePsp> psps) {
+    return new CompiledRiskRule(
+        rule.getId(),
+        rule.getVersion(),
+        rule.getName(),
+        rule.getType(),
+        rule.getAction(),
+        rule.getDuration(),
+        rule.getMaxAmount(),
+        RiskAmounts.toUnits(rule.getMaxAmount()),
+        rule.getCriteriaType(),
+        rule.getCriteriaValue(),
+        psps.stream().map(RiskRulePsp::getPspId).collect(Collectors.toUnmodifiableSet()));
+  }
+
+  private static String indexKey(String flowActionId, String currency) {
+    return flowActionId + "|" + (currency != null ? currency.toUpperCase() : null);
+  }
+
+  private static long toMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  private static final class CompiledSnapshot {
+    private final RiskRuleSnapshot source;
+    private final Map<String, List<CompiledRiskRule>> index;
+
+    private CompiledSnapshot(RiskRuleSnapshot source, Map<String, List<CompiledRiskRule>> index) {
+      this.source = source;
+      this.index = index;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package nexxus.riskrule.engine;
+
+import java.math.BigDecimal;
+
+import nexxus.shared.constants.RiskAction;
+import nexxus.shared.constants.RiskDuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** A risk rule whose limit the transaction would exceed */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskRuleHit {
+
+  private String riskRuleId;
+
+  private Integer riskRuleVersion;
+
+  private String name;
+
+  private RiskAction action;
+
+  private RiskDuration duration;
+
+  private BigDecimal maxAmount;
+
+  /** Volume already accumulated in the window, excluding the transaction */
+  private BigDecimal currentAmount;
+}
@@ -0,0 +1,117 @@
+package nexxus.riskrule.engine;
+
+import java.util.Arrays;
+
+import nexxus.shared.constants.RiskDuration;
+
+/**
+ * Rolling sum over a fixed time window, kept in a ring of time buckets.
+ *
+ * <p>Amounts are fixed-point longs (see {@link RiskAmounts}). Each slot remembers the absolute
+ * bucket it holds, so a slot is reset lazily when the ring wraps around and expired buckets are
+ * subtracted from the running total as time moves forward. Both {@link #add} and {@link #sum} are
+ * amortized O(1). Instances are guarded by their own monitor; contention is limited to a single
+ * customer or PSP.
+ */
+final class SlidingWindowSum {
+
+  private static final long MINUTE = 60_000L;
+  private static final long HOUR = 60 * MINUTE;
+  private static final long DAY = 24 * HOUR;
+
+  private final long bucketMillis;
+  private final long[] sums;
+  private final long[] bucketIds;
+  private long total;
+  private long expiredUpTo = Long.MIN_VALUE;
+
+  private SlidingWindowSum(long bucketMillis, int buckets) {
+    this.bucketMillis = bucketMillis;
+    this.sums = new long[buckets];
+    this.bucketIds = new long[buckets];
+    Arrays.fill(bucketIds, Long.MIN_VALUE);
+  }
+
+  /**
+   * Creates a window sized for a risk rule duration. Bucket widths trade precision at the edge of
+   * the window for memory: about 1/12 of the window for an hour and 1/24 to 1/30 for longer ones.
+   *
+   * @param duration risk rule duration
+   * @return empty window
+   */
+  static SlidingWindowSum forDuration(RiskDuration duration) {
+    switch (duration) {
+      case HOUR:
+        return new SlidingWindowSum(5 * MINUTE, 12);
+      case DAY:
+        return new SlidingWindowSum(HOUR, 24);
+      case WEEK:
+        return new SlidingWindowSum(6 * HOUR, 28);
+      case MONTH:
+      default:
+        return new SlidingWindowSum(DAY, 30);
+    }
+  }
+
+  /** Longest window of any duration, used to bound the startup rebuild */
+  static long maxWindowMillis() {
+    return 30 * DAY;
+  }
+
+  synchronized void add(long timestampMillis, long amount) {
+    long bucket = Math.floorDiv(timestampMillis, bucketMillis);
+    if (bucket <= expiredUpTo) {
+      return;
+    }
+    int slot = (int) Math.floorMod(bucket, (long) sums.length);
+    if (bucketIds[slot] != bucket) {
+      if (bucketIds[slot] > bucket) {
+        // Older than everything the ring still holds
+        return;
+      }
+      total -= sums[slot];
+      sums[slot] = 0;
+      bucketIds[slot] = bucket;
+    }
+    sums[slot] += amount;
+    total += amount;
+  }
+
+  synchronized long sum(long nowMillis) {
+    expire(Math.floorDiv(nowMillis, bucketMillis));
+    return total;
+  }
+
+  /**
+   * Adds the amount at the given time unless that would take the sum over the limit, as one step
+   *
+   * @param nowMillis current time
+   * @param amount amount to add
+   * @param limit highest sum allowed after the add
+   * @return the sum before the add, whether or not the amount was added
+   */
+  synchronized long addIfAtMost(long nowMillis, long amount, long limit) {
+    long current = sum(nowMillis);
+    if (current + amount <= limit) {
+      add(nowMillis, amount);
+    }
+    return current;
+  }
+
+  private void expire(long nowBucket) {
+    long lastExpired = nowBucket - sums.length;
+    if (lastExpired <= expiredUpTo) {
+      return;
+    }
+    // Only the last ring length of buckets can still be held
+    long from = Math.max(expiredUpTo + 1, lastExpired - sums.length + 1);
+    for (long bucket = from; bucket <= lastExpired; bucket++) {
+      int slot = (int) Math.floorMod(bucket, (long) sums.length);
+      if (bucketIds[slot] == bucket) {
+        total -= sums[slot];
+        sums[slot] = 0;
+      }
+    }
+    expiredUpTo = lastExpired;
+  }
+}
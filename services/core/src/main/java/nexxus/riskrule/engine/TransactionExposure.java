@@ -0,0 +1,60 @@
+package nexxus.riskrule.engine;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import nexxus.transaction.dto.TransactionDto;
+import nexxus.transaction.dto.UserAttributeDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** The parts of a transaction that count towards risk rule limits */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionExposure {
+
+  private String brandId;
+
+  private String environmentId;
+
+  private String flowActionId;
+
+  private String currency;
+
+  private BigDecimal amount;
+
+  private String userId;
+
+  private String tag;
+
+  private String accountType;
+
+  /** PSP the transaction was routed to, null when unknown */
+  private String pspId;
+
+  private LocalDateTime createdAt;
+
+  public static TransactionExposure of(
+      TransactionDto transaction, String pspId, LocalDateTime createdAt) {
+    UserAttributeDto user = transaction.getUserAttribute();
+    return TransactionExposure.builder()
+        .brandId(transaction.getBrandId())
+        .environmentId(transaction.getEnvironmentId())
+        .flowActionId(transaction.getFlowActionId())
+        .currency(transaction.getCurrency())
+        .amount(transaction.getAmount())
+        .userId(user != null ? user.getId() : null)
+        .tag(user != null ? user.getTag() : null)
+        .accountType(user != null ? user.getAccountType() : null)
+        .pspId(pspId)
+        .createdAt(createdAt)
+        .build();
+  }
+}
@@ -1,14 +1,16 @@
 package nexxus.riskrule.service.impl;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import nexxus.flowaction.repository.FlowActionRepository;
+import nexxus.flowregistry.FlowRegistry;
 import nexxus.psp.repository.PspRepository;
+import nexxus.riskrule.cache.RiskRuleSnapshotCache;
 import nexxus.riskrule.dto.RiskRuleDetailedDto;
 import nexxus.riskrule.dto.RiskRuleDto;
 import nexxus.riskrule.dto.RiskRulePspDto;
@@ -33,7 +35,8 @@ public class RiskRuleServiceImpl implements RiskRuleService {
 
   private final RiskRuleRepository riskRuleRepository;
   private final RiskRulePspRepository riskRulePspRepository;
-  private final FlowActionRepository flowActionRepository;
+  private final RiskRuleSnapshotCache riskRuleSnapshotCache;
+  private final FlowRegistry flowRegistry;
   private final PspRepository pspRepository;
   private final CurrencyValidationService currencyValidationService;
   private final ReactiveResponseHandler responseHandler;
@@ -134,6 +137,9 @@ public class RiskRuleServiceImpl implements RiskRuleService {
                                           psp.getRiskRuleVersion(),
                                           psp.getPspId()))
                               .collectList()
+                              .then(
+                                  riskRuleSnapshotCache.refresh(
+                                      savedRule.getBrandId(), savedRule.getEnvironmentId()))
                               .then(
                                   buildDetailedRiskRuleResponse(
                                           savedRule,
@@ -190,15 +196,15 @@ public class RiskRuleServiceImpl implements RiskRuleService {
   public Mono<ResponseEntity<ApiResponse<Object>>> findAllByBrandIdAndEnvironmentId(
       String brandId, String environmentId) {
     try {
-      return riskRuleRepository
-          .findLatestByBrandIdAndEnvironmentId(brandId, environmentId)
-          .flatMap(
-              riskRule -> {
-                return riskRulePspRepository
-                    .findByRiskRuleIdAndRiskRuleVersion(riskRule.getId(), riskRule.getVersion())
-                    .collectList()
-                    .flatMap(psps -> buildDetailedRiskRuleResponse(riskRule, psps));
-              })
+      return riskRuleSnapshotCache
+          .get(brandId, environmentId)
+          .flatMapMany(
+              snapshot ->
+                  Flux.fromIterable(snapshot.getRules())
+                      .flatMapSequential(
+                          riskRule ->
+                              buildDetailedRiskRuleResponse(
+                                  riskRule, snapshot.getPsps(riskRule.getId()))))
           .collectList()
           .map(
               riskRules ->
@@ -242,6 +248,9 @@ public class RiskRuleServiceImpl implements RiskRuleService {
                 return riskRulePspRepository
                     .deleteAllByRiskRuleId(id)
                     .then(riskRuleRepository.deleteAllById(id))
+                    .then(
+                        riskRuleSnapshotCache.refresh(
+                            existingRule.getBrandId(), existingRule.getEnvironmentId()))
                     .then(
                         Mono.just(
                             responseHandler.successResponse(
@@ -371,6 +380,7 @@ public class RiskRuleServiceImpl implements RiskRuleService {
                                                       psp.getRiskRuleVersion(),
                                                       psp.getPspId()))
                                           .collectList()
+                                          .then(refreshSnapshots(existingRule, savedRule))
                                           .then(
                                               buildDetailedRiskRuleResponse(
                                                       savedRule,
@@ -408,11 +418,24 @@ public class RiskRuleServiceImpl implements RiskRuleService {
     }
   }
 
+  private Mono<Void> refreshSnapshots(RiskRule previousRule, RiskRule savedRule) {
+    Mono<Void> refreshSaved =
+        riskRuleSnapshotCache.refresh(savedRule.getBrandId(), savedRule.getEnvironmentId());
+    if (Objects.equals(previousRule.getBrandId(), savedRule.getBrandId())
+        && Objects.equals(previousRule.getEnvironmentId(), savedRule.getEnvironmentId())) {
+      return refreshSaved;
+    }
+    // The new version moved the rule to another brand/environment
+    return refreshSaved.then(
+        riskRuleSnapshotCache.refresh(previousRule.getBrandId(), previousRule.getEnvironmentId()));
+  }
+
   private Mono<RiskRuleDetailedDto> buildDetailedRiskRuleResponse(
       RiskRule riskRule, List<RiskRulePsp> psps) {
     return Mono.zip(
-            flowActionRepository
-                .findById(riskRule.getFlowActionId())
+            flowRegistry
+                .graph()
+                .mapNotNull(graph -> graph.flowAction(riskRule.getFlowActionId()))
                 .map(flowAction -> flowAction.getName()),
             Flux.fromIterable(psps)
                 .flatMap(
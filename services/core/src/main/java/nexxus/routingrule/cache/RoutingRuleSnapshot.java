@@ -0,0 +1,38 @@
+package nexxus.routingrule.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import nexxus.routingrule.entity.RoutingRule;
+import nexxus.routingrule.entity.RoutingRulePsp;
+
+import lombok.Getter;
+
+/** Immutable view of the latest version of every routing rule of a brand and environment */
+@Getter
+public class RoutingRuleSnapshot {
+
+  private final List<RoutingRule> rules;
+  private final Map<String, List<RoutingRulePsp>> pspsByRuleId;
+
+  public RoutingRuleSnapshot(
+      List<RoutingRule> rules, Map<String, List<RoutingRulePsp>> pspsByRuleId) {
+    this.rules = List.copyOf(rules);
+    this.pspsByRuleId =
+        pspsByRuleId.entrySet().stream()
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+  }
+
+  /**
+   * Returns the PSPs of the latest version of a routing rule
+   *
+   * @param routingRuleId routing rule ID
+   * @return PSPs, empty if the rule has none
+   */
+  public List<RoutingRulePsp> getPsps(String routingRuleId) {
+    return pspsByRuleId.getOrDefault(routingRuleId, List.of());
+  }
+}
@@ -0,0 +1,54 @@
+package nexxus.routingrule.cache;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.routingrule.repository.RoutingRulePspRepository;
+import nexxus.routingrule.repository.RoutingRuleRepository;
+import nexxus.shared.cache.BrandSnapshotCache;
+import nexxus.shared.cache.ClusterCacheInvalidator;
+import nexxus.shared.constants.CacheTopic;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Latest version of every routing rule of a brand and environment, with the PSPs of that version.
+ * {@link nexxus.routingrule.engine.RoutingRuleEngine} compiles its rule set from this snapshot, so
+ * evaluating a transaction never loads rules from the database once the snapshot is loaded.
+ */
+@Component
+public class RoutingRuleSnapshotCache extends BrandSnapshotCache<RoutingRuleSnapshot> {
+
+  private final RoutingRuleRepository routingRuleRepository;
+  private final RoutingRulePspRepository routingRulePspRepository;
+
+  public RoutingRuleSnapshotCache(
+      RoutingRuleRepository routingRuleRepository,
+      RoutingRulePspRepository routingRulePspRepository,
+      ClusterCacheInvalidator clusterCacheInvalidator) {
+    super(CacheTopic.ROUTING_RULE, "routing rule", clusterCacheInvalidator);
+    this.routingRuleRepository = routingRuleRepository;
+    this.routingRulePspRepository = routingRulePspRepository;
+  }
+
+  @Override
+  protected Mono<RoutingRuleSnapshot> load(String brandId, String environmentId) {
+    return routingRuleRepository
+        .findByBrandIdAndEnvironmentId(brandId, environmentId)
+        .collectList()
+        .flatMap(
+            rules ->
+                Flux.fromIterable(rules)
+                    .flatMap(
+                        rule ->
+                            routingRulePspRepository
+                                .findByRoutingRuleIdAndRoutingRuleVersion(
+                                    rule.getId(), rule.getVersion())
+                                .collectList()
+                                .map(psps -> Map.entry(rule.getId(), psps)))
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                    .map(psps -> new RoutingRuleSnapshot(rules, psps)));
+  }
+}
@@ -9,6 +9,7 @@ import nexxus.routingrule.dto.UpdateRoutingRuleDto;
 import nexxus.routingrule.service.RoutingRuleService;
 import nexxus.shared.controller.BaseController;
 import nexxus.shared.dto.ApiResponse;
+import nexxus.transaction.dto.TransactionDto;
 
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
@@ -47,4 +48,10 @@ public class RoutingRuleController extends BaseController {
       @PathVariable String brandId, @PathVariable String environmentId) {
     return routingRuleService.readAllByBrandAndEnvironment(brandId, environmentId);
   }
+
+  @PostMapping("/evaluate")
+  public Mono<ResponseEntity<ApiResponse<Object>>> evaluate(
+      @RequestBody TransactionDto transactionDto) {
+    return routingRuleService.evaluate(transactionDto);
+  }
 }
@@ -0,0 +1,73 @@
+package nexxus.routingrule.dto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import nexxus.routingrule.engine.CompiledRoutingRule;
+import nexxus.routingrule.engine.PspSelector;
+import nexxus.shared.constants.PSPSelectionMode;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutingEvaluationDto {
+
+  private boolean matched;
+
+  private String routingRuleId;
+
+  private Integer routingRuleVersion;
+
+  private String name;
+
+  private PSPSelectionMode pspSelectionMode;
+
+  private Boolean isDefault;
+
+  private List<RoutingRulePspDto> psps;
+
+  private String selectedPspId;
+
+  public static RoutingEvaluationDto fromCompiledRule(CompiledRoutingRule rule) {
+    return fromCompiledRule(rule, rule.selectPsp());
+  }
+
+  /**
+   * @param rule matched rule
+   * @param filter PSPs that can take the transaction
+   * @return evaluation whose selected PSP passes the filter, if any does
+   */
+  public static RoutingEvaluationDto fromCompiledRule(
+      CompiledRoutingRule rule, PspSelector.PspFilter filter) {
+    return fromCompiledRule(rule, rule.selectPsp(filter));
+  }
+
+  private static RoutingEvaluationDto fromCompiledRule(
+      CompiledRoutingRule rule, String selectedPspId) {
+    return RoutingEvaluationDto.builder()
+        .matched(true)
+        .routingRuleId(rule.getId())
+        .routingRuleVersion(rule.getVersion())
+        .name(rule.getName())
+        .pspSelectionMode(rule.getPspSelectionMode())
+        .isDefault(rule.isDefault())
+        .selectedPspId(selectedPspId)
+        .psps(
+            rule.getPsps().stream()
+                .map(RoutingRulePspDto::fromEntity)
+                .collect(Collectors.toList()))
+        .build();
+  }
+
+  public static RoutingEvaluationDto noMatch() {
+    return RoutingEvaluationDto.builder().matched(false).psps(List.of()).build();
+  }
+}
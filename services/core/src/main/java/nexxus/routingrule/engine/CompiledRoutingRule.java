@@ -0,0 +1,39 @@
+package nexxus.routingrule.engine;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import nexxus.routingrule.entity.RoutingRulePsp;
+import nexxus.shared.constants.PSPSelectionMode;
+import nexxus.transaction.dto.TransactionDto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** Immutable, pre-compiled view of the latest version of a routing rule */
+@Getter
+@RequiredArgsConstructor
+public class CompiledRoutingRule {
+
+  private final String id;
+  private final Integer version;
+  private final String name;
+  private final PSPSelectionMode pspSelectionMode;
+  private final boolean isDefault;
+  private final LocalDateTime createdAt;
+  private final List<RoutingRulePsp> psps;
+  private final RoutingPredicate predicate;
+  private final PspSelector pspSelector;
+
+  public boolean matches(TransactionDto transaction) {
+    return predicate.test(transaction);
+  }
+
+  public String selectPsp() {
+    return pspSelector.select();
+  }
+
+  public String selectPsp(PspSelector.PspFilter filter) {
+    return pspSelector.select(filter);
+  }
+}
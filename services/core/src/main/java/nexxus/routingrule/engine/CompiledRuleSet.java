@@ -0,0 +1,55 @@
+package nexxus.routingrule.engine;
+
+import java.util.Comparator;
+import java.util.List;
+
+import nexxus.transaction.dto.TransactionDto;
+
+import lombok.Getter;
+
+/**
+ * Immutable set of compiled routing rules for one brand and environment. Non-default rules are
+ * evaluated in creation order; the default rule is the fallback when none of them match.
+ */
+@Getter
+public class CompiledRuleSet {
+
+  private static final Comparator<CompiledRoutingRule> EVALUATION_ORDER =
+      Comparator.comparing(
+              CompiledRoutingRule::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+          .thenComparing(CompiledRoutingRule::getId);
+
+  private final String brandId;
+  private final String environmentId;
+  private final CompiledRoutingRule[] rules;
+  private final CompiledRoutingRule defaultRule;
+
+  public CompiledRuleSet(
+      String brandId, String environmentId, List<CompiledRoutingRule> enabledRules) {
+    this.brandId = brandId;
+    this.environmentId = environmentId;
+    this.rules =
+        enabledRules.stream()
+            .filter(rule -> !rule.isDefault())
+            .sorted(EVALUATION_ORDER)
+            .toArray(CompiledRoutingRule[]::new);
+    this.defaultRule =
+        enabledRules.stream().filter(CompiledRoutingRule::isDefault).findFirst().orElse(null);
+  }
+
+  /**
+   * Returns the first rule whose condition matches the transaction, falling back to the default
+   * rule
+   *
+   * @param transaction transaction to route
+   * @return matched rule, or null when nothing matches and there is no enabled default rule
+   */
+  public CompiledRoutingRule match(TransactionDto transaction) {
+    for (CompiledRoutingRule rule : rules) {
+      if (rule.matches(transaction)) {
+        return rule;
+      }
+    }
+    return defaultRule;
+  }
+}
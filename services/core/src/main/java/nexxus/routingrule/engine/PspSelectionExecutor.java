@@ -0,0 +1,114 @@
+package nexxus.routingrule.engine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.routingrule.entity.RoutingRulePsp;
+import nexxus.routingrule.repository.RoutingRulePspRepository;
+import nexxus.routingrule.repository.RoutingRuleRepository;
+import nexxus.shared.constants.PSPSelectionMode;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registry of {@link PspSelector}s keyed by (routingRuleId, version). A routing rule version never
+ * changes once written, so selectors are built once. Only the latest {@value
+ * #MAX_VERSIONS_PER_RULE} versions of a rule are kept: older ones are dropped when a newer version
+ * is built and are rebuilt from the database if a transaction still names them.
+ */
+@Component
+@RequiredArgsConstructor
+public class PspSelectionExecutor {
+
+  private final RoutingRuleRepository routingRuleRepository;
+  private final RoutingRulePspRepository routingRulePspRepository;
+
+  private static final int MAX_VERSIONS_PER_RULE = 2;
+
+  private final Map<String, NavigableMap<Integer, PspSelector>> selectors =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Returns the selector of a routing rule version, building it from the given PSPs if needed
+   *
+   * @param routingRuleId routing rule ID
+   * @param version routing rule version
+   * @param mode selection mode of the routing rule version
+   * @param psps PSPs of the routing rule version
+   * @return selector
+   */
+  public PspSelector register(
+      String routingRuleId, Integer version, PSPSelectionMode mode, List<RoutingRulePsp> psps) {
+    NavigableMap<Integer, PspSelector> byVersion =
+        selectors.computeIfAbsent(routingRuleId, key -> new ConcurrentSkipListMap<>());
+    PspSelector selector = byVersion.computeIfAbsent(version, key -> PspSelector.of(mode, psps));
+    while (byVersion.size() > MAX_VERSIONS_PER_RULE) {
+      byVersion.pollFirstEntry();
+    }
+    return selector;
+  }
+
+  /**
+   * Picks a PSP for a routing rule version, loading the rule from the database on first use
+   *
+   * @param routingRuleId routing rule ID
+   * @param version routing rule version
+   * @return selected PSP ID, or empty when the rule is unknown or has no PSPs
+   */
+  public Mono<String> select(String routingRuleId, Integer version) {
+    NavigableMap<Integer, PspSelector> byVersion = selectors.get(routingRuleId);
+    PspSelector selector = byVersion != null ? byVersion.get(version) : null;
+    if (selector != null) {
+      return Mono.justOrEmpty(selector.select());
+    }
+    return load(routingRuleId, version).flatMap(loaded -> Mono.justOrEmpty(loaded.select()));
+  }
+
+  /**
+   * Picks a PSP for a routing rule version among those accepted by the filter, loading the rule
+   * from the database on first use
+   *
+   * @param routingRuleId routing rule ID
+   * @param version routing rule version
+   * @param filter availability filter
+   * @return selected PSP ID, or empty when the rule is unknown or no PSP is available
+   */
+  public Mono<String> select(
+      String routingRuleId, Integer version, PspSelector.PspFilter filter) {
+    NavigableMap<Integer, PspSelector> byVersion = selectors.get(routingRuleId);
+    PspSelector selector = byVersion != null ? byVersion.get(version) : null;
+    if (selector != null) {
+      return Mono.justOrEmpty(selector.select(filter));
+    }
+    return load(routingRuleId, version)
+        .flatMap(loaded -> Mono.justOrEmpty(loaded.select(filter)));
+  }
+
+  /**
+   * Drops all selectors of a routing rule
+   *
+   * @param routingRuleId routing rule ID
+   */
+  public void evict(String routingRuleId) {
+    selectors.remove(routingRuleId);
+  }
+
+  private Mono<PspSelector> load(String routingRuleId, Integer version) {
+    return routingRuleRepository
+        .findByIdAndVersion(routingRuleId, version)
+        .flatMap(
+            rule ->
+                routingRulePspRepository
+                    .findByRoutingRuleIdAndRoutingRuleVersion(routingRuleId, version)
+                    .collectList()
+                    .map(
+                        psps ->
+                            register(routingRuleId, version, rule.getPspSelectionMode(), psps)));
+  }
+}
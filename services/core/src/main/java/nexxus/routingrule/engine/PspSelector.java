@@ -0,0 +1,218 @@
+package nexxus.routingrule.engine;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import nexxus.routingrule.entity.RoutingRulePsp;
+import nexxus.shared.constants.PSPSelectionMode;
+
+/**
+ * Immutable PSP picker for one routing rule version.
+ *
+ * <p>All bookkeeping is done at construction: PRIORITY sorts the PSPs by {@code psp_value}
+ * ascending (1 = highest priority), WEIGHTED builds a Vose alias table from the {@code psp_value}
+ * weights and RANDOM picks uniformly. {@link #select()} is O(1), lock-free and allocation-free.
+ */
+public final class PspSelector {
+
+  /** Filter used to skip PSPs that cannot currently take traffic */
+  @FunctionalInterface
+  public interface PspFilter {
+    boolean isAvailable(String pspId);
+  }
+
+  private static final PspSelector EMPTY =
+      new PspSelector(PSPSelectionMode.RANDOM, new String[0], new int[0], null, null);
+
+  private final PSPSelectionMode mode;
+  private final String[] pspIds;
+  private final int[] weights;
+  private final double[] probability;
+  private final int[] alias;
+
+  private PspSelector(
+      PSPSelectionMode mode, String[] pspIds, int[] weights, double[] probability, int[] alias) {
+    this.mode = mode;
+    this.pspIds = pspIds;
+    this.weights = weights;
+    this.probability = probability;
+    this.alias = alias;
+  }
+
+  /**
+   * Builds a selector for the PSPs of a routing rule version
+   *
+   * @param mode selection mode of the routing rule
+   * @param psps PSPs of the routing rule version
+   * @return selector
+   */
+  public static PspSelector of(PSPSelectionMode mode, List<RoutingRulePsp> psps) {
+    if (psps == null || psps.isEmpty()) {
+      return EMPTY;
+    }
+
+    RoutingRulePsp[] entries = psps.toArray(new RoutingRulePsp[0]);
+    if (mode == PSPSelectionMode.PRIORITY) {
+      Arrays.sort(
+          entries,
+          Comparator.comparing(
+                  RoutingRulePsp::getPspValue, Comparator.nullsLast(Comparator.naturalOrder()))
+              .thenComparing(RoutingRulePsp::getPspId));
+    }
+
+    String[] pspIds = new String[entries.length];
+    int[] weights = new int[entries.length];
+    for (int i = 0; i < entries.length; i++) {
+      pspIds[i] = entries[i].getPspId();
+      Integer value = entries[i].getPspValue();
+      weights[i] = value != null && value > 0 ? value : 0;
+    }
+
+    if (mode != PSPSelectionMode.WEIGHTED) {
+      return new PspSelector(mode, pspIds, weights, null, null);
+    }
+
+    long total = 0;
+    for (int weight : weights) {
+      total += weight;
+    }
+    if (total == 0) {
+      // No usable weights configured, behave like RANDOM
+      Arrays.fill(weights, 1);
+      total = weights.length;
+    }
+
+    int n = weights.length;
+    double[] probability = new double[n];
+    int[] alias = new int[n];
+    double[] scaled = new double[n];
+    Deque<Integer> small = new ArrayDeque<>();
+    Deque<Integer> large = new ArrayDeque<>();
+    for (int i = 0; i < n; i++) {
+      scaled[i] = (double) weights[i] * n / total;
+      if (scaled[i] < 1.0) {
+        small.push(i);
+      } else {
+        large.push(i);
+      }
+    }
+    while (!small.isEmpty() && !large.isEmpty()) {
+      int less = small.pop();
+      int more = large.pop();
+      probability[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+      if (scaled[more] < 1.0) {
+        small.push(more);
+      } else {
+        large.push(more);
+      }
+    }
+    // Leftovers are 1.0 up to floating point error
+    while (!large.isEmpty()) {
+      probability[large.pop()] = 1.0;
+    }
+    while (!small.isEmpty()) {
+      probability[small.pop()] = 1.0;
+    }
+
+    return new PspSelector(mode, pspIds, weights, probability, alias);
+  }
+
+  public PSPSelectionMode getMode() {
+    return mode;
+  }
+
+  public int size() {
+    return pspIds.length;
+  }
+
+  /**
+   * Picks a PSP according to the selection mode
+   *
+   * @return selected PSP ID, or null when the rule has no PSPs
+   */
+  public String select() {
+    int n = pspIds.length;
+    if (n == 0) {
+      return null;
+    }
+    switch (mode) {
+      case PRIORITY:
+        return pspIds[0];
+      case WEIGHTED:
+        {
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          int column = random.nextInt(n);
+          return random.nextDouble() < probability[column] ? pspIds[column] : pspIds[alias[column]];
+        }
+      case RANDOM:
+      default:
+        return pspIds[ThreadLocalRandom.current().nextInt(n)];
+    }
+  }
+
+  /**
+   * Picks a PSP according to the selection mode, skipping PSPs rejected by the filter. Falls back
+   * to a linear scan only when the O(1) pick lands on an unavailable PSP.
+   *
+   * @param filter availability filter
+   * @return selected PSP ID, or null when no PSP is available
+   */
+  public String select(PspFilter filter) {
+    String selected = select();
+    if (selected == null || filter.isAvailable(selected)) {
+      return selected;
+    }
+
+    int n = pspIds.length;
+    switch (mode) {
+      case PRIORITY:
+        for (int i = 1; i < n; i++) {
+          if (filter.isAvailable(pspIds[i])) {
+            return pspIds[i];
+          }
+        }
+        return null;
+      case WEIGHTED:
+        {
+          long total = 0;
+          for (int i = 0; i < n; i++) {
+            if (filter.isAvailable(pspIds[i])) {
+              total += weights[i];
+            }
+          }
+          if (total == 0) {
+            return null;
+          }
+          long target = ThreadLocalRandom.current().nextLong(total);
+          for (int i = 0; i < n; i++) {
+            if (weights[i] > 0 && filter.isAvailable(pspIds[i])) {
+              target -= weights[i];
+              if (target < 0) {
+                return pspIds[i];
+              }
+            }
+          }
+          return null;
+        }
+      case RANDOM:
+      default:
+        {
+          // Start from a random offset so load stays spread across the remaining PSPs
+          int start = ThreadLocalRandom.current().nextInt(n);
+          for (int i = 0; i < n; i++) {
+            String candidate = pspIds[(start + i) % n];
+            if (filter.isAvailable(candidate)) {
+              return candidate;
+            }
+          }
+          return null;
+        }
+    }
+  }
+}
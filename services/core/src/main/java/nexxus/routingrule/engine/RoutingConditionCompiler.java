@@ -0,0 +1,393 @@
+package nexxus.routingrule.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import nexxus.shared.constants.ErrorCode;
+import nexxus.shared.exception.BusinessException;
+import nexxus.transaction.dto.TransactionDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Compiles a routing rule condition JSON into an immutable {@link RoutingPredicate} tree.
+ *
+ * <p>Supported shape (query-builder style):
+ *
+ * <pre>
+ * { "combinator": "and" | "or", "not": false, "rules": [ group | leaf, ... ] }
+ * { "field": "amount", "operator": "&gt;=", "value": 100 }
+ * </pre>
+ *
+ * <p>{@code {"all": [...]}}, {@code {"any": [...]}} and {@code {"not": {...}}} are accepted as
+ * shorthands. An empty object or a group without rules matches every transaction. All literal
+ * values are converted once here so that evaluation does no parsing or allocation.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoutingConditionCompiler {
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Compiles a condition JSON string
+   *
+   * @param conditionJson condition as stored in routing_rules.condition_json
+   * @return compiled predicate
+   * @throws BusinessException with {@link ErrorCode#ROUTING_CONDITION_INVALID} if the condition
+   *     cannot be compiled
+   */
+  public RoutingPredicate compile(String conditionJson) {
+    if (conditionJson == null || conditionJson.isBlank()) {
+      return RoutingPredicate.ALWAYS;
+    }
+    try {
+      JsonNode node = objectMapper.readTree(conditionJson);
+      // Conditions posted as a JSON string end up double encoded
+      if (node.isTextual()) {
+        node = objectMapper.readTree(node.asText());
+      }
+      return compileNode(node);
+    } catch (JsonProcessingException e) {
+      throw invalid("Condition is not valid JSON: " + e.getOriginalMessage());
+    }
+  }
+
+  private RoutingPredicate compileNode(JsonNode node) {
+    if (node == null || node.isNull()) {
+      return RoutingPredicate.ALWAYS;
+    }
+    if (!node.isObject()) {
+      throw invalid("Condition node must be an object");
+    }
+    if (node.has("field")) {
+      return compileLeaf(node);
+    }
+    if (node.has("rules")) {
+      RoutingPredicate group =
+          compileGroup(node.get("rules"), !"or".equalsIgnoreCase(node.path("combinator").asText()));
+      return node.path("not").asBoolean(false) ? negate(group) : group;
+    }
+    if (node.has("all")) {
+      return compileGroup(node.get("all"), true);
+    }
+    if (node.has("any")) {
+      return compileGroup(node.get("any"), false);
+    }
+    if (node.has("not") && node.get("not").isObject()) {
+      return negate(compileNode(node.get("not")));
+    }
+    if (node.isEmpty()) {
+      return RoutingPredicate.ALWAYS;
+    }
+    throw invalid("Unrecognised condition node: " + node);
+  }
+
+  private RoutingPredicate compileGroup(JsonNode rules, boolean and) {
+    if (rules == null || !rules.isArray()) {
+      throw invalid("Condition group rules must be an array");
+    }
+    List<RoutingPredicate> children = new ArrayList<>(rules.size());
+    rules.forEach(child -> children.add(compileNode(child)));
+
+    if (children.isEmpty()) {
+      return RoutingPredicate.ALWAYS;
+    }
+    if (children.size() == 1) {
+      return children.get(0);
+    }
+
+    RoutingPredicate[] predicates = children.toArray(new RoutingPredicate[0]);
+    if (and) {
+      return transaction -> {
+        for (RoutingPredicate predicate : predicates) {
+          if (!predicate.test(transaction)) {
+            return false;
+          }
+        }
+        return true;
+      };
+    }
+    return transaction -> {
+      for (RoutingPredicate predicate : predicates) {
+        if (predicate.test(transaction)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  private RoutingPredicate compileLeaf(JsonNode node) {
+    String fieldName = node.path("field").asText();
+    RoutingField field = RoutingField.fromName(fieldName);
+    if (field == null) {
+      throw invalid("Unknown condition field: " + fieldName);
+    }
+
+    String operator = node.path("operator").asText("=").trim();
+    JsonNode value = node.get("value");
+
+    switch (operator) {
+      case "null":
+      case "isNull":
+        return transaction -> field.resolve(transaction) == null;
+      case "notNull":
+      case "isNotNull":
+        return transaction -> field.resolve(transaction) != null;
+      default:
+        break;
+    }
+
+    return field.isNumeric()
+        ? compileNumeric(field, operator, value)
+        : compileString(field, operator, value);
+  }
+
+  private RoutingPredicate compileNumeric(RoutingField field, String operator, JsonNode value) {
+    switch (operator) {
+      case "=":
+      case "==":
+        {
+          BigDecimal expected = toDecimal(field, value);
+          return transaction -> compare(field, transaction, expected) == 0;
+        }
+      case "!=":
+        {
+          BigDecimal expected = toDecimal(field, value);
+          return transaction -> compare(field, transaction, expected) != 0;
+        }
+      case "<":
+        {
+          BigDecimal expected = toDecimal(field, value);
+          return transaction -> {
+            BigDecimal actual = field.numberValue(transaction);
+            return actual != null && actual.compareTo(expected) < 0;
+          };
+        }
+      case "<=":
+        {
+          BigDecimal expected = toDecimal(field, value);
+          return transaction -> {
+            BigDecimal actual = field.numberValue(transaction);
+            return actual != null && actual.compareTo(expected) <= 0;
+          };
+        }
+      case ">":
+        {
+          BigDecimal expected = toDecimal(field, value);
+          return transaction -> {
+            BigDecimal actual = field.numberValue(transaction);
+            return actual != null && actual.compareTo(expected) > 0;
+          };
+        }
+      case ">=":
+        {
+          BigDecimal expected = toDecimal(field, value);
+          return transaction -> {
+            BigDecimal actual = field.numberValue(transaction);
+            return actual != null && actual.compareTo(expected) >= 0;
+          };
+        }
+      case "between":
+      case "notBetween":
+        {
+          BigDecimal[] bounds = toDecimalArray(field, value);
+          if (bounds.length != 2) {
+            throw invalid("Operator " + operator + " on " + field + " needs exactly two values");
+          }
+          BigDecimal low = bounds[0].min(bounds[1]);
+          BigDecimal high = bounds[0].max(bounds[1]);
+          boolean inside = "between".equals(operator);
+          return transaction -> {
+            BigDecimal actual = field.numberValue(transaction);
+            if (actual == null) {
+              return !inside;
+            }
+            boolean within = actual.compareTo(low) >= 0 && actual.compareTo(high) <= 0;
+            return within == inside;
+          };
+        }
+      case "in":
+      case "notIn":
+        {
+          BigDecimal[] candidates = toDecimalArray(field, value);
+          boolean in = "in".equals(operator);
+          return transaction -> {
+            BigDecimal actual = field.numberValue(transaction);
+            if (actual == null) {
+              return !in;
+            }
+            for (BigDecimal candidate : candidates) {
+              if (actual.compareTo(candidate) == 0) {
+                return in;
+              }
+            }
+            return !in;
+          };
+        }
+      default:
+        throw invalid("Operator " + operator + " is not supported for numeric field " + field);
+    }
+  }
+
+  private RoutingPredicate compileString(RoutingField field, String operator, JsonNode value) {
+    switch (operator) {
+      case "=":
+      case "==":
+        {
+          String expected = toText(field, value);
+          return transaction -> expected.equalsIgnoreCase(field.stringValue(transaction));
+        }
+      case "!=":
+        {
+          String expected = toText(field, value);
+          return transaction -> !expected.equalsIgnoreCase(field.stringValue(transaction));
+        }
+      case "in":
+      case "notIn":
+        {
+          String[] candidates = toTextArray(field, value);
+          boolean in = "in".equals(operator);
+          return transaction -> {
+            String actual = field.stringValue(transaction);
+            if (actual == null) {
+              return !in;
+            }
+            for (String candidate : candidates) {
+              if (candidate.equalsIgnoreCase(actual)) {
+                return in;
+              }
+            }
+            return !in;
+          };
+        }
+      case "contains":
+      case "doesNotContain":
+        {
+          String needle = toText(field, value);
+          boolean contains = "contains".equals(operator);
+          return transaction -> {
+            String actual = field.stringValue(transaction);
+            return actual != null ? containsIgnoreCase(actual, needle) == contains : !contains;
+          };
+        }
+      case "beginsWith":
+      case "doesNotBeginWith":
+        {
+          String prefix = toText(field, value);
+          boolean begins = "beginsWith".equals(operator);
+          return transaction -> {
+            String actual = field.stringValue(transaction);
+            return actual != null
+                ? actual.regionMatches(true, 0, prefix, 0, prefix.length()) == begins
+                : !begins;
+          };
+        }
+      case "endsWith":
+      case "doesNotEndWith":
+        {
+          String suffix = toText(field, value);
+          boolean ends = "endsWith".equals(operator);
+          return transaction -> {
+            String actual = field.stringValue(transaction);
+            if (actual == null) {
+              return !ends;
+            }
+            int offset = actual.length() - suffix.length();
+            return (offset >= 0 && actual.regionMatches(true, offset, suffix, 0, suffix.length()))
+                == ends;
+          };
+        }
+      default:
+        throw invalid("Operator " + operator + " is not supported for text field " + field);
+    }
+  }
+
+  private static int compare(
+      RoutingField field, TransactionDto transaction, BigDecimal expected) {
+    BigDecimal actual = field.numberValue(transaction);
+    return actual == null ? Integer.MIN_VALUE : actual.compareTo(expected);
+  }
+
+  private static boolean containsIgnoreCase(String haystack, String needle) {
+    int max = haystack.length() - needle.length();
+    for (int i = 0; i <= max; i++) {
+      if (haystack.regionMatches(true, i, needle, 0, needle.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static RoutingPredicate negate(RoutingPredicate predicate) {
+    return transaction -> !predicate.test(transaction);
+  }
+
+  private BigDecimal toDecimal(RoutingField field, JsonNode value) {
+    if (value == null || value.isNull()) {
+      throw invalid("Missing value for field " + field);
+    }
+    try {
+      return value.isNumber() ? value.decimalValue() : new BigDecimal(value.asText().trim());
+    } catch (NumberFormatException e) {
+      throw invalid("Value for field " + field + " must be numeric: " + value);
+    }
+  }
+
+  private BigDecimal[] toDecimalArray(RoutingField field, JsonNode value) {
+    List<JsonNode> items = toItems(value);
+    BigDecimal[] result = new BigDecimal[items.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = toDecimal(field, items.get(i));
+    }
+    return result;
+  }
+
+  private String toText(RoutingField field, JsonNode value) {
+    if (value == null || value.isNull() || value.isContainerNode()) {
+      throw invalid("Value for field " + field + " must be a single value");
+    }
+    return value.asText();
+  }
+
+  private String[] toTextArray(RoutingField field, JsonNode value) {
+    List<JsonNode> items = toItems(value);
+    String[] result = new String[items.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = toText(field, items.get(i));
+    }
+    return result;
+  }
+
+  /** Lists may be sent as JSON arrays or as comma separated strings */
+  private List<JsonNode> toItems(JsonNode value) {
+    List<JsonNode> items = new ArrayList<>();
+    if (value == null || value.isNull()) {
+      return items;
+    }
+    if (value.isArray()) {
+      value.forEach(items::add);
+    } else if (value.isTextual()) {
+      for (String part : value.asText().split(",")) {
+        if (!part.isBlank()) {
+          items.add(objectMapper.getNodeFactory().textNode(part.trim()));
+        }
+      }
+    } else {
+      items.add(value);
+    }
+    return items;
+  }
+
+  private static BusinessException invalid(String message) {
+    return new BusinessException(ErrorCode.ROUTING_CONDITION_INVALID, message);
+  }
+}
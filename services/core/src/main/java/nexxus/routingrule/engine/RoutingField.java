@@ -0,0 +1,109 @@
+package nexxus.routingrule.engine;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import nexxus.transaction.dto.AddressDto;
+import nexxus.transaction.dto.PhoneDto;
+import nexxus.transaction.dto.TransactionDto;
+import nexxus.transaction.dto.UserAttributeDto;
+
+/**
+ * Transaction and user attribute fields that can be referenced from a routing rule condition. Each
+ * field resolves its value straight from the DTO getters so evaluation never allocates.
+ */
+public enum RoutingField {
+  AMOUNT(true, TransactionDto::getAmount, "amount"),
+  CURRENCY(false, TransactionDto::getCurrency, "currency"),
+  FLOW_ACTION_ID(false, TransactionDto::getFlowActionId, "flowActionId", "flow_action_id"),
+  USER_ID(false, user(UserAttributeDto::getId), "userId", "userAttribute.id"),
+  FIRST_NAME(false, user(UserAttributeDto::getFirstName), "firstName", "userAttribute.firstName"),
+  LAST_NAME(false, user(UserAttributeDto::getLastName), "lastName", "userAttribute.lastName"),
+  EMAIL(false, user(UserAttributeDto::getEmail), "email", "userAttribute.email"),
+  TAG(false, user(UserAttributeDto::getTag), "tag", "userAttribute.tag"),
+  ACCOUNT_TYPE(
+      false,
+      user(UserAttributeDto::getAccountType),
+      "accountType",
+      "account_type",
+      "userAttribute.accountType"),
+  PHONE_CODE(false, phone(PhoneDto::getCode), "phoneCode", "userAttribute.phone.code"),
+  COUNTRY(false, address(AddressDto::getCountry), "country", "userAttribute.address.country"),
+  STATE(false, address(AddressDto::getState), "state", "userAttribute.address.state"),
+  CITY(false, address(AddressDto::getCity), "city", "userAttribute.address.city"),
+  ZIP_CODE(false, address(AddressDto::getZipCode), "zipCode", "userAttribute.address.zipCode");
+
+  private static final Map<String, RoutingField> BY_NAME = new HashMap<>();
+
+  static {
+    for (RoutingField field : values()) {
+      for (String name : field.names) {
+        BY_NAME.put(name.toLowerCase(), field);
+      }
+    }
+  }
+
+  private final boolean numeric;
+  private final Function<TransactionDto, Object> accessor;
+  private final String[] names;
+
+  RoutingField(boolean numeric, Function<TransactionDto, Object> accessor, String... names) {
+    this.numeric = numeric;
+    this.accessor = accessor;
+    this.names = names;
+  }
+
+  public boolean isNumeric() {
+    return numeric;
+  }
+
+  /** Resolve the raw field value, or null when the value (or one of its parents) is missing */
+  public Object resolve(TransactionDto transaction) {
+    return accessor.apply(transaction);
+  }
+
+  public String stringValue(TransactionDto transaction) {
+    Object value = accessor.apply(transaction);
+    return value instanceof String ? (String) value : null;
+  }
+
+  public BigDecimal numberValue(TransactionDto transaction) {
+    Object value = accessor.apply(transaction);
+    return value instanceof BigDecimal ? (BigDecimal) value : null;
+  }
+
+  /**
+   * Look up a field by the name used in a condition (case-insensitive)
+   *
+   * @param name field name from the condition JSON
+   * @return the matching field, or null when the name is unknown
+   */
+  public static RoutingField fromName(String name) {
+    return name == null ? null : BY_NAME.get(name.toLowerCase());
+  }
+
+  private static Function<TransactionDto, Object> user(Function<UserAttributeDto, String> getter) {
+    return transaction -> {
+      UserAttributeDto user = transaction.getUserAttribute();
+      return user != null ? getter.apply(user) : null;
+    };
+  }
+
+  private static Function<TransactionDto, Object> phone(Function<PhoneDto, String> getter) {
+    return transaction -> {
+      UserAttributeDto user = transaction.getUserAttribute();
+      PhoneDto phone = user != null ? user.getPhone() : null;
+      return phone != null ? getter.apply(phone) : null;
+    };
+  }
+
+  private static Function<TransactionDto, Object> address(Function<AddressDto, String> getter) {
+    return transaction -> {
+      UserAttributeDto user = transaction.getUserAttribute();
+      AddressDto address = user != null ? user.getAddress() : null;
+      return address != null ? getter.apply(address) : null;
+    };
+  }
+}
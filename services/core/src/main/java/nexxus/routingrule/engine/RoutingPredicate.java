@@ -0,0 +1,14 @@
+package nexxus.routingrule.engine;
+
+import nexxus.transaction.dto.TransactionDto;
+
+/** Node of a compiled routing rule condition tree */
+@FunctionalInterface
+public interface RoutingPredicate {
+
+  RoutingPredicate ALWAYS = transaction -> true;
+
+  RoutingPredicate NEVER = transaction -> false;
+
+  boolean test(TransactionDto transaction);
+}
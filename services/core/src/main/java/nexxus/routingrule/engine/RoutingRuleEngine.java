@@ -0,0 +1,135 @@
+package nexxus.routingrule.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.routingrule.cache.RoutingRuleSnapshot;
+import nexxus.routingrule.cache.RoutingRuleSnapshotCache;
+import nexxus.routingrule.entity.RoutingRule;
+import nexxus.routingrule.entity.RoutingRulePsp;
+import nexxus.shared.constants.Status;
+import nexxus.shared.exception.BusinessException;
+import nexxus.transaction.dto.TransactionDto;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory routing rule engine. The latest version of every rule of a brand/environment is
+ * compiled once into a {@link CompiledRuleSet} from the {@link RoutingRuleSnapshotCache} snapshot
+ * and recompiled whenever a write swaps in a new snapshot, so routing a transaction is a pure
+ * in-memory predicate evaluation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoutingRuleEngine {
+
+  private final RoutingRuleSnapshotCache routingRuleSnapshotCache;
+  private final RoutingConditionCompiler conditionCompiler;
+  private final PspSelectionExecutor pspSelectionExecutor;
+
+  private final Map<String, Map<String, CompiledSnapshot>> ruleSets = new ConcurrentHashMap<>();
+
+  /**
+   * Evaluates the transaction against the compiled rules of its brand and environment
+   *
+   * @param transaction transaction to route
+   * @return the matched rule, or empty when no rule (and no default rule) applies
+   */
+  public Mono<CompiledRoutingRule> evaluate(TransactionDto transaction) {
+    return getRuleSet(transaction.getBrandId(), transaction.getEnvironmentId())
+        .flatMap(ruleSet -> Mono.justOrEmpty(ruleSet.match(transaction)));
+  }
+
+  /**
+   * Returns the compiled rule set for a brand and environment, compiling it when the underlying
+   * snapshot has changed
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @return compiled rule set
+   */
+  public Mono<CompiledRuleSet> getRuleSet(String brandId, String environmentId) {
+    return routingRuleSnapshotCache
+        .get(brandId, environmentId)
+        .map(snapshot -> getRuleSet(brandId, environmentId, snapshot));
+  }
+
+  private CompiledRuleSet getRuleSet(
+      String brandId, String environmentId, RoutingRuleSnapshot snapshot) {
+    Map<String, CompiledSnapshot> byEnvironment =
+        ruleSets.computeIfAbsent(brandId, key -> new ConcurrentHashMap<>());
+    CompiledSnapshot cached = byEnvironment.get(environmentId);
+    if (cached != null && cached.source == snapshot) {
+      return cached.ruleSet;
+    }
+
+    // Racing compilations may briefly store an older snapshot; the identity check above
+    // recompiles on the next call
+    CompiledRuleSet ruleSet = compile(brandId, environmentId, snapshot);
+    byEnvironment.put(environmentId, new CompiledSnapshot(snapshot, ruleSet));
+    return ruleSet;
+  }
+
+  private CompiledRuleSet compile(
+      String brandId, String environmentId, RoutingRuleSnapshot snapshot) {
+    List<CompiledRoutingRule> rules = new ArrayList<>(snapshot.getRules().size());
+    for (RoutingRule rule : snapshot.getRules()) {
+      if (rule.getStatus() == Status.ENABLED) {
+        rules.add(compileRule(rule, snapshot.getPsps(rule.getId())));
+      }
+    }
+    CompiledRuleSet ruleSet = new CompiledRuleSet(brandId, environmentId, rules);
+    log.debug(
+        "Compiled {} routing rules for brand {} environment {}",
+        rules.size(),
+        brandId,
+        environmentId);
+    return ruleSet;
+  }
+
+  private CompiledRoutingRule compileRule(RoutingRule rule, List<RoutingRulePsp> psps) {
+    RoutingPredicate predicate;
+    try {
+      predicate =
+          conditionCompiler.compile(
+              rule.getConditionJson() != null ? rule.getConditionJson().asString() : null);
+    } catch (BusinessException e) {
+      // A broken condition must not take routing down for the whole brand
+      log.warn(
+          "Routing rule {} v{} has an invalid condition and will never match: {}",
+          rule.getId(),
+          rule.getVersion(),
+          e.getMessage());
+      predicate = RoutingPredicate.NEVER;
+    }
+
+    return new CompiledRoutingRule(
+        rule.getId(),
+        rule.getVersion(),
+        rule.getName(),
+        rule.getPspSelectionMode(),
+        Boolean.TRUE.equals(rule.getIsDefault()),
+        rule.getCreatedAt(),
+        psps,
+        predicate,
+        pspSelectionExecutor.register(
+            rule.getId(), rule.getVersion(), rule.getPspSelectionMode(), psps));
+  }
+
+  private static final class CompiledSnapshot {
+    private final RoutingRuleSnapshot source;
+    private final CompiledRuleSet ruleSet;
+
+    private CompiledSnapshot(RoutingRuleSnapshot source, CompiledRuleSet ruleSet) {
+      this.source = source;
+      this.ruleSet = ruleSet;
+    }
+  }
+}
@@ -42,6 +42,9 @@ public interface RoutingRuleRepository extends ReactiveCrudRepository<RoutingRul
   @Query("SELECT * FROM routing_rules WHERE id = :id ORDER BY version DESC LIMIT 1")
   Mono<RoutingRule> findLatestVersionById(@Param("id") String id);
 
+  @Query("SELECT * FROM routing_rules WHERE id = :id AND version = :version")
+  Mono<RoutingRule> findByIdAndVersion(@Param("id") String id, @Param("version") Integer version);
+
   @Query(
       "SELECT DISTINCT ON (id) * FROM routing_rules WHERE brand_id = :brandId AND environment_id = :environmentId ORDER BY id, version DESC")
   Flux<RoutingRule> findByBrandIdAndEnvironmentId(
@@ -2,10 +2,13 @@ package nexxus.routingrule.service;
 
 import org.springframework.http.ResponseEntity;
 
+import nexxus.routingrule.dto.RoutingEvaluationDto;
 import nexxus.routingrule.dto.RoutingRuleDto;
 import nexxus.routingrule.dto.UpdateRoutingRuleDto;
+import nexxus.routingrule.engine.PspSelector;
 import nexxus.shared.dto.ApiResponse;
 import nexxus.shared.service.BaseService;
+import nexxus.transaction.dto.TransactionDto;
 
 import reactor.core.publisher.Mono;
 
@@ -22,4 +25,24 @@ public interface RoutingRuleService extends BaseService {
 
   Mono<ResponseEntity<ApiResponse<Object>>> readAllByBrandAndEnvironment(
       String brandId, String environmentId);
+
+  Mono<ResponseEntity<ApiResponse<Object>>> evaluate(TransactionDto transactionDto);
+
+  /**
+   * Resolves the routing rule that applies to a transaction using the in-memory rule engine
+   *
+   * @param transactionDto transaction to route
+   * @return evaluation result; {@code matched} is false when no rule applies
+   */
+  Mono<RoutingEvaluationDto> evaluateRoutingRule(TransactionDto transactionDto);
+
+  /**
+   * Filter accepting the PSPs that are available for the transaction flow action and, when the
+   * transaction carries an amount and currency, are enabled with a currency limit on that flow
+   * action and currency containing the amount. Used both for matched and for pinned routing rules.
+   *
+   * @param transactionDto transaction to route
+   * @return PSP filter for the transaction
+   */
+  Mono<PspSelector.PspFilter> eligiblePsps(TransactionDto transactionDto);
 }
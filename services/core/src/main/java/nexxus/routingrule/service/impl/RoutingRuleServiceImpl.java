@@ -1,6 +1,7 @@
 package nexxus.routingrule.service.impl;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -8,17 +9,26 @@ import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import nexxus.psp.availability.PspAvailability;
+import nexxus.psp.cache.PspEligibilityCache;
+import nexxus.routingrule.cache.RoutingRuleSnapshotCache;
+import nexxus.routingrule.dto.RoutingEvaluationDto;
 import nexxus.routingrule.dto.RoutingRuleDto;
 import nexxus.routingrule.dto.RoutingRulePspDto;
 import nexxus.routingrule.dto.UpdateRoutingRuleDto;
+import nexxus.routingrule.engine.PspSelectionExecutor;
+import nexxus.routingrule.engine.PspSelector;
+import nexxus.routingrule.engine.RoutingRuleEngine;
 import nexxus.routingrule.entity.RoutingRule;
 import nexxus.routingrule.entity.RoutingRulePsp;
 import nexxus.routingrule.repository.RoutingRulePspRepository;
 import nexxus.routingrule.repository.RoutingRuleRepository;
 import nexxus.routingrule.service.RoutingRuleService;
 import nexxus.shared.constants.ErrorCode;
+import nexxus.shared.constants.Status;
 import nexxus.shared.dto.ApiResponse;
 import nexxus.shared.util.ReactiveResponseHandler;
+import nexxus.transaction.dto.TransactionDto;
 
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
@@ -32,6 +42,11 @@ public class RoutingRuleServiceImpl implements RoutingRuleService {
   private final RoutingRulePspRepository pspRepository;
   private final ReactiveResponseHandler responseHandler;
   private final ObjectMapper objectMapper;
+  private final RoutingRuleEngine routingRuleEngine;
+  private final RoutingRuleSnapshotCache routingRuleSnapshotCache;
+  private final PspSelectionExecutor pspSelectionExecutor;
+  private final PspEligibilityCache pspEligibilityCache;
+  private final PspAvailability pspAvailability;
 
   @Override
   public ReactiveResponseHandler getResponseHandler() {
@@ -85,6 +100,9 @@ public class RoutingRuleServiceImpl implements RoutingRuleService {
             routingRule -> {
               return createPsps(
                       routingRule.getId(), routingRule.getVersion(), routingRuleDto.getPsps())
+                  .then(
+                      routingRuleSnapshotCache.refresh(
+                          routingRule.getBrandId(), routingRule.getEnvironmentId()))
                   .then(
                       Mono.defer(
                           () -> {
@@ -144,6 +162,10 @@ public class RoutingRuleServiceImpl implements RoutingRuleService {
 
                         return deletePsps
                             .then(deleteRoutingRule)
+                            .doOnSuccess(unused -> pspSelectionExecutor.evict(id))
+                            .then(
+                                routingRuleSnapshotCache.refresh(
+                                    routingRule.getBrandId(), routingRule.getEnvironmentId()))
                             .then(
                                 successResponse(
                                     null,
@@ -252,6 +274,9 @@ public class RoutingRuleServiceImpl implements RoutingRuleService {
                           updatedRoutingRule.getId(),
                           updatedRoutingRule.getVersion(),
                           updateRoutingRuleDto.getPsps()))
+                  .then(
+                      routingRuleSnapshotCache.refresh(
+                          updatedRoutingRule.getBrandId(), updatedRoutingRule.getEnvironmentId()))
                   .then(
                       Mono.defer(
                           () -> {
@@ -275,15 +300,78 @@ public class RoutingRuleServiceImpl implements RoutingRuleService {
   @Override
   public Mono<ResponseEntity<ApiResponse<Object>>> readAllByBrandAndEnvironment(
       String brandId, String environmentId) {
-    return routingRuleRepository
-        .findByBrandIdAndEnvironmentId(brandId, environmentId)
-        .flatMap(this::buildRoutingRuleWithAssociations)
-        .collectList()
+    return routingRuleSnapshotCache
+        .get(brandId, environmentId)
+        .map(
+            snapshot ->
+                snapshot.getRules().stream()
+                    .map(
+                        rule ->
+                            RoutingRuleDto.fromEntityWithAssociations(
+                                rule, snapshot.getPsps(rule.getId())))
+                    .toList())
         .flatMap(
             routingRules -> successResponse(routingRules, "Routing rules retrieved successfully"))
         .onErrorResume(e -> databaseError(e, "retrieving routing rules"));
   }
 
+  @Override
+  public Mono<ResponseEntity<ApiResponse<Object>>> evaluate(TransactionDto transactionDto) {
+    try {
+      validateNotNull(transactionDto, "Transaction DTO");
+      validateNotBlank(transactionDto.getBrandId(), "Brand ID");
+      validateNotBlank(transactionDto.getEnvironmentId(), "Environment ID");
+
+      return evaluateRoutingRule(transactionDto)
+          .flatMap(
+              evaluation ->
+                  successResponse(
+                      evaluation,
+                      evaluation.isMatched()
+                          ? "Routing rule evaluated successfully"
+                          : "No routing rule matched"))
+          .onErrorResume(e -> databaseError(e, "evaluating routing rules"));
+    } catch (Exception e) {
+      return databaseError(e, "evaluating routing rules");
+    }
+  }
+
+  @Override
+  public Mono<RoutingEvaluationDto> evaluateRoutingRule(TransactionDto transactionDto) {
+    return routingRuleEngine
+        .evaluate(transactionDto)
+        .flatMap(
+            rule ->
+                eligiblePsps(transactionDto)
+                    .map(filter -> RoutingEvaluationDto.fromCompiledRule(rule, filter)))
+        .defaultIfEmpty(RoutingEvaluationDto.noMatch());
+  }
+
+  @Override
+  public Mono<PspSelector.PspFilter> eligiblePsps(TransactionDto transactionDto) {
+    String flowActionId = transactionDto.getFlowActionId();
+    if (flowActionId == null
+        || transactionDto.getAmount() == null
+        || transactionDto.getCurrency() == null) {
+      return Mono.just(pspId -> pspAvailability.isAvailable(pspId, flowActionId));
+    }
+    return pspEligibilityCache
+        .get(transactionDto.getBrandId(), transactionDto.getEnvironmentId())
+        .map(
+            index -> {
+              Predicate<String> eligible =
+                  index.matcher(
+                      Status.ENABLED.getValue(),
+                      flowActionId,
+                      transactionDto.getCurrency(),
+                      transactionDto.getAmount());
+              PspSelector.PspFilter filter =
+                  pspId ->
+                      eligible.test(pspId) && pspAvailability.isAvailable(pspId, flowActionId);
+              return filter;
+            });
+  }
+
   private Mono<RoutingRuleDto> buildRoutingRuleWithAssociations(RoutingRule routingRule) {
     return pspRepository
         .findByRoutingRuleIdAndRoutingRuleVersion(routingRule.getId(), routingRule.getVersion())
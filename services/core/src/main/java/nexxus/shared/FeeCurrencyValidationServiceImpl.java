@@ -4,7 +4,7 @@ import java.util.List;
 
 import org.springframework.stereotype.Service;
 
-import nexxus.flowtarget.repository.FlowTargetRepository;
+import nexxus.flowregistry.FlowRegistry;
 import nexxus.psp.repository.PspRepository;
 import nexxus.psp.repository.SupportedCurrencyRepository;
 import nexxus.shared.service.FeeCurrencyValidationService;
@@ -22,7 +22,7 @@ import reactor.core.publisher.Mono;
 public class FeeCurrencyValidationServiceImpl implements FeeCurrencyValidationService {
 
   private final SupportedCurrencyRepository supportedCurrencyRepository;
-  private final FlowTargetRepository flowTargetRepository;
+  private final FlowRegistry flowRegistry;
   private final PspRepository pspRepository;
 
   @Override
@@ -66,8 +66,9 @@ public class FeeCurrencyValidationServiceImpl implements FeeCurrencyValidationSe
         .findById(pspId)
         .flatMap(
             psp ->
-                flowTargetRepository
-                    .findById(psp.getFlowTargetId())
+                flowRegistry
+                    .graph()
+                    .mapNotNull(graph -> graph.flowTarget(psp.getFlowTargetId()))
                     .map(
                         flowTarget -> {
                           List<String> currencies = flowTarget.getCurrencies();
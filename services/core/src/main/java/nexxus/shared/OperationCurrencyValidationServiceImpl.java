@@ -6,7 +6,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import nexxus.flowtarget.repository.FlowTargetRepository;
+import nexxus.flowregistry.FlowRegistry;
 import nexxus.shared.constants.ErrorCode;
 import nexxus.shared.dto.ApiResponse;
 import nexxus.shared.dto.OperationCurrencyValidationRequest;
@@ -25,7 +25,7 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class OperationCurrencyValidationServiceImpl implements OperationCurrencyValidationService {
 
-  private final FlowTargetRepository flowTargetRepository;
+  private final FlowRegistry flowRegistry;
   private final ReactiveResponseHandler responseHandler;
 
   @Override
@@ -35,8 +35,9 @@ public class OperationCurrencyValidationServiceImpl implements OperationCurrency
       return Mono.just(ValidationResult.success());
     }
 
-    return flowTargetRepository
-        .findById(request.getFlowTargetId())
+    return flowRegistry
+        .graph()
+        .mapNotNull(graph -> graph.flowTarget(request.getFlowTargetId()))
         .map(
             flowTarget -> {
               if (flowTarget == null) {
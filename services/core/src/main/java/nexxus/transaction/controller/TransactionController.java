@@ -1,5 +1,6 @@
 package nexxus.transaction.controller;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -10,6 +11,7 @@ import nexxus.transaction.dto.TransactionLogDto;
 import nexxus.transaction.service.TransactionService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -35,4 +37,13 @@ public class TransactionController extends BaseController {
       @RequestBody TransactionLogDto transactionLogDto) {
     return transactionService.createTransactionLog(transactionLogDto);
   }
+
+  /** Accepts NDJSON or a JSON array of logs; entries are decoded and written as they stream in */
+  @PostMapping(
+      value = "/logs/bulk",
+      consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+  public Mono<ResponseEntity<ApiResponse<Object>>> createTransactionLogs(
+      @RequestBody Flux<TransactionLogDto> transactionLogs) {
+    return transactionService.createTransactionLogs(transactionLogs);
+  }
 }
@@ -0,0 +1,38 @@
+package nexxus.transaction.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionLogBulkResultDto {
+
+  private long received;
+
+  private long inserted;
+
+  private long rejected;
+
+  /** First rejected entries, by position in the request */
+  private List<RejectedLogDto> errors;
+
+  @Getter
+  @Setter
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class RejectedLogDto {
+
+    private long index;
+
+    private String message;
+  }
+}
@@ -28,6 +28,10 @@ public class TransactionLog {
   @Column("transaction_id")
   private String transactionId;
 
+  /** Creation time of the transaction; part of its key and the partition key of the log */
+  @Column("transaction_created_at")
+  private LocalDateTime transactionCreatedAt;
+
   @Column("psp_id")
   private String pspId;
 
@@ -0,0 +1,54 @@
+package nexxus.transaction.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import nexxus.shared.constants.TransactionStatus;
+
+import io.r2dbc.postgresql.codec.Json;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("transaction_outbox")
+public class TransactionOutboxEvent {
+
+  @Id private String id;
+
+  @Column("transaction_id")
+  private String transactionId;
+
+  @Column("brand_id")
+  private String brandId;
+
+  @Column("environment_id")
+  private String environmentId;
+
+  @Column("status")
+  private TransactionStatus status;
+
+  @Column("payload")
+  private Json payload;
+
+  @Column("created_at")
+  private LocalDateTime createdAt;
+
+  @Column("attempts")
+  private Integer attempts;
+
+  @Column("available_at")
+  private LocalDateTime availableAt;
+
+  @Column("processed_at")
+  private LocalDateTime processedAt;
+}
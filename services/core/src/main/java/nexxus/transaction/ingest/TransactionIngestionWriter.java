@@ -0,0 +1,344 @@
+package nexxus.transaction.ingest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import nexxus.transaction.repository.TransactionRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Writes new transactions, optionally in micro-batches.
+ *
+ * <p>By default every write is its own single statement ({@link
+ * TransactionRepository#createTransaction}). With {@code nexxus.transaction.ingestion.batched}
+ * enabled, writes are queued on a lock-free MPSC queue and flushed every {@code batch-size} rows or
+ * {@code flush-interval}, whichever comes first, as one multi-row statement per batch; each caller
+ * completes once the statement of its batch has committed. A batch that fails is replayed row by
+ * row so that one bad write only fails its own caller. When the queue is full, writes fall back to
+ * the single statement path.
+ */
+@Slf4j
+@Component
+public class TransactionIngestionWriter {
+
+  private final TransactionRepository transactionRepository;
+  private final DatabaseClient databaseClient;
+  private final boolean batched;
+  private final int batchSize;
+  private final int queueCapacity;
+  private final int writerConcurrency;
+  private final Duration flushInterval;
+
+  private final Queue<PendingWrite> queue = Queues.<PendingWrite>unboundedMultiproducer().get();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final Sinks.Many<Long> flushRequests = Sinks.many().multicast().directBestEffort();
+  private volatile Disposable subscription;
+
+  public TransactionIngestionWriter(
+      TransactionRepository transactionRepository,
+      DatabaseClient databaseClient,
+      @Value("${nexxus.transaction.ingestion.batched:false}") boolean batched,
+      @Value("${nexxus.transaction.ingestion.batch-size:100}") int batchSize,
+      @Value("${nexxus.transaction.ingestion.queue-capacity:10000}") int queueCapacity,
+      @Value("${nexxus.transaction.ingestion.writer-concurrency:4}") int writerConcurrency,
+      @Value("${nexxus.transaction.ingestion.flush-interval:PT0.005S}") Duration flushInterval) {
+    this.transactionRepository = transactionRepository;
+    this.databaseClient = databaseClient;
+    this.batched = batched;
+    this.batchSize = batchSize;
+    this.queueCapacity = queueCapacity;
+    this.writerConcurrency = writerConcurrency;
+    this.flushInterval = flushInterval;
+  }
+
+  /**
+   * Writes a new transaction
+   *
+   * @param write rows to write
+   * @return completes once the rows are committed
+   */
+  public Mono<Void> write(TransactionWrite write) {
+    if (!batched || subscription == null) {
+      return writeOne(write);
+    }
+    if (queued.incrementAndGet() > queueCapacity) {
+      queued.decrementAndGet();
+      return writeOne(write);
+    }
+    PendingWrite pending = new PendingWrite(write);
+    queue.offer(pending);
+    if (queued.get() >= batchSize) {
+      // Best effort: a dropped request is covered by the next interval flush
+      flushRequests.tryEmitNext(System.nanoTime());
+    }
+    return pending.result.asMono();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!batched || subscription != null) {
+      return;
+    }
+    subscription =
+        Flux.merge(Flux.interval(flushInterval), flushRequests.asFlux())
+            .onBackpressureDrop()
+            // The mapper runs serially, which keeps the queue single-consumer
+            .concatMap(tick -> Flux.fromIterable(drainBatches()), 1)
+            .flatMap(this::flush, writerConcurrency)
+            .subscribe();
+    log.info(
+        "Batched transaction ingestion enabled: batch size {}, flush interval {}",
+        batchSize,
+        flushInterval);
+  }
+
+  @PreDestroy
+  public void stop() {
+    Disposable current = subscription;
+    if (current != null) {
+      current.dispose();
+    }
+    // Anything still queued is written directly rather than left hanging
+    List<List<PendingWrite>> remaining = drainBatches();
+    Flux.fromIterable(remaining).concatMap(this::flushOneByOne).blockLast(Duration.ofSeconds(10));
+  }
+
+  private List<List<PendingWrite>> drainBatches() {
+    List<List<PendingWrite>> batches = new ArrayList<>();
+    List<PendingWrite> batch = new ArrayList<>(batchSize);
+    PendingWrite pending;
+    while ((pending = queue.poll()) != null) {
+      queued.decrementAndGet();
+      batch.add(pending);
+      if (batch.size() == batchSize) {
+        batches.add(batch);
+        batch = new ArrayList<>(batchSize);
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+    return batches;
+  }
+
+  private Mono<Void> flush(List<PendingWrite> batch) {
+    if (batch.size() == 1) {
+      return flushOneByOne(batch);
+    }
+    return insertBatch(batch)
+        .doOnSuccess(done -> batch.forEach(pending -> pending.result.tryEmitEmpty()))
+        .onErrorResume(
+            e -> {
+              log.warn(
+                  "Batched insert of {} transactions failed, retrying one by one: {}",
+                  batch.size(),
+                  e.getMessage());
+              return flushOneByOne(batch);
+            });
+  }
+
+  private Mono<Void> flushOneByOne(List<PendingWrite> batch) {
+    return Flux.fromIterable(batch)
+        .flatMap(
+            pending ->
+                writeOne(pending.write)
+                    .doOnSuccess(done -> pending.result.tryEmitEmpty())
+                    .onErrorResume(
+                        e -> {
+                          pending.result.tryEmitError(e);
+                          return Mono.empty();
+                        }))
+        .then();
+  }
+
+  private Mono<Void> writeOne(TransactionWrite write) {
+    return transactionRepository.createTransaction(
+        write.getId(),
+        write.getAmount(),
+        write.getCurrency(),
+        write.getBrandId(),
+        write.getEnvironmentId(),
+        write.getFlowActionId(),
+        write.getRoutingRuleId(),
+        write.getUserAttribute(),
+        write.getStatus(),
+        write.getCrmCustomerId(),
+        write.getCustomerName(),
+        write.getEmail(),
+        write.getTag(),
+        write.getCountry(),
+        write.getAccountType(),
+        write.getLogId(),
+        write.getPspId(),
+        write.getLog(),
+        write.getOutboxId(),
+        write.getOutboxPayload(),
+        write.getCreatedAt());
+  }
+
+  /**
+   * Same statement as {@link TransactionRepository#createTransaction} with one VALUES row per
+   * write. Customers repeated within the batch are skipped by ON CONFLICT DO NOTHING.
+   */
+  private Mono<Void> insertBatch(List<PendingWrite> batch) {
+    StringBuilder crm =
+        new StringBuilder(
+            "WITH crm AS (INSERT INTO crm_customer (brand_id, environment_id, crm_customer_id,"
+                + " name, email, tag, country, account_type, custom_attributes, created_at)"
+                + " VALUES ");
+    StringBuilder transactions =
+        new StringBuilder(
+            "), txn AS (INSERT INTO transactions (id, amount, currency, brand_id, environment_id,"
+                + " flow_action_id, routing_rule_id, user_attribute, status, created_at) VALUES ");
+    StringBuilder logs =
+        new StringBuilder(
+            "), txn_log AS (INSERT INTO transaction_logs (id, transaction_id,"
+                + " transaction_created_at, psp_id, webhook_id, log, created_at) VALUES ");
+    StringBuilder outbox =
+        new StringBuilder(
+            ") INSERT INTO transaction_outbox (id, transaction_id, brand_id, environment_id,"
+                + " status, payload, created_at) VALUES ");
+    for (int i = 0; i < batch.size(); i++) {
+      String separator = i > 0 ? ", " : "";
+      String n = Integer.toString(i);
+      crm.append(separator)
+          .append("(:brandId")
+          .append(n)
+          .append(", :environmentId")
+          .append(n)
+          .append(", :crmCustomerId")
+          .append(n)
+          .append(", :customerName")
+          .append(n)
+          .append(", :email")
+          .append(n)
+          .append(", :tag")
+          .append(n)
+          .append(", :country")
+          .append(n)
+          .append(", :accountType")
+          .append(n)
+          .append(", :userAttribute")
+          .append(n)
+          .append("::jsonb, :createdAt")
+          .append(n)
+          .append(')');
+      transactions
+          .append(separator)
+          .append("(:id")
+          .append(n)
+          .append(", :amount")
+          .append(n)
+          .append(", :currency")
+          .append(n)
+          .append(", :brandId")
+          .append(n)
+          .append(", :environmentId")
+          .append(n)
+          .append(", :flowActionId")
+          .append(n)
+          .append(", :routingRuleId")
+          .append(n)
+          .append(", :userAttribute")
+          .append(n)
+          .append("::jsonb, :status")
+          .append(n)
+          .append("::\"transaction_status\", :createdAt")
+          .append(n)
+          .append(')');
+      logs.append(separator)
+          .append("(:logId")
+          .append(n)
+          .append(", :id")
+          .append(n)
+          .append(", :createdAt")
+          .append(n)
+          .append(", :pspId")
+          .append(n)
+          .append(", NULL, :log")
+          .append(n)
+          .append("::jsonb, :createdAt")
+          .append(n)
+          .append(')');
+      outbox
+          .append(separator)
+          .append("(:outboxId")
+          .append(n)
+          .append(", :id")
+          .append(n)
+          .append(", :brandId")
+          .append(n)
+          .append(", :environmentId")
+          .append(n)
+          .append(", :status")
+          .append(n)
+          .append("::\"transaction_status\", :outboxPayload")
+          .append(n)
+          .append("::jsonb, :createdAt")
+          .append(n)
+          .append(')');
+    }
+    crm.append(" ON CONFLICT (brand_id, environment_id, crm_customer_id) DO NOTHING");
+    String sql = crm.append(transactions).append(logs).append(outbox).toString();
+
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+    for (int i = 0; i < batch.size(); i++) {
+      TransactionWrite write = batch.get(i).write;
+      String n = Integer.toString(i);
+      spec = bind(spec, "id" + n, write.getId(), String.class);
+      spec = bind(spec, "amount" + n, write.getAmount(), BigDecimal.class);
+      spec = bind(spec, "currency" + n, write.getCurrency(), String.class);
+      spec = bind(spec, "brandId" + n, write.getBrandId(), String.class);
+      spec = bind(spec, "environmentId" + n, write.getEnvironmentId(), String.class);
+      spec = bind(spec, "flowActionId" + n, write.getFlowActionId(), String.class);
+      spec = bind(spec, "routingRuleId" + n, write.getRoutingRuleId(), String.class);
+      spec = bind(spec, "userAttribute" + n, write.getUserAttribute(), String.class);
+      spec = bind(spec, "status" + n, write.getStatus().getValue(), String.class);
+      spec = bind(spec, "crmCustomerId" + n, write.getCrmCustomerId(), String.class);
+      spec = bind(spec, "customerName" + n, write.getCustomerName(), String.class);
+      spec = bind(spec, "email" + n, write.getEmail(), String.class);
+      spec = bind(spec, "tag" + n, write.getTag(), String.class);
+      spec = bind(spec, "country" + n, write.getCountry(), String.class);
+      spec = bind(spec, "accountType" + n, write.getAccountType(), String.class);
+      spec = bind(spec, "logId" + n, write.getLogId(), String.class);
+      spec = bind(spec, "pspId" + n, write.getPspId(), String.class);
+      spec = bind(spec, "log" + n, write.getLog(), String.class);
+      spec = bind(spec, "outboxId" + n, write.getOutboxId(), String.class);
+      spec = bind(spec, "outboxPayload" + n, write.getOutboxPayload(), String.class);
+      spec = bind(spec, "createdAt" + n, write.getCreatedAt(), LocalDateTime.class);
+    }
+    return spec.then();
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bind(
+      DatabaseClient.GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+    return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+  }
+
+  private static final class PendingWrite {
+    private final TransactionWrite write;
+    private final Sinks.One<Void> result = Sinks.one();
+
+    private PendingWrite(TransactionWrite write) {
+      this.write = write;
+    }
+  }
+}
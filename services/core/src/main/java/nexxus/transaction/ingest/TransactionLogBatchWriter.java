@@ -0,0 +1,119 @@
+package nexxus.transaction.ingest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import nexxus.transaction.entity.TransactionLog;
+import nexxus.transaction.partition.CreatedAtWindow;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/** Inserts transaction logs as one multi-row statement per batch */
+@Component
+@RequiredArgsConstructor
+public class TransactionLogBatchWriter {
+
+  private static final String INSERT_PREFIX =
+      "WITH v (id, transaction_id, psp_id, webhook_id, log, created_at, since, until, outbox_id,"
+          + " status, outbox_payload) AS (VALUES ";
+
+  /**
+   * Logs of unknown transactions find no match and are left out, together with their event. Each
+   * transaction is searched in the {@link CreatedAtWindow} of its ID only, so the partitions
+   * outside it are pruned.
+   */
+  private static final String INSERT_SUFFIX =
+      "), matched AS (SELECT v.*, t.created_at AS transaction_created_at, t.brand_id,"
+          + " t.environment_id FROM v JOIN transactions t ON t.id = v.transaction_id"
+          + " AND t.created_at >= v.since AND t.created_at < v.until),"
+          + " outbox AS (INSERT INTO transaction_outbox (id, transaction_id, brand_id,"
+          + " environment_id, status, payload, created_at) SELECT outbox_id, transaction_id,"
+          + " brand_id, environment_id, status::\"transaction_status\", outbox_payload::jsonb"
+          + " || jsonb_build_object('brandId', brand_id, 'environmentId', environment_id),"
+          + " created_at FROM matched WHERE outbox_id IS NOT NULL)"
+          + " INSERT INTO transaction_logs (id, transaction_id, transaction_created_at, psp_id,"
+          + " webhook_id, log, created_at) SELECT id, transaction_id, transaction_created_at,"
+          + " psp_id, webhook_id, log, created_at FROM matched RETURNING id";
+
+  private final DatabaseClient databaseClient;
+
+  /**
+   * Inserts the logs in a single statement, together with the creation time of their transaction
+   * that the foreign key requires and the outbox events of the status changes they report. Logs of
+   * transactions that do not exist are skipped; a failure writes none of the rows.
+   *
+   * @param logs logs to insert
+   * @return IDs of the logs written, once the rows are committed
+   */
+  public Mono<Set<String>> insert(List<TransactionLogWrite> logs) {
+    if (logs.isEmpty()) {
+      return Mono.just(Set.of());
+    }
+    StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+    for (int i = 0; i < logs.size(); i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      sql.append("(:id")
+          .append(i)
+          .append(", :transactionId")
+          .append(i)
+          .append(", :pspId")
+          .append(i)
+          .append(", :webhookId")
+          .append(i)
+          .append(", :log")
+          .append(i)
+          .append("::jsonb, :createdAt")
+          .append(i)
+          .append(", :since")
+          .append(i)
+          .append(", :until")
+          .append(i)
+          .append(", :outboxId")
+          .append(i)
+          .append(", :status")
+          .append(i)
+          .append(", :outboxPayload")
+          .append(i)
+          .append(')');
+    }
+    sql.append(INSERT_SUFFIX);
+
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+    for (int i = 0; i < logs.size(); i++) {
+      TransactionLogWrite write = logs.get(i);
+      TransactionLog entry = write.getLog();
+      CreatedAtWindow window = CreatedAtWindow.of(entry.getTransactionId());
+      spec =
+          spec.bind("id" + i, entry.getId())
+              .bind("transactionId" + i, entry.getTransactionId())
+              .bind("log" + i, entry.getLog().asString())
+              .bind("createdAt" + i, entry.getCreatedAt())
+              .bind("since" + i, window.since())
+              .bind("until" + i, window.until());
+      spec =
+          entry.getPspId() != null
+              ? spec.bind("pspId" + i, entry.getPspId())
+              : spec.bindNull("pspId" + i, String.class);
+      spec =
+          entry.getWebhookId() != null
+              ? spec.bind("webhookId" + i, entry.getWebhookId())
+              : spec.bindNull("webhookId" + i, String.class);
+      spec =
+          write.getStatus() != null
+              ? spec.bind("outboxId" + i, write.getOutboxId())
+                  .bind("status" + i, write.getStatus().getValue())
+                  .bind("outboxPayload" + i, write.getOutboxPayload())
+              : spec.bindNull("outboxId" + i, String.class)
+                  .bindNull("status" + i, String.class)
+                  .bindNull("outboxPayload" + i, String.class);
+    }
+    return spec.map(row -> row.get("id", String.class)).all().collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,24 @@
+package nexxus.transaction.ingest;
+
+import nexxus.shared.constants.TransactionStatus;
+import nexxus.transaction.entity.TransactionLog;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Rows written for a transaction log: the log and, when it reports a new status of the
+ * transaction, the outbox event of that status change
+ */
+@Getter
+@Builder
+public class TransactionLogWrite {
+
+  private final TransactionLog log;
+
+  /** Status carried by the log, null when it reports none and no event is written */
+  private final TransactionStatus status;
+
+  private final String outboxId;
+  private final String outboxPayload;
+}
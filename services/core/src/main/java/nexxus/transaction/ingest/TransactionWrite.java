@@ -0,0 +1,40 @@
+package nexxus.transaction.ingest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import nexxus.shared.constants.TransactionStatus;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Rows written when a transaction is created: the CRM customer (inserted if missing), the
+ * transaction, its initial log and its outbox event
+ */
+@Getter
+@Builder
+public class TransactionWrite {
+
+  private final String id;
+  private final BigDecimal amount;
+  private final String currency;
+  private final String brandId;
+  private final String environmentId;
+  private final String flowActionId;
+  private final String routingRuleId;
+  private final String userAttribute;
+  private final TransactionStatus status;
+  private final String crmCustomerId;
+  private final String customerName;
+  private final String email;
+  private final String tag;
+  private final String country;
+  private final String accountType;
+  private final String logId;
+  private final String pspId;
+  private final String log;
+  private final String outboxId;
+  private final String outboxPayload;
+  private final LocalDateTime createdAt;
+}
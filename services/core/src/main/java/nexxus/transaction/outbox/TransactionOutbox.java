@@ -0,0 +1,81 @@
+package nexxus.transaction.outbox;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import nexxus.shared.constants.TransactionStatus;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds the transaction status change events stored in {@code transaction_outbox}. Callers write
+ * the event in the same statement as the change, so an event exists if and only if the change was
+ * committed; {@link TransactionOutboxRelay} publishes it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionOutbox {
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Builds the JSON payload of a status change event
+   *
+   * @param transactionId transaction ID
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @param status new status of the transaction
+   * @param transaction transaction representation included in the event
+   * @param now time of the change
+   * @return event payload
+   */
+  public String payload(
+      String transactionId,
+      String brandId,
+      String environmentId,
+      TransactionStatus status,
+      Object transaction,
+      LocalDateTime now)
+      throws JsonProcessingException {
+    Map<String, Object> event = event(transactionId, status, now);
+    event.put("brandId", brandId);
+    event.put("environmentId", environmentId);
+    event.put("transaction", transaction);
+    return objectMapper.writeValueAsString(event);
+  }
+
+  /**
+   * Builds the JSON payload of a status change reported by a transaction log. The caller does not
+   * know the brand and environment of the transaction; the statement writing the event adds them
+   * from the transaction row.
+   *
+   * @param transactionId transaction ID
+   * @param status status carried by the log
+   * @param log log entry included in the event
+   * @param now time of the change
+   * @return event payload, without {@code brandId} and {@code environmentId}
+   */
+  public String logPayload(
+      String transactionId, TransactionStatus status, Object log, LocalDateTime now)
+      throws JsonProcessingException {
+    Map<String, Object> event = event(transactionId, status, now);
+    event.put("log", log);
+    return objectMapper.writeValueAsString(event);
+  }
+
+  private static Map<String, Object> event(
+      String transactionId, TransactionStatus status, LocalDateTime now) {
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("event", "TRANSACTION_" + status.getValue());
+    event.put("transactionId", transactionId);
+    event.put("status", status.getValue());
+    event.put("timestamp", now.toString());
+    return event;
+  }
+}
@@ -0,0 +1,272 @@
+package nexxus.transaction.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import nexxus.shared.constants.TransactionStatus;
+import nexxus.shared.constants.WebhookStatusType;
+import nexxus.transaction.entity.TransactionOutboxEvent;
+import nexxus.transaction.repository.TransactionOutboxRepository;
+import nexxus.webhook.dispatch.WebhookDispatcher;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Drains {@code transaction_outbox} into the webhook dispatcher with at-least-once delivery.
+ *
+ * <p>Each batch is claimed with {@code FOR UPDATE SKIP LOCKED} by a single statement that leases
+ * the rows to this relay and counts the attempt, so any number of replicas can relay concurrently
+ * and every event is claimed by one of them at a time. A row is marked processed only once the
+ * dispatcher reports that every webhook delivery of the event is final. A failed event is retried
+ * with exponential backoff, and one that is claimed but never confirmed, because the instance
+ * stopped, is claimed again when its lease ends. Events that used up their attempts stay in the
+ * table unprocessed. Processed rows are purged after a retention period.
+ *
+ * <p>Deliveries run in the background, at most {@code nexxus.outbox.max-in-flight} at a time, so a
+ * slow endpoint does not hold back the claiming of later batches. The relay polls on a fixed
+ * interval and is also woken up right after a local append commits, which keeps publishing
+ * latency low without touching the request path.
+ */
+@Slf4j
+@Component
+public class TransactionOutboxRelay {
+
+  private static final Duration MIN_RETRY_DELAY = Duration.ofSeconds(5);
+  private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(30);
+  private static final Duration PURGE_INTERVAL = Duration.ofMinutes(10);
+
+  private final TransactionOutboxRepository transactionOutboxRepository;
+  private final WebhookDispatcher webhookDispatcher;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final int batchSize;
+  private final int maxInFlight;
+  private final int maxAttempts;
+  private final Duration pollInterval;
+  private final Duration lease;
+  private final Duration retention;
+
+  private final Sinks.Many<Long> wakeUps = Sinks.many().multicast().directBestEffort();
+  private final Queue<String> processedIds = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile LocalDateTime nextPurgeAt = LocalDateTime.MIN;
+  private volatile Disposable subscription;
+
+  public TransactionOutboxRelay(
+      TransactionOutboxRepository transactionOutboxRepository,
+      WebhookDispatcher webhookDispatcher,
+      ObjectMapper objectMapper,
+      @Value("${nexxus.outbox.enabled:true}") boolean enabled,
+      @Value("${nexxus.outbox.batch-size:100}") int batchSize,
+      @Value("${nexxus.outbox.max-in-flight:1000}") int maxInFlight,
+      @Value("${nexxus.outbox.max-attempts:10}") int maxAttempts,
+      @Value("${nexxus.outbox.poll-interval:PT1S}") Duration pollInterval,
+      @Value("${nexxus.outbox.lease:PT10M}") Duration lease,
+      @Value("${nexxus.outbox.retention:P1D}") Duration retention) {
+    this.transactionOutboxRepository = transactionOutboxRepository;
+    this.webhookDispatcher = webhookDispatcher;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.maxInFlight = Math.max(batchSize, maxInFlight);
+    this.maxAttempts = maxAttempts;
+    this.pollInterval = pollInterval;
+    this.lease = lease;
+    this.retention = retention;
+  }
+
+  /** Triggers a drain without waiting for the next poll. Meant to be called after a commit. */
+  public void wakeUp() {
+    // Best effort: a dropped wake-up is covered by the next poll
+    wakeUps.tryEmitNext(System.nanoTime());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled || subscription != null) {
+      return;
+    }
+    subscription =
+        Flux.merge(Flux.interval(pollInterval), wakeUps.asFlux())
+            .onBackpressureDrop()
+            .concatMap(tick -> drain(), 1)
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    Disposable current = subscription;
+    if (current != null) {
+      current.dispose();
+    }
+  }
+
+  /**
+   * Records the confirmed events, then claims batches until the outbox holds less than a full batch
+   * or enough events are in flight
+   */
+  private Mono<Void> drain() {
+    return Mono.defer(this::markProcessed)
+        .then(
+            Mono.defer(this::relayBatch)
+                .expand(claimed -> claimed >= batchSize ? relayBatch() : Mono.empty()))
+        .then(Mono.defer(this::purge))
+        .onErrorResume(
+            e -> {
+              log.warn("Failed to relay transaction outbox events: {}", e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  private Mono<Integer> relayBatch() {
+    int limit = Math.min(batchSize, maxInFlight - inFlight.get());
+    if (limit <= 0) {
+      return Mono.just(0);
+    }
+    LocalDateTime now = LocalDateTime.now();
+    return transactionOutboxRepository
+        .claimBatch(now, now.plus(lease), maxAttempts, limit)
+        .doOnNext(this::relay)
+        .count()
+        .map(Long::intValue);
+  }
+
+  private void relay(TransactionOutboxEvent event) {
+    inFlight.incrementAndGet();
+    publish(event)
+        .doOnSuccess(unused -> processedIds.add(event.getId()))
+        .onErrorResume(e -> scheduleRetry(event, e))
+        .doFinally(signal -> inFlight.decrementAndGet())
+        .subscribe();
+  }
+
+  private Mono<Void> publish(TransactionOutboxEvent event) {
+    JsonNode payload;
+    try {
+      payload = objectMapper.readTree(event.getPayload().asString());
+    } catch (JsonProcessingException e) {
+      // Would fail the same way on every attempt
+      log.warn(
+          "Dropping malformed transaction outbox event {}: {}", event.getId(), e.getMessage());
+      return Mono.empty();
+    }
+    return webhookDispatcher.dispatchAndAwait(
+        event.getBrandId(), event.getEnvironmentId(), statusType(event.getStatus()), payload);
+  }
+
+  private Mono<Void> scheduleRetry(TransactionOutboxEvent event, Throwable e) {
+    int attempts = event.getAttempts() != null ? event.getAttempts() : 1;
+    if (attempts >= maxAttempts) {
+      log.error(
+          "Giving up transaction outbox event {} after {} attempts: {}",
+          event.getId(),
+          attempts,
+          e.getMessage());
+    } else {
+      log.warn(
+          "Failed to relay transaction outbox event {}, attempt {}: {}",
+          event.getId(),
+          attempts,
+          e.getMessage());
+    }
+    return transactionOutboxRepository
+        .scheduleRetry(event.getId(), LocalDateTime.now().plus(retryDelay(attempts)))
+        .then()
+        // The lease still expires, so the event is retried anyway
+        .onErrorResume(failure -> Mono.empty());
+  }
+
+  /**
+   * Marks the events confirmed since the last drain as processed, in one statement per batch. An
+   * event whose mark is lost is delivered again once its lease ends.
+   */
+  private Mono<Void> markProcessed() {
+    List<List<String>> batches = new ArrayList<>();
+    List<String> batch = new ArrayList<>();
+    for (String id = processedIds.poll(); id != null; id = processedIds.poll()) {
+      batch.add(id);
+      if (batch.size() == batchSize) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+    return Flux.fromIterable(batches).concatMap(this::markProcessed).then();
+  }
+
+  private Mono<Void> markProcessed(List<String> ids) {
+    return transactionOutboxRepository
+        .markProcessed(ids.toArray(String[]::new), LocalDateTime.now())
+        .then()
+        .onErrorResume(
+            e -> {
+              log.warn(
+                  "Failed to mark {} transaction outbox events processed, they will be delivered"
+                      + " again: {}",
+                  ids.size(),
+                  e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  /** Deletes processed rows past the retention, at most once per purge interval */
+  private Mono<Void> purge() {
+    LocalDateTime now = LocalDateTime.now();
+    if (now.isBefore(nextPurgeAt)) {
+      return Mono.empty();
+    }
+    nextPurgeAt = now.plus(PURGE_INTERVAL);
+    return transactionOutboxRepository
+        .deleteProcessedBefore(now.minus(retention))
+        .doOnNext(
+            deleted -> {
+              if (deleted > 0) {
+                log.debug("Purged {} processed transaction outbox events", deleted);
+              }
+            })
+        .then();
+  }
+
+  /** Exponential backoff from {@link #MIN_RETRY_DELAY}, capped at {@link #MAX_RETRY_DELAY} */
+  private static Duration retryDelay(int attempts) {
+    Duration delay = MIN_RETRY_DELAY.multipliedBy(1L << Math.min(attempts - 1, 20));
+    return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+  }
+
+  private static WebhookStatusType statusType(TransactionStatus status) {
+    if (status == null) {
+      return WebhookStatusType.NOTIFICATION;
+    }
+    switch (status) {
+      case COMPLETED:
+        return WebhookStatusType.SUCCESS;
+      case FAILED:
+      case CANCELLED:
+      case ABANDONED:
+        return WebhookStatusType.FAILURE;
+      default:
+        return WebhookStatusType.NOTIFICATION;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package nexxus.transaction.partition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import nexxus.shared.util.IdGenerator;
+
+/**
+ * Range the {@code created_at} of a transaction falls in, derived from its ID. Bounding a lookup
+ * by ID with it lets Postgres prune the monthly partitions instead of probing each of them.
+ *
+ * @param since inclusive lower bound
+ * @param until exclusive upper bound
+ */
+public record CreatedAtWindow(LocalDateTime since, LocalDateTime until) {
+
+  /**
+   * Margin around the ID timestamp; the ID is generated just before {@code created_at} is taken,
+   * and both are read from the same clock
+   */
+  private static final Duration SKEW = Duration.ofMinutes(1);
+
+  /** IDs issued before they carried a timestamp may belong to any partition */
+  private static final CreatedAtWindow UNBOUNDED =
+      new CreatedAtWindow(LocalDateTime.of(1970, 1, 1, 0, 0), LocalDateTime.of(9999, 1, 1, 0, 0));
+
+  /**
+   * Window of the transaction with the given ID. {@code created_at} is a local time of the
+   * application, so the ID timestamp is converted in the same zone.
+   *
+   * @param transactionId transaction ID
+   * @return a window of a few minutes for time-ordered IDs, an unbounded one otherwise
+   */
+  public static CreatedAtWindow of(String transactionId) {
+    return IdGenerator.extractTimestamp(transactionId)
+        .map(timestamp -> LocalDateTime.ofInstant(timestamp, ZoneId.systemDefault()))
+        .map(createdAt -> new CreatedAtWindow(createdAt.minus(SKEW), createdAt.plus(SKEW)))
+        .orElse(UNBOUNDED);
+  }
+}
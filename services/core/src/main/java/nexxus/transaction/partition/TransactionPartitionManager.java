@@ -0,0 +1,170 @@
+package nexxus.transaction.partition;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} and {@code transaction_logs} in shape.
+ *
+ * <p>Partitions are created {@code months-ahead} months in advance, so inserts never hit a missing
+ * range. When {@code retention-months} is set, partitions that ended more than that many months ago
+ * are detached and moved to the {@code archive} schema, where they can be exported and dropped
+ * without touching the live tables. The DDL runs in the {@code create_monthly_partition} and {@code
+ * detach_monthly_partitions} functions of the V014 migration, which serialize concurrent runs from
+ * several instances with an advisory lock. Logs are partitioned on the creation time of their
+ * transaction and reference it, so they are detached before the transactions of the same months;
+ * the function drops the foreign key an archived logs partition keeps, which would otherwise block
+ * detaching the transactions.
+ *
+ * <p>There is no default partition, so a row outside the existing ranges is rejected. When the
+ * manager is disabled, partitions must be created by other means, and the application refuses to
+ * start unless the current and the next month are covered.
+ */
+@Slf4j
+@Component
+public class TransactionPartitionManager {
+
+  /** Referencing table first, so detaching never leaves a log without its transaction */
+  private static final List<String> PARTITIONED_TABLES =
+      List.of("transaction_logs", "transactions");
+
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private final DatabaseClient databaseClient;
+  private final boolean enabled;
+  private final int monthsAhead;
+  private final int retentionMonths;
+  private final Duration checkInterval;
+
+  private volatile Disposable subscription;
+
+  public TransactionPartitionManager(
+      DatabaseClient databaseClient,
+      @Value("${nexxus.transaction.partition.enabled:true}") boolean enabled,
+      @Value("${nexxus.transaction.partition.months-ahead:3}") int monthsAhead,
+      @Value("${nexxus.transaction.partition.retention-months:0}") int retentionMonths,
+      @Value("${nexxus.transaction.partition.check-interval:PT6H}") Duration checkInterval) {
+    this.databaseClient = databaseClient;
+    this.enabled = enabled;
+    this.monthsAhead = monthsAhead;
+    this.retentionMonths = retentionMonths;
+    this.checkInterval = checkInterval;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      checkPartitions(LocalDate.now().withDayOfMonth(1));
+      return;
+    }
+    if (subscription != null) {
+      return;
+    }
+    subscription =
+        Flux.interval(Duration.ZERO, checkInterval).concatMap(tick -> maintain()).subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    Disposable current = subscription;
+    if (current != null) {
+      current.dispose();
+    }
+  }
+
+  /**
+   * Creates the upcoming partitions and detaches the expired ones. Never fails; errors are logged
+   * and retried on the next run.
+   *
+   * @return completes once maintenance is done
+   */
+  public Mono<Void> maintain() {
+    LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+    return createPartitions(currentMonth)
+        .then(detachExpiredPartitions(currentMonth))
+        .onErrorResume(
+            e -> {
+              log.error("Transaction partition maintenance failed: {}", e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  /**
+   * Fails startup when the current or the next month has no partition, since every insert in that
+   * month would be rejected
+   */
+  private void checkPartitions(LocalDate currentMonth) {
+    List<String> missing =
+        Flux.fromIterable(PARTITIONED_TABLES)
+            .concatMap(
+                table ->
+                    Flux.just(currentMonth, currentMonth.plusMonths(1))
+                        .map(month -> table + "_p" + PARTITION_SUFFIX.format(month)))
+            .concatMap(
+                partition ->
+                    databaseClient
+                        .sql("SELECT to_regclass(:partition) IS NOT NULL")
+                        .bind("partition", partition)
+                        .map(row -> row.get(0, Boolean.class))
+                        .one()
+                        .filter(exists -> !exists)
+                        .map(exists -> partition))
+            .collectList()
+            .block();
+    if (missing != null && !missing.isEmpty()) {
+      throw new IllegalStateException(
+          "Transaction partition maintenance is disabled and partitions "
+              + missing
+              + " are missing; enable nexxus.transaction.partition.enabled or create them");
+    }
+  }
+
+  private Mono<Void> createPartitions(LocalDate currentMonth) {
+    return Flux.fromIterable(PARTITIONED_TABLES)
+        .concatMap(
+            table ->
+                Flux.range(0, monthsAhead + 1)
+                    .concatMap(
+                        offset ->
+                            databaseClient
+                                .sql("SELECT create_monthly_partition(:table, :month)")
+                                .bind("table", table)
+                                .bind("month", currentMonth.plusMonths(offset))
+                                .map(row -> row.get(0, String.class))
+                                .one()))
+        .doOnNext(partition -> log.debug("Partition {} is in place", partition))
+        .then();
+  }
+
+  private Mono<Void> detachExpiredPartitions(LocalDate currentMonth) {
+    if (retentionMonths <= 0) {
+      return Mono.empty();
+    }
+    LocalDate cutoff = currentMonth.minusMonths(retentionMonths);
+    return Flux.fromIterable(PARTITIONED_TABLES)
+        .concatMap(
+            table ->
+                databaseClient
+                    .sql("SELECT detach_monthly_partitions(:table, :cutoff)")
+                    .bind("table", table)
+                    .bind("cutoff", cutoff)
+                    .map(row -> row.get(0, String.class))
+                    .all())
+        .doOnNext(partition -> log.info("Detached partition {} to the archive schema", partition))
+        .then();
+  }
+}
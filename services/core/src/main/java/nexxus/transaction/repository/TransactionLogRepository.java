@@ -2,12 +2,12 @@ package nexxus.transaction.repository;
 
 import java.time.LocalDateTime;
 
-import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 
+import nexxus.shared.constants.TransactionStatus;
 import nexxus.transaction.entity.TransactionLog;
 
 import reactor.core.publisher.Flux;
@@ -16,16 +16,37 @@ import reactor.core.publisher.Mono;
 @Repository
 public interface TransactionLogRepository extends ReactiveCrudRepository<TransactionLog, String> {
 
-  Flux<TransactionLog> findByTransactionId(String transactionId);
+  /**
+   * Logs of a transaction. Logs are partitioned on the creation time of their transaction, so
+   * passing it restricts the scan to a single partition.
+   */
+  @Query(
+      "SELECT * FROM transaction_logs WHERE transaction_id = :transactionId AND transaction_created_at = :transactionCreatedAt ORDER BY created_at")
+  Flux<TransactionLog> findByTransactionId(
+      @Param("transactionId") String transactionId,
+      @Param("transactionCreatedAt") LocalDateTime transactionCreatedAt);
 
-  @Modifying
+  /**
+   * Inserts a log with the creation time of its transaction, which the foreign key requires, and,
+   * when {@code outboxId} is set, the outbox event of the status change it reports. Both rows are
+   * written by one statement, so the event exists if and only if the log does. The transaction is
+   * looked up within {@code [since, until)} only, see {@link
+   * nexxus.transaction.partition.CreatedAtWindow}.
+   *
+   * @return number of logs inserted, 0 if the transaction does not exist
+   */
   @Query(
-      "INSERT INTO transaction_logs (id, transaction_id, psp_id, webhook_id, log, created_at) VALUES (:id, :transactionId, :pspId, :webhookId, :log::jsonb, :createdAt)")
-  Mono<Void> insertTransactionLog(
+      "WITH t AS (SELECT id, created_at, brand_id, environment_id FROM transactions WHERE id = :transactionId AND created_at >= :since AND created_at < :until), log AS (INSERT INTO transaction_logs (id, transaction_id, transaction_created_at, psp_id, webhook_id, log, created_at) SELECT :id, t.id, t.created_at, :pspId, :webhookId, :log::jsonb, :createdAt FROM t RETURNING id), outbox AS (INSERT INTO transaction_outbox (id, transaction_id, brand_id, environment_id, status, payload, created_at) SELECT :outboxId, t.id, t.brand_id, t.environment_id, :status::\"transaction_status\", :outboxPayload::jsonb || jsonb_build_object('brandId', t.brand_id, 'environmentId', t.environment_id), :createdAt FROM t WHERE :outboxId IS NOT NULL) SELECT count(*)::int FROM log")
+  Mono<Integer> insertTransactionLog(
       @Param("id") String id,
       @Param("transactionId") String transactionId,
       @Param("pspId") String pspId,
       @Param("webhookId") String webhookId,
       @Param("log") String log,
-      @Param("createdAt") LocalDateTime createdAt);
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("since") LocalDateTime since,
+      @Param("until") LocalDateTime until,
+      @Param("status") TransactionStatus status,
+      @Param("outboxId") String outboxId,
+      @Param("outboxPayload") String outboxPayload);
 }
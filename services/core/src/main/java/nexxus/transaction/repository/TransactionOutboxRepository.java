@@ -0,0 +1,46 @@
+package nexxus.transaction.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+import nexxus.transaction.entity.TransactionOutboxEvent;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface TransactionOutboxRepository
+    extends ReactiveCrudRepository<TransactionOutboxEvent, String> {
+
+  /**
+   * Leases the oldest pending events to the caller until {@code leaseUntil} and counts the attempt.
+   * Rows locked by another relay are skipped and leased rows are not claimable until the lease
+   * ends, so concurrent relays always claim disjoint batches.
+   */
+  @Query(
+      "UPDATE transaction_outbox SET attempts = attempts + 1, available_at = :leaseUntil WHERE id IN (SELECT id FROM transaction_outbox WHERE processed_at IS NULL AND (available_at IS NULL OR available_at <= :now) AND attempts < :maxAttempts ORDER BY created_at, id LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING id, transaction_id, brand_id, environment_id, status, payload, created_at, attempts, available_at, processed_at")
+  Flux<TransactionOutboxEvent> claimBatch(
+      @Param("now") LocalDateTime now,
+      @Param("leaseUntil") LocalDateTime leaseUntil,
+      @Param("maxAttempts") int maxAttempts,
+      @Param("limit") int limit);
+
+  @Modifying
+  @Query(
+      "UPDATE transaction_outbox SET processed_at = :processedAt, available_at = NULL WHERE id = ANY(:ids)")
+  Mono<Integer> markProcessed(
+      @Param("ids") String[] ids, @Param("processedAt") LocalDateTime processedAt);
+
+  @Modifying
+  @Query("UPDATE transaction_outbox SET available_at = :retryAt WHERE id = :id")
+  Mono<Integer> scheduleRetry(@Param("id") String id, @Param("retryAt") LocalDateTime retryAt);
+
+  @Modifying
+  @Query("DELETE FROM transaction_outbox WHERE processed_at < :before")
+  Mono<Integer> deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -8,9 +8,11 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 
+import nexxus.riskrule.engine.TransactionExposure;
 import nexxus.shared.constants.TransactionStatus;
 import nexxus.transaction.entity.Transaction;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
@@ -18,10 +20,23 @@ public interface TransactionRepository extends ReactiveCrudRepository<Transactio
 
   Mono<Transaction> findById(String id);
 
+  /**
+   * Looks a transaction up in the partitions created since the given time only. Preferred over
+   * {@link #findById(String)}, which has to probe every monthly partition.
+   */
+  @Query("SELECT * FROM transactions WHERE id = :id AND created_at >= :since")
+  Mono<Transaction> findByIdSince(@Param("id") String id, @Param("since") LocalDateTime since);
+
+  /**
+   * Writes a new transaction in one statement: upserts the CRM customer, then inserts the
+   * transaction, its initial log and its outbox event. Being a single statement it needs one round
+   * trip and is atomic without an explicit transaction; foreign keys are checked at the end of the
+   * statement, after all rows are in.
+   */
   @Modifying
   @Query(
-      "INSERT INTO transactions (id, amount, currency, brand_id, environment_id, flow_action_id, routing_rule_id, user_attribute, status, created_at) VALUES (:id, :amount, :currency, :brandId, :environmentId, :flowActionId, :routingRuleId, :userAttribute::jsonb, :status::\"transaction_status\", :createdAt)")
-  Mono<Void> insertTransaction(
+      "WITH crm AS (INSERT INTO crm_customer (brand_id, environment_id, crm_customer_id, name, email, tag, country, account_type, custom_attributes, created_at) VALUES (:brandId, :environmentId, :crmCustomerId, :customerName, :email, :tag, :country, :accountType, :userAttribute::jsonb, :createdAt) ON CONFLICT (brand_id, environment_id, crm_customer_id) DO NOTHING), txn AS (INSERT INTO transactions (id, amount, currency, brand_id, environment_id, flow_action_id, routing_rule_id, user_attribute, status, created_at) VALUES (:id, :amount, :currency, :brandId, :environmentId, :flowActionId, :routingRuleId, :userAttribute::jsonb, :status::\"transaction_status\", :createdAt)), txn_log AS (INSERT INTO transaction_logs (id, transaction_id, transaction_created_at, psp_id, webhook_id, log, created_at) VALUES (:logId, :id, :createdAt, :pspId, NULL, :log::jsonb, :createdAt)) INSERT INTO transaction_outbox (id, transaction_id, brand_id, environment_id, status, payload, created_at) VALUES (:outboxId, :id, :brandId, :environmentId, :status::\"transaction_status\", :outboxPayload::jsonb, :createdAt)")
+  Mono<Void> createTransaction(
       @Param("id") String id,
       @Param("amount") java.math.BigDecimal amount,
       @Param("currency") String currency,
@@ -31,5 +46,26 @@ public interface TransactionRepository extends ReactiveCrudRepository<Transactio
       @Param("routingRuleId") String routingRuleId,
       @Param("userAttribute") String userAttribute,
       @Param("status") TransactionStatus status,
+      @Param("crmCustomerId") String crmCustomerId,
+      @Param("customerName") String customerName,
+      @Param("email") String email,
+      @Param("tag") String tag,
+      @Param("country") String country,
+      @Param("accountType") String accountType,
+      @Param("logId") String logId,
+      @Param("pspId") String pspId,
+      @Param("log") String log,
+      @Param("outboxId") String outboxId,
+      @Param("outboxPayload") String outboxPayload,
       @Param("createdAt") LocalDateTime createdAt);
+
+  /**
+   * Streams the transactions that count towards risk rule limits, used to rebuild the in-memory
+   * rolling sums. The PSP is taken from the first transaction log that names one; logs are never
+   * older than their transaction, which bounds the lookup to the partitions that can hold them.
+   */
+  @Query(
+      "SELECT t.brand_id, t.environment_id, t.flow_action_id, t.currency, t.amount, t.user_attribute->>'id' AS user_id, t.user_attribute->>'tag' AS tag, t.user_attribute->>'accountType' AS account_type, l.psp_id, t.created_at FROM transactions t LEFT JOIN LATERAL (SELECT psp_id FROM transaction_logs WHERE transaction_id = t.id AND transaction_created_at = t.created_at AND psp_id IS NOT NULL ORDER BY created_at LIMIT 1) l ON TRUE WHERE t.created_at >= :since AND t.created_at < :until AND t.status NOT IN ('FAILED', 'CANCELLED', 'ABANDONED') ORDER BY t.created_at")
+  Flux<TransactionExposure> findRiskExposuresSince(
+      @Param("since") LocalDateTime since, @Param("until") LocalDateTime until);
 }
@@ -7,6 +7,7 @@ import nexxus.shared.service.BaseService;
 import nexxus.transaction.dto.TransactionDto;
 import nexxus.transaction.dto.TransactionLogDto;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface TransactionService extends BaseService {
@@ -17,4 +18,7 @@ public interface TransactionService extends BaseService {
 
   Mono<ResponseEntity<ApiResponse<Object>>> createTransactionLog(
       TransactionLogDto transactionLogDto);
+
+  Mono<ResponseEntity<ApiResponse<Object>>> createTransactionLogs(
+      Flux<TransactionLogDto> transactionLogs);
 }
@@ -1,8 +1,14 @@
 package nexxus.transaction.service.impl;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.core.codec.DecodingException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -10,32 +16,66 @@ import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import nexxus.psp.availability.PspFailureRateTracker;
+import nexxus.riskrule.engine.RiskDecision;
+import nexxus.riskrule.engine.RiskRuleEngine;
+import nexxus.riskrule.engine.RiskRuleHit;
+import nexxus.riskrule.engine.TransactionExposure;
+import nexxus.routingrule.engine.PspSelectionExecutor;
+import nexxus.routingrule.entity.RoutingRule;
 import nexxus.routingrule.repository.RoutingRuleRepository;
+import nexxus.routingrule.service.RoutingRuleService;
 import nexxus.shared.constants.ErrorCode;
 import nexxus.shared.constants.TransactionStatus;
 import nexxus.shared.dto.ApiResponse;
 import nexxus.shared.exception.BusinessException;
+import nexxus.shared.exception.ValidationException;
 import nexxus.shared.util.IdGenerator;
 import nexxus.shared.util.ReactiveResponseHandler;
 import nexxus.transaction.dto.TransactionDto;
+import nexxus.transaction.dto.TransactionLogBulkResultDto;
 import nexxus.transaction.dto.TransactionLogDto;
 import nexxus.transaction.dto.UserAttributeDto;
-import nexxus.transaction.repository.CrmCustomerRepository;
+import nexxus.transaction.entity.TransactionLog;
+import nexxus.transaction.ingest.TransactionIngestionWriter;
+import nexxus.transaction.ingest.TransactionLogBatchWriter;
+import nexxus.transaction.ingest.TransactionLogWrite;
+import nexxus.transaction.ingest.TransactionWrite;
+import nexxus.transaction.outbox.TransactionOutbox;
+import nexxus.transaction.outbox.TransactionOutboxRelay;
+import nexxus.transaction.partition.CreatedAtWindow;
 import nexxus.transaction.repository.TransactionLogRepository;
 import nexxus.transaction.repository.TransactionRepository;
 import nexxus.transaction.service.TransactionService;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+  /** Rows per multi-row insert of the bulk log endpoint */
+  private static final int LOG_BATCH_SIZE = 500;
+
+  /** Age up to which a transaction lookup by ID is tried on the recent partitions first */
+  private static final Duration RECENT_TRANSACTION_WINDOW = Duration.ofDays(31);
+
   private final TransactionRepository transactionRepository;
-  private final CrmCustomerRepository crmCustomerRepository;
   private final TransactionLogRepository transactionLogRepository;
   private final RoutingRuleRepository routingRuleRepository;
+  private final RoutingRuleService routingRuleService;
+  private final PspSelectionExecutor pspSelectionExecutor;
+  private final PspFailureRateTracker pspFailureRateTracker;
+  private final RiskRuleEngine riskRuleEngine;
+  private final TransactionIngestionWriter transactionIngestionWriter;
+  private final TransactionLogBatchWriter transactionLogBatchWriter;
+  private final TransactionOutbox transactionOutbox;
+  private final TransactionOutboxRelay transactionOutboxRelay;
   private final ObjectMapper objectMapper;
   private final ReactiveResponseHandler responseHandler;
 
@@ -50,7 +90,27 @@ public class TransactionServiceImpl implements TransactionService {
       validateCreateRequest(transactionDto);
 
       return validateRoutingRule(transactionDto)
-          .then(createTransaction(transactionDto))
+          .flatMap(
+              routingRule ->
+                  routingRuleService
+                      .eligiblePsps(transactionDto)
+                      .flatMap(
+                          filter ->
+                              pspSelectionExecutor.select(
+                                  routingRule.getId(), routingRule.getVersion(), filter)))
+          .switchIfEmpty(Mono.defer(() -> resolveRoutingRule(transactionDto)))
+          .map(pspId -> TransactionExposure.of(transactionDto, pspId, null))
+          .switchIfEmpty(
+              Mono.fromSupplier(() -> TransactionExposure.of(transactionDto, null, null)))
+          .flatMap(
+              exposure ->
+                  riskRuleEngine
+                      .evaluate(exposure)
+                      .flatMap(
+                          decision ->
+                              decision.isBlocked()
+                                  ? riskBlockedError(decision)
+                                  : createTransaction(transactionDto, exposure, decision)))
           .onErrorResume(
               e -> {
                 return databaseError(e, "creating transaction");
@@ -66,8 +126,10 @@ public class TransactionServiceImpl implements TransactionService {
     try {
       validateNotBlank(id, "Transaction ID");
 
+      // Most lookups are for recent transactions, which only touch the latest partitions
       return transactionRepository
-          .findById(id)
+          .findByIdSince(id, LocalDateTime.now().minus(RECENT_TRANSACTION_WINDOW))
+          .switchIfEmpty(Mono.defer(() -> transactionRepository.findById(id)))
           .flatMap(
               transaction -> {
                 if (transaction == null) {
@@ -129,6 +191,25 @@ public class TransactionServiceImpl implements TransactionService {
     }
   }
 
+  @Override
+  public Mono<ResponseEntity<ApiResponse<Object>>> createTransactionLogs(
+      Flux<TransactionLogDto> transactionLogs) {
+    BulkLogTally tally = new BulkLogTally();
+    // The body is decoded incrementally; concatMap keeps one batch in flight, so the decoder only
+    // reads ahead by about a batch while the previous one is being written
+    return transactionLogs
+        .index()
+        .buffer(LOG_BATCH_SIZE)
+        .concatMap(batch -> insertTransactionLogBatch(batch, tally), 1)
+        .then(
+            Mono.defer(
+                () -> successResponse(tally.toDto(), "Transaction logs created successfully")))
+        .onErrorResume(
+            DecodingException.class,
+            e -> validationError("Malformed transaction log payload: " + e.getMessage()))
+        .onErrorResume(e -> databaseError(e, "creating transaction logs"));
+  }
+
   private void validateCreateRequest(TransactionDto transactionDto) {
     validateNotNull(transactionDto, "Transaction DTO");
     validateNotNull(transactionDto.getAmount(), "Amount");
@@ -146,104 +227,107 @@ public class TransactionServiceImpl implements TransactionService {
     validateNotNull(transactionLogDto.getLog(), "Log data");
   }
 
+  private Mono<ResponseEntity<ApiResponse<Object>>> riskBlockedError(RiskDecision decision) {
+    RiskRuleHit hit = decision.getBlockingHit();
+    return customError(
+        ErrorCode.RISK_THRESHOLD_EXCEEDED,
+        "Transaction blocked by risk rule "
+            + hit.getName()
+            + ": "
+            + hit.getDuration()
+            + " limit of "
+            + hit.getMaxAmount()
+            + " exceeded",
+        HttpStatus.FORBIDDEN);
+  }
+
   private Mono<ResponseEntity<ApiResponse<Object>>> createTransaction(
-      TransactionDto transactionDto) {
+      TransactionDto transactionDto, TransactionExposure exposure, RiskDecision decision) {
     try {
-      String userAttributeJson = objectMapper.writeValueAsString(transactionDto.getUserAttribute());
-
       String generatedId = IdGenerator.generateTransactionId();
       LocalDateTime now = LocalDateTime.now();
 
       UserAttributeDto userAttribute = transactionDto.getUserAttribute();
+      String userAttributeJson = objectMapper.writeValueAsString(userAttribute);
+
+      TransactionStatus status =
+          transactionDto.getStatus() != null
+              ? transactionDto.getStatus()
+              : TransactionStatus.INITIATED;
+      TransactionDto responseDto =
+          TransactionDto.builder()
+              .id(generatedId)
+              .amount(transactionDto.getAmount())
+              .currency(transactionDto.getCurrency())
+              .flowActionId(transactionDto.getFlowActionId())
+              .routingRuleId(transactionDto.getRoutingRuleId())
+              .userAttribute(userAttribute)
+              .status(status)
+              .createdAt(now)
+              .build();
 
       String brandId = transactionDto.getBrandId();
       String environmentId = transactionDto.getEnvironmentId();
-
-      return crmCustomerRepository
-          .existsByBrandIdAndEnvironmentIdAndCrmCustomerId(
-              brandId, environmentId, userAttribute.getId())
-          .flatMap(
-              exists -> {
-                try {
-                  if (exists == 0) {
-                    String customAttributesJson = objectMapper.writeValueAsString(userAttribute);
-
-                    return crmCustomerRepository
-                        .insertCrmCustomer(
-                            brandId,
-                            environmentId,
-                            userAttribute.getId(),
-                            userAttribute.getFirstName() + " " + userAttribute.getLastName(),
-                            userAttribute.getEmail(),
-                            userAttribute.getTag(),
-                            userAttribute.getAddress() != null
-                                ? userAttribute.getAddress().getCountry()
-                                : null,
-                            userAttribute.getAccountType(),
-                            customAttributesJson,
-                            now)
-                        .then(
-                            createTransactionRecord(
-                                transactionDto, generatedId, userAttributeJson, now));
-                  } else {
-                    return createTransactionRecord(
-                        transactionDto, generatedId, userAttributeJson, now);
-                  }
-                } catch (JsonProcessingException e) {
-                  return databaseError(e, "processing customer data");
-                }
-              })
+      String country =
+          userAttribute.getAddress() != null ? userAttribute.getAddress().getCountry() : null;
+
+      TransactionWrite write =
+          TransactionWrite.builder()
+              .id(generatedId)
+              .amount(transactionDto.getAmount())
+              .currency(transactionDto.getCurrency())
+              .brandId(brandId)
+              .environmentId(environmentId)
+              .flowActionId(transactionDto.getFlowActionId())
+              .routingRuleId(transactionDto.getRoutingRuleId())
+              .userAttribute(userAttributeJson)
+              .status(status)
+              .crmCustomerId(userAttribute.getId())
+              .customerName(userAttribute.getFirstName() + " " + userAttribute.getLastName())
+              .email(userAttribute.getEmail())
+              .tag(userAttribute.getTag())
+              .country(country)
+              .accountType(userAttribute.getAccountType())
+              .logId(IdGenerator.generateTransactionLogId())
+              .pspId(exposure.getPspId())
+              .log(initialLog(generatedId, decision, now))
+              .outboxId(IdGenerator.generateTransactionOutboxId())
+              .outboxPayload(
+                  transactionOutbox.payload(
+                      generatedId, brandId, environmentId, status, responseDto, now))
+              .createdAt(now)
+              .build();
+
+      // The CRM upsert, the transaction, its first log and its outbox event are written by a
+      // single statement, alone or batched with concurrent requests, so they commit together
+      // The risk engine already counted the amount; give it back if the write fails
+      return transactionIngestionWriter
+          .write(write)
+          .doOnError(e -> decision.getReservation().release())
+          .then(
+              Mono.fromRunnable(
+                  () -> {
+                    transactionOutboxRelay.wakeUp();
+                    pspFailureRateTracker.record(exposure.getPspId(), status);
+                  }))
+          .then(Mono.defer(() -> successResponse(responseDto, "Transaction created successfully")))
           .onErrorResume(
               e -> {
                 return databaseError(e, "creating transaction");
               });
     } catch (Exception e) {
+      decision.getReservation().release();
       return databaseError(e, "creating transaction");
     }
   }
 
-  private Mono<ResponseEntity<ApiResponse<Object>>> createTransactionRecord(
-      TransactionDto transactionDto,
-      String generatedId,
-      String userAttributeJson,
-      LocalDateTime now) {
-    return transactionRepository
-        .insertTransaction(
-            generatedId,
-            transactionDto.getAmount(),
-            transactionDto.getCurrency(),
-            transactionDto.getBrandId(),
-            transactionDto.getEnvironmentId(),
-            transactionDto.getFlowActionId(),
-            transactionDto.getRoutingRuleId(),
-            userAttributeJson,
-            transactionDto.getStatus() != null
-                ? transactionDto.getStatus()
-                : TransactionStatus.INITIATED,
-            now)
-        .then(createTransactionLog(generatedId, now))
-        .then(
-            Mono.defer(
-                () -> {
-                  TransactionDto responseDto =
-                      TransactionDto.builder()
-                          .id(generatedId)
-                          .amount(transactionDto.getAmount())
-                          .currency(transactionDto.getCurrency())
-                          .flowActionId(transactionDto.getFlowActionId())
-                          .routingRuleId(transactionDto.getRoutingRuleId())
-                          .userAttribute(transactionDto.getUserAttribute())
-                          .status(
-                              transactionDto.getStatus() != null
-                                  ? transactionDto.getStatus()
-                                  : TransactionStatus.INITIATED)
-                          .createdAt(now)
-                          .build();
-                  return successResponse(responseDto, "Transaction created successfully");
-                }));
-  }
-
-  private Mono<Void> validateRoutingRule(TransactionDto transactionDto) {
+  /**
+   * Checks that a routing rule pinned by the caller belongs to the brand and environment of the
+   * transaction
+   *
+   * @return the pinned routing rule, or empty when none is pinned
+   */
+  private Mono<RoutingRule> validateRoutingRule(TransactionDto transactionDto) {
     if (transactionDto.getRoutingRuleId() != null
         && !transactionDto.getRoutingRuleId().trim().isEmpty()) {
       return routingRuleRepository
@@ -267,32 +351,161 @@ public class TransactionServiceImpl implements TransactionService {
                           ErrorCode.ROUTING_RULE_INVALID,
                           "Routing rule environment ID does not match transaction environment ID"));
                 }
-                return Mono.empty();
+                return Mono.just(routingRule);
               });
     }
     return Mono.empty();
   }
 
-  private Mono<Void> createTransactionLog(String transactionId, LocalDateTime now) {
-    try {
-      String logId = IdGenerator.generateTransactionLogId();
+  /**
+   * Assigns the routing rule selected by the in-memory rule engine when the caller did not pin one
+   *
+   * @return the PSP picked by the matched routing rule, or empty when there is none
+   */
+  private Mono<String> resolveRoutingRule(TransactionDto transactionDto) {
+    if (transactionDto.getRoutingRuleId() != null
+        && !transactionDto.getRoutingRuleId().trim().isEmpty()) {
+      return Mono.empty();
+    }
+    return routingRuleService
+        .evaluateRoutingRule(transactionDto)
+        .doOnNext(
+            evaluation -> {
+              if (evaluation.isMatched()) {
+                transactionDto.setRoutingRuleId(evaluation.getRoutingRuleId());
+              }
+            })
+        .flatMap(evaluation -> Mono.justOrEmpty(evaluation.getSelectedPspId()));
+  }
 
-      String logData =
-          objectMapper.writeValueAsString(
-              Map.of(
-                  "event",
-                  "TRANSACTION_INITIATED",
-                  "status",
-                  TransactionStatus.INITIATED.getValue(),
-                  "timestamp",
-                  now.toString(),
-                  "message",
-                  "Transaction initiated successfully"));
-
-      return transactionLogRepository.insertTransactionLog(
-          logId, transactionId, null, null, logData, now);
-    } catch (JsonProcessingException e) {
-      return Mono.error(e);
+  private String initialLog(String transactionId, RiskDecision decision, LocalDateTime now)
+      throws JsonProcessingException {
+    Map<String, Object> logEntry = new LinkedHashMap<>();
+    logEntry.put("event", "TRANSACTION_INITIATED");
+    logEntry.put("status", TransactionStatus.INITIATED.getValue());
+    logEntry.put("timestamp", now.toString());
+    logEntry.put("message", "Transaction initiated successfully");
+    if (decision.hasAlerts()) {
+      logEntry.put("riskAlerts", decision.getHits());
+      log.warn(
+          "Transaction {} exceeded the limits of {} alerting risk rule(s)",
+          transactionId,
+          decision.getHits().size());
+    }
+    return objectMapper.writeValueAsString(logEntry);
+  }
+
+  private Mono<Void> insertTransactionLogBatch(
+      List<Tuple2<Long, TransactionLogDto>> batch, BulkLogTally tally) {
+    List<TransactionLogWrite> logs = new ArrayList<>(batch.size());
+    List<Long> indexes = new ArrayList<>(batch.size());
+    List<TransactionLogDto> accepted = new ArrayList<>(batch.size());
+    for (Tuple2<Long, TransactionLogDto> entry : batch) {
+      tally.received++;
+      TransactionLogDto dto = entry.getT2();
+      try {
+        validateCreateTransactionLogRequest(dto);
+        logs.add(
+            logWrite(
+                TransactionLog.create(
+                    dto.getTransactionId(),
+                    dto.getPspId(),
+                    dto.getWebhookId(),
+                    objectMapper.writeValueAsString(dto.getLog())),
+                dto));
+        indexes.add(entry.getT1());
+        accepted.add(dto);
+      } catch (ValidationException | JsonProcessingException e) {
+        tally.reject(entry.getT1(), e.getMessage());
+      }
+    }
+
+    return transactionLogBatchWriter
+        .insert(logs)
+        .doOnNext(
+            written -> {
+              for (int i = 0; i < logs.size(); i++) {
+                tallyOutcome(tally, logs.get(i), indexes.get(i), accepted.get(i), written);
+              }
+            })
+        .then()
+        .onErrorResume(
+            e -> {
+              // A bad row fails the whole statement, so replay the batch row by row to keep the
+              // valid entries
+              log.warn(
+                  "Batched insert of {} transaction logs failed, retrying one by one: {}",
+                  logs.size(),
+                  e.getMessage());
+              return Flux.range(0, logs.size())
+                  .concatMap(
+                      i ->
+                          transactionLogBatchWriter
+                              .insert(List.of(logs.get(i)))
+                              .doOnNext(
+                                  written ->
+                                      tallyOutcome(
+                                          tally,
+                                          logs.get(i),
+                                          indexes.get(i),
+                                          accepted.get(i),
+                                          written))
+                              .onErrorResume(
+                                  rowError -> {
+                                    tally.reject(indexes.get(i), rowError.getMessage());
+                                    return Mono.empty();
+                                  }))
+                  .then();
+            })
+        .then(Mono.fromRunnable(() -> wakeUpRelay(logs)));
+  }
+
+  /**
+   * Pairs a log with the outbox event of the status it reports, if any
+   *
+   * @param entry log to write
+   * @param dto request the log was built from
+   * @return rows to write for the log
+   */
+  private TransactionLogWrite logWrite(TransactionLog entry, TransactionLogDto dto)
+      throws JsonProcessingException {
+    TransactionStatus status = logStatus(dto);
+    if (status == null) {
+      return TransactionLogWrite.builder().log(entry).build();
+    }
+    return TransactionLogWrite.builder()
+        .log(entry)
+        .status(status)
+        .outboxId(IdGenerator.generateTransactionOutboxId())
+        .outboxPayload(
+            transactionOutbox.logPayload(
+                entry.getTransactionId(), status, dto.getLog(), entry.getCreatedAt()))
+        .build();
+  }
+
+  /** Publishes the events of the batch right away instead of on the next poll of the relay */
+  private void wakeUpRelay(List<TransactionLogWrite> logs) {
+    for (TransactionLogWrite write : logs) {
+      if (write.getStatus() != null) {
+        transactionOutboxRelay.wakeUp();
+        return;
+      }
+    }
+  }
+
+  /** Counts a log as inserted if the writer returned its ID, else its transaction was missing */
+  private void tallyOutcome(
+      BulkLogTally tally,
+      TransactionLogWrite write,
+      long index,
+      TransactionLogDto dto,
+      Set<String> written) {
+    TransactionLog entry = write.getLog();
+    if (written.contains(entry.getId())) {
+      tally.inserted++;
+      recordOutcome(dto);
+    } else {
+      tally.reject(index, "Transaction not found with ID: " + entry.getTransactionId());
     }
   }
 
@@ -302,6 +515,14 @@ public class TransactionServiceImpl implements TransactionService {
       String logId = IdGenerator.generateTransactionLogId();
       LocalDateTime now = LocalDateTime.now();
       String logJson = objectMapper.writeValueAsString(transactionLogDto.getLog());
+      CreatedAtWindow window = CreatedAtWindow.of(transactionLogDto.getTransactionId());
+      TransactionStatus status = logStatus(transactionLogDto);
+      String outboxId = status != null ? IdGenerator.generateTransactionOutboxId() : null;
+      String outboxPayload =
+          status != null
+              ? transactionOutbox.logPayload(
+                  transactionLogDto.getTransactionId(), status, transactionLogDto.getLog(), now)
+              : null;
 
       return transactionLogRepository
           .insertTransactionLog(
@@ -310,23 +531,97 @@ public class TransactionServiceImpl implements TransactionService {
               transactionLogDto.getPspId(),
               transactionLogDto.getWebhookId(),
               logJson,
-              now)
-          .then(
-              Mono.defer(
-                  () -> {
-                    TransactionLogDto responseDto =
-                        TransactionLogDto.builder()
-                            .id(logId)
-                            .transactionId(transactionLogDto.getTransactionId())
-                            .pspId(transactionLogDto.getPspId())
-                            .webhookId(transactionLogDto.getWebhookId())
-                            .log(transactionLogDto.getLog())
-                            .createdAt(now)
-                            .build();
-                    return successResponse(responseDto, "Transaction log created successfully");
-                  }));
+              now,
+              window.since(),
+              window.until(),
+              status,
+              outboxId,
+              outboxPayload)
+          .flatMap(
+              inserted -> {
+                if (inserted == 0) {
+                  return customError(
+                      ErrorCode.TRANSACTION_NOT_FOUND,
+                      "Transaction not found with ID: " + transactionLogDto.getTransactionId(),
+                      HttpStatus.NOT_FOUND);
+                }
+                if (status != null) {
+                  transactionOutboxRelay.wakeUp();
+                }
+                recordOutcome(transactionLogDto);
+                TransactionLogDto responseDto =
+                    TransactionLogDto.builder()
+                        .id(logId)
+                        .transactionId(transactionLogDto.getTransactionId())
+                        .pspId(transactionLogDto.getPspId())
+                        .webhookId(transactionLogDto.getWebhookId())
+                        .log(transactionLogDto.getLog())
+                        .createdAt(now)
+                        .build();
+                return successResponse(responseDto, "Transaction log created successfully");
+              });
     } catch (JsonProcessingException e) {
       return databaseError(e, "processing log data");
     }
   }
+
+  /**
+   * Feeds the PSP failure rate with the transaction status carried by the {@code status} field of
+   * a log entry written for a PSP
+   */
+  private void recordOutcome(TransactionLogDto transactionLogDto) {
+    if (transactionLogDto.getPspId() != null) {
+      TransactionStatus status = logStatus(transactionLogDto);
+      if (status != null) {
+        pspFailureRateTracker.record(transactionLogDto.getPspId(), status);
+      }
+    }
+  }
+
+  /**
+   * Transaction status carried by the {@code status} field of a log entry
+   *
+   * @return the status, or null when the entry reports none
+   */
+  private static TransactionStatus logStatus(TransactionLogDto transactionLogDto) {
+    if (transactionLogDto.getLog() instanceof Map<?, ?> entry
+        && entry.get("status") instanceof String status) {
+      for (TransactionStatus candidate : TransactionStatus.values()) {
+        if (candidate.getValue().equals(status)) {
+          return candidate;
+        }
+      }
+    }
+    return null;
+  }
+
+  /** Counters of one bulk log request; batches are written one at a time, so no locking */
+  private static final class BulkLogTally {
+    private static final int MAX_ERRORS = 100;
+
+    private long received;
+    private long inserted;
+    private long rejected;
+    private final List<TransactionLogBulkResultDto.RejectedLogDto> errors = new ArrayList<>();
+
+    private void reject(long index, String message) {
+      rejected++;
+      if (errors.size() < MAX_ERRORS) {
+        errors.add(
+            TransactionLogBulkResultDto.RejectedLogDto.builder()
+                .index(index)
+                .message(message)
+                .build());
+      }
+    }
+
+    private TransactionLogBulkResultDto toDto() {
+      return TransactionLogBulkResultDto.builder()
+          .received(received)
+          .inserted(inserted)
+          .rejected(rejected)
+          .errors(errors)
+          .build();
+    }
+  }
 }
@@ -0,0 +1,38 @@
+package nexxus.webhook.cache;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import nexxus.shared.cache.BrandSnapshotCache;
+import nexxus.shared.cache.ClusterCacheInvalidator;
+import nexxus.shared.constants.CacheTopic;
+import nexxus.webhook.entity.Webhook;
+import nexxus.webhook.repository.WebhookRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Webhooks configured for a brand and environment, in any status. {@link
+ * nexxus.webhook.dispatch.WebhookDispatcher} filters them by status and event type for every
+ * event it dispatches, without querying the database once the list is loaded.
+ */
+@Component
+public class WebhookSnapshotCache extends BrandSnapshotCache<List<Webhook>> {
+
+  private final WebhookRepository webhookRepository;
+
+  public WebhookSnapshotCache(
+      WebhookRepository webhookRepository, ClusterCacheInvalidator clusterCacheInvalidator) {
+    super(CacheTopic.WEBHOOK, "webhook", clusterCacheInvalidator);
+    this.webhookRepository = webhookRepository;
+  }
+
+  @Override
+  protected Mono<List<Webhook>> load(String brandId, String environmentId) {
+    return webhookRepository
+        .findByBrandIdAndEnvironmentId(brandId, environmentId)
+        .collectList()
+        .map(List::copyOf);
+  }
+}
@@ -0,0 +1,156 @@
+package nexxus.webhook.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Non-blocking per-host semaphore. Waiters are queued in FIFO order and resumed by the release of a
+ * permit, so a slow host only holds back deliveries to that host. A host is forgotten once all its
+ * permits are back and nobody waits for one.
+ */
+final class HostConcurrencyLimiter {
+
+  private final int permitsPerHost;
+  private final Map<String, HostPermits> hosts = new ConcurrentHashMap<>();
+
+  HostConcurrencyLimiter(int permitsPerHost) {
+    this.permitsPerHost = permitsPerHost;
+  }
+
+  /**
+   * @param host target host
+   * @return a permit once one is free; release it when the request completes. Cancelling the
+   *     acquire gives back a permit granted meanwhile.
+   */
+  Mono<Permit> acquire(String host) {
+    return Mono.create(
+        sink -> {
+          Waiter waiter = new Waiter(sink);
+          sink.onCancel(waiter::cancel);
+          HostPermits[] granted = new HostPermits[1];
+          // Taken inside compute, so an idle host cannot be removed between lookup and take
+          hosts.compute(
+              host,
+              (key, permits) -> {
+                HostPermits target = permits != null ? permits : new HostPermits(key);
+                if (target.takeOrQueue(waiter)) {
+                  granted[0] = target;
+                }
+                return target;
+              });
+          if (granted[0] != null) {
+            Permit permit = new Permit(granted[0]);
+            if (!waiter.grant(permit)) {
+              permit.release();
+            }
+          }
+        });
+  }
+
+  static final class Permit {
+    private final HostPermits owner;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(HostPermits owner) {
+      this.owner = owner;
+    }
+
+    void release() {
+      if (released.compareAndSet(false, true)) {
+        owner.release();
+      }
+    }
+  }
+
+  private final class HostPermits {
+    private final String host;
+    private int available = permitsPerHost;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    private HostPermits(String host) {
+      this.host = host;
+    }
+
+    /**
+     * @return true if a permit was taken, false if the waiter was queued
+     */
+    private synchronized boolean takeOrQueue(Waiter waiter) {
+      if (available > 0) {
+        available--;
+        return true;
+      }
+      waiters.addLast(waiter);
+      return false;
+    }
+
+    private void release() {
+      while (true) {
+        Waiter next;
+        synchronized (this) {
+          next = waiters.pollFirst();
+          if (next == null) {
+            available++;
+            break;
+          }
+        }
+        if (next.grant(new Permit(this))) {
+          return;
+        }
+      }
+      hosts.computeIfPresent(host, (key, permits) -> permits == this && isIdle() ? null : permits);
+    }
+
+    private synchronized boolean isIdle() {
+      waiters.removeIf(Waiter::isCancelled);
+      return available == permitsPerHost && waiters.isEmpty();
+    }
+  }
+
+  /**
+   * Acquire waiting for a permit. It ends either granted or cancelled, whichever comes first; a
+   * cancel that comes after the grant releases the permit, which may never have reached the
+   * subscriber.
+   */
+  private static final class Waiter {
+    private final MonoSink<Permit> sink;
+    private final AtomicBoolean done = new AtomicBoolean();
+    private volatile Permit granted;
+    private volatile boolean cancelled;
+
+    private Waiter(MonoSink<Permit> sink) {
+      this.sink = sink;
+    }
+
+    /**
+     * @return false if the waiter was cancelled first, in which case the permit is not used
+     */
+    private boolean grant(Permit permit) {
+      granted = permit;
+      if (!done.compareAndSet(false, true)) {
+        return false;
+      }
+      sink.success(permit);
+      return true;
+    }
+
+    private void cancel() {
+      cancelled = true;
+      if (!done.compareAndSet(false, true)) {
+        Permit permit = granted;
+        if (permit != null) {
+          permit.release();
+        }
+      }
+    }
+
+    private boolean isCancelled() {
+      return cancelled;
+    }
+  }
+}
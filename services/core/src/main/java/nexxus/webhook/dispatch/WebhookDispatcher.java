@@ -0,0 +1,432 @@
+package nexxus.webhook.dispatch;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import nexxus.shared.constants.Status;
+import nexxus.shared.constants.WebhookStatusType;
+import nexxus.shared.util.IdGenerator;
+import nexxus.webhook.cache.WebhookSnapshotCache;
+import nexxus.webhook.entity.Webhook;
+import nexxus.webhook.entity.WebhookLog;
+
+import io.netty.channel.ChannelOption;
+import io.r2dbc.postgresql.codec.Json;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+/**
+ * Delivers events to the webhooks of a brand and environment without holding up the caller.
+ *
+ * <p>Every webhook gets its own bounded queue drained by a few concurrent deliveries, so a slow or
+ * dead merchant endpoint only fills its own queue; once full, further events for that webhook are
+ * logged as failed instead of buffered. A queue lives only while it has events to deliver.
+ * Deliveries share one pooled HTTP client and take a permit per target host, which caps the
+ * connections a single host can hold whatever the number of webhooks pointing at it. Connection
+ * errors, timeouts, 408, 429 and 5xx responses are retried with exponential backoff up to {@code
+ * webhooks.retry} times; the permit is released between attempts. The final outcome of each
+ * delivery is handed to {@link WebhookLogWriter}.
+ */
+@Slf4j
+@Component
+public class WebhookDispatcher {
+
+  private static final int RESPONSE_PAYLOAD_LIMIT = 4096;
+
+  private final WebhookSnapshotCache webhookSnapshotCache;
+  private final WebhookLogWriter webhookLogWriter;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final int queueCapacity;
+  private final int endpointConcurrency;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+
+  private final ConnectionProvider connectionProvider;
+  private final WebClient webClient;
+  private final HostConcurrencyLimiter hostConcurrencyLimiter;
+  private final Map<String, EndpointQueue> queues = new ConcurrentHashMap<>();
+
+  public WebhookDispatcher(
+      WebhookSnapshotCache webhookSnapshotCache,
+      WebhookLogWriter webhookLogWriter,
+      ObjectMapper objectMapper,
+      @Value("${nexxus.webhook.enabled:true}") boolean enabled,
+      @Value("${nexxus.webhook.queue-capacity:1000}") int queueCapacity,
+      @Value("${nexxus.webhook.endpoint-concurrency:4}") int endpointConcurrency,
+      @Value("${nexxus.webhook.per-host-concurrency:16}") int perHostConcurrency,
+      @Value("${nexxus.webhook.max-connections:200}") int maxConnections,
+      @Value("${nexxus.webhook.connect-timeout:PT5S}") Duration connectTimeout,
+      @Value("${nexxus.webhook.response-timeout:PT10S}") Duration responseTimeout,
+      @Value("${nexxus.webhook.initial-backoff:PT1S}") Duration initialBackoff,
+      @Value("${nexxus.webhook.max-backoff:PT1M}") Duration maxBackoff) {
+    this.webhookSnapshotCache = webhookSnapshotCache;
+    this.webhookLogWriter = webhookLogWriter;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.queueCapacity = queueCapacity;
+    this.endpointConcurrency = endpointConcurrency;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.hostConcurrencyLimiter = new HostConcurrencyLimiter(perHostConcurrency);
+    this.connectionProvider =
+        ConnectionProvider.builder("webhook-dispatch")
+            .maxConnections(maxConnections)
+            .pendingAcquireTimeout(responseTimeout)
+            .maxIdleTime(Duration.ofSeconds(30))
+            .build();
+    HttpClient httpClient =
+        HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+            .responseTimeout(responseTimeout);
+    this.webClient =
+        WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+  }
+
+  /**
+   * Queues an event for every enabled webhook of the brand and environment subscribed to the
+   * status type. Returns immediately; delivery happens in the background.
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @param statusType status type of the event
+   * @param payload event body, serialized as JSON
+   */
+  public void dispatch(
+      String brandId, String environmentId, WebhookStatusType statusType, Object payload) {
+    if (!enabled) {
+      return;
+    }
+    String body;
+    try {
+      body = objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      log.warn("Cannot serialize {} webhook payload: {}", statusType, e.getMessage());
+      return;
+    }
+
+    webhookSnapshotCache
+        .get(brandId, environmentId)
+        .subscribe(
+            webhooks -> {
+              for (Webhook webhook : webhooks) {
+                if (isSubscribed(webhook, statusType)) {
+                  enqueue(webhook, body, null);
+                }
+              }
+            },
+            e ->
+                log.warn(
+                    "Failed to load webhooks of brand {} environment {}: {}",
+                    brandId,
+                    environmentId,
+                    e.getMessage()));
+  }
+
+  /**
+   * Queues an event like {@link #dispatch} and completes once the delivery to every subscribed
+   * webhook reached its final outcome, successful or not, and was handed to {@link
+   * WebhookLogWriter}. Fails if a webhook queue is full, so that the caller can retry the event
+   * later; webhooks that already accepted it then receive it again.
+   *
+   * @param brandId brand ID
+   * @param environmentId environment ID
+   * @param statusType status type of the event
+   * @param payload event body, serialized as JSON
+   * @return completes once every delivery is final
+   */
+  public Mono<Void> dispatchAndAwait(
+      String brandId, String environmentId, WebhookStatusType statusType, Object payload) {
+    if (!enabled) {
+      return Mono.empty();
+    }
+    return Mono.fromCallable(() -> objectMapper.writeValueAsString(payload))
+        .flatMap(
+            body ->
+                webhookSnapshotCache
+                    .get(brandId, environmentId)
+                    .flatMapIterable(webhooks -> webhooks)
+                    .filter(webhook -> isSubscribed(webhook, statusType))
+                    .flatMap(webhook -> Mono.<Void>create(sink -> enqueue(webhook, body, sink)))
+                    .then());
+  }
+
+  /**
+   * Drops the queue of a deleted webhook once the events already queued for it are delivered
+   *
+   * @param webhookId webhook ID
+   */
+  public void evict(String webhookId) {
+    EndpointQueue queue = queues.remove(webhookId);
+    if (queue != null) {
+      queue.close();
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    queues.values().forEach(EndpointQueue::close);
+    connectionProvider.dispose();
+  }
+
+  private static boolean isSubscribed(Webhook webhook, WebhookStatusType statusType) {
+    return webhook.getStatus() == Status.ENABLED && webhook.getStatusType() == statusType;
+  }
+
+  /**
+   * @param completion notified once the delivery is final, or null when nobody waits for it
+   */
+  private void enqueue(Webhook webhook, String body, MonoSink<Void> completion) {
+    Delivery delivery = new Delivery(webhook, body, completion);
+    Offer offer;
+    do {
+      // A queue that retired after its last delivery is replaced by a new one
+      offer = queues.computeIfAbsent(webhook.getId(), EndpointQueue::new).offer(delivery);
+    } while (offer == Offer.RETIRED);
+    if (offer == Offer.FULL && completion != null) {
+      completion.error(
+          new IllegalStateException("Webhook " + webhook.getId() + " delivery queue is full"));
+    } else if (offer == Offer.FULL) {
+      log.warn("Webhook {} queue is full, dropping event", webhook.getId());
+      webhookLogWriter.write(
+          failure(webhook, body, null, null, "Delivery queue full, event dropped"));
+    }
+  }
+
+  private Mono<Void> deliver(Delivery delivery) {
+    Webhook webhook = delivery.webhook;
+    URI uri;
+    try {
+      uri = URI.create(webhook.getUrl());
+    } catch (IllegalArgumentException e) {
+      webhookLogWriter.write(
+          failure(webhook, delivery.body, null, null, "Invalid webhook URL: " + e.getMessage()));
+      return Mono.empty();
+    }
+    if (uri.getHost() == null) {
+      webhookLogWriter.write(
+          failure(webhook, delivery.body, null, null, "Invalid webhook URL: missing host"));
+      return Mono.empty();
+    }
+
+    int retries = webhook.getRetry() != null ? Math.max(webhook.getRetry(), 0) : 0;
+    return Mono.usingWhen(
+            hostConcurrencyLimiter.acquire(uri.getHost()),
+            permit -> send(uri, webhook, delivery.body),
+            permit -> Mono.fromRunnable(permit::release))
+        .retryWhen(
+            Retry.backoff(retries, initialBackoff)
+                .maxBackoff(maxBackoff)
+                .filter(WebhookDispatcher::isRetryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+        .map(response -> outcome(webhook, delivery.body, response))
+        .onErrorResume(
+            e -> {
+              if (e instanceof RetryableStatusException status) {
+                return Mono.just(outcome(webhook, delivery.body, status.response));
+              }
+              return Mono.just(failure(webhook, delivery.body, null, null, describe(e)));
+            })
+        .doOnNext(webhookLogWriter::write)
+        .then();
+  }
+
+  private Mono<ResponseEntity<String>> send(URI uri, Webhook webhook, String body) {
+    return webClient
+        .post()
+        .uri(uri)
+        .contentType(MediaType.APPLICATION_JSON)
+        .header("X-Nexxus-Webhook-Id", webhook.getId())
+        .header("X-Nexxus-Event-Type", webhook.getStatusType().getValue())
+        .bodyValue(body)
+        .exchangeToMono(response -> response.toEntity(String.class))
+        .flatMap(
+            response ->
+                isRetryable(response.getStatusCode().value())
+                    ? Mono.error(new RetryableStatusException(response))
+                    : Mono.just(response));
+  }
+
+  private WebhookLog outcome(Webhook webhook, String body, ResponseEntity<String> response) {
+    int status = response.getStatusCode().value();
+    if (response.getStatusCode().is2xxSuccessful()) {
+      return WebhookLog.builder()
+          .id(IdGenerator.generateWebhookLogId())
+          .webhookId(webhook.getId())
+          .responseStatus(status)
+          .isSuccess(true)
+          .requestPayload(Json.of(body))
+          .responsePayload(toJson(response.getBody()))
+          .createdAt(LocalDateTime.now())
+          .build();
+    }
+    return failure(webhook, body, status, response.getBody(), "Endpoint responded with " + status);
+  }
+
+  private WebhookLog failure(
+      Webhook webhook, String body, Integer status, String responseBody, String errorMessage) {
+    log.warn("Webhook {} delivery failed: {}", webhook.getId(), errorMessage);
+    return WebhookLog.builder()
+        .id(IdGenerator.generateWebhookLogId())
+        .webhookId(webhook.getId())
+        .responseStatus(status)
+        .isSuccess(false)
+        .requestPayload(Json.of(body))
+        .responsePayload(toJson(responseBody))
+        .errorMessage(errorMessage)
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+
+  /** Keeps JSON responses as they are and stores anything else as a JSON string */
+  private Json toJson(String responseBody) {
+    if (responseBody == null || responseBody.isBlank()) {
+      return Json.of("{}");
+    }
+    if (responseBody.length() <= RESPONSE_PAYLOAD_LIMIT) {
+      try {
+        objectMapper.readTree(responseBody);
+        return Json.of(responseBody);
+      } catch (JsonProcessingException e) {
+        // Not JSON, stored as a string below
+      }
+    }
+    String text =
+        responseBody.length() > RESPONSE_PAYLOAD_LIMIT
+            ? responseBody.substring(0, RESPONSE_PAYLOAD_LIMIT)
+            : responseBody;
+    try {
+      return Json.of(objectMapper.writeValueAsString(text));
+    } catch (JsonProcessingException e) {
+      return Json.of("{}");
+    }
+  }
+
+  private static boolean isRetryable(Throwable e) {
+    return e instanceof RetryableStatusException
+        || e instanceof WebClientRequestException
+        || e instanceof TimeoutException
+        || e instanceof IOException;
+  }
+
+  private static boolean isRetryable(int status) {
+    return status == 408 || status == 429 || status >= 500;
+  }
+
+  private static String describe(Throwable e) {
+    Throwable cause =
+        e instanceof WebClientRequestException && e.getCause() != null ? e.getCause() : e;
+    return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+  }
+
+  private enum Offer {
+    ACCEPTED,
+    FULL,
+    RETIRED
+  }
+
+  /**
+   * Bounded queue of one webhook, drained with at most {@code endpointConcurrency} in flight. The
+   * queue retires and leaves {@link #queues} as soon as it has nothing queued or in flight, so
+   * webhooks that were deleted or stopped receiving events hold no queue.
+   */
+  private final class EndpointQueue {
+    private final String webhookId;
+    private final Sinks.Many<Delivery> sink =
+        Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(queueCapacity));
+    private final Disposable subscription;
+    private int pending;
+    private boolean retired;
+
+    private EndpointQueue(String webhookId) {
+      this.webhookId = webhookId;
+      this.subscription =
+          sink.asFlux()
+              .flatMap(
+                  delivery ->
+                      deliver(delivery)
+                          .doOnSuccess(unused -> delivery.complete())
+                          .doFinally(signal -> delivered()),
+                  endpointConcurrency)
+              .subscribe();
+    }
+
+    private synchronized Offer offer(Delivery delivery) {
+      if (retired) {
+        return Offer.RETIRED;
+      }
+      // Counted first, as the delivery may complete before the emit returns
+      pending++;
+      if (!sink.tryEmitNext(delivery).isSuccess()) {
+        pending--;
+        return Offer.FULL;
+      }
+      return Offer.ACCEPTED;
+    }
+
+    private synchronized void delivered() {
+      if (--pending == 0 && !retired) {
+        retired = true;
+        queues.remove(webhookId, this);
+        subscription.dispose();
+      }
+    }
+
+    /** Stops accepting events; those already queued are still delivered */
+    private synchronized void close() {
+      retired = true;
+      sink.tryEmitComplete();
+    }
+  }
+
+  private static final class Delivery {
+    private final Webhook webhook;
+    private final String body;
+    private final MonoSink<Void> completion;
+
+    private Delivery(Webhook webhook, String body, MonoSink<Void> completion) {
+      this.webhook = webhook;
+      this.body = body;
+      this.completion = completion;
+    }
+
+    private void complete() {
+      if (completion != null) {
+        completion.success();
+      }
+    }
+  }
+
+  private static final class RetryableStatusException extends RuntimeException {
+    private final transient ResponseEntity<String> response;
+
+    private RetryableStatusException(ResponseEntity<String> response) {
+      super("Endpoint responded with " + response.getStatusCode().value(), null, false, false);
+      this.response = response;
+    }
+  }
+}
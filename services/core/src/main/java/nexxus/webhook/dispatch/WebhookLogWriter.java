@@ -0,0 +1,148 @@
+package nexxus.webhook.dispatch;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import nexxus.webhook.entity.WebhookLog;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Buffers webhook delivery outcomes and writes them to {@code webhook_logs} in multi-row inserts,
+ * so that logging a delivery never costs a database round trip of its own. The buffer is bounded;
+ * when the database cannot keep up, new entries are dropped with a warning instead of growing
+ * memory without limit.
+ */
+@Slf4j
+@Component
+public class WebhookLogWriter {
+
+  private static final String INSERT_PREFIX =
+      "INSERT INTO webhook_logs (id, webhook_id, response_status, is_success, request_payload,"
+          + " response_payload, error_message, created_at) VALUES ";
+
+  private final DatabaseClient databaseClient;
+  private final int batchSize;
+  private final Duration flushInterval;
+  private final Sinks.Many<WebhookLog> sink;
+
+  private volatile Disposable subscription;
+
+  public WebhookLogWriter(
+      DatabaseClient databaseClient,
+      @Value("${nexxus.webhook.log.buffer-capacity:10000}") int bufferCapacity,
+      @Value("${nexxus.webhook.log.batch-size:100}") int batchSize,
+      @Value("${nexxus.webhook.log.flush-interval:PT1S}") Duration flushInterval) {
+    this.databaseClient = databaseClient;
+    this.batchSize = batchSize;
+    this.flushInterval = flushInterval;
+    Queue<WebhookLog> buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    this.sink = Sinks.many().unicast().onBackpressureBuffer(buffer);
+  }
+
+  /**
+   * Queues a delivery outcome for the next batch
+   *
+   * @param webhookLog delivery outcome
+   */
+  public void write(WebhookLog webhookLog) {
+    Sinks.EmitResult result;
+    // Deliveries complete on many threads, the unicast sink only accepts serialized emissions
+    synchronized (sink) {
+      result = sink.tryEmitNext(webhookLog);
+    }
+    if (result.isFailure()) {
+      log.warn(
+          "Dropping webhook log for webhook {} ({}): buffer is full",
+          webhookLog.getWebhookId(),
+          result);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (subscription != null) {
+      return;
+    }
+    subscription =
+        sink.asFlux()
+            .bufferTimeout(batchSize, flushInterval)
+            .concatMap(this::insert)
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    // Completing the sink flushes the partial batch before the subscription ends
+    synchronized (sink) {
+      sink.tryEmitComplete();
+    }
+  }
+
+  private Mono<Void> insert(List<WebhookLog> batch) {
+    StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+    for (int i = 0; i < batch.size(); i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      sql.append("(:id")
+          .append(i)
+          .append(", :webhookId")
+          .append(i)
+          .append(", :responseStatus")
+          .append(i)
+          .append(", :isSuccess")
+          .append(i)
+          .append(", :requestPayload")
+          .append(i)
+          .append(", :responsePayload")
+          .append(i)
+          .append(", :errorMessage")
+          .append(i)
+          .append(", :createdAt")
+          .append(i)
+          .append(')');
+    }
+
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+    for (int i = 0; i < batch.size(); i++) {
+      WebhookLog entry = batch.get(i);
+      spec =
+          spec.bind("id" + i, entry.getId())
+              .bind("webhookId" + i, entry.getWebhookId())
+              .bind("isSuccess" + i, Boolean.TRUE.equals(entry.getIsSuccess()))
+              .bind("requestPayload" + i, entry.getRequestPayload())
+              .bind("responsePayload" + i, entry.getResponsePayload())
+              .bind("createdAt" + i, entry.getCreatedAt());
+      spec =
+          entry.getResponseStatus() != null
+              ? spec.bind("responseStatus" + i, entry.getResponseStatus())
+              : spec.bindNull("responseStatus" + i, Integer.class);
+      spec =
+          entry.getErrorMessage() != null
+              ? spec.bind("errorMessage" + i, entry.getErrorMessage())
+              : spec.bindNull("errorMessage" + i, String.class);
+    }
+
+    return spec.then()
+        .doOnSuccess(done -> log.debug("Wrote {} webhook logs", batch.size()))
+        .onErrorResume(
+            e -> {
+              // Losing delivery logs must never stop the writer
+              log.error("Failed to write {} webhook logs: {}", batch.size(), e.getMessage());
+              return Mono.empty();
+            });
+  }
+}
@@ -0,0 +1,46 @@
+package nexxus.webhook.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import io.r2dbc.postgresql.codec.Json;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("webhook_logs")
+public class WebhookLog {
+
+  @Id private String id;
+
+  @Column("webhook_id")
+  private String webhookId;
+
+  @Column("response_status")
+  private Integer responseStatus;
+
+  @Column("is_success")
+  private Boolean isSuccess;
+
+  @Column("request_payload")
+  private Json requestPayload;
+
+  @Column("response_payload")
+  private Json responsePayload;
+
+  @Column("error_message")
+  private String errorMessage;
+
+  @Column("created_at")
+  private LocalDateTime createdAt;
+}
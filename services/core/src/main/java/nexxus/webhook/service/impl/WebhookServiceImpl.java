@@ -10,6 +10,8 @@ import nexxus.shared.constants.ErrorCode;
 import nexxus.shared.dto.ApiResponse;
 import nexxus.shared.exception.ValidationException;
 import nexxus.shared.util.ReactiveResponseHandler;
+import nexxus.webhook.cache.WebhookSnapshotCache;
+import nexxus.webhook.dispatch.WebhookDispatcher;
 import nexxus.webhook.dto.UpdateWebhookDto;
 import nexxus.webhook.dto.WebhookDto;
 import nexxus.webhook.entity.Webhook;
@@ -24,6 +26,8 @@ import reactor.core.publisher.Mono;
 public class WebhookServiceImpl implements WebhookService {
 
   private final WebhookRepository webhookRepository;
+  private final WebhookSnapshotCache webhookSnapshotCache;
+  private final WebhookDispatcher webhookDispatcher;
   private final ReactiveResponseHandler responseHandler;
 
   @Override
@@ -57,6 +61,7 @@ public class WebhookServiceImpl implements WebhookService {
               webhook.getUpdatedAt(),
               webhook.getCreatedBy(),
               webhook.getUpdatedBy())
+          .then(webhookSnapshotCache.refresh(webhook.getBrandId(), webhook.getEnvironmentId()))
           .then(
               Mono.defer(
                   () -> {
@@ -89,6 +94,9 @@ public class WebhookServiceImpl implements WebhookService {
                         updateWebhookDto.getStatus().getValue(),
                         LocalDateTime.now(),
                         "system")
+                    .then(
+                        webhookSnapshotCache.refresh(
+                            existingWebhook.getBrandId(), existingWebhook.getEnvironmentId()))
                     .then(
                         Mono.defer(
                             () -> {
@@ -172,6 +180,10 @@ public class WebhookServiceImpl implements WebhookService {
               webhook ->
                   webhookRepository
                       .deleteById(id)
+                      .then(
+                          webhookSnapshotCache.refresh(
+                              webhook.getBrandId(), webhook.getEnvironmentId()))
+                      .then(Mono.fromRunnable(() -> webhookDispatcher.evict(id)))
                       .then(successResponse("Webhook deleted successfully")))
           .switchIfEmpty(
               customError(
@@ -0,0 +1,112 @@
+package nexxus.psp.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import nexxus.psp.cache.AmountIntervalTree.Interval;
+
+class AmountIntervalTreeTest {
+
+  @Test
+  void stabAtTheCenterMatchesEveryIntervalContainingIt() {
+    // Endpoints 0, 10, 10, 20, 20, 30, 30, 40: the center is 20
+    AmountIntervalTree tree =
+        AmountIntervalTree.of(
+            List.of(
+                interval(0, 10, 0), interval(10, 20, 1), interval(20, 30, 2), interval(30, 40, 3)));
+
+    assertThat(stab(tree, 20)).containsExactly(1, 2);
+    assertThat(stab(tree, 10)).containsExactly(0, 1);
+    assertThat(stab(tree, 40)).containsExactly(3);
+    assertThat(stab(tree, 41)).isEmpty();
+    assertThat(stab(tree, -1)).isEmpty();
+  }
+
+  @Test
+  void openEndedMaxMatchesEveryAmountFromTheMin() {
+    AmountIntervalTree tree =
+        AmountIntervalTree.of(List.of(new Interval(BigDecimal.TEN, null, 0), interval(0, 5, 1)));
+
+    assertThat(stab(tree, 10)).containsExactly(0);
+    assertThat(stab(tree, 1_000_000_000)).containsExactly(0);
+    assertThat(stab(tree, 9)).isEmpty();
+    assertThat(stab(tree, 5)).containsExactly(1);
+  }
+
+  @Test
+  void invertedIntervalsMatchNothingAndKeepTheirSlot() {
+    List<Interval> intervals = new ArrayList<>();
+    intervals.add(interval(50, 10, 0));
+    intervals.add(interval(5, 1, 1));
+    intervals.add(interval(20, 30, 2));
+    AmountIntervalTree tree = AmountIntervalTree.of(intervals);
+
+    assertThat(stab(tree, 25)).containsExactly(2);
+    assertThat(stab(tree, 3)).isEmpty();
+    assertThat(stab(tree, 30)).containsExactly(2);
+    assertThat(tree.containsSlot(0)).isTrue();
+    assertThat(tree.intervalsWithout(0)).extracting(Interval::slot).containsExactly(1, 2);
+  }
+
+  @Test
+  void onlyInvertedIntervalsMatchNothing() {
+    AmountIntervalTree tree = AmountIntervalTree.of(List.of(interval(10, 1, 0), interval(3, 2, 1)));
+
+    assertThat(stab(tree, 5)).isEmpty();
+    assertThat(tree.containsSlot(1)).isTrue();
+  }
+
+  @Test
+  void duplicateEndpointsAreAllMatched() {
+    AmountIntervalTree tree =
+        AmountIntervalTree.of(
+            List.of(
+                interval(10, 10, 0), interval(10, 10, 1), interval(10, 20, 2), interval(0, 10, 3)));
+
+    assertThat(stab(tree, 10)).containsExactly(0, 1, 2, 3);
+    assertThat(stab(tree, 15)).containsExactly(2);
+    assertThat(stab(tree, 5)).containsExactly(3);
+  }
+
+  @Test
+  void matchesALinearScan() {
+    List<Interval> intervals = new ArrayList<>();
+    for (int slot = 0; slot < 200; slot++) {
+      int min = (slot * 37) % 100;
+      int max = min + (slot * 13) % 50 - 5;
+      intervals.add(
+          slot % 7 == 0
+              ? new Interval(BigDecimal.valueOf(min), null, slot)
+              : interval(min, max, slot));
+    }
+    AmountIntervalTree tree = AmountIntervalTree.of(intervals);
+
+    for (int amount = -5; amount <= 160; amount++) {
+      BigDecimal value = BigDecimal.valueOf(amount);
+      List<Integer> expected = new ArrayList<>();
+      for (Interval interval : intervals) {
+        if (interval.min().compareTo(value) <= 0
+            && (interval.max() == null || interval.max().compareTo(value) >= 0)) {
+          expected.add(interval.slot());
+        }
+      }
+      assertThat(stab(tree, amount)).as("amount %d", amount).isEqualTo(expected);
+    }
+  }
+
+  private static Interval interval(long min, long max, int slot) {
+    return new Interval(BigDecimal.valueOf(min), BigDecimal.valueOf(max), slot);
+  }
+
+  private static List<Integer> stab(AmountIntervalTree tree, long amount) {
+    BitSet matches = new BitSet();
+    tree.stab(BigDecimal.valueOf(amount), matches);
+    return matches.stream().boxed().toList();
+  }
+}
@@ -0,0 +1,148 @@
+package nexxus.psp.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import nexxus.psp.entity.CurrencyLimit;
+import nexxus.psp.entity.Psp;
+import nexxus.psp.entity.PspOperation;
+import nexxus.shared.constants.Status;
+
+class PspEligibilityIndexTest {
+
+  private static final String FLOW_ACTION_ID = "fa_deposit";
+  private static final String ENABLED = Status.ENABLED.getValue();
+  private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+  @Test
+  void withPspReplacesTheLimitsOfItsSlot() {
+    Psp first = psp("psp_a", NOW);
+    Psp second = psp("psp_b", NOW);
+    PspEligibilityIndex index =
+        PspEligibilityIndex.build(
+            List.of(first, second),
+            List.of(operation(first), operation(second)),
+            List.of(limit(first, "USD", 0, 100), limit(second, "USD", 50, 200)));
+    assertThat(ids(index.find(ENABLED, FLOW_ACTION_ID, "USD", amount(75))))
+        .containsExactly("psp_a", "psp_b");
+
+    Psp updated = psp("psp_a", NOW.plusMinutes(1));
+    PspEligibilityIndex replaced =
+        index.withPsp(
+            updated, List.of(operation(updated)), List.of(limit(updated, "USD", 300, 400)));
+
+    assertThat(ids(replaced.find(ENABLED, FLOW_ACTION_ID, "USD", amount(75))))
+        .containsExactly("psp_b");
+    assertThat(replaced.find(ENABLED, FLOW_ACTION_ID, "USD", amount(350)))
+        .singleElement()
+        .isSameAs(updated);
+    // The original index is left untouched
+    assertThat(ids(index.find(ENABLED, FLOW_ACTION_ID, "USD", amount(75))))
+        .containsExactly("psp_a", "psp_b");
+  }
+
+  @Test
+  void withPspDropsAnInvertedLimitWhenItIsReplaced() {
+    Psp first = psp("psp_a", NOW);
+    Psp second = psp("psp_b", NOW);
+    PspEligibilityIndex index =
+        PspEligibilityIndex.build(
+            List.of(first, second),
+            List.of(operation(first), operation(second)),
+            List.of(limit(first, "USD", 500, 100), limit(second, "USD", 50, 200)));
+    assertThat(ids(index.find(ENABLED, FLOW_ACTION_ID, "USD", amount(75))))
+        .containsExactly("psp_b");
+
+    Psp updated = psp("psp_a", NOW.plusMinutes(1));
+    PspEligibilityIndex replaced =
+        index.withPsp(updated, List.of(operation(updated)), List.of(limit(updated, "USD", 0, 100)));
+
+    assertThat(ids(replaced.find(ENABLED, FLOW_ACTION_ID, "USD", amount(75))))
+        .containsExactly("psp_a", "psp_b");
+    assertThat(ids(replaced.find(ENABLED, FLOW_ACTION_ID, "USD", amount(300)))).isEmpty();
+  }
+
+  @Test
+  void withPspRemovesLimitsNoLongerConfigured() {
+    Psp first = psp("psp_a", NOW);
+    PspEligibilityIndex index =
+        PspEligibilityIndex.build(
+            List.of(first), List.of(operation(first)), List.of(limit(first, "EUR", 0, 100)));
+
+    Psp updated = psp("psp_a", NOW.plusMinutes(1));
+    PspEligibilityIndex replaced =
+        index.withPsp(updated, List.of(operation(updated)), List.of(limit(updated, "USD", 0, 100)));
+
+    assertThat(replaced.find(ENABLED, FLOW_ACTION_ID, "EUR", amount(50))).isEmpty();
+    assertThat(ids(replaced.find(ENABLED, FLOW_ACTION_ID, "USD", amount(50))))
+        .containsExactly("psp_a");
+  }
+
+  @Test
+  void withPspIgnoresAnOlderVersion() {
+    Psp current = psp("psp_a", NOW);
+    PspEligibilityIndex index =
+        PspEligibilityIndex.build(
+            List.of(current), List.of(operation(current)), List.of(limit(current, "USD", 0, 100)));
+
+    Psp stale = psp("psp_a", NOW.minusMinutes(1));
+    PspEligibilityIndex unchanged =
+        index.withPsp(stale, List.of(operation(stale)), List.of(limit(stale, "USD", 300, 400)));
+
+    assertThat(unchanged).isSameAs(index);
+  }
+
+  @Test
+  void matcherAcceptsTheSamePspsAsFind() {
+    Psp first = psp("psp_a", NOW);
+    Psp second = psp("psp_b", NOW);
+    PspEligibilityIndex index =
+        PspEligibilityIndex.build(
+            List.of(first, second),
+            List.of(operation(first), operation(second)),
+            List.of(limit(first, "USD", 0, 100), limit(second, "USD", 50, 200)));
+
+    Predicate<String> eligible = index.matcher(ENABLED, FLOW_ACTION_ID, "USD", amount(150));
+
+    assertThat(eligible.test("psp_b")).isTrue();
+    assertThat(eligible.test("psp_a")).isFalse();
+    assertThat(eligible.test("psp_unknown")).isFalse();
+    assertThat(index.matcher(ENABLED, FLOW_ACTION_ID, "EUR", amount(150)).test("psp_b")).isFalse();
+  }
+
+  private static Psp psp(String id, LocalDateTime updatedAt) {
+    return Psp.builder().id(id).status(Status.ENABLED).updatedAt(updatedAt).build();
+  }
+
+  private static PspOperation operation(Psp psp) {
+    return PspOperation.builder()
+        .pspId(psp.getId())
+        .flowActionId(FLOW_ACTION_ID)
+        .status(Status.ENABLED)
+        .build();
+  }
+
+  private static CurrencyLimit limit(Psp psp, String currency, long min, long max) {
+    return CurrencyLimit.builder()
+        .pspId(psp.getId())
+        .flowActionId(FLOW_ACTION_ID)
+        .currency(currency)
+        .minValue(amount(min))
+        .maxValue(amount(max))
+        .build();
+  }
+
+  private static BigDecimal amount(long value) {
+    return BigDecimal.valueOf(value);
+  }
+
+  private static List<String> ids(List<Psp> psps) {
+    return psps.stream().map(Psp::getId).toList();
+  }
+}
@@ -0,0 +1,26 @@
+-- Migration: V013__Create_transaction_outbox_table.sql
+-- Description: Create transaction_outbox table holding transaction status change events written in the same database transaction as the change, until a relay has delivered them
+-- Service: core
+
+-- Create transaction_outbox table
+CREATE TABLE transaction_outbox (
+    id TEXT PRIMARY KEY NOT NULL,
+    transaction_id TEXT NOT NULL,
+    brand_id TEXT NOT NULL,
+    environment_id TEXT NOT NULL,
+    status transaction_status NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    -- Delivery attempts so far; relays stop claiming the event once it reaches their maximum
+    attempts INT NOT NULL DEFAULT 0,
+    -- End of the current lease or retry delay, NULL when the event can be claimed right away
+    available_at TIMESTAMP,
+    -- Set once every webhook delivery of the event is final; processed rows are purged later
+    processed_at TIMESTAMP
+);
+
+-- Relays claim the oldest events first
+CREATE INDEX idx_transaction_outbox_created_at ON transaction_outbox(created_at);
+CREATE INDEX idx_transaction_outbox_transaction_id ON transaction_outbox(transaction_id);
+-- Purge of processed rows past the retention
+CREATE INDEX idx_transaction_outbox_processed_at ON transaction_outbox(processed_at) WHERE processed_at IS NOT NULL;
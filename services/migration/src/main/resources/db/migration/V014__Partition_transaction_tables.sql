@@ -0,0 +1,168 @@
+-- Migration: V014__Partition_transaction_tables.sql
+-- Description: Convert transactions and transaction_logs to monthly range partitions on the creation time of the transaction, with helper functions used by the core partition manager to pre-create and detach partitions
+-- Service: core
+
+-- Partition keys must be part of every unique constraint, so the primary key of transactions becomes
+-- (id, created_at). transaction_logs carries the creation time of its transaction to reference that
+-- key, and is partitioned on it: the logs of a transaction live in the same month as the transaction,
+-- so both partitions of a month can be detached together without breaking the foreign key.
+
+ALTER TABLE transaction_logs RENAME TO transaction_logs_unpartitioned;
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+
+ALTER INDEX idx_transactions_status RENAME TO idx_transactions_unpartitioned_status;
+ALTER INDEX idx_transactions_created_at RENAME TO idx_transactions_unpartitioned_created_at;
+ALTER INDEX idx_transactions_currency RENAME TO idx_transactions_unpartitioned_currency;
+ALTER INDEX idx_transactions_flow_action_id RENAME TO idx_transactions_unpartitioned_flow_action_id;
+ALTER INDEX idx_transactions_brand_id RENAME TO idx_transactions_unpartitioned_brand_id;
+ALTER INDEX idx_transactions_environment_id RENAME TO idx_transactions_unpartitioned_environment_id;
+ALTER INDEX idx_transactions_routing_rule_id RENAME TO idx_transactions_unpartitioned_routing_rule_id;
+ALTER INDEX idx_transaction_logs_transaction_id RENAME TO idx_transaction_logs_unpartitioned_transaction_id;
+ALTER INDEX idx_transaction_logs_psp_id RENAME TO idx_transaction_logs_unpartitioned_psp_id;
+ALTER INDEX idx_transaction_logs_webhook_id RENAME TO idx_transaction_logs_unpartitioned_webhook_id;
+ALTER INDEX idx_transaction_logs_created_at RENAME TO idx_transaction_logs_unpartitioned_created_at;
+
+-- Create partitioned transactions table
+CREATE TABLE transactions (
+    id TEXT NOT NULL,
+    amount DECIMAL(19,4) NOT NULL,
+    currency TEXT NOT NULL,
+    brand_id TEXT NOT NULL,
+    environment_id TEXT NOT NULL,
+    flow_action_id TEXT NOT NULL,
+    routing_rule_id TEXT,
+    user_attribute JSONB NOT NULL,
+    status transaction_status NOT NULL DEFAULT 'INITIATED',
+    created_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT pk_transactions PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_transactions_flow_action FOREIGN KEY (flow_action_id) REFERENCES flow_actions(id),
+    CONSTRAINT fk_transactions_brand_id FOREIGN KEY (brand_id) REFERENCES brands(id),
+    CONSTRAINT fk_transactions_environment_id FOREIGN KEY (environment_id) REFERENCES environments(id)
+) PARTITION BY RANGE (created_at);
+
+-- Create partitioned transaction_logs table
+CREATE TABLE transaction_logs (
+    id TEXT NOT NULL,
+    transaction_id TEXT NOT NULL,
+    transaction_created_at TIMESTAMP NOT NULL,
+    psp_id TEXT,
+    webhook_id TEXT,
+    log JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT pk_transaction_logs PRIMARY KEY (id, transaction_created_at),
+    CONSTRAINT fk_transaction_logs_transaction FOREIGN KEY (transaction_id, transaction_created_at) REFERENCES transactions(id, created_at),
+    CONSTRAINT fk_transaction_logs_psp_id FOREIGN KEY (psp_id) REFERENCES psps(id),
+    CONSTRAINT fk_transaction_logs_webhook_id FOREIGN KEY (webhook_id) REFERENCES webhooks(id)
+) PARTITION BY RANGE (transaction_created_at);
+
+-- Indexes declared on the parents are created on every partition
+CREATE INDEX idx_transactions_status ON transactions(status);
+CREATE INDEX idx_transactions_currency ON transactions(currency);
+CREATE INDEX idx_transactions_flow_action_id ON transactions(flow_action_id);
+CREATE INDEX idx_transactions_brand_id ON transactions(brand_id);
+CREATE INDEX idx_transactions_environment_id ON transactions(environment_id);
+CREATE INDEX idx_transactions_routing_rule_id ON transactions(routing_rule_id);
+CREATE INDEX idx_transactions_created_at ON transactions(created_at);
+
+CREATE INDEX idx_transaction_logs_transaction_id ON transaction_logs(transaction_id);
+CREATE INDEX idx_transaction_logs_psp_id ON transaction_logs(psp_id);
+CREATE INDEX idx_transaction_logs_webhook_id ON transaction_logs(webhook_id);
+CREATE INDEX idx_transaction_logs_created_at ON transaction_logs(created_at);
+
+-- Schema holding detached partitions until they are exported or dropped
+CREATE SCHEMA IF NOT EXISTS archive;
+
+-- Creates the monthly partition of a table covering the given date, named <table>_pYYYYMM
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent_table TEXT, month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month_start)::DATE;
+    range_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := parent_table || '_p' || to_char(range_start, 'YYYYMM');
+BEGIN
+    -- Serializes concurrent maintenance runs from several instances
+    PERFORM pg_advisory_xact_lock(hashtext('partition_maintenance'));
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+            partition_name, parent_table, range_start, range_end);
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches the monthly partitions of a table that end on or before the cutoff and moves them to
+-- the archive schema; returns the names of the detached partitions.
+-- A detached partition keeps the foreign keys it inherited as standalone constraints. Those that
+-- reference a partitioned table are dropped, otherwise an archived transaction_logs month would
+-- keep referencing transactions and block detaching the matching transactions month.
+CREATE OR REPLACE FUNCTION detach_monthly_partitions(parent_table TEXT, cutoff DATE)
+RETURNS SETOF TEXT AS $$
+DECLARE
+    child RECORD;
+    fk RECORD;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('partition_maintenance'));
+    FOR child IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        JOIN pg_namespace n ON n.oid = p.relnamespace
+        WHERE p.relname = parent_table
+          AND n.nspname = current_schema()
+          AND c.relname ~ ('^' || parent_table || '_p[0-9]{6}$')
+          AND (to_date(right(c.relname, 6), 'YYYYMM') + INTERVAL '1 month')::DATE <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent_table, child.relname);
+        FOR fk IN
+            SELECT con.conname
+            FROM pg_constraint con
+            JOIN pg_class referenced ON referenced.oid = con.confrelid
+            WHERE con.conrelid = to_regclass(quote_ident(child.relname))
+              AND con.contype = 'f'
+              AND referenced.relkind = 'p'
+        LOOP
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', child.relname, fk.conname);
+        END LOOP;
+        EXECUTE format('ALTER TABLE %I SET SCHEMA archive', child.relname);
+        RETURN NEXT child.relname;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Create partitions from the oldest existing transaction up to three months ahead
+DO $$
+DECLARE
+    first_month DATE;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '3 months')::DATE;
+    current_month DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE((SELECT MIN(created_at) FROM transactions_unpartitioned), now()))::DATE
+    INTO first_month;
+
+    current_month := first_month;
+    WHILE current_month <= last_month LOOP
+        PERFORM create_monthly_partition('transactions', current_month);
+        PERFORM create_monthly_partition('transaction_logs', current_month);
+        current_month := (current_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+-- Move existing rows into the partitions
+INSERT INTO transactions (id, amount, currency, brand_id, environment_id, flow_action_id, routing_rule_id, user_attribute, status, created_at)
+SELECT id, amount, currency, brand_id, environment_id, flow_action_id, routing_rule_id, user_attribute, status, created_at
+FROM transactions_unpartitioned;
+
+-- The old foreign key guarantees every log has its transaction
+INSERT INTO transaction_logs (id, transaction_id, transaction_created_at, psp_id, webhook_id, log, created_at)
+SELECT l.id, l.transaction_id, t.created_at, l.psp_id, l.webhook_id, l.log, l.created_at
+FROM transaction_logs_unpartitioned l
+JOIN transactions_unpartitioned t ON t.id = l.transaction_id;
+
+DROP TABLE transaction_logs_unpartitioned;
+DROP TABLE transactions_unpartitioned;
@@ -0,0 +1,121 @@
+-- Migration: V015__Composite_query_indexes.sql
+-- Description: Replace single-column indexes with composite and covering indexes matching the repository queries
+-- Service: shared
+
+-- Latest-version lookups: SELECT DISTINCT ON (id) * FROM <table> WHERE brand_id = ? AND environment_id = ? ORDER BY id, version DESC
+CREATE INDEX idx_routing_rules_brand_env_latest ON routing_rules(brand_id, environment_id, id, version DESC);
+CREATE INDEX idx_risk_rule_brand_env_latest ON risk_rule(brand_id, environment_id, id, version DESC);
+CREATE INDEX idx_fee_brand_env_latest ON fee(brand_id, environment_id, id, version DESC);
+CREATE INDEX idx_conversion_rate_brand_env_latest ON conversion_rate(brand_id, environment_id, id, version DESC);
+
+DROP INDEX IF EXISTS idx_routing_rules_brand_id;
+DROP INDEX IF EXISTS idx_routing_rules_environment_id;
+DROP INDEX IF EXISTS idx_routing_rules_status;
+DROP INDEX IF EXISTS idx_routing_rules_psp_selection_mode;
+
+DROP INDEX IF EXISTS idx_risk_rule_brand_id;
+DROP INDEX IF EXISTS idx_risk_rule_environment_id;
+DROP INDEX IF EXISTS idx_risk_rule_status;
+DROP INDEX IF EXISTS idx_risk_rule_type;
+DROP INDEX IF EXISTS idx_risk_rule_currency;
+DROP INDEX IF EXISTS idx_risk_rule_action;
+DROP INDEX IF EXISTS idx_risk_rule_duration;
+
+DROP INDEX IF EXISTS idx_conversion_rate_brand_id;
+DROP INDEX IF EXISTS idx_conversion_rate_environment_id;
+DROP INDEX IF EXISTS idx_conversion_rate_status;
+-- Covered by conversion_rate_config_unique (source_type, fetch_option, version)
+DROP INDEX IF EXISTS idx_conversion_rate_source_type;
+DROP INDEX IF EXISTS idx_conversion_rate_fetch_option;
+
+-- fee: WHERE brand_id = ? AND environment_id = ? AND flow_action_id = ? AND name = ?
+CREATE INDEX idx_fee_brand_env_flow_action_name ON fee(brand_id, environment_id, flow_action_id, name);
+
+DROP INDEX IF EXISTS idx_fee_brand_id;
+DROP INDEX IF EXISTS idx_fee_environment_id;
+DROP INDEX IF EXISTS idx_fee_status;
+DROP INDEX IF EXISTS idx_fee_charge_fee_type;
+DROP INDEX IF EXISTS idx_fee_currency;
+DROP INDEX IF EXISTS idx_fee_name;
+
+-- psps joined with currency_limits and psp_operations:
+-- WHERE p.brand_id = ? AND p.environment_id = ? AND p.status = ? AND cl.currency = ? AND po.flow_action_id = ? AND po.status = ?
+CREATE INDEX idx_psp_brand_env_status ON psps(brand_id, environment_id, status);
+CREATE INDEX idx_psp_operations_psp_flow_action_status ON psp_operations(psp_id, flow_action_id, status);
+CREATE INDEX idx_currency_limits_psp_currency ON currency_limits(psp_id, currency);
+
+DROP INDEX IF EXISTS idx_psp_brand_id;
+DROP INDEX IF EXISTS idx_psp_environment_id;
+DROP INDEX IF EXISTS idx_psp_status;
+
+DROP INDEX IF EXISTS idx_psp_operations_psp_id;
+DROP INDEX IF EXISTS idx_psp_operations_status;
+-- Prefix of pk_psp_operations (brand_id, environment_id, ...)
+DROP INDEX IF EXISTS idx_psp_operations_brand_env;
+
+-- currency_limits: SELECT psp_id WHERE brand_id = ? AND environment_id = ? AND flow_action_id = ? AND currency = ?
+CREATE INDEX idx_currency_limits_brand_env_flow_action_currency ON currency_limits(brand_id, environment_id, flow_action_id, currency) INCLUDE (psp_id);
+
+DROP INDEX IF EXISTS idx_currency_limits_psp_id;
+DROP INDEX IF EXISTS idx_currency_limits_currency;
+DROP INDEX IF EXISTS idx_currency_limits_min_value;
+DROP INDEX IF EXISTS idx_currency_limits_max_value;
+-- Prefix of currency_limit_pk (brand_id, environment_id, ...)
+DROP INDEX IF EXISTS idx_currency_limits_brand_env;
+
+-- conversion_rate_markup_values: duplicate currency pair checks filter on the pair and markup option
+CREATE INDEX idx_conversion_rate_markup_values_pair ON conversion_rate_markup_values(source_currency, target_currency, markup_option) INCLUDE (conversion_rate_config_id, conversion_rate_config_version);
+
+DROP INDEX IF EXISTS idx_conversion_rate_markup_values_markup_option;
+DROP INDEX IF EXISTS idx_conversion_rate_markup_values_source_currency;
+DROP INDEX IF EXISTS idx_conversion_rate_markup_values_target_currency;
+-- Prefix of conversion_rate_markup_pk
+DROP INDEX IF EXISTS idx_conversion_rate_markup_values_config;
+
+-- transactions: tenant lookups over a time range; partition indexes are created through the parent
+CREATE INDEX idx_transactions_brand_env_created_at ON transactions(brand_id, environment_id, created_at);
+
+DROP INDEX IF EXISTS idx_transactions_brand_id;
+DROP INDEX IF EXISTS idx_transactions_environment_id;
+DROP INDEX IF EXISTS idx_transactions_status;
+DROP INDEX IF EXISTS idx_transactions_currency;
+DROP INDEX IF EXISTS idx_transactions_routing_rule_id;
+
+-- transaction_logs: WHERE transaction_id = ? AND transaction_created_at = ? ORDER BY created_at
+CREATE INDEX idx_transaction_logs_transaction_created_at ON transaction_logs(transaction_id, created_at);
+
+DROP INDEX IF EXISTS idx_transaction_logs_transaction_id;
+
+-- transaction_outbox: WHERE processed_at IS NULL AND ... ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED
+CREATE INDEX idx_transaction_outbox_pending ON transaction_outbox(created_at, id) WHERE processed_at IS NULL;
+
+DROP INDEX IF EXISTS idx_transaction_outbox_created_at;
+
+-- Duplicates of unique constraints, which already come with an index
+DROP INDEX IF EXISTS idx_brands_name;
+DROP INDEX IF EXISTS idx_environments_secret;
+DROP INDEX IF EXISTS idx_environments_token;
+
+-- Leading column of a unique index or key:
+-- flow_action_unique_constraint (flow_type_id, name), flow_target_type_name (flow_type_id, name),
+-- flow_definition_action_target (flow_action_id, flow_target_id), flow_definition_code_brand (code, brand_id),
+-- uq_webhook_brand_status (brand_id, environment_id, status_type), crm_customer_pk (brand_id, environment_id, crm_customer_id)
+DROP INDEX IF EXISTS idx_flow_actions_flow_type_id;
+DROP INDEX IF EXISTS idx_flow_targets_flow_type_id;
+DROP INDEX IF EXISTS idx_flow_definitions_flow_action_id;
+DROP INDEX IF EXISTS idx_flow_definitions_code;
+DROP INDEX IF EXISTS idx_webhooks_brand_id;
+DROP INDEX IF EXISTS idx_crm_customer_brand_id;
+
+-- No query filters webhooks on status or status_type alone; the lookup by type goes through uq_webhook_brand_status
+DROP INDEX IF EXISTS idx_webhooks_status;
+DROP INDEX IF EXISTS idx_webhooks_status_type;
+
+-- idx_webhooks_environment_id and idx_crm_customer_environment_id are kept: environment_id is not a
+-- leading column of any other index, and they serve the foreign key checks when an environment is deleted
+
+-- Prefixes of composite primary keys
+DROP INDEX IF EXISTS idx_routing_rule_psps_rule_id;
+DROP INDEX IF EXISTS idx_risk_rule_psps_risk_rule;
+DROP INDEX IF EXISTS idx_fee_countries_fee_id;
+DROP INDEX IF EXISTS idx_fee_psps_fee_id;
@@ -0,0 +1,8 @@
+-- Migration: V016__Currency_limit_range_check.sql
+-- Description: Reject currency limits whose max value is below their min value
+-- Service: core
+
+-- NOT VALID keeps the migration from failing on existing rows; new and updated rows are checked.
+-- Once inverted limits are corrected, run ALTER TABLE currency_limits VALIDATE CONSTRAINT currency_limits_range.
+ALTER TABLE currency_limits
+    ADD CONSTRAINT currency_limits_range CHECK (max_value IS NULL OR max_value >= min_value) NOT VALID;
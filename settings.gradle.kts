@@ -4,6 +4,8 @@
  * This file configures the multi-project build structure:
  * - libs/: Shared libraries and utilities
  * - services/: Individual service modules
+ * - benchmarks/: JMH benchmarks for hot paths in libs/ and services/
+ * - loadtest/: End-to-end load harness for services/core
  */
 
 plugins {
@@ -16,3 +18,5 @@ rootProject.name = "nexxus-backend"
 include("libs:shared")
 include("services:migration")
 include("services:core")
+include("benchmarks")
+include("loadtest")